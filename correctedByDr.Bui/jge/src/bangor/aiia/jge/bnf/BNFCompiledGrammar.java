@@ -0,0 +1,241 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bangor.aiia.jge.bnf;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * The class <code>BNFCompiledGrammar</code> is a compact, index-based form of a
+ * <code>BNFGrammar</code> which is intended for the mapping processes that have
+ * to expand non-terminal symbols millions of times during an evolutionary run.<br>
+ * Every distinct symbol of the grammar is interned to an integer id (starting from 0)
+ * and the rules are held in a dense array indexed by the id of their head symbol.
+ * The terminal, non-terminal, and special directive flags of each symbol are
+ * calculated once, when the grammar is compiled, so a rule lookup is a single
+ * array access and no <code>String</code> comparisons are needed afterwards.
+ * <br><br>
+ * A <code>BNFCompiledGrammar</code> object is immutable and can be shared
+ * by many threads.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	BNFGrammar
+ * @see 	BNFRule
+ * @see 	BNFSymbol
+ * @since	JavaGE 0.1
+ */
+public class BNFCompiledGrammar {
+
+	/**
+	 * The symbols of the grammar indexed by their id.
+	 */
+	private final BNFSymbol[] symbols;
+
+	/**
+	 * True if the symbol with the given id is a terminal symbol.
+	 */
+	private final boolean[] terminal;
+
+	/**
+	 * True if the symbol with the given id is a special directive.
+	 */
+	private final boolean[] directive;
+
+	/**
+	 * The productions of the rule of each symbol indexed by the id of the head symbol.<br>
+	 * Each production is an array of symbol ids.
+	 * The entry is null if there is no rule for the symbol.
+	 */
+	private final int[][][] productions;
+
+	/**
+	 * The id of the start symbol of the grammar.
+	 */
+	private final int startSymbol;
+
+
+	/**
+	 * Compiles the given <code>BNFGrammar</code>.
+	 *
+	 * @param grammar The BNF Grammar to be compiled.
+	 * @param directives The values of the non-terminal symbols which are special directives
+	 * 					 (e.g. &lt;GECodonValue&gt;, &lt;GEIntron&gt;).
+	 */
+	public BNFCompiledGrammar(BNFGrammar grammar, String[] directives) {
+
+		HashMap<String, Integer> ids = new HashMap<String, Integer>();
+		ArrayList<BNFSymbol> interned = new ArrayList<BNFSymbol>();
+		BNFRule[] rules = grammar.getRules();
+
+		// Intern the start symbol and the head symbols of the rules first
+		// so the ids of the non-terminal symbols with a rule are the lower ones
+		int start = intern(grammar.getStartSymbol(), ids, interned);
+		for (BNFRule rule : rules)
+			intern(rule.getHead(), ids, interned);
+
+		// Compile the productions of the rules
+		int[][][] compiled = new int[rules.length][][];
+		for (int r = 0; r < rules.length; r++) {
+			BNFProduction[] production = rules[r].getProductions();
+			compiled[r] = new int[production.length][];
+			for (int p = 0; p < production.length; p++) {
+				BNFSymbol[] symbolSet = production[p].getSymbols();
+				compiled[r][p] = new int[symbolSet.length];
+				for (int s = 0; s < symbolSet.length; s++)
+					compiled[r][p][s] = intern(symbolSet[s], ids, interned);
+			}
+		}
+
+		// Create the dense tables indexed by the symbol ids
+		int count = interned.size();
+		this.symbols = interned.toArray(new BNFSymbol[count]);
+		this.terminal = new boolean[count];
+		this.directive = new boolean[count];
+		this.productions = new int[count][][];
+		this.startSymbol = start;
+
+		for (int id = 0; id < count; id++) {
+			terminal[id] = symbols[id].isTerminal();
+			if (!terminal[id] && directives != null) {
+				for (String d : directives)
+					if (d.equals(symbols[id].getValue())) directive[id] = true;
+			}
+		}
+
+		// The first rule of a non-terminal symbol is its rule (as in BNFGrammar.getRule)
+		for (int r = 0; r < rules.length; r++) {
+			int head = ids.get(key(rules[r].getHead()));
+			if (productions[head] == null)
+				productions[head] = compiled[r];
+		}
+
+	}
+
+	/**
+	 * Returns the id of the given symbol. If the symbol has not been interned yet
+	 * then a new id is assigned to it.
+	 */
+	private static int intern(BNFSymbol symbol, HashMap<String, Integer> ids, ArrayList<BNFSymbol> interned) {
+		String key = key(symbol);
+		Integer id = ids.get(key);
+		if (id == null) {
+			id = interned.size();
+			ids.put(key, id);
+			interned.add(symbol);
+		}
+		return id;
+	}
+
+	/**
+	 * Returns the interning key of the symbol (its type and value).
+	 */
+	private static String key(BNFSymbol symbol) {
+		return (symbol.isTerminal() ? "T" : "N") + symbol.getValue();
+	}
+
+
+	/**
+	 * Returns the id of the start symbol of the grammar.
+	 *
+	 * @return The id of the start symbol.
+	 */
+	public int getStartSymbol() {
+		return startSymbol;
+	}
+
+	/**
+	 * Returns the number of the distinct symbols of the grammar.
+	 * The symbol ids are in the range [0, symbolCount()).
+	 *
+	 * @return The number of the distinct symbols.
+	 */
+	public int symbolCount() {
+		return symbols.length;
+	}
+
+	/**
+	 * Returns the symbol with the given id.
+	 *
+	 * @param id The id of the symbol.
+	 * @return The symbol.
+	 */
+	public BNFSymbol getSymbol(int id) {
+		return symbols[id];
+	}
+
+	/**
+	 * Returns the string value of the symbol with the given id.
+	 *
+	 * @param id The id of the symbol.
+	 * @return The value of the symbol.
+	 */
+	public String getValue(int id) {
+		return symbols[id].getValue();
+	}
+
+	/**
+	 * Returns true if the symbol with the given id is a terminal symbol.
+	 *
+	 * @param id The id of the symbol.
+	 * @return True if the symbol is a terminal symbol.
+	 */
+	public boolean isTerminal(int id) {
+		return terminal[id];
+	}
+
+	/**
+	 * Returns true if the symbol with the given id is a special directive.
+	 *
+	 * @param id The id of the symbol.
+	 * @return True if the symbol is a special directive.
+	 */
+	public boolean isDirective(int id) {
+		return directive[id];
+	}
+
+	/**
+	 * Returns the productions of the rule of the symbol with the given id.
+	 * Each production is an array with the ids of its symbols.
+	 * If there is no rule for the symbol (or the symbol is a terminal) then null is returned.<br>
+	 * The returned arrays must not be modified.
+	 *
+	 * @param id The id of the head symbol of the rule.
+	 * @return The productions of the rule or null.
+	 */
+	public int[][] getProductions(int id) {
+		return productions[id];
+	}
+
+	/**
+	 * Returns the number of the productions of the rule of the symbol with the given id.
+	 * If there is no rule for the symbol then 0 is returned.
+	 *
+	 * @param id The id of the head symbol of the rule.
+	 * @return The number of the productions.
+	 */
+	public int count(int id) {
+		return productions[id] == null ? 0 : productions[id].length;
+	}
+
+}
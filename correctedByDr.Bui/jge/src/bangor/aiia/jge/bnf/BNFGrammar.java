@@ -26,6 +26,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Vector;
 
 
@@ -62,6 +63,11 @@ public class BNFGrammar {
 	 */
 	private BNFSymbol startSymbol;
 	
+	/**
+	 * The index of the rules by the value of their head symbol.
+	 */
+	private HashMap<String, BNFRule> ruleIndex;
+	
 	
 	
 	/**
@@ -197,6 +203,11 @@ public class BNFGrammar {
 			// Set the BNFRule[] object of this BNFGrammar
 			this.rules = bnfRules;
 			
+			// Index the rules by their head symbol (the first rule of a symbol is used)
+			this.ruleIndex = new HashMap<String, BNFRule>();
+			for (int i = bnfRules.length - 1; i >= 0; i--)
+				this.ruleIndex.put(bnfRules[i].getHead().getValue(), bnfRules[i]);
+			
 		
 		} catch (IOException ioe) {
 			System.out.println(ioe.getMessage());
@@ -234,15 +245,34 @@ public class BNFGrammar {
 		if (symbol.isTerminal())
 			return null;
 		
-		//Iterate all the Rules and return the appropriate BNFRule object.
-		for (int i = 0; i < rules.length; i++) {
-			if (rules[i].getHead().getValue().equals(symbol.getValue()))
-				return rules[i];
-		}
-		
-		return null;		
+		//Return the appropriate BNFRule object.
+		return ruleIndex.get(symbol.getValue());
 		
 	}
+	
+	
+	/**
+	 * Returns the set of the rules of the BNF Grammar
+	 * (Getter of the property <tt>rules</tt>).
+	 * 
+	 * @return Returns the rules of the grammar.
+	 */
+	public BNFRule[] getRules() {
+		return rules;
+	}
+	
+	
+	/**
+	 * Compiles the BNF Grammar into its index-based form which is used
+	 * by the mapping processes.
+	 * 
+	 * @param directives The values of the non-terminal symbols which are special directives.
+	 * @return The compiled form of the BNF Grammar.
+	 * @see BNFCompiledGrammar
+	 */
+	public BNFCompiledGrammar compile(String[] directives) {
+		return new BNFCompiledGrammar(this, directives);
+	}
 
 	
 	/**
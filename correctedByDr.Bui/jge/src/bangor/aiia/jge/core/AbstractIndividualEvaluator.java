@@ -0,0 +1,54 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ * 
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ * 
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */ 
+
+package bangor.aiia.jge.core;
+
+import bangor.aiia.jge.population.Population;
+
+/**
+ * The class <code>AbstractIndividualEvaluator</code> is the base class of the 
+ * evaluators which estimate the fitness of one individual at a time.<br>
+ * It implements the method <code>evaluate(Population)</code> by evaluating
+ * the individuals of the population one by one, so the subclasses need to 
+ * implement only the method <code>evaluate(Individual)</code>.
+ * 
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	IndividualEvaluator
+ * @since	JavaGE 0.1
+ * @param 	<T> The type of the value of the Genotype of the individuals
+ * @param 	<S> The type of the value of the Phenotype of the individuals
+ */
+public abstract class AbstractIndividualEvaluator <T, S> implements IndividualEvaluator<T, S> {
+	
+	/**
+	 * Evaluates the individuals of the given population one by one.
+	 * 
+	 * @param population The population to be evaluated.
+	 */
+	public void evaluate(Population<T, S> population) {
+		int size = population.size();
+		for (int i = 0; i < size; i++)
+			evaluate(population.getIndividual(i));
+	}
+
+}
@@ -0,0 +1,85 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ * 
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ * 
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */ 
+
+package bangor.aiia.jge.core;
+
+import java.util.Vector;
+
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.Genotype;
+import bangor.aiia.jge.population.InvalidPhenotypeException;
+import bangor.aiia.jge.population.Phenotype;
+
+/**
+ * The class <code>BinaryStringMapper</code> implements the interface <code>Mapper&lt;BinaryGenome, String&gt;</code>.
+ * It implements the default mapping process of the Genetic Algorithms which evolve
+ * binary genomes, where the phenotype of the individual is the binary string
+ * representation of its genotype (e.g. "0100110").<br>
+ * It is the counterpart of the <code>DefaultMapper&lt;String&gt;</code> for the
+ * packed <code>BinaryGenome</code> genotypes.
+ * 
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	Mapper
+ * @see 	DefaultMapper
+ * @see 	BinaryGenome
+ * @since	JavaGE 0.1
+ */
+public class BinaryStringMapper implements Mapper<BinaryGenome, String> {
+
+	
+	/**
+	 * Default Constructor.
+	 */
+	public BinaryStringMapper() {
+		
+	}
+	
+	/**
+	 * Returns a <code>Phenotype</code> object with the binary string 
+	 * representation of the passed <code>Genotype</code> object.
+	 * 
+	 * @param genotype The genotype to be processed.
+	 * @return The corresponding phenotype.
+	 * @throws InvalidPhenotypeException when an invalid <code>Phenotype</code> is resulted
+	 * 									 by the mapping process.
+	 */
+	public Phenotype<String> getPhenotype(Genotype<BinaryGenome> genotype) throws InvalidPhenotypeException {
+		return new Phenotype<String>(genotype.value().toString());
+	}
+
+	/**
+	 * Returns a collection with only one <code>Genotype</code> object which
+	 * is the binary genome of the passed <code>Phenotype</code> object.
+	 * 
+	 * @param phenotype The phenotype to be processed.
+	 * @return The candidate genotypes.
+	 * @throws IllegalArgumentException if the phenotype is not a binary string.
+	 */
+	public Vector<Genotype<BinaryGenome>> getGenotype(Phenotype<String> phenotype) {
+		Vector<Genotype<BinaryGenome>> genotypes = new Vector<Genotype<BinaryGenome>>();
+		genotypes.add(new Genotype<BinaryGenome>(BinaryGenome.valueOf(phenotype.value())));
+		return genotypes;
+	}
+	
+
+}
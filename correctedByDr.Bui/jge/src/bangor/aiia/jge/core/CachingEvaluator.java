@@ -0,0 +1,448 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bangor.aiia.jge.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Population;
+
+/**
+ * The class <code>CachingEvaluator</code> is an <code>Evaluator</code> which keeps
+ * the fitness values of the evaluated phenotypes in a cache of bounded size,
+ * so the individuals whose genotypes are mapped to an already evaluated phenotype
+ * are not evaluated again by the wrapped evaluator.<br>
+ * The key of the cache is the string value of the phenotype and the seed of the evaluation
+ * (see the method <code>setSeed()</code>). The cached values are the raw fitness, the validity
+ * and the number of bins of the individual. When the cache is full, the least recently
+ * used entry is evicted.
+ * <br><br>
+ * The individuals of a population which have the same phenotype are evaluated only once
+ * and only the valid individuals are cached; the invalid ones are passed to the wrapped evaluator.
+ * An individual which is invalid after its evaluation (for example, an evaluation which was not
+ * finished in time) is not cached and the other individuals of the population with its phenotype
+ * are evaluated too.
+ * The wrapped evaluator must be deterministic for a given phenotype and seed.
+ * <br><br>
+ * The cache is thread safe but the wrapped evaluator is called without holding its lock.
+ * The caching evaluator is a <code>ConcurrentEvaluator</code> only if the wrapped evaluator
+ * is one (see the method <code>cache()</code>).
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	Evaluator
+ * @since	JavaGE 0.1
+ * @param 	<T> The type of the value of the Genotype of the individuals
+ * @param 	<S> The type of the value of the Phenotype of the individuals
+ */
+public class CachingEvaluator<T, S> implements Evaluator<T, S> {
+
+	/**
+	 * The wrapped evaluator.
+	 */
+	private final Evaluator<T, S> evaluator;
+
+	/**
+	 * The maximum number of cached phenotypes.
+	 */
+	private final int maxSize;
+
+	/**
+	 * The cached fitness values in access order (the least recently used first).
+	 */
+	private final LinkedHashMap<Key, Evaluation> cache;
+
+	/**
+	 * The seed of the evaluation which is a part of the key of the cache.
+	 */
+	private long seed = 0L;
+
+	/**
+	 * The number of the individuals whose fitness was found in the cache.
+	 */
+	private long hits = 0L;
+
+	/**
+	 * The number of the individuals whose fitness was not found in the cache.
+	 */
+	private long misses = 0L;
+
+	/**
+	 * The number of the evicted entries.
+	 */
+	private long evictions = 0L;
+
+
+	/**
+	 * CachingEvaluator constructor.
+	 *
+	 * @param evaluator The evaluator whose fitness values are cached.
+	 * @param maxSize The maximum number of cached phenotypes (greater than 0).
+	 * @throws IllegalArgumentException If the maximum size is not greater than 0.
+	 */
+	public CachingEvaluator(Evaluator<T, S> evaluator, final int maxSize) {
+		if (maxSize <= 0)
+			throw new IllegalArgumentException("The size of the fitness cache must be greater than 0: " + maxSize);
+		this.evaluator = evaluator;
+		this.maxSize = maxSize;
+		this.cache = new LinkedHashMap<Key, Evaluation>(16, 0.75f, true) {
+			private static final long serialVersionUID = -6051722215436185270L;
+			protected boolean removeEldestEntry(Map.Entry<Key, Evaluation> eldest) {
+				if (size() > maxSize) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns a caching evaluator of the given evaluator.<br>
+	 * The caching evaluator is a <code>ConcurrentEvaluator</code> if the given evaluator is one.
+	 *
+	 * @param <T> The type of the value of the Genotype of the individuals.
+	 * @param <S> The type of the value of the Phenotype of the individuals.
+	 * @param evaluator The evaluator whose fitness values are cached.
+	 * @param maxSize The maximum number of cached phenotypes (greater than 0).
+	 * @return The caching evaluator.
+	 */
+	public static <T, S>CachingEvaluator<T, S> cache(Evaluator<T, S> evaluator, int maxSize) {
+		if (evaluator instanceof ConcurrentEvaluator)
+			return new Concurrent<T, S>((ConcurrentEvaluator<T, S>) evaluator, maxSize);
+		return new CachingEvaluator<T, S>(evaluator, maxSize);
+	}
+
+	/**
+	 * Evaluates the individuals of the given population.<br>
+	 * The fitness values of the cached phenotypes are copied to the individuals and
+	 * the rest of the individuals are evaluated by the wrapped evaluator as a sub-population
+	 * (one individual per phenotype). The repeated individuals of a phenotype whose evaluation
+	 * was invalid are evaluated by the wrapped evaluator as a second sub-population.
+	 *
+	 * @param population The population to be evaluated.
+	 */
+	public void evaluate(Population<T, S> population) {
+
+		int size = population.size();
+		ArrayList<Individual<T, S>> pending = new ArrayList<Individual<T, S>>();
+		ArrayList<Key> pendingKeys = new ArrayList<Key>();
+		HashSet<Key> batch = new HashSet<Key>();
+		HashMap<Key, ArrayList<Individual<T, S>>> duplicates = null;
+
+		// Copy the cached fitness values and collect the phenotypes to be evaluated
+		synchronized (cache) {
+			for (int i = 0; i < size; i++) {
+				Individual<T, S> individual = population.getIndividual(i);
+				Key key = key(individual);
+				if (key == null) {
+					pending.add(individual);
+					pendingKeys.add(null);
+					continue;
+				}
+				Evaluation evaluation = cache.get(key);
+				if (evaluation != null) {
+					hits++;
+					evaluation.copyTo(individual);
+					continue;
+				}
+				// A repeated phenotype of the batch is not evaluated again (a hit)
+				if (!batch.add(key)) {
+					hits++;
+					if (duplicates == null)
+						duplicates = new HashMap<Key, ArrayList<Individual<T, S>>>();
+					ArrayList<Individual<T, S>> same = duplicates.get(key);
+					if (same == null) {
+						same = new ArrayList<Individual<T, S>>(1);
+						duplicates.put(key, same);
+					}
+					same.add(individual);
+					continue;
+				}
+				misses++;
+				pending.add(individual);
+				pendingKeys.add(key);
+			}
+		}
+
+		if (pending.isEmpty())
+			return;
+
+		// Evaluate the new phenotypes
+		if (pending.size() == size)
+			evaluator.evaluate(population);
+		else
+			evaluator.evaluate(new Population<T, S>(pending, population.getEnvironment()));
+
+		// Cache the new fitness values of the valid individuals
+		ArrayList<Individual<T, S>> repeated = new ArrayList<Individual<T, S>>();
+		ArrayList<Key> repeatedKeys = new ArrayList<Key>();
+		synchronized (cache) {
+			for (int i = 0; i < pending.size(); i++) {
+				Key key = pendingKeys.get(i);
+				if (key == null)
+					continue;
+				Individual<T, S> individual = pending.get(i);
+				ArrayList<Individual<T, S>> same = (duplicates == null) ? null : duplicates.get(key);
+				// An invalid evaluation is not cached and its repeated phenotypes are evaluated (misses)
+				if (!individual.isValid()) {
+					if (same != null) {
+						hits -= same.size();
+						misses += same.size();
+						for (Individual<T, S> other : same) {
+							repeated.add(other);
+							repeatedKeys.add(key);
+						}
+					}
+					continue;
+				}
+				Evaluation evaluation = new Evaluation(individual);
+				cache.put(key, evaluation);
+				if (same != null) {
+					for (Individual<T, S> other : same)
+						evaluation.copyTo(other);
+				}
+			}
+		}
+
+		if (repeated.isEmpty())
+			return;
+
+		// Evaluate the repeated phenotypes of the invalid evaluations
+		evaluator.evaluate(new Population<T, S>(repeated, population.getEnvironment()));
+		synchronized (cache) {
+			for (int i = 0; i < repeated.size(); i++) {
+				if (repeated.get(i).isValid())
+					cache.put(repeatedKeys.get(i), new Evaluation(repeated.get(i)));
+			}
+		}
+
+	}
+
+	/**
+	 * Returns the evaluator whose fitness values are cached.
+	 *
+	 * @return The wrapped evaluator.
+	 */
+	public Evaluator<T, S> getEvaluator() {
+		return evaluator;
+	}
+
+	/**
+	 * Returns the maximum number of cached phenotypes.
+	 *
+	 * @return The maximum size of the cache.
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Returns the seed of the evaluation which is a part of the key of the cache.<br>
+	 * The default value is <code>0</code>.
+	 *
+	 * @return The seed of the evaluation.
+	 */
+	public long getSeed() {
+		synchronized (cache) {
+			return seed;
+		}
+	}
+
+	/**
+	 * Sets the seed of the evaluation which is a part of the key of the cache.<br>
+	 * A stochastic evaluator whose random numbers are generated from a seed gives the same
+	 * fitness value to a phenotype only for the same seed, so the seed must be changed
+	 * together with the seed of the wrapped evaluator.
+	 *
+	 * @param seed The seed of the evaluation.
+	 */
+	public void setSeed(long seed) {
+		synchronized (cache) {
+			this.seed = seed;
+		}
+	}
+
+	/**
+	 * Returns the number of the cached phenotypes.
+	 *
+	 * @return The number of the cached phenotypes.
+	 */
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	/**
+	 * Returns the number of the individuals whose fitness was found in the cache
+	 * or copied from an individual of the same batch with the same phenotype.
+	 *
+	 * @return The number of the cache hits.
+	 */
+	public long getHits() {
+		synchronized (cache) {
+			return hits;
+		}
+	}
+
+	/**
+	 * Returns the number of the valid individuals whose fitness was not found in the cache
+	 * (the phenotypes which were evaluated by the wrapped evaluator).
+	 *
+	 * @return The number of the cache misses.
+	 */
+	public long getMisses() {
+		synchronized (cache) {
+			return misses;
+		}
+	}
+
+	/**
+	 * Returns the number of the entries which were evicted from the full cache.
+	 *
+	 * @return The number of the evictions.
+	 */
+	public long getEvictions() {
+		synchronized (cache) {
+			return evictions;
+		}
+	}
+
+	/**
+	 * Returns the ratio of the cache hits to the cache lookups (from 0.0 to 1.0).
+	 *
+	 * @return The hit rate of the cache.
+	 */
+	public double getHitRate() {
+		synchronized (cache) {
+			return (hits + misses == 0) ? 0.0 : (double) hits / (hits + misses);
+		}
+	}
+
+	/**
+	 * Removes all the cached phenotypes and resets the counters.
+	 */
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+			hits = 0L;
+			misses = 0L;
+			evictions = 0L;
+		}
+	}
+
+	/**
+	 * This methods returns a string description of the current
+	 * state of the object.
+	 *
+	 * @return The state of the object.
+	 */
+	public String toString() {
+		StringBuffer state = new StringBuffer();
+		synchronized (cache) {
+			state.append("Evaluator       : " + evaluator.getClass() + "\n");
+			state.append("Cache Size      : " + cache.size() + " / " + maxSize + "\n");
+			state.append("Hits            : " + hits + "\n");
+			state.append("Misses          : " + misses + "\n");
+			state.append("Evictions       : " + evictions + "\n");
+		}
+		state.append("Hit Rate        : " + getHitRate() + "\n");
+		return state.toString();
+	}
+
+	/**
+	 * Returns the key of the given individual or null if it must not be cached.
+	 */
+	private Key key(Individual<T, S> individual) {
+		if (!individual.isValid() || individual.getPhenotype() == null || individual.getPhenotype().value() == null)
+			return null;
+		return new Key(individual.getPhenotype().value().toString(), seed);
+	}
+
+
+	/**
+	 * The key of the cache: the phenotype and the seed of the evaluation.
+	 */
+	private static final class Key {
+
+		private final String phenotype;
+		private final long seed;
+
+		Key(String phenotype, long seed) {
+			this.phenotype = phenotype;
+			this.seed = seed;
+		}
+
+		public boolean equals(Object other) {
+			if (!(other instanceof Key))
+				return false;
+			Key key = (Key) other;
+			return seed == key.seed && phenotype.equals(key.phenotype);
+		}
+
+		public int hashCode() {
+			return 31 * phenotype.hashCode() + (int) (seed ^ (seed >>> 32));
+		}
+
+	}
+
+	/**
+	 * The cached evaluation of a phenotype.
+	 */
+	private static final class Evaluation {
+
+		private final double rawFitness;
+		private final boolean valid;
+		private final int numberOfBins;
+
+		Evaluation(Individual<?, ?> individual) {
+			rawFitness = individual.rawFitness();
+			valid = individual.isValid();
+			numberOfBins = individual.numBins();
+		}
+
+		void copyTo(Individual<?, ?> individual) {
+			individual.setRawFitnessValue(rawFitness);
+			individual.setValid(valid);
+			individual.setNumberBins(numberOfBins);
+		}
+
+	}
+
+	/**
+	 * The caching evaluator of a <code>ConcurrentEvaluator</code>.
+	 */
+	private static class Concurrent<T, S> extends CachingEvaluator<T, S> implements ConcurrentEvaluator<T, S> {
+
+		Concurrent(ConcurrentEvaluator<T, S> evaluator, int maxSize) {
+			super(evaluator, maxSize);
+		}
+
+	}
+
+}
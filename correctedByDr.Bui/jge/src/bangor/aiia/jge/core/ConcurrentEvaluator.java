@@ -0,0 +1,59 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ * 
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ * 
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */ 
+
+package bangor.aiia.jge.core;
+
+import bangor.aiia.jge.population.Population;
+
+/**
+ * The interface <code>ConcurrentEvaluator</code> marks an <code>Evaluator</code>
+ * which is safe for concurrent evaluation.<br>
+ * An evaluator which implements this interface guarantees that its method 
+ * <code>evaluate(Population)</code> can be called concurrently by many threads, 
+ * each one with a different sub-population (a disjoint subset of the individuals 
+ * of the evolved population), and that the fitness of an individual does not depend 
+ * on the other individuals of the population.
+ * <br><br>
+ * The evolutionary algorithms evaluate the population in parallel chunks only 
+ * when their evaluator implements this interface. Otherwise, the individuals are
+ * mapped in parallel but the evaluator is called once, by one thread, with the 
+ * whole population.
+ * 
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	Evaluator
+ * @since	JavaGE 0.1
+ * @param 	<T> The type of the value of the Genotype of the individuals of the population
+ * @param 	<S> The type of the value of the Phenotype of the individuals of the population
+ */
+public interface ConcurrentEvaluator <T, S> extends Evaluator<T, S> {
+	
+	/**
+	 * Evaluates the given population (or sub-population) and calculates / assigns the fitness
+	 * value of/to each individual of the population.<br>
+	 * This method may be called concurrently by many threads with disjoint sub-populations.
+	 * 
+	 * @param population The population (or sub-population) to be evaluated.
+	 */
+	public void evaluate(Population<T, S> population);
+
+}
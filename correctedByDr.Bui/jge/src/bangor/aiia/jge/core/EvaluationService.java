@@ -0,0 +1,274 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ * 
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ * 
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */ 
+
+package bangor.aiia.jge.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import bangor.aiia.jge.environment.Environment;
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Population;
+
+/**
+ * The class <code>EvaluationService</code> evaluates individuals asynchronously
+ * on a fixed pool of threads.<br>
+ * The individuals can be submitted one by one (<code>submit()</code>) or in batches
+ * (<code>submitAll()</code>) and a <code>Future</code> is returned for each one of them.
+ * The service itself is an <code>Evaluator</code>, so it can be given to an evolutionary 
+ * algorithm in place of the evaluator it wraps.
+ * <br><br>
+ * The individuals are evaluated concurrently only if the wrapped evaluator is a
+ * <code>ConcurrentEvaluator</code>, otherwise the pool has a single thread.<br>
+ * If a time limit is set, the individuals of a population which have not been
+ * evaluated before the time limit expires are cancelled and marked as invalid and
+ * not evaluated, so an evolutionary algorithm evaluates them again in the next generation.
+ * A cancelled evaluation is interrupted: it stops only if the evaluator checks the
+ * interrupt status of its thread, otherwise it runs to completion on the pool and
+ * its result is discarded.
+ * <br><br>
+ * The method <code>shutdown()</code> must be called when the service is not needed anymore.
+ * 
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	IndividualEvaluator
+ * @see 	ConcurrentEvaluator
+ * @since	JavaGE 0.1
+ * @param 	<T> The type of the value of the Genotype of the individuals
+ * @param 	<S> The type of the value of the Phenotype of the individuals
+ */
+public class EvaluationService <T, S> implements IndividualEvaluator<T, S>, ConcurrentEvaluator<T, S> {
+	
+	/**
+	 * The evaluator of the individuals.
+	 */
+	private final IndividualEvaluator<T, S> evaluator;
+	
+	/**
+	 * The threads which evaluate the individuals.
+	 */
+	private final ExecutorService executor;
+	
+	/**
+	 * The time limit in milliseconds for the evaluation of a population (0 for no limit).
+	 */
+	private long timeLimit;
+	
+	
+	/**
+	 * EvaluationService constructor.
+	 * 
+	 * @param evaluator The evaluator of the individuals.
+	 * @param threads The number of the threads of the service (less than 1 for one thread per 
+	 * 				  available processor). It is ignored if the evaluator is not a <code>ConcurrentEvaluator</code>.
+	 */
+	public EvaluationService(Evaluator<T, S> evaluator, int threads) {
+		this.evaluator = PopulationEvaluatorAdapter.adapt(evaluator);
+		this.timeLimit = 0;
+		
+		if (threads < 1)
+			threads = Runtime.getRuntime().availableProcessors();
+		if (!(evaluator instanceof ConcurrentEvaluator))
+			threads = 1;
+		
+		this.executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			public Thread newThread(Runnable task) {
+				Thread thread = new Thread(task, "jge-evaluation");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+	
+	/**
+	 * Submits the given individual for evaluation.
+	 * 
+	 * @param individual The individual to be evaluated.
+	 * @return The <code>Future</code> of the evaluation which returns the evaluated individual.
+	 */
+	public Future<Individual<T, S>> submit(Individual<T, S> individual) {
+		return submit(individual, null);
+	}
+	
+	/**
+	 * Submits the given individual of a population with the given environment for evaluation.
+	 * A population level evaluator (see <code>PopulationEvaluatorAdapter</code>) evaluates 
+	 * the individual in this environment.
+	 * 
+	 * @param individual The individual to be evaluated.
+	 * @param environment The environment of the population of the individual (or null).
+	 * @return The <code>Future</code> of the evaluation which returns the evaluated individual.
+	 */
+	public Future<Individual<T, S>> submit(final Individual<T, S> individual, final Environment environment) {
+		return executor.submit(new Callable<Individual<T, S>>() {
+			public Individual<T, S> call() {
+				if (evaluator instanceof PopulationEvaluatorAdapter)
+					((PopulationEvaluatorAdapter<T, S>) evaluator).evaluate(individual, environment);
+				else
+					evaluator.evaluate(individual);
+				return individual;
+			}
+		});
+	}
+	
+	/**
+	 * Submits the individuals of the given population for evaluation
+	 * (in the environment of the population).
+	 * 
+	 * @param population The population to be evaluated.
+	 * @return The <code>Future</code> of the evaluation of each individual (in the order of the population).
+	 */
+	public List<Future<Individual<T, S>>> submitAll(Population<T, S> population) {
+		int size = population.size();
+		List<Future<Individual<T, S>>> futures = new ArrayList<Future<Individual<T, S>>>(size);
+		for (int i = 0; i < size; i++)
+			futures.add(submit(population.getIndividual(i), population.getEnvironment()));
+		return futures;
+	}
+	
+	/**
+	 * Evaluates the given individual and waits for the evaluation to finish.
+	 * 
+	 * @param individual The individual to be evaluated.
+	 */
+	public void evaluate(Individual<T, S> individual) {
+		await(submit(individual));
+	}
+	
+	/**
+	 * Evaluates the individuals of the given population and waits for the evaluations to finish.<br>
+	 * If a time limit is set then the individuals which have not been evaluated 
+	 * in time are marked as invalid (their raw fitness and number of bins are reset to 0)
+	 * and as not evaluated (see <code>Individual.setEvaluated()</code>).
+	 * 
+	 * @param population The population to be evaluated.
+	 */
+	public void evaluate(Population<T, S> population) {
+		
+		if (timeLimit <= 0) {
+			for (Future<Individual<T, S>> future : submitAll(population))
+				await(future);
+			return;
+		}
+		
+		// The timed out evaluations can finish later, so clones of the individuals 
+		// are evaluated and the results are copied back only if they are in time
+		int size = population.size();
+		List<Future<Individual<T, S>>> futures = new ArrayList<Future<Individual<T, S>>>(size);
+		for (int i = 0; i < size; i++)
+			futures.add(submit(population.getIndividual(i).clone(), population.getEnvironment()));
+		
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimit);
+		for (int i = 0; i < size; i++) {
+			Individual<T, S> individual = population.getIndividual(i);
+			Future<Individual<T, S>> future = futures.get(i);
+			try {
+				Individual<T, S> evaluated = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				individual.setRawFitnessValue(evaluated.getRawFitnessValue());
+				individual.setValid(evaluated.isValid());
+				individual.setNumberBins(evaluated.getNumberBins());
+			}
+			catch (TimeoutException te) {
+				future.cancel(true);
+				individual.setValid(false);
+				individual.setNumberBins(0);
+				individual.setEvaluated(false);
+			}
+			catch (InterruptedException ie) {
+				for (int j = i; j < size; j++)
+					futures.get(j).cancel(true);
+				Thread.currentThread().interrupt();
+				return;
+			}
+			catch (ExecutionException ee) {
+				throw failure(ee);
+			}
+		}
+		
+	}
+	
+	/**
+	 * Returns the time limit in milliseconds for the evaluation of a population.
+	 * 
+	 * @return The time limit in milliseconds (0 for no limit).
+	 */
+	public long getTimeLimit() {
+		return timeLimit;
+	}
+	
+	/**
+	 * Sets the time limit in milliseconds for the evaluation of a population.<br>
+	 * The evaluations which are not finished in time are cancelled by interrupting their threads.
+	 * An evaluator which does not check the interrupt status runs to completion and
+	 * keeps its pool thread busy, delaying the evaluations which are submitted after it.
+	 * 
+	 * @param timeLimit The time limit in milliseconds (0 for no limit).
+	 */
+	public void setTimeLimit(long timeLimit) {
+		this.timeLimit = timeLimit;
+	}
+	
+	/**
+	 * Stops the threads of the service. The evaluations which have been
+	 * submitted already are executed but no new evaluations are accepted.
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
+	
+	/**
+	 * Waits for the given evaluation to finish.
+	 */
+	private void await(Future<Individual<T, S>> future) {
+		try {
+			future.get();
+		}
+		catch (InterruptedException ie) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException ee) {
+			throw failure(ee);
+		}
+	}
+	
+	/**
+	 * Returns the cause of the failure of an evaluation as an unchecked exception.
+	 */
+	private static RuntimeException failure(ExecutionException ee) {
+		Throwable cause = ee.getCause();
+		if (cause instanceof RuntimeException)
+			return (RuntimeException) cause;
+		if (cause instanceof Error)
+			throw (Error) cause;
+		return new RuntimeException("Evaluation failed", cause);
+	}
+
+}
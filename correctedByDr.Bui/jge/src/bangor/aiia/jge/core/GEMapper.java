@@ -22,21 +22,20 @@
 
 package bangor.aiia.jge.core;
 
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.Vector;
 
+import bangor.aiia.jge.bnf.BNFCompiledGrammar;
 import bangor.aiia.jge.bnf.BNFGrammar;
-import bangor.aiia.jge.bnf.BNFProduction;
-import bangor.aiia.jge.bnf.BNFRule;
 import bangor.aiia.jge.bnf.BNFSymbol;
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.BinaryGenomeBuilder;
 import bangor.aiia.jge.population.Genotype;
 import bangor.aiia.jge.population.InvalidPhenotypeException;
 import bangor.aiia.jge.population.Phenotype;
 
 /**
  * The class <code>GEMapper</code> implements the interface
- * <code>Mapper&lt;String, String&gt;</code> and is an implementation of the Grammatical Evolution mapping
+ * <code>Mapper&lt;BinaryGenome, String&gt;</code> and is an implementation of the Grammatical Evolution mapping
  * process from genotype to phenotype.<br>
  * Grammatical Evolution is an evolutionary algorithm invented by Michael O'Neill and Conor Ryan:<br>
  * O'NEILL, M. and RYAN, C. (2003) <u>Grammatical Evolution: Evolutionary Automatic Programming in an Arbitrary Language</u>. 
@@ -53,7 +52,7 @@ import bangor.aiia.jge.population.Phenotype;
  * Context-Free Grammars (CFG) which means that a specific codon value will
  * always result in a specific production for a non-terminal symbol, regardless
  * of the context in which appears.<br>&nbsp;</li>
- * <li>Genotype Encoding<br>It uses a binary encoded genotype.<br>&nbsp;</li>
+ * <li>Genotype Encoding<br>It uses a binary encoded genotype (<code>BinaryGenome</code>) whose codons are read directly from its packed bits.<br>&nbsp;</li>
  * <li>Mapping Process<br>The mapping process is as follows: 
  * <br> 1. The genotype is used to
  * map the start symbol of the BNF onto terminals. 
@@ -81,18 +80,26 @@ import bangor.aiia.jge.population.Phenotype;
  * Note: In the current version of the JavaGE library
  * Special Directives are not yet supported.<br>&nbsp;</li>
  * </ul>
+ * <b>Concurrency</b><br>
+ * The method <code>map()</code> returns the outcome of the mapping process as an immutable
+ * <code>MappingResult</code> and keeps its working memory per thread, so a single
+ * <code>GEMapper</code> can be shared by many threads. The method <code>getPhenotype()</code>
+ * and the <code>lastRun...()</code> methods keep the outcome of the last run in the mapper
+ * and they must be used by one thread only.
  * 
  * @author	Loukas Georgiou
  * @version 1.01, 11/03/06
  * @see 	Core
  * @see 	Mapper
+ * @see 	MappingResult
  * @see 	Genotype
+ * @see 	BinaryGenome
  * @see 	Phenotype
  * @see 	BNFGrammar
  * @see 	BNFSymbol
  * @since 	JavaGE 0.1
  */
-public class GEMapper implements Mapper<String, String> {
+public class GEMapper implements Mapper<BinaryGenome, String> {
 
 	/**
 	 * The set of the special directives (non-terminal symbols string values).
@@ -119,29 +126,26 @@ public class GEMapper implements Mapper<String, String> {
 	private BNFGrammar grammar;
 	
 	/**
-	 * The current wrap (cycle) of reads of the RNA
+	 * The compiled (index-based) form of the BNF Grammar which is used in the mapping process.
 	 */
-	private int currentWrap;
+	private BNFCompiledGrammar compiled;
 	
 	/**
-	 * The codons array of the genotype (RNA)
+	 * The per thread working memory (RNA, derivation stack, output) of the mapping process.
+	 * Each thread which uses this mapper gets its own <code>Derivation</code> object
+	 * so the method <code>map()</code> can be called concurrently.
 	 */
-	private int[] rna;
+	private final ThreadLocal<Derivation> derivations;
 	
 	/**
-	 * The next codon from RNA to be used if needed
+	 * The result of the last run of the method <code>getPhenotype()</code>.
 	 */
-	private int currentCodonIndex;
+	private MappingResult lastRun;
 	
 	/**
-	 * The phenotyte's string value
+	 * The genome of the last run of the method <code>getPhenotype()</code>.
 	 */
-	private String phenotypeValue;
-	
-	/**
-	 * The currently processed BNF Symbol
-	 */
-	BNFSymbol symbol;
+	private BinaryGenome lastGenome;
 	
 	
 	/**
@@ -151,13 +155,16 @@ public class GEMapper implements Mapper<String, String> {
 		codonSize = 8;	// The default codon size of Grammatical Evolution.
 		maxWraps = 10;	// The default maximum wraps of Grammatical Evolution.	
 		grammar = null;
+		compiled = null;
 		directives = new String[] {"<GECodonValue>", "<GEIntron>"}; 
 
-		currentWrap = 0;	
-		rna = null;
-		currentCodonIndex = -1;
-		phenotypeValue = null;
-		symbol = null;
+		derivations = new ThreadLocal<Derivation>() {
+			protected Derivation initialValue() {
+				return new Derivation();
+			}
+		};
+		lastRun = null;
+		lastGenome = null;
 	
 	}
 	
@@ -172,13 +179,19 @@ public class GEMapper implements Mapper<String, String> {
 		this();
 		this.codonSize = codonSize;
 		this.maxWraps = maxWraps;
-		this.grammar = grammar;
+		setGrammar(grammar);
 	}
 
 	/**
 	 * Implements the Grammatical Evolution mapping algorithm 
-	 * from genotype to phenotype. 
+	 * from genotype to phenotype.<br>
+	 * The outcome of this run can be retrieved afterwards with the methods
+	 * <code>lastRunWraps()</code>, <code>lastRunCodonIndex()</code>, 
+	 * <code>lastRunPhenotypeValue()</code>, <code>lastRunSymbol()</code> and <code>lastRunRNA()</code>,
+	 * so this method must not be called concurrently. Use the method <code>map()</code> instead
+	 * when a mapper is shared by many threads.
 	 * 
+	 * @see GEMapper#map(BinaryGenome)
 	 * @param genotype The genotype to be processed.
 	 * @return The corresponding phenotype.
 	 * @throws InvalidPhenotypeException when an invalid <code>Phenotype</code> is resulted
@@ -190,207 +203,304 @@ public class GEMapper implements Mapper<String, String> {
 	 * 									 <li>The processed non-terminal symbol has only one production rule and it exists in this production rule (endless recursion)</li>
 	 * 									 </ul>
 	 */
-	public Phenotype<String> getPhenotype(Genotype<String> genotype) throws InvalidPhenotypeException {
+	public Phenotype<String> getPhenotype(Genotype<BinaryGenome> genotype) throws InvalidPhenotypeException {
+		
+		lastGenome = genotype.value();
+		lastRun = map(lastGenome);
+		
+		if (!lastRun.isValid())
+			throw new InvalidPhenotypeException(lastRun.getFailureReason());
 		
-		// Initialise instance variables
-		currentWrap = 0;
-		rna = null;
-		currentCodonIndex = -1;
-		phenotypeValue = null;
-		symbol = null;
+		return new Phenotype<String>(lastRun.getPhenotype());
 		
-		// Declare and Initialise the local variables
-		String dna = null;						// The binary string of the genotype (DNA)		
-		int codonsNum = 0;						// Number of codons in the genotype
-		Phenotype<String> phenotype = null; 	// The phenotype to be created and returned
-		LinkedList<BNFSymbol> working = null;	// The working collection of BNFSymbols for the step by step creation of the final phenotype
-		BNFRule rule = null;					// The current BNF Rule
-		BNFProduction[] production = null;		// The current BNF Productions collection
-		BNFSymbol[]symbols = null;				// The BNF Symbol collection of the current production
-		boolean hasNonTerminal = true;			// True if the working set has Non-Terminal BNF Symbols
-		int currentIndex = 0;					// The index of the current symbol in the working set
-		int choosenProduction = 0;				// The production to be used if there are more than one productions for the current symbol
+	}
+	
+	/**
+	 * Implements the Grammatical Evolution mapping algorithm 
+	 * from genotype to phenotype and returns the outcome of the mapping process.<br>
+	 * Contrary to <code>getPhenotype()</code> this method does not throw an exception 
+	 * when an invalid phenotype is resulted (see <code>MappingResult.isValid()</code>) 
+	 * and it does not change the state of the mapper, so it can be called concurrently 
+	 * by many threads.
+	 * 
+	 * @param genome The binary genome (DNA) to be processed.
+	 * @return The outcome of the mapping process.
+	 */
+	public MappingResult map(BinaryGenome genome) {
 		
-		// Get the String value of the genotype
-		dna = genotype.value();
-		//System.out.println("dna= " +dna);
+		Derivation derivation = derivations.get();
 		
-		// Calculate the number of codons in the genotype string
+		// Convert the Binary Genome (DNA) into an Integers Array (RNA)
 		// Note: It is possible the last codon to have less than codonSize bits
-		codonsNum = (int) Math.ceil( (double) dna.length() / (double) codonSize);
+		derivation.ensureRNACapacity(genome.codonCount(codonSize));
+		derivation.rnaLength = genome.codons(codonSize, derivation.rna);
 		
-		// Convert the Binary String (DNA) into an Integers Array (RNA)
-		rna = new int[codonsNum];
-		for (int i = 0; i < codonsNum; i++) {
-			// Calculate the position of the next codon
-			int start = i * codonSize;
-			//System.out.println(start);
-			int end = (start + codonSize < dna.length())? start + codonSize : dna.length();
-			// Convert the binary string value into a decimal integer value and store it
-			rna[i] = Integer.parseInt(dna.substring(start, end), 2);			
-		}		
+		return derivation.derive(compiled, maxWraps);
 		
-		// Initialise the working set
-		working = new LinkedList<BNFSymbol>();
+	}
+	
+	/**
+	 * Implements the Grammatical Evolution mapping algorithm 
+	 * from genotype to phenotype and returns the outcome of the mapping process.
+	 * 
+	 * @see GEMapper#map(BinaryGenome)
+	 * @param genotype The genotype to be processed.
+	 * @return The outcome of the mapping process.
+	 */
+	public MappingResult map(Genotype<BinaryGenome> genotype) {
+		return map(genotype.value());
+	}
+	
+	/**
+	 * Implements the Grammatical Evolution mapping algorithm 
+	 * from genotype to phenotype and returns the outcome of the mapping process.<br>
+	 * The codons are read directly from the bits of the builder, so a genome which
+	 * is being bred does not have to be converted into a <code>BinaryGenome</code> first.
+	 * 
+	 * @see GEMapper#map(BinaryGenome)
+	 * @param genome The binary genome (DNA) to be processed.
+	 * @return The outcome of the mapping process.
+	 */
+	public MappingResult map(BinaryGenomeBuilder genome) {
 		
-		// Get Start Symbol
-		symbol = grammar.getStartSymbol();
+		Derivation derivation = derivations.get();
 		
-		// Add symbol to the Working Set
-		working.add(symbol);
+		// Convert the Binary Genome (DNA) into an Integers Array (RNA)
+		// Note: It is possible the last codon to have less than codonSize bits
+		derivation.ensureRNACapacity((genome.length() + codonSize - 1) / codonSize);
+		derivation.rnaLength = genome.codons(codonSize, derivation.rna);
 		
-		// Process the symbols of the working set
-		while (hasNonTerminal) {
-			
-			
-			// Pickup the current symbol of the working set			
-			symbol = working.get(currentIndex);
-			
-			//System.out.println("Current Symbol: " + symbol.toString());
-			//System.out.println("Current Codon: " + currentCodon);
-			//System.out.println("Current Wrap: " + currentWrap);
-			//System.out.println("RNA Length: " + rna.length);
+		return derivation.derive(compiled, maxWraps);
+		
+	}
+	
+	
+	/**
+	 * The class <code>Derivation</code> keeps the working memory of the mapping process
+	 * of one thread: the codons of the genotype (RNA), the derivation stack with the ids 
+	 * of the symbols which have not been derived yet, and the derived part of the phenotype.
+	 * The arrays are reused by the next runs of the same thread.
+	 */
+	private static final class Derivation {
+		
+		/**
+		 * The codons array of the genotype (RNA).
+		 * Only its first <code>rnaLength</code> codons are valid.
+		 */
+		int[] rna = new int[64];
+		
+		/**
+		 * The number of codons of the genotype (RNA)
+		 */
+		int rnaLength = 0;
+		
+		/**
+		 * The derivation stack with the ids of the symbols which have not been derived yet
+		 * (the leftmost symbol on the top).
+		 */
+		int[] stack = new int[64];
+		
+		/**
+		 * The size of the derivation stack (the index of the next free position)
+		 */
+		int top = 0;
+		
+		/**
+		 * The derived part of the phenotype.
+		 */
+		StringBuilder output = new StringBuilder();
+		
+		/**
+		 * The index of the last used codon
+		 */
+		int codonIndex = -1;
+		
+		/**
+		 * The current wrap (cycle) of reads of the RNA
+		 */
+		int wraps = 0;
+		
+		/**
+		 * The number of the codons which have been read
+		 */
+		int reads = 0;
+		
+		/**
+		 * Makes sure that the RNA array can hold <code>codons</code> codons.
+		 */
+		void ensureRNACapacity(int codons) {
+			if (rna.length < codons)
+				rna = new int[Math.max(codons, 2 * rna.length)];
+		}
+		
+		/**
+		 * Derives the start symbol of the grammar using the current RNA.
+		 * 
+		 * @param compiled The compiled BNF Grammar.
+		 * @param maxWraps The maximum allowable wraps.
+		 * @return The outcome of the mapping process.
+		 */
+		MappingResult derive(BNFCompiledGrammar compiled, int maxWraps) {
 			
+			// Initialise the working memory
+			codonIndex = -1;
+			wraps = 0;
+			reads = 0;
+			top = 0;
+			output.setLength(0);
 			
-			if (symbol.isTerminal()) {					// TERMINAL SYMBOL
-				
-				// Increase current index
-				currentIndex++;
-				
-				// Check if it is the last symbol	
-				if (currentIndex == working.size())		
-					hasNonTerminal = false;
-				
-			}
+			// Declare and Initialise the local variables
+			int current = 0;						// The id of the currently processed symbol
+			int[][] production = null;				// The productions of the rule of the current symbol
+			int[] symbols = null;					// The symbol ids of the current production
+			int choosenProduction = 0;				// The production to be used if there are more than one productions for the current symbol
 			
-			else if (isDirective(symbol)) {				// SPECIAL DIRECTIVE
-				
-				// Increase current index
-				currentIndex++;
-				
-				// Execute here the Special Directive	
-				// [Check the kind of directive and
-				// execute the corresponding steps
-				
-				// Check if it is the last symbol
-				if (currentIndex == working.size())		
-					hasNonTerminal = false;
-				
-			}
+			// Initialise the working set: the symbols which have not been derived yet
+			// are kept in a stack (the leftmost symbol on the top) and the derived
+			// terminal symbols are appended to the output
+			stack[top++] = compiled.getStartSymbol();
 			
-			else {										// NON-TERMINAL SYMBOL
-								
-				// Get the rule of this symbol
-				rule = grammar.getRule(symbol);
+			// Process the symbols of the working set (leftmost derivation)
+			while (top > 0) {
 				
-				// Check if this non-terminal symbol has an associated rule
-				if (rule == null) {
-					createPhenotypeValue(working);
-					throw new InvalidPhenotypeException("Invalid Phenotype: Non-Terminal " + symbol.getValue() + " with no Production");
-				}
-											
-				// Check if this non-terminal symbol has production(s)
-				if (rule.count() == 0) {
-					createPhenotypeValue(working);
-					throw new InvalidPhenotypeException("Invalid Phenotype: Non-Terminal " + symbol.getValue() + " with no Production");
-				}
-				
-				production = rule.getProductions();			
+				// Pickup the current (leftmost) symbol of the working set			
+				current = stack[--top];
 				
-				// Replace the current non-terminal symbol with its production symbols
-				if (rule.count() == 1) {
+				if (compiled.isTerminal(current) 			// TERMINAL SYMBOL
+						|| compiled.isDirective(current)) {	// SPECIAL DIRECTIVE
 					
-					symbols = production[0].getSymbols();
+					// Execute here the Special Directive	
+					// [Check the kind of directive and
+					// execute the corresponding steps
 					
-					// Remove the current symbol and add the new symbols in the working set
-					working.remove(currentIndex);
-					for (int i = symbols.length - 1; i >= 0; i--) {
-						// Check for BNF Grammar Recursion (current symbol exists in the production)
-						if (symbols[i].getValue().equals(symbol.getValue())) {
-							createPhenotypeValue(working);
-							throw new InvalidPhenotypeException("Invalid Phenotype: Recursive BNF Exception in rule " + symbol.getValue());
-						}
-						else { // Otherwise add the symbol in the working set
-							working.add(currentIndex, symbols[i]);
-						}
-					}
+					output.append(compiled.getValue(current));
 					
 				}
-				else {
+				
+				else {										// NON-TERMINAL SYMBOL
+									
+					// Get the productions of the rule of this symbol
+					production = compiled.getProductions(current);
 					
-					// Increase the index of the codon which will be used (currentCodonIndex)
-					increaseCodonIndex(working);
+					// Check if this non-terminal symbol has an associated rule with production(s)
+					if (production == null || production.length == 0)
+						return failure(compiled, current, current, "Invalid Phenotype: Non-Terminal " + compiled.getValue(current) + " with no Production");
 					
-					// Select the production rule
-					choosenProduction = rna[currentCodonIndex] % rule.count();
+					// Replace the current non-terminal symbol with its production symbols
+					if (production.length == 1) {
+						
+						symbols = production[0];
+						ensureStackCapacity(symbols.length);
+						
+						// Add the new symbols in the working set (the first one on the top)
+						for (int i = symbols.length - 1; i >= 0; i--) {
+							// Check for BNF Grammar Recursion (current symbol exists in the production)
+							if (symbols[i] == current)
+								return failure(compiled, -1, current, "Invalid Phenotype: Recursive BNF Exception in rule " + compiled.getValue(current));
+							// Otherwise add the symbol in the working set
+							stack[top++] = symbols[i];
+						}
+						
+					}
+					else {
+						
+						// Increase the index of the codon which will be used (codonIndex)
+						if (!nextCodon(maxWraps))
+							return failure(compiled, current, current, "Invalid Phenotype: Max Wraps exceeded (" + (wraps - 1) + ")");
+						
+						// Select the production rule
+						choosenProduction = rna[codonIndex] % production.length;
+						
+						// Get the new symbols to be added in the working set
+						symbols = production[choosenProduction];
+						ensureStackCapacity(symbols.length);
+						
+						// Add the new symbols in the working set (the first one on the top)
+						for (int i = symbols.length - 1; i >= 0; i--) {
+								stack[top++] = symbols[i];
+						}					
 					
-					// Get the new symbols to be added in the working set
-					symbols = production[choosenProduction].getSymbols();
+					}
 					
-					// Remove the current symbol and add the new symbols in the working set
-					working.remove(currentIndex);
-					for (int i = symbols.length - 1; i >= 0; i--) {
-							working.add(currentIndex, symbols[i]);
-					}					
-	
-				
 				}
-				
+							
 			}
-						
+			
+			// Create the corresponding phenotype
+			return new MappingResult(output.toString(), true, reads, codonIndex, wraps, null, compiled.getSymbol(current));
+			
 		}
 		
-		// Create the corresponding phenotype
-		phenotype = new Phenotype<String>(createPhenotypeValue(working));
-		
-		return phenotype;
-		
-	}
-	
-	/**
-	 * Creates the String representation of the phenotype as it is in the working linked list.
-	 * 
-	 * @param list The working linked list with the processed phenotype symbols
-	 * @return The String representation of the current status of the processed phenotype
-	 */
-	private String createPhenotypeValue(LinkedList<BNFSymbol> list) {
-		StringBuilder temp = new StringBuilder();
-		Iterator<BNFSymbol> iterator = list.iterator();
-		while (iterator.hasNext())
-			temp.append(iterator.next().getValue());
-		phenotypeValue = temp.toString();
-		return phenotypeValue;
-	}
-	
-	/**
-	 * Calculates and sets the next codon index of the RNA which will be used.
-	 * Also, it updates the <code>currentWrap</code> field if necessary.
-	 * 
-	 * @param list The working linked list with the processed phenotype symbols
-	 */
-	private void increaseCodonIndex(LinkedList<BNFSymbol> list) throws InvalidPhenotypeException {
-		
-		int previousIndex = currentCodonIndex;
-		
-		// Set the index of the codon to be used
-		currentCodonIndex++;
+		/**
+		 * Calculates and sets the next codon index of the RNA which will be used.
+		 * Also, it updates the <code>wraps</code> field if necessary.
+		 * 
+		 * @param maxWraps The maximum allowable wraps.
+		 * @return False if the maximum allowable wraps is exceeded (the codon index is not changed).
+		 */
+		private boolean nextCodon(int maxWraps) {
+			
+			// An empty genotype has no codon to wrap to
+			if (rnaLength == 0) {
+				wraps = maxWraps + 1;
+				return false;
+			}
+			
+			int previousIndex = codonIndex;
+			
+			// Set the index of the codon to be used
+			codonIndex++;
+			
+			// Check if a wrap is necessary
+			if (codonIndex == rnaLength) {
+				codonIndex = 0;
+				wraps++;
+			}
+			
+			// Check if maximum allowed wraps is reached
+			if (wraps > maxWraps) {
+				codonIndex = previousIndex;
+				return false;
+			}
+			
+			reads++;
+			return true;
+			
+		}
 		
-		// Check if a wrap is necessary
-		if (currentCodonIndex == rna.length) {
-			currentCodonIndex = 0;
-			currentWrap++;
+		/**
+		 * Makes sure that <code>extra</code> more symbols can be pushed in the derivation stack.
+		 */
+		private void ensureStackCapacity(int extra) {
+			if (top + extra > stack.length) {
+				int[] larger = new int[Math.max(top + extra, 2 * stack.length)];
+				System.arraycopy(stack, 0, larger, 0, top);
+				stack = larger;
+			}
 		}
 		
-		// Check if maximum allowed wraps is reached
-		if (currentWrap > maxWraps) {
-			createPhenotypeValue(list);
-			currentCodonIndex = previousIndex;
-			throw new InvalidPhenotypeException("Invalid Phenotype: Max Wraps exceeded (" + (currentWrap - 1) + ")");
+		/**
+		 * Creates the result of a failed mapping process. Its phenotype is the String representation 
+		 * of the working set, namely the derived terminal symbols followed by the symbols of the derivation stack.
+		 * 
+		 * @param compiled The compiled BNF Grammar.
+		 * @param pending The id of the symbol which has been taken out of the stack but it has not 
+		 * 				  been derived yet, or -1 if there is no such symbol.
+		 * @param current The id of the currently processed symbol.
+		 * @param reason The reason of the failure.
+		 * @return The result of the failed mapping process.
+		 */
+		private MappingResult failure(BNFCompiledGrammar compiled, int pending, int current, String reason) {
+			StringBuilder temp = new StringBuilder(output);
+			if (pending >= 0)
+				temp.append(compiled.getValue(pending));
+			for (int i = top - 1; i >= 0; i--)
+				temp.append(compiled.getValue(stack[i]));
+			return new MappingResult(temp.toString(), false, reads, codonIndex, wraps, reason, compiled.getSymbol(current));
 		}
 		
 	}
 	
-
 	/**
 	 * Implements the reverse process of the Grammatical Evolution
 	 * mapping algorithm. Namely, it maps a phenotype to many candidate
@@ -401,7 +511,7 @@ public class GEMapper implements Mapper<String, String> {
 	 * @param phenotype The phenotype to be processed.
 	 * @return The candidate genotypes.
 	 */
-	public Vector<Genotype<String>> getGenotype(Phenotype<String> phenotype) {
+	public Vector<Genotype<BinaryGenome>> getGenotype(Phenotype<String> phenotype) {
 		throw new UnsupportedOperationException("The method gemapper.getGenotype(phenotype) is not yet supported");
 	}
 
@@ -463,6 +573,7 @@ public class GEMapper implements Mapper<String, String> {
 	 */
 	public void setGrammar(BNFGrammar grammar) {
 		this.grammar = grammar;
+		this.compiled = (grammar == null) ? null : grammar.compile(directives);
 	}
 
 		
@@ -491,7 +602,7 @@ public class GEMapper implements Mapper<String, String> {
 	 * @return The number of wraps of the last mapping process.
 	 */
 	public int lastRunWraps() {
-		return currentWrap;
+		return (lastRun == null) ? 0 : lastRun.getWraps();
 	}
 	
 	/**
@@ -500,6 +611,9 @@ public class GEMapper implements Mapper<String, String> {
 	 * @return The RNA (integers array) of the last mapping process.
 	 */
 	public int[] lastRunRNA() {
+		if (lastGenome == null) return null;
+		int[] rna = new int[lastGenome.codonCount(codonSize)];
+		lastGenome.codons(codonSize, rna);
 		return rna;
 	}
 	
@@ -510,7 +624,7 @@ public class GEMapper implements Mapper<String, String> {
 	 * @return The last used codon index of the last mapping process.
 	 */
 	public int lastRunCodonIndex() {
-		return currentCodonIndex;
+		return (lastRun == null) ? -1 : lastRun.getLastCodonIndex();
 	}
 	
 	/**
@@ -519,7 +633,7 @@ public class GEMapper implements Mapper<String, String> {
 	 * @return The value of the phenotype of the last mapping process.
 	 */
 	public String lastRunPhenotypeValue() {
-		return phenotypeValue;
+		return (lastRun == null) ? null : lastRun.getPhenotype();
 	}
 	
 	/**
@@ -528,7 +642,7 @@ public class GEMapper implements Mapper<String, String> {
 	 * @return The last processed BNF Symbol of the phenotype of the last mapping process.
 	 */
 	public BNFSymbol lastRunSymbol() {
-		return symbol;
+		return (lastRun == null) ? null : lastRun.getLastSymbol();
 	}
 
 	
@@ -23,13 +23,17 @@
 package bangor.aiia.jge.core;
 
 import bangor.aiia.jge.bnf.BNFGrammar;
+import bangor.aiia.jge.environment.Environment;
 import bangor.aiia.jge.evolution.EvolutionaryAlgorithm;
 import bangor.aiia.jge.evolution.Genesis;
 import bangor.aiia.jge.evolution.StandardGA;
 import bangor.aiia.jge.evolution.SteadyStateGA;
+import bangor.aiia.jge.population.BinaryGenome;
 import bangor.aiia.jge.population.Individual;
 import bangor.aiia.jge.population.Population;
 import bangor.aiia.jge.util.Logger;
+import bangor.aiia.jge.util.RandomSource;
+import bangor.aiia.jge.util.SplitMixRandom;
 
 /**
  * The class <code>GrammaticalEvolution</code> implements
@@ -111,6 +115,32 @@ public class GrammaticalEvolution {
 	// The wrapping threshold
 	private int wrapping = 0;
 	
+	// The number of threads which map and evaluate the individuals (1 for sequential evaluation)
+	private int parallelism = 1;
+	
+	// The maximum number of individuals which are mapped and evaluated by one parallel task
+	private int chunkSize = 8;
+	
+	// Map and evaluate all the individuals in every generation, even the evaluated ones
+	private boolean forceReevaluation = false;
+	
+	// The maximum number of phenotypes in the fitness cache (0 for no cache)
+	private int fitnessCacheSize = 0;
+	
+	// The fitness cache of the last run (null if there is no cache)
+	private CachingEvaluator<BinaryGenome, String> fitnessCache = null;
+	
+	// The seed of the random numbers of the Grammatical Evolution process
+	private long seed = 0L;
+	
+	// The random number generator which is split into the generators of the initial population and the runs
+	private SplitMixRandom random = null;
+	
+	// The codons range of the randomly created initial population (which is created again if the seed changes)
+	private int minCodons = 0;
+	private int maxCodons = 0;
+	private boolean randomPopulation = false;
+	
 	
 	// The Logger component which monitors and logs the Grammatical Evolution process
 	private Logger logger = null;
@@ -122,10 +152,13 @@ public class GrammaticalEvolution {
 	private GEMapper mapper = null;
 
 	// The Evaluation Mechanism for the Individuals
-	private Evaluator<String, String> evaluator = null;
+	private Evaluator<BinaryGenome, String> evaluator = null;
 	
 	// The Population to be evolved
-	private Population<String, String> population = null;
+	private Population<BinaryGenome, String> population = null;
+	
+	// The Environment of the populations (e.g. the problem instance), null for none
+	private Environment environment = null;
 	
 	// The codon size in bits
 	private int codonSize = 0;	
@@ -155,6 +188,9 @@ public class GrammaticalEvolution {
 		
 		generationsCreated = 0;
 		
+		seed = new SplitMixRandom().nextLong();
+		random = new SplitMixRandom(seed);
+		
 	}	
 
 	/**
@@ -165,7 +201,7 @@ public class GrammaticalEvolution {
 	 * @param population	The initial population.
 	 * @param codonSize		The codon size in bits of the genotype of each individual.
 	 */
-	public GrammaticalEvolution(BNFGrammar bnfGrammar, Evaluator<String, String> evaluator, Population<String, String> population, int codonSize) {
+	public GrammaticalEvolution(BNFGrammar bnfGrammar, Evaluator<BinaryGenome, String> evaluator, Population<BinaryGenome, String> population, int codonSize) {
 		this();
 		this.bnfGrammar = bnfGrammar;
 		this.evaluator = evaluator;
@@ -185,8 +221,12 @@ public class GrammaticalEvolution {
 	 * @param minCodons			The minimum codons of the genotype of the randomly created individuals.
 	 * @param maxCodons			The maximum codons of the genotype of the randomly created individuals.
 	 */
-	public GrammaticalEvolution(BNFGrammar bnfGrammar, Evaluator<String, String> evaluator, int populationSize, int codonSize, int minCodons, int maxCodons) {
-		this(bnfGrammar, evaluator, Genesis.<String>randomPopulation(populationSize, codonSize, minCodons, maxCodons), codonSize);		
+	public GrammaticalEvolution(BNFGrammar bnfGrammar, Evaluator<BinaryGenome, String> evaluator, int populationSize, int codonSize, int minCodons, int maxCodons) {
+		this(bnfGrammar, evaluator, (Population<BinaryGenome, String>) null, codonSize);
+		this.minCodons = minCodons;
+		this.maxCodons = maxCodons;
+		this.population = Genesis.<String>randomPopulation(populationSize, codonSize, minCodons, maxCodons, random.split());
+		this.randomPopulation = true;
 	}
 	
 	
@@ -199,16 +239,20 @@ public class GrammaticalEvolution {
 	 * 		   after the Grammatical Evolution process.
 	 */
 	
-	public Individual<String, String> run() {
+	public Individual<BinaryGenome, String> run() {
 		
-		Individual<String, String> solution = null;
+		Individual<BinaryGenome, String> solution = null;
 		generationsCreated = 0;
 		
 		// Setup the Mapper 
 		mapper = new GEMapper(bnfGrammar, codonSize, wrapping);
 			
+		// Setup the Environment of the population (inherited by the next generations)
+		if (environment != null)
+			population.setEnvironment(environment);
+		
 		// Setup the Searching Mechanism
-		EvolutionaryAlgorithm<String, String> ea = null;
+		EvolutionaryAlgorithm<BinaryGenome, String> ea = null;
 		if (eaType == EAType.StandardGA) {
 			ea = new StandardGA(population, evaluator);
 		}
@@ -223,9 +267,23 @@ public class GrammaticalEvolution {
 		ea.setDuplicationRate(duplicationRate);
 		ea.setPruningRate(pruningRate);
 		ea.setMaxGenerations(maxGenerations);
+		ea.setParallelism(parallelism);
+		ea.setChunkSize(chunkSize);
+		ea.setForceReevaluation(forceReevaluation);
+		ea.setRandom(random.split());
+		
+		// Setup the seed of the Evaluation
+		long evaluationSeed = random.nextLong();
+		if (evaluator instanceof RandomSource)
+			((RandomSource) evaluator).setSeed(evaluationSeed);
+						
+		// Setup the Fitness Cache
+		fitnessCache = (fitnessCacheSize > 0) ? CachingEvaluator.cache(evaluator, fitnessCacheSize) : null;
+		if (fitnessCache != null)
+			fitnessCache.setSeed(evaluationSeed);
 						
 		ea.setMapper(mapper);
-		ea.setEvaluator(evaluator);		
+		ea.setEvaluator(fitnessCache == null ? evaluator : fitnessCache);		
 		ea.setLogger(logger);		
 		
 		// Log the current Grammatical Evolution Setup
@@ -240,7 +298,12 @@ public class GrammaticalEvolution {
 		
 		System.out.println("I am solution: " +solution);
 		generationsCreated = ea.lastRunGenerations();
+		if (logger != null && fitnessCache != null) {
+			logger.write("FITNESS CACHE", true);
+			logger.write(fitnessCache.toString(), false);
+		}
 		population = ea.getPopulation();
+		randomPopulation = false;
 		
 		return solution;
 		
@@ -313,6 +376,89 @@ public class GrammaticalEvolution {
 		this.wrapping = wrapping;
 	}
 	
+	/**
+	 * Sets the number of threads which map and evaluate the individuals of the population.<br>
+	 * A value of <code>1</code> (the default) means sequential evaluation and a value 
+	 * less than <code>1</code> means one thread per available processor.<br>
+	 * The fitness of the individuals is calculated in parallel only if the evaluator
+	 * is a <code>ConcurrentEvaluator</code>.
+	 * 
+	 * @param parallelism The number of threads of the evaluation.
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Sets the maximum number of individuals which are mapped and evaluated 
+	 * by one parallel task (the default is <code>8</code>).
+	 * 
+	 * @param chunkSize The chunk size of the parallel evaluation.
+	 */
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+	
+	/**
+	 * Sets whether all the individuals of the population are mapped and evaluated
+	 * in every generation (the default is <code>false</code>, namely only the individuals
+	 * with new or changed genomes are evaluated).<br>
+	 * It must be true if the fitness function is not deterministic.
+	 * 
+	 * @param forceReevaluation True if the evaluated individuals must be evaluated again.
+	 */
+	public void setForceReevaluation(boolean forceReevaluation) {
+		this.forceReevaluation = forceReevaluation;
+	}
+	
+	/**
+	 * Sets the maximum number of phenotypes whose fitness values are kept 
+	 * in the fitness cache (the default is <code>0</code>, namely no cache).<br>
+	 * The genotypes which are mapped to a cached phenotype are not evaluated again.
+	 * 
+	 * @see CachingEvaluator
+	 * @param fitnessCacheSize The size of the fitness cache (0 for no cache).
+	 */
+	public void setFitnessCacheSize(int fitnessCacheSize) {
+		this.fitnessCacheSize = fitnessCacheSize;
+	}
+	
+	/**
+	 * Returns the fitness cache of the last run or null if there was no cache.
+	 * 
+	 * @return The fitness cache of the last run.
+	 */
+	public CachingEvaluator<BinaryGenome, String> getFitnessCache() {
+		return fitnessCache;
+	}
+	
+	/**
+	 * Returns the seed of the random numbers of the Grammatical Evolution process.
+	 * 
+	 * @return The seed.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+	
+	/**
+	 * Sets the seed of the random numbers of the Grammatical Evolution process (by default a random seed).<br>
+	 * The random numbers of the initial population, the selection and variation operators 
+	 * and the evaluator (if it is a <code>RandomSource</code>) are generated by streams split 
+	 * from this seed, so a run with the same seed and the same settings gives the same 
+	 * solution, whatever the parallelism of the evaluation.<br>
+	 * If the initial population was randomly created by this object and it has not been evolved yet,
+	 * it is created again from the new seed.
+	 * 
+	 * @param seed The seed.
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+		this.random = new SplitMixRandom(seed);
+		if (randomPopulation)
+			population = Genesis.<String>randomPopulation(population.size(), codonSize, minCodons, maxCodons, random.split());
+	}
+	
 	/**
 	 * Sets the Evolutionary Algorithm to be used as the searching mechanism.
 	 * 
@@ -322,6 +468,27 @@ public class GrammaticalEvolution {
 		this.eaType = eaType;
 	}
 	
+	/**
+	 * Sets the environment of the populations of the Grammatical Evolution process
+	 * (e.g. the problem instance of the evaluator). The initial population and the 
+	 * populations of the next generations are in this environment.
+	 * 
+	 * @param environment The environment of the populations (null to keep the 
+	 * 		  environment of the initial population).
+	 */
+	public void setEnvironment(Environment environment) {
+		this.environment = environment;
+	}
+	
+	/**
+	 * Returns the environment of the populations of the Grammatical Evolution process.
+	 * 
+	 * @return The environment of the populations (null if it is not set).
+	 */
+	public Environment getEnvironment() {
+		return environment;
+	}
+	
 	/**
 	 * Sets the Logger component which monitors and logs 
 	 * the Grammatical Evolution process.
@@ -348,7 +515,7 @@ public class GrammaticalEvolution {
 	 * 
 	 * @return The current population.
 	 */
-	public Population<String, String> getPopulation() {
+	public Population<BinaryGenome, String> getPopulation() {
 		return population;
 	}
 	
@@ -372,6 +539,7 @@ public class GrammaticalEvolution {
 		state.append("BNF Grammar     : " + (bnfGrammar == null?"null":bnfGrammar.getClass()) + "\n");
 		state.append("Mapper          : " + (mapper == null?"null":mapper.getClass()) + "\n");
 		state.append("Evaluator       : " + (evaluator == null?"null":evaluator.getClass()) + "\n");
+		state.append("Environment     : " + (environment == null?"null":environment.getName()) + "\n");
 		state.append("Logger          : " + (logger == null?"null":logger.getClass()) + "\n");
 		state.append("EA Type         : " + eaType + "\n");
 		state.append("Crossover       : " + crossoverRate + "\n");
@@ -380,6 +548,11 @@ public class GrammaticalEvolution {
 		state.append("Pruning         : " + pruningRate + "\n");
 		state.append("Generation Gap  : " + generationGap + "\n");
 		state.append("Generations     : " + maxGenerations + "\n");			
+		state.append("Parallelism     : " + parallelism + "\n");
+		state.append("Chunk Size      : " + chunkSize + "\n");
+		state.append("Reevaluation    : " + (forceReevaluation == true?"forced":"changed genomes only") + "\n");
+		state.append("Fitness Cache   : " + fitnessCacheSize + "\n");
+		state.append("Seed            : " + seed + "\n");
 		
 		return state.toString();
 
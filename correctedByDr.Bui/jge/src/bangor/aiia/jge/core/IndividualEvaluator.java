@@ -0,0 +1,59 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ * 
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ * 
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */ 
+
+package bangor.aiia.jge.core;
+
+import bangor.aiia.jge.population.Individual;
+
+/**
+ * The interface <code>IndividualEvaluator</code> specifies an <code>Evaluator</code>
+ * which estimates the fitness of one individual at a time.<br>
+ * The evolutionary framework can then schedule, cache, parallelize or time-limit
+ * the evaluations of the individuals uniformly (see <code>EvaluationService</code>)
+ * instead of each evaluator writing its own loop over the population.
+ * <br><br>
+ * The class <code>AbstractIndividualEvaluator</code> implements the population level
+ * method <code>evaluate(Population)</code> on top of <code>evaluate(Individual)</code>
+ * and the class <code>PopulationEvaluatorAdapter</code> adapts the existing population 
+ * level evaluators to this interface.
+ * 
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	Evaluator
+ * @see 	AbstractIndividualEvaluator
+ * @see 	PopulationEvaluatorAdapter
+ * @see 	EvaluationService
+ * @since	JavaGE 0.1
+ * @param 	<T> The type of the value of the Genotype of the individuals
+ * @param 	<S> The type of the value of the Phenotype of the individuals
+ */
+public interface IndividualEvaluator <T, S> extends Evaluator<T, S> {
+	
+	/**
+	 * Evaluates the given individual and calculates / assigns its fitness value
+	 * and validity.
+	 * 
+	 * @param individual The individual to be evaluated.
+	 */
+	public void evaluate(Individual<T, S> individual);
+
+}
@@ -0,0 +1,190 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bangor.aiia.jge.core;
+
+import bangor.aiia.jge.bnf.BNFSymbol;
+
+/**
+ * The class <code>MappingResult</code> is the outcome of one run of the
+ * Grammatical Evolution mapping process (see <code>GEMapper.map()</code>).<br>
+ * It carries the phenotype string value, the validity of the phenotype, the number
+ * of the codons which were used, the number of the wraps of the genotype and,
+ * in case of an invalid phenotype, the reason of the failure.
+ * <br><br>
+ * A <code>MappingResult</code> object is immutable, so the results of
+ * concurrent mapping processes can be passed between threads freely.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	GEMapper
+ * @since	JavaGE 0.1
+ */
+public final class MappingResult {
+
+	/**
+	 * The string value of the phenotype.<br>
+	 * If the phenotype is invalid then it is the working set of symbols at the moment of the failure.
+	 */
+	private final String phenotype;
+
+	/**
+	 * True if the mapping process resulted in a valid phenotype.
+	 */
+	private final boolean valid;
+
+	/**
+	 * The number of the codons which were read by the mapping process (including the wraps).
+	 */
+	private final int codonsUsed;
+
+	/**
+	 * The index of the last used codon or -1 if no codon was used.
+	 */
+	private final int lastCodonIndex;
+
+	/**
+	 * The number of the wraps of the genotype.
+	 */
+	private final int wraps;
+
+	/**
+	 * The reason of the failure or null if the phenotype is valid.
+	 */
+	private final String failureReason;
+
+	/**
+	 * The last processed BNF Symbol.
+	 */
+	private final BNFSymbol lastSymbol;
+
+
+	/**
+	 * MappingResult constructor.
+	 *
+	 * @param phenotype The string value of the phenotype.
+	 * @param valid True if the phenotype is valid.
+	 * @param codonsUsed The number of the codons which were read (including the wraps).
+	 * @param lastCodonIndex The index of the last used codon or -1 if no codon was used.
+	 * @param wraps The number of the wraps of the genotype.
+	 * @param failureReason The reason of the failure or null if the phenotype is valid.
+	 * @param lastSymbol The last processed BNF Symbol.
+	 */
+	public MappingResult(String phenotype, boolean valid, int codonsUsed, int lastCodonIndex,
+			int wraps, String failureReason, BNFSymbol lastSymbol) {
+		this.phenotype = phenotype;
+		this.valid = valid;
+		this.codonsUsed = codonsUsed;
+		this.lastCodonIndex = lastCodonIndex;
+		this.wraps = wraps;
+		this.failureReason = failureReason;
+		this.lastSymbol = lastSymbol;
+	}
+
+	/**
+	 * Returns the string value of the phenotype.<br>
+	 * If the phenotype is invalid then it is the working set of symbols
+	 * (derived and not derived yet) at the moment of the failure.
+	 *
+	 * @return The string value of the phenotype.
+	 */
+	public String getPhenotype() {
+		return phenotype;
+	}
+
+	/**
+	 * Returns true if the mapping process resulted in a valid phenotype.
+	 *
+	 * @return True if the phenotype is valid.
+	 */
+	public boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * Returns the number of the codons which were read by the mapping process.
+	 * The codons which were read again after a wrap are counted again.
+	 *
+	 * @return The number of the used codons.
+	 */
+	public int getCodonsUsed() {
+		return codonsUsed;
+	}
+
+	/**
+	 * Returns the index of the last used codon (codons index starts from 0)
+	 * or -1 if no codon was used.
+	 *
+	 * @return The index of the last used codon.
+	 */
+	public int getLastCodonIndex() {
+		return lastCodonIndex;
+	}
+
+	/**
+	 * Returns the number of the wraps of the genotype.
+	 * If the maximum allowable wraps were exceeded then it is <code>maxWraps + 1</code>.
+	 *
+	 * @return The number of the wraps.
+	 */
+	public int getWraps() {
+		return wraps;
+	}
+
+	/**
+	 * Returns the reason of the failure of the mapping process
+	 * (the message of the corresponding <code>InvalidPhenotypeException</code>)
+	 * or null if the phenotype is valid.
+	 *
+	 * @return The reason of the failure or null.
+	 */
+	public String getFailureReason() {
+		return failureReason;
+	}
+
+	/**
+	 * Returns the last processed BNF Symbol of the mapping process.
+	 *
+	 * @return The last processed BNF Symbol.
+	 */
+	public BNFSymbol getLastSymbol() {
+		return lastSymbol;
+	}
+
+	/**
+	 * This methods returns a string description of the current
+	 * state of the object.
+	 *
+	 * @return The state of the object.
+	 */
+	public String toString() {
+		StringBuffer state = new StringBuffer();
+		state.append("Phenotype: " + phenotype + "\n");
+		state.append("Is Valid: " + valid + "\n");
+		state.append("Codons Used: " + codonsUsed + "\n");
+		state.append("Wraps: " + wraps + "\n");
+		if (failureReason != null)
+			state.append("Failure Reason: " + failureReason + "\n");
+		return state.toString();
+	}
+
+}
@@ -0,0 +1,138 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ * 
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ * 
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */ 
+
+package bangor.aiia.jge.core;
+
+import java.util.ArrayList;
+
+import bangor.aiia.jge.environment.Environment;
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Population;
+
+/**
+ * The class <code>PopulationEvaluatorAdapter</code> adapts a population level
+ * <code>Evaluator</code> to the <code>IndividualEvaluator</code> interface.<br>
+ * An individual is evaluated as a population with only this individual (and the environment
+ * of the population of the caller, if it is given), so the adapted evaluator must not compare
+ * the individuals of the population with each other.
+ * <br><br>
+ * The adapter is a <code>ConcurrentEvaluator</code> only if the adapted evaluator is one
+ * (see the method <code>adapt()</code>).
+ * 
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	Evaluator
+ * @see 	IndividualEvaluator
+ * @since	JavaGE 0.1
+ * @param 	<T> The type of the value of the Genotype of the individuals
+ * @param 	<S> The type of the value of the Phenotype of the individuals
+ */
+public class PopulationEvaluatorAdapter <T, S> implements IndividualEvaluator<T, S> {
+	
+	/**
+	 * The adapted population level evaluator.
+	 */
+	private final Evaluator<T, S> evaluator;
+	
+	
+	/**
+	 * PopulationEvaluatorAdapter constructor.
+	 * 
+	 * @param evaluator The population level evaluator to be adapted.
+	 */
+	public PopulationEvaluatorAdapter(Evaluator<T, S> evaluator) {
+		this.evaluator = evaluator;
+	}
+	
+	/**
+	 * Returns the given evaluator as an <code>IndividualEvaluator</code>.<br>
+	 * If it is already an <code>IndividualEvaluator</code> then it is returned as is,
+	 * otherwise it is wrapped by an adapter (which is a <code>ConcurrentEvaluator</code> 
+	 * if the given evaluator is one).
+	 * 
+	 * @param <T> The type of the value of the Genotype of the individuals.
+	 * @param <S> The type of the value of the Phenotype of the individuals.
+	 * @param evaluator The evaluator to be adapted.
+	 * @return The corresponding <code>IndividualEvaluator</code>.
+	 */
+	public static <T, S>IndividualEvaluator<T, S> adapt(Evaluator<T, S> evaluator) {
+		if (evaluator instanceof IndividualEvaluator)
+			return (IndividualEvaluator<T, S>) evaluator;
+		if (evaluator instanceof ConcurrentEvaluator)
+			return new Concurrent<T, S>((ConcurrentEvaluator<T, S>) evaluator);
+		return new PopulationEvaluatorAdapter<T, S>(evaluator);
+	}
+	
+	/**
+	 * Evaluates the given individual as a population with only this individual
+	 * and without environment.
+	 * 
+	 * @param individual The individual to be evaluated.
+	 */
+	public void evaluate(Individual<T, S> individual) {
+		evaluate(individual, null);
+	}
+	
+	/**
+	 * Evaluates the given individual as a population with only this individual
+	 * in the given environment.
+	 * 
+	 * @param individual The individual to be evaluated.
+	 * @param environment The environment of the population of the individual (or null).
+	 */
+	public void evaluate(Individual<T, S> individual, Environment environment) {
+		ArrayList<Individual<T, S>> members = new ArrayList<Individual<T, S>>(1);
+		members.add(individual);
+		evaluator.evaluate(new Population<T, S>(members, environment));
+	}
+	
+	/**
+	 * Evaluates the given population with the adapted evaluator.
+	 * 
+	 * @param population The population to be evaluated.
+	 */
+	public void evaluate(Population<T, S> population) {
+		evaluator.evaluate(population);
+	}
+	
+	/**
+	 * Returns the adapted population level evaluator.
+	 * 
+	 * @return The adapted evaluator.
+	 */
+	public Evaluator<T, S> getEvaluator() {
+		return evaluator;
+	}
+	
+	
+	/**
+	 * The adapter of a <code>ConcurrentEvaluator</code>.
+	 */
+	private static class Concurrent<T, S> extends PopulationEvaluatorAdapter<T, S> implements ConcurrentEvaluator<T, S> {
+		
+		Concurrent(ConcurrentEvaluator<T, S> evaluator) {
+			super(evaluator);
+		}
+		
+	}
+
+}
@@ -28,25 +28,50 @@ import bangor.aiia.jge.core.Core;
 /**
  * The class <code>Environment</code> represents the environment of either
  * an individual or a population.<br>
- * WARNING: This class is not yet implemented and will throw
- * an <code>UnsupportedOperationException</code> exception if an object of the
- * class <code>Environment</code> will be instantiated. It is included for
- * future support.
+ * An environment is the read-only context of a problem instance (e.g. the items and the
+ * precomputed statistics of a bin packing instance) which is built once and shared by
+ * the evaluators, the populations and the runs of an evolutionary algorithm.
+ * The subclasses must be immutable, so an environment can be shared by many threads
+ * without synchronization.
  * 
  * @author 	Loukas Georgiou 
  * @version	0.1, 21/01/06
  * @see 	Core
  * @since	JavaGE 0.1
  */
-public class Environment {
+public abstract class Environment {
 	
-	// TODO_IN_NEW_VERSION: IMPLEMENT THIS CLASS
+	/**
+	 * The name of the environment (e.g. the name of the problem instance).
+	 */
+	private final String name;
 	
 	/**
-	 * Default constructor
+	 * Environment constructor.
+	 * 
+	 * @param name The name of the environment.
+	 */
+	protected Environment(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Returns the name of the environment.
+	 * 
+	 * @return The name of the environment.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * This methods returns a string description of the current
+	 * state of the object.
+	 * 
+	 * @return The state of the object.
 	 */
-	private Environment() {
-		throw new UnsupportedOperationException("The class Environment is not yet suppored");		
+	public String toString() {
+		return "Name            : " + name + "\n";
 	}
 
 }
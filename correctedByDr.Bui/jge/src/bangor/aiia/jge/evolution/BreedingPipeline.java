@@ -0,0 +1,259 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bangor.aiia.jge.evolution;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.BinaryGenomeBuilder;
+import bangor.aiia.jge.population.Genotype;
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Phenotype;
+import bangor.aiia.jge.util.MathUtil;
+
+/**
+ * The class <code>BreedingPipeline</code> produces two offspring from two parents
+ * by applying in one pass the variation operators of an evolutionary algorithm:
+ * Standard One Point Crossover (fixed or variable-length), Point Mutation (see
+ * <code>Mutation.geometricPointMutation()</code>), Duplication and Pruning.
+ * <br><br>
+ * The genomes of the offspring are bred in reusable builders and each offspring genome
+ * is materialised once, after the last operator, instead of once per operator.
+ * The operators draw the same random numbers in the same order as the separate operators
+ * of the classes <code>Crossover</code>, <code>Mutation</code>, <code>Duplication</code> and
+ * <code>Pruning</code>, so for the same random number generator the offspring are the same.
+ * The pruning of an offspring is deferred: the offspring is marked (see
+ * <code>Individual.setPendingPruning()</code>) and its unused codons are discarded after the
+ * mapping of its evaluation, so the offspring is not mapped twice.
+ * <br><br>
+ * The variation is neutrality-aware: an offspring keeps the leading bits of one parent
+ * (the first offspring of the first parent and the second offspring of the second parent)
+ * and, if the operators changed only the bits after the codons which were used by the last
+ * mapping of that parent (see <code>Individual.getEffectiveCodons()</code>) and the genotype
+ * of the parent was not wrapped, the mapping of the offspring reads exactly the same codons.
+ * Such an offspring inherits the phenotype, the validity and the fitness of the parent and it
+ * is not mapped and evaluated again (its pending pruning is applied at once).
+ * <br><br>
+ * A <code>BreedingPipeline</code> object is not thread safe (it is used by the thread
+ * which runs the evolutionary algorithm).
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	EvolutionaryAlgorithm
+ * @since	JavaGE 0.1
+ */
+public class BreedingPipeline {
+
+	// The codon size in bits
+	private final int codonSize;
+
+	// The length-type of the genomes (fixed-length genomes use the fixed-length crossover)
+	private final boolean fixedSizeGenome;
+
+	// The Genotype Crossover Probability
+	private final double crossoverRate;
+
+	// The Genotype Mutation Probability
+	private final double mutationRate;
+
+	// The Genotype Duplication Probability
+	private final double duplicationRate;
+
+	// The Genotype Pruning Probability
+	private final double pruningRate;
+
+	// Prune the offspring (only for Grammatical Evolution mappers)
+	private final boolean pruning;
+
+	// The genomes of the offspring which are being bred
+	private final BinaryGenomeBuilder childA = new BinaryGenomeBuilder();
+	private final BinaryGenomeBuilder childB = new BinaryGenomeBuilder();
+
+	// The right part of the first offspring during the crossover
+	private final BinaryGenomeBuilder tail = new BinaryGenomeBuilder();
+
+
+	/**
+	 * BreedingPipeline constructor.
+	 *
+	 * @param codonSize			The size of codon in bits.
+	 * @param fixedSizeGenome	True for fixed-length genomes.
+	 * @param crossoverRate		The probability of crossover (from 0.0 to 1.0).
+	 * @param mutationRate		The probability of mutation of each bit (from 0.0 to 1.0).
+	 * @param duplicationRate	The probability of duplication (from 0.0 to 1.0).
+	 * @param pruningRate		The probability of pruning (from 0.0 to 1.0).
+	 * @param pruning			True if the offspring are pruned (they must be mapped by a <code>GEMapper</code>).
+	 */
+	public BreedingPipeline(int codonSize, boolean fixedSizeGenome, double crossoverRate, double mutationRate,
+			double duplicationRate, double pruningRate, boolean pruning) {
+		this.codonSize = codonSize;
+		this.fixedSizeGenome = fixedSizeGenome;
+		this.crossoverRate = crossoverRate;
+		this.mutationRate = mutationRate;
+		this.duplicationRate = duplicationRate;
+		this.pruningRate = pruningRate;
+		this.pruning = pruning;
+	}
+
+	/**
+	 * Produces two offspring from the given parents. The parents are not changed.
+	 *
+	 * @param <T> The type of the value of the phenotype of the individuals.
+	 * @param parentA The first parent.
+	 * @param parentB The second parent.
+	 * @param random The random number generator.
+	 * @return The two offspring (evaluated only if they inherit the evaluation of their parent).
+	 * @throws RuntimeException If the genomes are fixed-length and the parent's genomes have not the same length.
+	 */
+	public <T>ArrayList<Individual<BinaryGenome, T>> breed(Individual<BinaryGenome, T> parentA, Individual<BinaryGenome, T> parentB, Random random) {
+
+		childA.copyFrom(parentA.getGenotype().value());
+		childB.copyFrom(parentB.getGenotype().value());
+
+		// Standard one-point crossover with probability Pc
+		if (fixedSizeGenome)
+			checkLengths();
+		crossover(random);
+
+		// Point Mutation with probability Pm
+		Mutation.geometricPointMutation(childA, mutationRate, random);
+		Mutation.geometricPointMutation(childB, mutationRate, random);
+
+		// Duplication with probability Pd
+		Duplication.duplication(childA, codonSize, duplicationRate, random);
+		Duplication.duplication(childB, codonSize, duplicationRate, random);
+
+		// Pruning with probability Pp (after the mapping of the offspring)
+		boolean pruneA = pruning && MathUtil.flip(pruningRate, random);
+		boolean pruneB = pruning && MathUtil.flip(pruningRate, random);
+
+		ArrayList<Individual<BinaryGenome, T>> offspring = new ArrayList<Individual<BinaryGenome, T>>(2);
+		offspring.add(offspring(childA, parentA, pruneA));
+		offspring.add(offspring(childB, parentB, pruneB));
+		return offspring;
+
+	}
+
+	/**
+	 * This methods returns a string description of the current
+	 * state of the object.
+	 *
+	 * @return The state of the object.
+	 */
+	public String toString() {
+
+		StringBuffer state = new StringBuffer();
+
+		state.append(this.getClass() + "\n");
+		state.append("Codon Size      : " + codonSize + "\n");
+		state.append("Genome Length   : " + (fixedSizeGenome == true?"fixed":"variable") + "\n");
+		state.append("Crossover       : " + crossoverRate + "\n");
+		state.append("Mutation        : " + mutationRate + "\n");
+		state.append("Duplication     : " + duplicationRate + "\n");
+		state.append("Pruning         : " + (pruning?String.valueOf(pruningRate):"none") + "\n");
+
+		return state.toString();
+
+	}
+
+
+	/**
+	 * Creates an offspring with the genome of the given builder. If the genome differs from the genome
+	 * of the parent only after the effective codons of the parent, the offspring inherits the
+	 * evaluation of the parent.
+	 */
+	private <T>Individual<BinaryGenome, T> offspring(BinaryGenomeBuilder genome, Individual<BinaryGenome, T> parent, boolean prune) {
+
+		Individual<BinaryGenome, T> child = new Individual<BinaryGenome, T>(new Genotype<BinaryGenome>(genome.toGenome()));
+
+		// The codon usage of the parent is not known or the genotype was wrapped
+		if (!parent.isEvaluated() || !parent.isValid() || parent.getEffectiveCodons() < 0 || parent.getWraps() > 0) {
+			child.setPendingPruning(prune);
+			return child;
+		}
+
+		// Some effective codon of the parent was changed
+		int mismatch = genome.mismatch(parent.getGenotype().value());
+		if (mismatch >= 0 && mismatch < parent.getEffectiveCodons() * codonSize) {
+			child.setPendingPruning(prune);
+			return child;
+		}
+
+		// Only the non-coding tail was changed: the phenotype and the fitness are the same
+		child.setPhenotype(new Phenotype<T>(parent.getPhenotype().getValue()));
+		child.setValid(true);
+		child.setRawFitnessValue(parent.getRawFitnessValue());
+		child.setNumberBins(parent.getNumberBins());
+		child.setEffectiveCodons(parent.getEffectiveCodons());
+		child.setWraps(0);
+		child.setEvaluated(true);
+		if (prune)
+			Pruning.pruneUnusedCodons(child, codonSize);
+		return child;
+
+	}
+
+	/**
+	 * Checks that the genomes of the parents have the same length (fixed-length crossover).
+	 */
+	private void checkLengths() {
+		if (childA.length() != childB.length())
+			throw new RuntimeException("Parent's genomes are not of the same length");
+	}
+
+	/**
+	 * The Standard One Point Crossover of the offspring in place (see the methods
+	 * <code>Crossover.standardOnePoint()</code> and <code>Crossover.standardOnePointVariableLength()</code>).
+	 * A fixed-length crossover is a variable-length crossover with the same crossover point
+	 * in both genomes.
+	 */
+	private void crossover(Random random) {
+
+		if (!MathUtil.flip(crossoverRate, random))
+			return;
+
+		// Get a random crossover point for each parent
+		// Range [0, genomeLength]
+		int lengthA = childA.length();
+		int lengthB = childB.length();
+		int crossPointA = MathUtil.randomInteger(0, lengthA, random);
+		int crossPointB = fixedSizeGenome ? crossPointA : MathUtil.randomInteger(0, lengthB, random);
+
+		// Swap the right parts of the offspring
+		tail.clear();
+		tail.append(childA, crossPointA, lengthA);
+		childA.setLength(crossPointA);
+		childA.append(childB, crossPointB, lengthB);
+		childB.setLength(crossPointB);
+		childB.append(tail);
+
+		// Check if some offspring is empty.
+		if (childB.length() == 0)
+			childB.append(childA);
+		if (childA.length() == 0)
+			childA.append(childB);
+
+	}
+
+}
@@ -22,7 +22,11 @@
 
 package bangor.aiia.jge.evolution;
 
+import java.util.Random;
+
 import bangor.aiia.jge.core.Core;
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.BinaryGenomeBuilder;
 import bangor.aiia.jge.population.Individual;
 import bangor.aiia.jge.util.MathUtil;
 
@@ -118,10 +122,77 @@ public class Crossover {
 	
 	/**
 	 * This method performs the Standard One Point Crossover operation to the
-	 * fixed-length binary genomes of the parent individuals <code>individualA</code> and <code>individualB</code>
+	 * given fixed-length packed binary genomes of the parents <code>binaryGenomeA</code> and <code>binaryGenomeB</code>
 	 * with probability <code>crossoverProbability</code>.
 	 * 
 	 * @see Crossover#standardOnePoint(StringBuilder, StringBuilder, double)
+	 * @param binaryGenomeA The binary genome of the first parent which will become 
+	 * 						the first offspring after the execution of the operation).
+	 * @param binaryGenomeB The binary genome of the second parent which will become 
+	 * 						the second offspring after the execution of the operation).
+	 * @param crossoverProbability The probability of crossover to occur (from 0.0 to 1.0).
+	 * @throws RuntimeException If the parent's genomes have not the same length.
+	 */
+	public static void standardOnePoint(BinaryGenomeBuilder binaryGenomeA, BinaryGenomeBuilder binaryGenomeB, double crossoverProbability) {
+		standardOnePoint(binaryGenomeA, binaryGenomeB, crossoverProbability, MathUtil.random());
+	}
+	
+	/**
+	 * This method performs the Standard One Point Crossover operation to the
+	 * given fixed-length packed binary genomes of the parents <code>binaryGenomeA</code> and <code>binaryGenomeB</code>
+	 * with probability <code>crossoverProbability</code>.<br>
+	 * The random numbers are drawn from the given generator.
+	 * 
+	 * @see Crossover#standardOnePoint(BinaryGenomeBuilder, BinaryGenomeBuilder, double)
+	 * @param binaryGenomeA The binary genome of the first parent which will become 
+	 * 						the first offspring after the execution of the operation).
+	 * @param binaryGenomeB The binary genome of the second parent which will become 
+	 * 						the second offspring after the execution of the operation).
+	 * @param crossoverProbability The probability of crossover to occur (from 0.0 to 1.0).
+	 * @param random The random number generator.
+	 * @throws RuntimeException If the parent's genomes have not the same length.
+	 */
+	public static void standardOnePoint(BinaryGenomeBuilder binaryGenomeA, BinaryGenomeBuilder binaryGenomeB, double crossoverProbability, Random random) {
+		
+		int length = binaryGenomeA.length();
+		
+		if (length != binaryGenomeB.length())
+			throw new RuntimeException("Parent's genomes are not of the same length");
+		
+		if (MathUtil.flip(crossoverProbability, random)) {	
+					
+			// STEP 1:
+			// Get a random crossover point
+			// Range [0, genomeLength]			
+			int crossPoint = MathUtil.randomInteger(0, length, random); 
+								
+			// STEP 2:		
+			// Perform the Crossover
+			BinaryGenomeBuilder childA = new BinaryGenomeBuilder(length);
+			BinaryGenomeBuilder childB = new BinaryGenomeBuilder(length);
+			
+			// Add the left parts of the offspring
+			childA.append(binaryGenomeA, 0, crossPoint);				
+			childB.append(binaryGenomeB, 0, crossPoint);
+			// Swap and add the right parts of the offspring
+			childA.append(binaryGenomeB, crossPoint, length);
+			childB.append(binaryGenomeA, crossPoint, length);
+			 
+			// STEP 3:
+			// Replace Parent's genome with the offspring
+			binaryGenomeA.copyFrom(childA);
+			binaryGenomeB.copyFrom(childB);
+											
+		}					
+				
+	}		
+	
+	/**
+	 * This method performs the Standard One Point Crossover operation to the
+	 * fixed-length binary genomes of the parent individuals <code>individualA</code> and <code>individualB</code>
+	 * with probability <code>crossoverProbability</code>.
+	 * 
+	 * @see Crossover#standardOnePoint(BinaryGenomeBuilder, BinaryGenomeBuilder, double)
 	 * @param <T>  The type of the value of the phenotype of the individuals.
 	 * @param individualA The first parent individual which will become 
 	 * 					  the first offspring individual after the execution of the operation).
@@ -130,15 +201,37 @@ public class Crossover {
 	 * @param crossoverProbability The probability of crossover to occur (from 0.0 to 1.0).
 	 * @throws RuntimeException If the parent's genomes have not the same length.
 	 */
-	public static <T>void standardOnePoint(Individual<String, T> individualA, Individual<String, T> individualB, double crossoverProbability) {
+	public static <T>void standardOnePoint(Individual<BinaryGenome, T> individualA, Individual<BinaryGenome, T> individualB, double crossoverProbability) {
+		standardOnePoint(individualA, individualB, crossoverProbability, MathUtil.random());
+	}
+	
+	/**
+	 * This method performs the Standard One Point Crossover operation to the
+	 * fixed-length binary genomes of the parent individuals <code>individualA</code> and <code>individualB</code>
+	 * with probability <code>crossoverProbability</code>.<br>
+	 * The random numbers are drawn from the given generator.
+	 * 
+	 * @see Crossover#standardOnePoint(Individual, Individual, double)
+	 * @param <T>  The type of the value of the phenotype of the individuals.
+	 * @param individualA The first parent individual which will become 
+	 * 					  the first offspring individual after the execution of the operation).
+	 * @param individualB The second parent individual which will become 
+	 * 					  the second offspring individual after the execution of the operation).
+	 * @param crossoverProbability The probability of crossover to occur (from 0.0 to 1.0).
+	 * @param random The random number generator.
+	 * @throws RuntimeException If the parent's genomes have not the same length.
+	 */
+	public static <T>void standardOnePoint(Individual<BinaryGenome, T> individualA, Individual<BinaryGenome, T> individualB, double crossoverProbability, Random random) {
 		
-		StringBuilder genomeA = new StringBuilder(individualA.getGenotype().value());
-		StringBuilder genomeB = new StringBuilder(individualB.getGenotype().value());
+		BinaryGenomeBuilder genomeA = individualA.getGenotype().value().toBuilder();
+		BinaryGenomeBuilder genomeB = individualB.getGenotype().value().toBuilder();
 		
-		standardOnePoint(genomeA, genomeB, crossoverProbability);
+		standardOnePoint(genomeA, genomeB, crossoverProbability, random);
 		
-		individualA.getGenotype().setValue(genomeA.toString());
-		individualB.getGenotype().setValue(genomeB.toString());
+		individualA.getGenotype().setValue(genomeA.toGenome());
+		individualB.getGenotype().setValue(genomeB.toGenome());
+		individualA.setEvaluated(false);
+		individualB.setEvaluated(false);
 		
 	}	
 	
@@ -224,26 +317,114 @@ public class Crossover {
 	
 	/**
 	 * This method performs the Standard One Point Crossover operation to the
-	 * variable-length binary genomes of the parents <code>individualA</code> and <code>individualB</code>
+	 * given variable-length packed binary genomes of the parents <code>binaryGenomeA</code> and <code>binaryGenomeB</code>
 	 * with probability <code>crossoverProbability</code>.
 	 * 
 	 * @see Crossover#standardOnePointVariableLength(StringBuilder, StringBuilder, double)
+	 * @param binaryGenomeA The binary genome of the first parent which will become 
+	 * 						the first offspring after the execution of the operation).
+	 * @param binaryGenomeB The binary genome of the second parent which will become 
+	 * 						the second offspring after the execution of the operation).
+	 * @param crossoverProbability The probability of crossover to occur (from 0.0 to 1.0).
+	 */
+	public static void standardOnePointVariableLength(BinaryGenomeBuilder binaryGenomeA, BinaryGenomeBuilder binaryGenomeB, double crossoverProbability) {
+		standardOnePointVariableLength(binaryGenomeA, binaryGenomeB, crossoverProbability, MathUtil.random());
+	}
+	
+	/**
+	 * This method performs the Standard One Point Crossover operation to the
+	 * given variable-length packed binary genomes of the parents <code>binaryGenomeA</code> and <code>binaryGenomeB</code>
+	 * with probability <code>crossoverProbability</code>.<br>
+	 * The random numbers are drawn from the given generator.
+	 * 
+	 * @see Crossover#standardOnePointVariableLength(BinaryGenomeBuilder, BinaryGenomeBuilder, double)
+	 * @param binaryGenomeA The binary genome of the first parent which will become 
+	 * 						the first offspring after the execution of the operation).
+	 * @param binaryGenomeB The binary genome of the second parent which will become 
+	 * 						the second offspring after the execution of the operation).
+	 * @param crossoverProbability The probability of crossover to occur (from 0.0 to 1.0).
+	 * @param random The random number generator.
+	 */
+	public static void standardOnePointVariableLength(BinaryGenomeBuilder binaryGenomeA, BinaryGenomeBuilder binaryGenomeB, double crossoverProbability, Random random) {
+		
+		if (MathUtil.flip(crossoverProbability, random)) {	
+					
+			// STEP 1:
+			// Get a random crossover point for each parent
+			// Range [0, genomeLength]
+			int crossPointA = MathUtil.randomInteger(0, binaryGenomeA.length(), random);
+			int crossPointB = MathUtil.randomInteger(0, binaryGenomeB.length(), random); 
+					
+			// STEP 2:		
+			// Perform the Crossover
+			BinaryGenomeBuilder childA = new BinaryGenomeBuilder(crossPointA + binaryGenomeB.length() - crossPointB);
+			BinaryGenomeBuilder childB = new BinaryGenomeBuilder(crossPointB + binaryGenomeA.length() - crossPointA);
+			
+			// Add the left parts of the offspring
+			childA.append(binaryGenomeA, 0, crossPointA);				
+			childB.append(binaryGenomeB, 0, crossPointB);
+			// Swap and add the right parts of the offspring
+			childA.append(binaryGenomeB, crossPointB, binaryGenomeB.length());
+			childB.append(binaryGenomeA, crossPointA, binaryGenomeA.length());
+			 
+			// Check if some offspring is empty.
+			if (childB.length() == 0)
+				childB.append(childA);
+			if (childA.length() == 0)
+				childA.append(childB);
+			
+			// STEP 3:
+			// Replace Parent's genome with the offspring
+			binaryGenomeA.copyFrom(childA);
+			binaryGenomeB.copyFrom(childB);
+											
+		}			
+					
+	}	
+	
+	/**
+	 * This method performs the Standard One Point Crossover operation to the
+	 * variable-length binary genomes of the parents <code>individualA</code> and <code>individualB</code>
+	 * with probability <code>crossoverProbability</code>.
+	 * 
+	 * @see Crossover#standardOnePointVariableLength(BinaryGenomeBuilder, BinaryGenomeBuilder, double)
+	 * @param <T>  The type of the value of the phenotype of the individuals.
+	 * @param individualA The first parent individual which will become 
+	 * 					  the first offspring individual after the execution of the operation).
+	 * @param individualB The second parent individual which will become 
+	 * 					  the second offspring individual after the execution of the operation).
+	 * @param crossoverProbability The probability of crossover to occur (from 0.0 to 1.0).
+	 */
+	public static <T>void standardOnePointVariableLength(Individual<BinaryGenome, T> individualA, Individual<BinaryGenome, T> individualB, double crossoverProbability) {
+		standardOnePointVariableLength(individualA, individualB, crossoverProbability, MathUtil.random());
+	}
+	
+	/**
+	 * This method performs the Standard One Point Crossover operation to the
+	 * variable-length binary genomes of the parents <code>individualA</code> and <code>individualB</code>
+	 * with probability <code>crossoverProbability</code>.<br>
+	 * The random numbers are drawn from the given generator.
+	 * 
+	 * @see Crossover#standardOnePointVariableLength(Individual, Individual, double)
 	 * @param <T>  The type of the value of the phenotype of the individuals.
 	 * @param individualA The first parent individual which will become 
 	 * 					  the first offspring individual after the execution of the operation).
 	 * @param individualB The second parent individual which will become 
 	 * 					  the second offspring individual after the execution of the operation).
 	 * @param crossoverProbability The probability of crossover to occur (from 0.0 to 1.0).
+	 * @param random The random number generator.
 	 */
-	public static <T>void standardOnePointVariableLength(Individual<String, T> individualA, Individual<String, T> individualB, double crossoverProbability) {
+	public static <T>void standardOnePointVariableLength(Individual<BinaryGenome, T> individualA, Individual<BinaryGenome, T> individualB, double crossoverProbability, Random random) {
 		
-		StringBuilder genomeA = new StringBuilder(individualA.getGenotype().value());
-		StringBuilder genomeB = new StringBuilder(individualB.getGenotype().value());
+		BinaryGenomeBuilder genomeA = individualA.getGenotype().value().toBuilder();
+		BinaryGenomeBuilder genomeB = individualB.getGenotype().value().toBuilder();
 		
-		standardOnePointVariableLength(genomeA, genomeB, crossoverProbability);
+		standardOnePointVariableLength(genomeA, genomeB, crossoverProbability, random);
 		
-		individualA.getGenotype().setValue(genomeA.toString());
-		individualB.getGenotype().setValue(genomeB.toString());
+		individualA.getGenotype().setValue(genomeA.toGenome());
+		individualB.getGenotype().setValue(genomeB.toGenome());
+		individualA.setEvaluated(false);
+		individualB.setEvaluated(false);
 					
 	}	
 	
@@ -22,7 +22,11 @@
 
 package bangor.aiia.jge.evolution;
 
+import java.util.Random;
+
 import bangor.aiia.jge.core.Core;
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.BinaryGenomeBuilder;
 import bangor.aiia.jge.population.Individual;
 import bangor.aiia.jge.util.MathUtil;
 
@@ -90,22 +94,93 @@ public class Duplication {
 		
 	}
 	
+	/**
+	 * This methods performs the Duplication operation in the given packed binary genome
+	 * <code>binaryGenome</code> of codon size <code>codonSize</code> with
+	 * probability <code>duplicationProbability</code>.
+	 * 
+	 * @see Duplication#duplication(StringBuilder, int, double)
+	 * @param binaryGenome The binary genome.
+	 * @param codonSize The size in bits of each codon of the binary genome.
+	 * @param duplicationProbability The probability of duplication to occur (from 0.0 to 1.0).
+	 */
+	public static void duplication(BinaryGenomeBuilder binaryGenome, int codonSize, double duplicationProbability) {
+		duplication(binaryGenome, codonSize, duplicationProbability, MathUtil.random());
+	}
+	
+	/**
+	 * This methods performs the Duplication operation in the given packed binary genome
+	 * <code>binaryGenome</code> of codon size <code>codonSize</code> with
+	 * probability <code>duplicationProbability</code>.<br>
+	 * The random numbers are drawn from the given generator.
+	 * 
+	 * @see Duplication#duplication(BinaryGenomeBuilder, int, double)
+	 * @param binaryGenome The binary genome.
+	 * @param codonSize The size in bits of each codon of the binary genome.
+	 * @param duplicationProbability The probability of duplication to occur (from 0.0 to 1.0).
+	 * @param random The random number generator.
+	 */
+	public static void duplication(BinaryGenomeBuilder binaryGenome, int codonSize, double duplicationProbability, Random random) {
+	
+		if (MathUtil.flip(duplicationProbability, random)) {
+		
+			int codonsNum = 0;	// The number of codons in the binary genome
+			int start = 0;		// The first codon to be duplicated
+			int duplicate = 0;	// The number of codons to duplicate
+			int offset = 0;		// The position of the inserted codons
+			
+			// Calculate the number of codons in the genotype
+			// Note: It is possible the last codon to have less than codonSize bits
+			codonsNum = (binaryGenome.length() + codonSize - 1) / codonSize;
+			
+			if (codonsNum > 1) { // Duplication can be performed
+				
+				start = MathUtil.randomInteger(1, codonsNum - 1, random);			
+				duplicate = MathUtil.randomInteger(1, codonsNum - start, random);
+								
+				offset = ((codonsNum - 1) * codonSize);				
+				binaryGenome.insert(offset, (start - 1) * codonSize, (start + duplicate - 1) * codonSize);			
+				
+			}	
+		
+		}			
+		
+	}
+	
 	/**
 	 * This methods performs the Duplication operation in the binary genome
 	 * of the given individual <code>individual</code> of codon size <code>codonSize</code> with
 	 * probability <code>duplicationProbability</code>.
 	 * 
-	 * @see Duplication#duplication(StringBuilder, int, double)
+	 * @see Duplication#duplication(BinaryGenomeBuilder, int, double)
+	 * @param <T>  The type of the value of the phenotype of the individual.
+	 * @param individual The individual.
+	 * @param codonSize The size in bits of each codon of the binary genome of the individual.
+	 * @param duplicationProbability The probability of duplication to occur (from 0.0 to 1.0).
+	 */
+	public static <T>void duplication(Individual<BinaryGenome, T> individual, int codonSize, double duplicationProbability) {
+		duplication(individual, codonSize, duplicationProbability, MathUtil.random());
+	}
+	
+	/**
+	 * This methods performs the Duplication operation in the binary genome
+	 * of the given individual <code>individual</code> of codon size <code>codonSize</code> with
+	 * probability <code>duplicationProbability</code>.<br>
+	 * The random numbers are drawn from the given generator.
+	 * 
+	 * @see Duplication#duplication(Individual, int, double)
 	 * @param <T>  The type of the value of the phenotype of the individual.
 	 * @param individual The individual.
 	 * @param codonSize The size in bits of each codon of the binary genome of the individual.
 	 * @param duplicationProbability The probability of duplication to occur (from 0.0 to 1.0).
+	 * @param random The random number generator.
 	 */
-	public static <T>void duplication(Individual<String, T> individual, int codonSize, double duplicationProbability) {
+	public static <T>void duplication(Individual<BinaryGenome, T> individual, int codonSize, double duplicationProbability, Random random) {
 		
-		StringBuilder genome = new StringBuilder(individual.getGenotype().value());
-		duplication(genome, codonSize, duplicationProbability);
-		individual.getGenotype().setValue(genome.toString());				
+		BinaryGenomeBuilder genome = individual.getGenotype().value().toBuilder();
+		duplication(genome, codonSize, duplicationProbability, random);
+		individual.getGenotype().setValue(genome.toGenome());
+		individual.setEvaluated(false);
 		
 	}
 	
@@ -22,11 +22,22 @@
 
 package bangor.aiia.jge.evolution;
 
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import bangor.aiia.jge.core.ConcurrentEvaluator;
 import bangor.aiia.jge.core.Evaluator;
+import bangor.aiia.jge.core.GEMapper;
 import bangor.aiia.jge.core.Mapper;
+import bangor.aiia.jge.core.MappingResult;
+import bangor.aiia.jge.population.BinaryGenome;
 import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.InvalidPhenotypeException;
+import bangor.aiia.jge.population.Phenotype;
 import bangor.aiia.jge.population.Population;
 import bangor.aiia.jge.util.Logger;
+import bangor.aiia.jge.util.SplitMixRandom;
 
 /**
  * The class <code>EvolutionaryAlgorithm</code> 
@@ -110,6 +121,21 @@ public abstract class EvolutionaryAlgorithm<T, S> {
 	// The generations created in the last run of the Evolutionary Algorithm
 	protected int generationsCreated = 0;
 	
+	// The number of threads which map and evaluate the individuals (1 for sequential evaluation)
+	protected int parallelism = 1;
+	
+	// The maximum number of individuals which are mapped and evaluated by one parallel task
+	protected int chunkSize = 8;
+	
+	// Map and evaluate all the individuals in every generation, even the evaluated ones
+	protected boolean forceReevaluation = false;
+	
+	// The random number generator of the selection and variation operators
+	protected Random random = new SplitMixRandom();
+	
+	// The thread pool of the parallel evaluation (created on demand)
+	private ForkJoinPool pool = null;
+	
 
 	/**
 	 * Returns the solution of the evolutionary algorithm.<br>
@@ -375,6 +401,267 @@ public abstract class EvolutionaryAlgorithm<T, S> {
 		return generationsCreated;
 	}
 	
+	/**
+	 * Returns the number of threads which map and evaluate the individuals of the population.<br>
+	 * The default value is <code>1</code> (sequential evaluation).
+	 * 
+	 * @return The number of threads of the evaluation.
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+	
+	/**
+	 * Sets the number of threads which map and evaluate the individuals of the population.<br>
+	 * A value of <code>1</code> means sequential evaluation and a value less than <code>1</code>
+	 * means one thread per available processor.
+	 * 
+	 * @param parallelism The number of threads of the evaluation.
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Returns the maximum number of individuals which are mapped and evaluated 
+	 * by one parallel task.<br>
+	 * The default value is <code>8</code>.
+	 * 
+	 * @return The chunk size of the parallel evaluation.
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+	
+	/**
+	 * Sets the maximum number of individuals which are mapped and evaluated 
+	 * by one parallel task.
+	 * 
+	 * @param chunkSize The chunk size of the parallel evaluation.
+	 */
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+	
+	/**
+	 * Returns true if all the individuals of the population are mapped and evaluated
+	 * in every generation, even if their genomes have not been changed.<br>
+	 * The default value is <code>false</code>.
+	 * 
+	 * @return True if the evaluated individuals are evaluated again.
+	 */
+	public boolean isForceReevaluation() {
+		return forceReevaluation;
+	}
+	
+	/**
+	 * Sets whether all the individuals of the population are mapped and evaluated
+	 * in every generation. It must be true for the evaluators whose fitness values
+	 * are not deterministic (for example, stochastic or noisy fitness functions).
+	 * 
+	 * @param forceReevaluation True if the evaluated individuals must be evaluated again.
+	 */
+	public void setForceReevaluation(boolean forceReevaluation) {
+		this.forceReevaluation = forceReevaluation;
+	}
+	
+	/**
+	 * Returns the random number generator of the selection and variation operators.
+	 * 
+	 * @return The random number generator.
+	 */
+	public Random getRandom() {
+		return random;
+	}
+	
+	/**
+	 * Sets the random number generator of the selection and variation operators.<br>
+	 * The operators are applied by the thread which runs the algorithm, so the same
+	 * generator with the same seed gives the same offspring in every run.
+	 * The default value is a <code>SplitMixRandom</code> with a random seed.
+	 * 
+	 * @param random The random number generator.
+	 */
+	public void setRandom(Random random) {
+		this.random = random;
+	}
+	
+	/**
+	 * Returns a new breeding pipeline with the current variation settings of the algorithm
+	 * (codon size, genome length-type, crossover, mutation, duplication and pruning rates).
+	 * The offspring are pruned only if the mapper is a <code>GEMapper</code>.
+	 * 
+	 * @return The breeding pipeline of the current settings.
+	 */
+	protected BreedingPipeline breedingPipeline() {
+		return new BreedingPipeline(codonSize, fixedSizeGenome, crossoverRate, mutationRate, duplicationRate, pruningRate, mapper instanceof GEMapper);
+	}
+	
+	/**
+	 * This method creates the phenotypes of the individuals
+	 * according the given mapper and evaluates their validity
+	 * and raw fitness according the given evaluator (problem specification).<br>
+	 * If the parallelism is greater than 1, the individuals are mapped in parallel chunks
+	 * and, if the evaluator is a <code>ConcurrentEvaluator</code>, each chunk is evaluated 
+	 * by the thread which mapped it. Otherwise the whole population is evaluated 
+	 * by the calling thread after the mapping.<br>
+	 * Only the individuals which have not been evaluated since the last change of their genome
+	 * are mapped and evaluated, unless the re-evaluation of all the individuals is forced.
+	 * The individuals are marked as evaluated before their evaluation, so the evaluator can
+	 * leave an individual to be evaluated again in the next generation by clearing its flag
+	 * (see <code>Individual.setEvaluated()</code>), as <code>EvaluationService</code> does
+	 * for the evaluations which are not finished in time.
+	 */
+	protected void evaluatePopulation() {
+		
+		Population<T, S> pending = pendingIndividuals();	// The individuals to be evaluated
+		int size = pending.size();						// The number of the individuals to be evaluated
+		int threads = (parallelism < 1) ? Runtime.getRuntime().availableProcessors() : parallelism;
+		
+		// All the individuals are up to date
+		if (size == 0)
+			return;
+		markEvaluated(pending);
+		
+		// Sequential Evaluation
+		if (threads == 1 || size <= chunkSize) {
+			
+			// Create the Phenotypes of the Individuals
+			for (int i = 0; i < size; i++)
+				mapIndividual(pending.getIndividual(i));
+			
+			// Fitness Evalution of the individuals 
+			evaluator.evaluate(pending);
+			return;
+			
+		}
+		
+		// Parallel Evaluation
+		if (pool == null || pool.getParallelism() != threads) {
+			shutdownPool();
+			pool = new ForkJoinPool(threads);
+		}
+		
+		ConcurrentEvaluator<T, S> concurrent = (evaluator instanceof ConcurrentEvaluator) ? (ConcurrentEvaluator<T, S>) evaluator : null;
+		pool.invoke(new ParallelEvaluation<T, S>(this, pending, concurrent, 0, size, chunkSize));
+		
+		// Fitness Evalution of the individuals in P (not thread safe evaluator)
+		if (concurrent == null)
+			evaluator.evaluate(pending);
+		
+	}
+	
+	/**
+	 * Returns the individuals of the population which must be mapped and evaluated.
+	 * If all of them must be evaluated then it returns the population itself.
+	 */
+	private Population<T, S> pendingIndividuals() {
+		
+		if (forceReevaluation)
+			return population;
+		
+		int size = population.size();
+		ArrayList<Individual<T, S>> pending = new ArrayList<Individual<T, S>>(size);
+		for (int i = 0; i < size; i++) {
+			Individual<T, S> individual = population.getIndividual(i);
+			if (!individual.isEvaluated())
+				pending.add(individual);
+		}
+		
+		if (pending.size() == size)
+			return population;
+		return new Population<T, S>(pending, population.getEnvironment());
+		
+	}
+	
+	/**
+	 * Marks the individuals of the given population as evaluated.
+	 */
+	private void markEvaluated(Population<T, S> evaluated) {
+		for (int i = 0; i < evaluated.size(); i++)
+			evaluated.getIndividual(i).setEvaluated(true);
+	}
+	
+	/**
+	 * This method creates the phenotype of the given individual
+	 * according the given mapper and sets its validity.<br>
+	 * It may be called concurrently by the threads of the parallel evaluation,
+	 * so the subclasses must not change the state of the evolutionary algorithm here.
+	 * The individuals are mapped by a <code>GEMapper</code> through the method <code>mapGenome()</code>.
+	 * 
+	 * @param individual The individual to be mapped.
+	 */
+	@SuppressWarnings("unchecked")
+	protected void mapIndividual(Individual<T, S> individual) {
+		
+		// A GEMapper maps binary genomes to strings, so T is BinaryGenome and S is String
+		if (mapper instanceof GEMapper) {
+			mapGenome((Individual<BinaryGenome, String>) (Individual<?, ?>) individual);
+			return;
+		}
+		
+		try {				
+			individual.setPhenotype(mapper.getPhenotype(individual.getGenotype()));
+			individual.setValid(true);
+		}
+		catch(InvalidPhenotypeException ipe) {
+			log("INVALID PHENOTYPE EXCEPTION: " + ipe.getMessage());
+		}
+		
+	}
+	
+	/**
+	 * This method creates the phenotype of the given individual with the <code>GEMapper</code>
+	 * of the algorithm and sets its validity.<br>
+	 * The method <code>map()</code> of the mapper does not change the state of the mapper,
+	 * so the individuals can be mapped concurrently. The codon usage of the mapping is recorded
+	 * in the individual and, if the pruning of the individual is pending, its unused codons are discarded.
+	 * 
+	 * @param individual The individual to be mapped.
+	 */
+	protected void mapGenome(Individual<BinaryGenome, String> individual) {
+		
+		MappingResult result = ((GEMapper) mapper).map(individual.getGenotype());
+		individual.setPhenotype(new Phenotype<String>(result.getPhenotype()));
+		individual.setValid(result.isValid());
+		individual.setEffectiveCodons(result.getLastCodonIndex() + 1);
+		individual.setWraps(result.getWraps());
+		if (!result.isValid())
+			log("INVALID PHENOTYPE EXCEPTION: " + result.getFailureReason());
+		
+		// Deferred Pruning of an offspring (with the codon usage of this mapping)
+		if (individual.isPendingPruning()) {
+			Pruning.pruneUnusedCodons(individual, codonSize);
+			individual.setPendingPruning(false);
+		}
+		
+	}
+	
+	/**
+	 * Writes the given message (without timestamp) to the logger, if there is one.
+	 * The messages of concurrent threads are written one at a time.
+	 * 
+	 * @param message The message to be written.
+	 */
+	protected void log(String message) {
+		if (logger != null) {
+			synchronized (logger) {
+				logger.write(message, false);
+			}
+		}
+	}
+	
+	/**
+	 * Shuts down the thread pool of the parallel evaluation, if there is one.
+	 * It is called at the end of each run.
+	 */
+	protected void shutdownPool() {
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+	
 	/**
 	 * This methods returns a string description of the current
 	 * state of the object.
@@ -400,6 +687,9 @@ public abstract class EvolutionaryAlgorithm<T, S> {
 		state.append("Pruning         : " + pruningRate + "\n");
 		state.append("Generations     : " + maxGenerations + "\n");	
 		state.append("Termination     : " + terminate + "\n");
+		state.append("Parallelism     : " + parallelism + "\n");
+		state.append("Chunk Size      : " + chunkSize + "\n");
+		state.append("Reevaluation    : " + (forceReevaluation == true?"forced":"changed genomes only") + "\n");
 		
 		return state.toString();
 	}
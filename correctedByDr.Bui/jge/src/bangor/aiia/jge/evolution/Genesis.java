@@ -22,7 +22,11 @@
 
 package bangor.aiia.jge.evolution;
 
+import java.util.Random;
+
 import bangor.aiia.jge.core.Core;
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.BinaryGenomeBuilder;
 import bangor.aiia.jge.population.Genotype;
 import bangor.aiia.jge.population.Individual;
 import bangor.aiia.jge.population.Phenotype;
@@ -82,6 +86,66 @@ public class Genesis {
 	}
 	
 
+	/**
+	 * This method creates and returns a collection of binary genomes with size <code>size</size>.
+	 * The binary genomes will be of variable-length in the specified range.
+	 * Namely, each binary genome will have a variable number of codons 
+	 * (each one of <code>codonSize</code> bits) in the range between 
+	 * <code>minCodons</code> and <code>maxCodons</code>.
+	 * 
+	 * @see Genesis#randomBinaryGenotypes(int, int, int, int)
+	 * @param size The size of the new collection of binary genomes.
+	 * @param codonSize The codon size in bits of the binary genomes.
+	 * @param minCodons The minimum number of codons of a binary genome.
+	 * @param maxCodons The maximum number of codons of a binary genome.
+	 * @return The created collection of binary genomes.
+	 */
+	public static BinaryGenome[] randomBinaryGenomes(int size, int codonSize, int minCodons, int maxCodons) {
+		return randomBinaryGenomes(size, codonSize, minCodons, maxCodons, MathUtil.random());
+	}
+	
+	/**
+	 * This method creates and returns a collection of binary genomes with size <code>size</size>.
+	 * The binary genomes will be of variable-length in the specified range.
+	 * Namely, each binary genome will have a variable number of codons 
+	 * (each one of <code>codonSize</code> bits) in the range between 
+	 * <code>minCodons</code> and <code>maxCodons</code>.<br>
+	 * The random numbers are drawn from the given generator.
+	 * 
+	 * @see Genesis#randomBinaryGenomes(int, int, int, int)
+	 * @param size The size of the new collection of binary genomes.
+	 * @param codonSize The codon size in bits of the binary genomes.
+	 * @param minCodons The minimum number of codons of a binary genome.
+	 * @param maxCodons The maximum number of codons of a binary genome.
+	 * @param random The random number generator.
+	 * @return The created collection of binary genomes.
+	 */
+	public static BinaryGenome[] randomBinaryGenomes(int size, int codonSize, int minCodons, int maxCodons, Random random) {
+
+		int length = 0;
+		long bits = 0L;
+		BinaryGenome[] population = new BinaryGenome[size];
+		BinaryGenomeBuilder binaryGenome = new BinaryGenomeBuilder(maxCodons * codonSize);
+				
+		// Create the population
+		for (int i = 0; i < size; i++) {
+			length = MathUtil.randomInteger(minCodons, maxCodons, random) * codonSize;
+			binaryGenome.clear();
+			binaryGenome.setLength(length);
+			// Each bit is 1 with probability 0.5 (64 bits per random number)
+			for (int y = 0; y < length; y++) {
+				if ((y & 63) == 0) bits = random.nextLong();
+				if ((bits & 1L) != 0) binaryGenome.set(y, true);
+				bits >>>= 1;
+			}
+			population[i] = binaryGenome.toGenome();			
+		}	
+		
+		return population;
+		
+	}
+	
+
 	/**
 	 * This method creates and returns a new population with size <code>populationSize</size>.
 	 * The inviduals will have variable-length binary encoded genotypes in the specified range.
@@ -96,23 +160,44 @@ public class Genesis {
 	 * @param maxCodons The maximum number of codons of the genotype of an individual.
 	 * @return The created population.
 	 */
-	public static <T>Population<String, T> randomPopulation(int populationSize, int codonSize, int minCodons, int maxCodons) {
+	public static <T>Population<BinaryGenome, T> randomPopulation(int populationSize, int codonSize, int minCodons, int maxCodons) {
+		return randomPopulation(populationSize, codonSize, minCodons, maxCodons, MathUtil.random());
+	}
+	
+	/**
+	 * This method creates and returns a new population with size <code>populationSize</size>.
+	 * The inviduals will have variable-length binary encoded genotypes in the specified range.
+	 * Namely, each individual will have a variable number of codons 
+	 * (each one of <code>codonSize</code> bits) in the range between 
+	 * <code>minCodons</code> and <code>maxCodons</code>.<br>
+	 * The random numbers are drawn from the given generator.
+	 * 
+	 * @see Genesis#randomPopulation(int, int, int, int)
+	 * @param <T>  The type of the value of the phenotype of the individuals of the population.
+	 * @param populationSize The size of the new population (number of individuals).
+	 * @param codonSize The codon size in bits of the genotype of the individuals.
+	 * @param minCodons The minimum number of codons of the genotype of an individual.
+	 * @param maxCodons The maximum number of codons of the genotype of an individual.
+	 * @param random The random number generator.
+	 * @return The created population.
+	 */
+	public static <T>Population<BinaryGenome, T> randomPopulation(int populationSize, int codonSize, int minCodons, int maxCodons, Random random) {
 
-		Population<String, T> population = new Population<String, T>(populationSize);
-		Individual<String, T> individual = null;		
+		Population<BinaryGenome, T> population = new Population<BinaryGenome, T>(populationSize);
+		Individual<BinaryGenome, T> individual = null;		
 		Phenotype<T> phenotype = null;
-		Genotype<String> genotype = null;
-		String[] binaryStrings = null;
+		Genotype<BinaryGenome> genotype = null;
+		BinaryGenome[] binaryGenomes = null;
 		
-		// Create the collection of the binary strings for the genotype of 
+		// Create the collection of the binary genomes for the genotype of 
 		// the new population
-		binaryStrings = randomBinaryGenotypes(populationSize, codonSize, minCodons, maxCodons);
+		binaryGenomes = randomBinaryGenomes(populationSize, codonSize, minCodons, maxCodons, random);
 				
 		// Create the population
 		for (int i = 0; i < populationSize; i++) {
-			genotype = new Genotype<String>(binaryStrings[i]);
+			genotype = new Genotype<BinaryGenome>(binaryGenomes[i]);
 			phenotype = new Phenotype<T>();
-			individual = new Individual<String, T>(genotype, phenotype);
+			individual = new Individual<BinaryGenome, T>(genotype, phenotype);
 			population.setIndividual(i, individual);			
 		}	
 		
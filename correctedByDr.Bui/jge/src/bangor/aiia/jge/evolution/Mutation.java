@@ -22,7 +22,11 @@
 
 package bangor.aiia.jge.evolution;
 
+import java.util.Random;
+
 import bangor.aiia.jge.core.Core;
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.BinaryGenomeBuilder;
 import bangor.aiia.jge.population.Individual;
 import bangor.aiia.jge.util.MathUtil;
 
@@ -76,6 +80,43 @@ public class Mutation {
 		
 	}
 	
+	/**
+	 * This method performs the Point Mutation operation in the 
+	 * packed binary genome <code>binaryGenome</code> with probability
+	 * <code>mutationProbability</code>.
+	 * 
+	 * @see Mutation#pointMutation(StringBuilder, double)
+	 * @param binaryGenome The binary genome.
+	 * @param mutationProbability The probability of mutation to occur for each bit of the binary genome (from 0.0 to 1.0).
+	 */
+	public static void pointMutation(BinaryGenomeBuilder binaryGenome, double mutationProbability) {
+		pointMutation(binaryGenome, mutationProbability, MathUtil.random());
+	}
+	
+	/**
+	 * This method performs the Point Mutation operation in the 
+	 * packed binary genome <code>binaryGenome</code> with probability
+	 * <code>mutationProbability</code>.<br>
+	 * The random numbers are drawn from the given generator.
+	 * 
+	 * @see Mutation#pointMutation(BinaryGenomeBuilder, double)
+	 * @param binaryGenome The binary genome.
+	 * @param mutationProbability The probability of mutation to occur for each bit of the binary genome (from 0.0 to 1.0).
+	 * @param random The random number generator.
+	 */
+	public static void pointMutation(BinaryGenomeBuilder binaryGenome, double mutationProbability, Random random) {
+	
+		for (int i = 0; i < binaryGenome.length(); i++) {	
+			
+			// Invert the current bit
+			if (MathUtil.flip(mutationProbability, random)) {
+				binaryGenome.flip(i);								
+			}			
+			
+		}	
+		
+	}
+	
 	/**
 	 * This method performs the Point Mutation operation in the 
 	 * binary string genome of the individual <code>individual</code> with probability
@@ -88,19 +129,110 @@ public class Mutation {
 	 * Namely, each bit will be changed (from 0 to 1 or from 1 to 0) 
 	 * with the given mutation probability.
 	 * 
-	 * @see Mutation#pointMutation(StringBuilder, double)
+	 * @see Mutation#pointMutation(BinaryGenomeBuilder, double)
 	 * @param <T>  The type of the value of the phenotype of the individual.
 	 * @param individual The Individual object.
 	 * @param mutationProbability The probability of mutation to occur for each bit of the binary genome (from 0.0 to 1.0).
 	 */
-	public static <T>void pointMutation(Individual<String, T> individual, double mutationProbability) {
+	public static <T>void pointMutation(Individual<BinaryGenome, T> individual, double mutationProbability) {
+		pointMutation(individual, mutationProbability, MathUtil.random());
+	}
 	
-		StringBuilder genome = new StringBuilder(individual.getGenotype().value());		
-		pointMutation(genome, mutationProbability);
-		individual.getGenotype().setValue(genome.toString());		
+	/**
+	 * This method performs the Point Mutation operation in the 
+	 * binary string genome of the individual <code>individual</code> with probability
+	 * <code>mutationProbability</code>.<br>
+	 * The random numbers are drawn from the given generator.
+	 * 
+	 * @see Mutation#pointMutation(Individual, double)
+	 * @param <T>  The type of the value of the phenotype of the individual.
+	 * @param individual The Individual object.
+	 * @param mutationProbability The probability of mutation to occur for each bit of the binary genome (from 0.0 to 1.0).
+	 * @param random The random number generator.
+	 */
+	public static <T>void pointMutation(Individual<BinaryGenome, T> individual, double mutationProbability, Random random) {
+	
+		BinaryGenomeBuilder genome = individual.getGenotype().value().toBuilder();		
+		pointMutation(genome, mutationProbability, random);
+		individual.getGenotype().setValue(genome.toGenome());
+		individual.setEvaluated(false);
 		
 	}	
 	
+	/**
+	 * This method performs the Point Mutation operation in the 
+	 * packed binary genome <code>binaryGenome</code> with probability
+	 * <code>mutationProbability</code>, by sampling the positions of the mutated bits.
+	 * <br><br>
+	 * Each bit is inverted with the given probability, independently of the other bits,
+	 * exactly as by the method <code>pointMutation()</code>, but instead of testing each bit,
+	 * the number of bits which are skipped up to the next mutated bit is drawn from the
+	 * geometric distribution with parameter <code>mutationProbability</code>.
+	 * So the operation draws one random number per mutated bit (O(expected mutated bits) instead of
+	 * O(length)), and each mutated bit is inverted in place in the packed genome.
+	 * 
+	 * @see Mutation#pointMutation(BinaryGenomeBuilder, double)
+	 * @param binaryGenome The binary genome.
+	 * @param mutationProbability The probability of mutation to occur for each bit of the binary genome (from 0.0 to 1.0).
+	 * @param random The random number generator.
+	 * @return The number of the mutated bits.
+	 */
+	public static int geometricPointMutation(BinaryGenomeBuilder binaryGenome, double mutationProbability, Random random) {
+		
+		int length = binaryGenome.length();
+		int mutations = 0;
+		
+		if (mutationProbability <= 0.0 || length == 0)
+			return 0;
+		
+		// Every bit is mutated
+		if (mutationProbability >= 1.0) {
+			for (int i = 0; i < length; i++)
+				binaryGenome.flip(i);
+			return length;
+		}
+		
+		// The gap up to the next mutated bit is floor(ln(U) / ln(1 - p)), U uniform in (0, 1]
+		double logComplement = Math.log1p(-mutationProbability);
+		int position = -1;
+		while (true) {
+			double gap = Math.floor(Math.log(1.0 - random.nextDouble()) / logComplement);
+			if (gap >= length - 1 - position)
+				break;
+			position += 1 + (int) gap;
+			binaryGenome.flip(position);
+			mutations++;
+		}
+		
+		return mutations;
+		
+	}
+	
+	/**
+	 * This method performs the Point Mutation operation in the 
+	 * binary genome of the individual <code>individual</code> with probability
+	 * <code>mutationProbability</code>, by sampling the positions of the mutated bits.
+	 * The genome of the individual is replaced only if some bit is mutated.
+	 * 
+	 * @see Mutation#geometricPointMutation(BinaryGenomeBuilder, double, Random)
+	 * @param <T>  The type of the value of the phenotype of the individual.
+	 * @param individual The Individual object.
+	 * @param mutationProbability The probability of mutation to occur for each bit of the binary genome (from 0.0 to 1.0).
+	 * @param random The random number generator.
+	 * @return The number of the mutated bits.
+	 */
+	public static <T>int geometricPointMutation(Individual<BinaryGenome, T> individual, double mutationProbability, Random random) {
+	
+		BinaryGenomeBuilder genome = individual.getGenotype().value().toBuilder();		
+		int mutations = geometricPointMutation(genome, mutationProbability, random);
+		if (mutations > 0) {
+			individual.getGenotype().setValue(genome.toGenome());
+			individual.setEvaluated(false);
+		}
+		return mutations;
+		
+	}
+	
 
 	
 	
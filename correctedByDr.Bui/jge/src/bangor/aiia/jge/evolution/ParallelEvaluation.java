@@ -0,0 +1,136 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bangor.aiia.jge.evolution;
+
+import java.util.ArrayList;
+import java.util.concurrent.RecursiveAction;
+
+import bangor.aiia.jge.core.ConcurrentEvaluator;
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Population;
+
+/**
+ * The class <code>ParallelEvaluation</code> is a Fork/Join task which maps
+ * and evaluates a range of individuals of a population.<br>
+ * The range is split in halves until it is not larger than the chunk size,
+ * so the idle worker threads of the <code>ForkJoinPool</code> steal the
+ * remaining chunks of the busy ones.
+ * <br><br>
+ * Each chunk maps its individuals with the method <code>mapIndividual()</code>
+ * of the evolutionary algorithm and, if the evaluator is a <code>ConcurrentEvaluator</code>,
+ * evaluates them as a sub-population. Otherwise the evaluation is left to the caller.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	EvolutionaryAlgorithm
+ * @see 	ConcurrentEvaluator
+ * @since	JavaGE 0.1
+ * @param 	<T> The type of the value of the Genotype of the evolved population.
+ * @param 	<S> The type of the value of the Phenotype of the evolved population.
+ */
+final class ParallelEvaluation<T, S> extends RecursiveAction {
+
+	/**
+	 * The Serial Version UID of the <code>ParallelEvaluation</code> class.
+	 */
+	private static final long serialVersionUID = 3412958846301925337L;
+
+	/**
+	 * The evolutionary algorithm which maps the individuals.
+	 */
+	private final EvolutionaryAlgorithm<T, S> algorithm;
+
+	/**
+	 * The population to be evaluated.
+	 */
+	private final Population<T, S> population;
+
+	/**
+	 * The evaluator of the sub-populations or null if the individuals must only be mapped.
+	 */
+	private final ConcurrentEvaluator<T, S> evaluator;
+
+	/**
+	 * The first individual of the range (inclusive).
+	 */
+	private final int from;
+
+	/**
+	 * The last individual of the range (exclusive).
+	 */
+	private final int to;
+
+	/**
+	 * The maximum number of individuals which are processed by one task without splitting.
+	 */
+	private final int chunkSize;
+
+
+	/**
+	 * ParallelEvaluation constructor.
+	 *
+	 * @param algorithm The evolutionary algorithm which maps the individuals.
+	 * @param population The population to be evaluated.
+	 * @param evaluator The evaluator of the sub-populations or null if the individuals must only be mapped.
+	 * @param from The first individual of the range (inclusive).
+	 * @param to The last individual of the range (exclusive).
+	 * @param chunkSize The maximum number of individuals which are processed by one task without splitting.
+	 */
+	ParallelEvaluation(EvolutionaryAlgorithm<T, S> algorithm, Population<T, S> population,
+			ConcurrentEvaluator<T, S> evaluator, int from, int to, int chunkSize) {
+		this.algorithm = algorithm;
+		this.population = population;
+		this.evaluator = evaluator;
+		this.from = from;
+		this.to = to;
+		this.chunkSize = Math.max(1, chunkSize);
+	}
+
+	/**
+	 * Maps and evaluates the individuals of the range.
+	 */
+	protected void compute() {
+
+		// Split the range until it is small enough
+		if (to - from > chunkSize) {
+			int middle = (from + to) >>> 1;
+			invokeAll(new ParallelEvaluation<T, S>(algorithm, population, evaluator, from, middle, chunkSize),
+					  new ParallelEvaluation<T, S>(algorithm, population, evaluator, middle, to, chunkSize));
+			return;
+		}
+
+		// Create the Phenotypes of the Individuals
+		ArrayList<Individual<T, S>> chunk = new ArrayList<Individual<T, S>>(to - from);
+		for (int i = from; i < to; i++) {
+			Individual<T, S> individual = population.getIndividual(i);
+			algorithm.mapIndividual(individual);
+			chunk.add(individual);
+		}
+
+		// Fitness Evalution of the individuals of the chunk
+		if (evaluator != null)
+			evaluator.evaluate(new Population<T, S>(chunk, population.getEnvironment()));
+
+	}
+
+}
@@ -22,11 +22,14 @@
 
 package bangor.aiia.jge.evolution;
 
+import java.util.Random;
+
 import bangor.aiia.jge.core.Core;
 import bangor.aiia.jge.core.GEMapper;
-import bangor.aiia.jge.population.Genotype;
+import bangor.aiia.jge.core.MappingResult;
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.BinaryGenomeBuilder;
 import bangor.aiia.jge.population.Individual;
-import bangor.aiia.jge.population.InvalidPhenotypeException;
 import bangor.aiia.jge.util.MathUtil;
 
 /**
@@ -67,41 +70,67 @@ public class Pruning {
 	 */
 	public static void pruning(StringBuilder binaryGenome, GEMapper mapper, double pruningProbability) {
 		
-		Genotype<String> genotype = new Genotype<String>(binaryGenome.toString());
+		BinaryGenomeBuilder genome = BinaryGenome.valueOf(binaryGenome).toBuilder();
+		
+		pruning(genome, mapper, pruningProbability);
+		
+		if (genome.length() < binaryGenome.length())
+			binaryGenome.setLength(genome.length());
+		
+	}
+	
+	/**
+	 * This method performs the Pruning operation in the packed binary genome
+	 * <code>binaryGenome</code> with probability <code>duplicationProbability</code>
+	 * according to the mapping function <code>mapper</code><br>.
+	 * Pruning discards codons that are not used in the mapping process.
+	 *
+	 * @see Pruning#pruning(StringBuilder, GEMapper, double)
+	 * @param binaryGenome The binary genome.
+	 * @param mapper The Grammatical Evolution Mapping object.
+	 * @param pruningProbability The probability of pruning to occur (from 0.0 to 1.0).
+	 */
+	public static void pruning(BinaryGenomeBuilder binaryGenome, GEMapper mapper, double pruningProbability) {
+		pruning(binaryGenome, mapper, pruningProbability, MathUtil.random());
+	}
+	
+	/**
+	 * This method performs the Pruning operation in the packed binary genome
+	 * <code>binaryGenome</code> with probability <code>duplicationProbability</code>
+	 * according to the mapping function <code>mapper</code><br>.
+	 * Pruning discards codons that are not used in the mapping process.<br>
+	 * The random numbers are drawn from the given generator.
+	 * 
+	 * @see Pruning#pruning(BinaryGenomeBuilder, GEMapper, double)
+	 * @param binaryGenome The binary genome.
+	 * @param mapper The Grammatical Evolution Mapping object.
+	 * @param pruningProbability The probability of pruning to occur (from 0.0 to 1.0).
+	 * @param random The random number generator.
+	 */
+	public static void pruning(BinaryGenomeBuilder binaryGenome, GEMapper mapper, double pruningProbability, Random random) {
 		
-		if (MathUtil.flip(pruningProbability)) {	
+		if (MathUtil.flip(pruningProbability, random)) {	
+			
+			MappingResult result = mapper.map(binaryGenome);
+			
+			if (!result.isValid()) // Invalid phenotype
+				return;
+			
+			int codonSize = mapper.getCodonSize();
+			// Calculate the number of codons in the genotype
+			// Note: It is possible the last codon to have less than codonSize bits
+			int codonsNum = (binaryGenome.length() + codonSize - 1) / codonSize;
 			
-			try {
-				
-				mapper.getPhenotype(genotype);
-				
-				String usable = null;
-				int codonSize = mapper.getCodonSize();
-				int lastRunCodonIndex = mapper.lastRunCodonIndex();
-				int lastRunWraps = mapper.lastRunWraps();			
-				// Calculate the number of codons in the genotype string
-				// Note: It is possible the last codon to have less than codonSize bits
-				int codonsNum = (int) Math.ceil((double) binaryGenome.length() / (double) codonSize);
-				
-				if (lastRunWraps > 0) // Genotype Wrapping occured which means that all codons where used
-					return;
-				if (lastRunCodonIndex == codonsNum - 1) // Last codon of the genome was used
-					return;
-				
-				// Keep only the used codons
-				usable = binaryGenome.substring(0, (lastRunCodonIndex + 1) * codonSize);
-				
-				binaryGenome.delete(0, binaryGenome.length());
-				binaryGenome.append(usable);
-				
-			}
-			catch(InvalidPhenotypeException ipe) {
-				//System.out.println(ipe.getMessage());				
-			}								
+			if (result.getWraps() > 0) // Genotype Wrapping occured which means that all codons where used
+				return;
+			if (result.getLastCodonIndex() == codonsNum - 1) // Last codon of the genome was used
+				return;
+			
+			// Keep only the used codons
+			binaryGenome.setLength((result.getLastCodonIndex() + 1) * codonSize);
 			
 		}
 		
-		
 	}
 	
 	/**
@@ -110,17 +139,79 @@ public class Pruning {
 	 * according to the mapping function <code>mapper</code><br>.
 	 * Pruning discards codons that are not used in the mapping process.
 	 *
-	 * @see Pruning#pruning(StringBuilder, GEMapper, double)
+	 * @see Pruning#pruning(BinaryGenomeBuilder, GEMapper, double)
+	 * @param <T>  The type of the value of the phenotype of the individual.
+	 * @param individual The individual.
+	 * @param mapper The Grammatical Evolution Mapping object.
+	 * @param pruningProbability The probability of pruning to occur (from 0.0 to 1.0).
+	 */
+	public static <T>void pruning(Individual<BinaryGenome, T> individual, GEMapper mapper, double pruningProbability) {
+		pruning(individual, mapper, pruningProbability, MathUtil.random());
+	}
+	
+	/**
+	 * This method performs the Pruning operation in the binary genome
+	 * of the individual <code>individual</code> with probability <code>duplicationProbability</code>
+	 * according to the mapping function <code>mapper</code><br>.
+	 * Pruning discards codons that are not used in the mapping process.<br>
+	 * The random numbers are drawn from the given generator.
+	 * 
+	 * @see Pruning#pruning(Individual, GEMapper, double)
 	 * @param <T>  The type of the value of the phenotype of the individual.
 	 * @param individual The individual.
 	 * @param mapper The Grammatical Evolution Mapping object.
 	 * @param pruningProbability The probability of pruning to occur (from 0.0 to 1.0).
+	 * @param random The random number generator.
 	 */
-	public static <T>void pruning(Individual<String, T> individual, GEMapper mapper, double pruningProbability) {
+	public static <T>void pruning(Individual<BinaryGenome, T> individual, GEMapper mapper, double pruningProbability, Random random) {
 		
-		StringBuilder genome = new StringBuilder(individual.getGenotype().value());
-		pruning(genome, mapper, pruningProbability);
-		individual.getGenotype().setValue(genome.toString());			
+		// The codon usage of the last mapping is up to date: no need to map the genome again
+		if (individual.isEvaluated() && individual.getEffectiveCodons() >= 0) {
+			if (MathUtil.flip(pruningProbability, random))
+				pruneUnusedCodons(individual, mapper.getCodonSize());
+			return;
+		}
+		
+		BinaryGenomeBuilder genome = individual.getGenotype().value().toBuilder();
+		pruning(genome, mapper, pruningProbability, random);
+		if (genome.length() < individual.getGenotype().value().length()) {
+			individual.getGenotype().setValue(genome.toGenome());
+			individual.setEvaluated(false);
+		}
+		
+	}
+	
+	/**
+	 * This method discards the codons of the binary genome of the individual <code>individual</code>
+	 * which were not used by its last mapping, according to the codon usage which was recorded
+	 * by the mapping (see <code>Individual.getEffectiveCodons()</code>), so the genome is not mapped again.
+	 * The genome is not changed if the phenotype was invalid, if the genotype was wrapped or 
+	 * if the last codon was used.<br>
+	 * The phenotype and the fitness of the individual do not change, since the discarded codons
+	 * were not used to create the phenotype.
+	 * 
+	 * @param <T>  The type of the value of the phenotype of the individual.
+	 * @param individual The mapped individual.
+	 * @param codonSize The codon size in bits of the genome.
+	 * @return True if some codons were discarded.
+	 */
+	public static <T>boolean pruneUnusedCodons(Individual<BinaryGenome, T> individual, int codonSize) {
+		
+		BinaryGenome genome = individual.getGenotype().value();
+		int effectiveCodons = individual.getEffectiveCodons();
+		
+		if (!individual.isValid() || effectiveCodons < 0) // Invalid or not mapped phenotype
+			return false;
+		if (individual.getWraps() > 0) // Genotype Wrapping occured which means that all codons where used
+			return false;
+		if (effectiveCodons >= genome.codonCount(codonSize)) // Last codon of the genome was used
+			return false;
+		
+		// Keep only the used codons
+		BinaryGenomeBuilder pruned = new BinaryGenomeBuilder(effectiveCodons * codonSize);
+		pruned.append(genome, 0, effectiveCodons * codonSize);
+		individual.getGenotype().setValue(pruned.toGenome());
+		return true;
 		
 	}
 
@@ -23,11 +23,14 @@
 package bangor.aiia.jge.evolution;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
 
 import bangor.aiia.jge.core.Core;
 import bangor.aiia.jge.population.Individual;
 import bangor.aiia.jge.population.Population;
-import bangor.aiia.jge.util.MathUtil;
 
 /**
  * The class <code>Selection</code> is a utility class which provides
@@ -60,54 +63,18 @@ public class Selection {
 	 *  	The individual whose fitness value shifted the sum over the limit is the one selected</li>
 	 *  <li>Repeats steps 1 - 4 in order to be drawn the second individual
 	 * </ol>
+	 * In order to draw many pairs from the same population use a <code>SelectionTable</code>
+	 * which sums the fitness values only once.
 	 * 
+	 * @param <G>  The type of the value of the genotype of the individuals of the population.
 	 * @param <T>  The type of the value of the phenotype of the individuals of the population.
 	 * @param population The population from which the two individuals will be drawn.
 	 * @return A randomly selected pair of individuals.
 	 */
-	public static <T>ArrayList<Individual<String, T>> rouletteWheel(Population<String, T> population) {
+	public static <G, T>ArrayList<Individual<G, T>> rouletteWheel(Population<G, T> population) {
 		
-		ArrayList<Individual<String, T>> chosen = new ArrayList<Individual<String, T>>(2);
-	
-		double totalFitness = 0.0;		// The sum of the fitness of all individuals of the population
-		int size = population.size();	// The size of the population
-		double random = 0.0;			// A random number in the range 0 and totalFitness
-		double temp = 0.0;				// The temporary sum of the fitness of the individuals
-		
-		// Calcuate the Total sum		
-		for (int i = 0; i < size; i++)
-			totalFitness += population.getIndividual(i).rawFitness();
-		//System.out.println("Total Fitness: " + totalFitness);
-		
-		// Get the first individual		
-		random = MathUtil.randomDouble(0, totalFitness);
-		temp = 0.0;
-		//System.out.println("Random 1: " + random);
-		for (int i = 0; i < size; i++) {
-			//System.out.println("Add individual: " + i);
-			temp += population.getIndividual(i).rawFitness();
-			//System.out.println("Current temp: " + temp);
-			if (temp >= random) {
-				chosen.add(population.getIndividual(i));
-				break;
-			}				
-		}		
-		
-		// Get the second individual
-		random = MathUtil.randomDouble(0, totalFitness);
-		temp = 0.0;
-		//System.out.println("Random 2: " + random);
-		for (int i = 0; i < size; i++) {
-			//System.out.println("Add individual: " + i);
-			temp += population.getIndividual(i).rawFitness();
-			//System.out.println("Current temp: " + temp);
-			if (temp >= random) {
-				chosen.add(population.getIndividual(i));				
-				break;
-			}				
-		}		
-		
-		return chosen;
+		// Draw the pair from a table of the cumulative fitness
+		return SelectionTable.rouletteWheel(population).selectPair();
 		
 	}
 	
@@ -124,58 +91,19 @@ public class Selection {
 	 * </ol> 
 	 * Rank selection first ranks the population and then every chromosome
 	 * receives fitness from this ranking. The worst will have fitness 1,
-	 * second worst 2 etc. and the best will have fitness N (number of chromosomes in population). 
+	 * second worst 2 etc. and the best will have fitness N (number of chromosomes in population).<br>
+	 * The individuals are ranked without changing the order of the population.
+	 * In order to draw many pairs from the same population use a <code>SelectionTable</code>.
 	 * 
+	 * @param <G>  The type of the value of the genotype of the individuals of the population.
 	 * @param <T>  The type of the value of the phenotype of the individuals of the population.
 	 * @param population The population from which the two individuals will be drawn.
 	 * @return A randomly selected pair of individuals.
 	 */
-	public static <T>ArrayList<Individual<String, T>> rankSelection(Population<String, T> population) {
-		
-		ArrayList<Individual<String, T>> chosen = new ArrayList<Individual<String, T>>(2);
-		
-		// Sort the population into ascending order
-		population.sort(true);
-				
-		int totalRank = 0;				// The sum of the ranks of all individuals of the population
-		int size = population.size();	// The size of the population
-		int random = 0;					// A random number in the range 1 and totalRank
-		int temp = 0;					// The temporary sum of the fitness of the individuals
-		
-		// Calcuate the Total sum of Ranks		
-		for (int i = 0; i < size; i++)
-			totalRank += i + 1;
-		//System.out.println("Total Rank: " + totalRank);
-		
-		// Get the first individual		
-		random = MathUtil.randomInteger(1, totalRank);
-		temp = 0;
-		//System.out.println("Random 1: " + random);
-		for (int i = 0; i < size; i++) {
-			//System.out.println("Add individual: " + i);
-			temp += i + 1;
-			//System.out.println("Current temp: " + temp);
-			if (temp >= random) {
-				chosen.add(population.getIndividual(i));
-				break;
-			}				
-		}		
-		
-		// Get the second individual
-		random = MathUtil.randomInteger(1, totalRank);
-		temp = 0;
-		//System.out.println("Random 2: " + random);
-		for (int i = 0; i < size; i++) {
-			//System.out.println("Add individual: " + i);
-			temp += i + 1;
-			//System.out.println("Current temp: " + temp);
-			if (temp >= random) {
-				chosen.add(population.getIndividual(i));
-				break;
-			}				
-		}		
+	public static <G, T>ArrayList<Individual<G, T>> rankSelection(Population<G, T> population) {
 		
-		return chosen;
+		// Draw the pair from a rank table (the population is not sorted)
+		return SelectionTable.rank(population).selectPair();
 		
 	}
 	
@@ -187,8 +115,13 @@ public class Selection {
 	 * In the returned collection of individuals the first <code>numOfBest</code> individuals
 	 * are the best <code>numOfBest</code> individuals of the given population <code>population</code>
 	 * and the last <code>numOfWorst</code> individuals are the worst <code>numOfWorst</code> 
-	 * of the given population <code>population</code>.
+	 * of the given population <code>population</code>.<br>
+	 * The individuals are ranked as by a stable sort of the population into descending order
+	 * (individuals with equal fitness keep their order in the population), but the population
+	 * is not sorted: the best and the worst individuals are kept in two bounded heaps,
+	 * so the selection costs O(n log k) and the order of the population is not changed.
 	 * 
+	 * @param <G> The type of the value of the genotype of the individuals of the population.
 	 * @param <T> The type of the value of the phenotype of the individuals of the population.
 	 * @param population The population from which the two individuals will be drawn.
 	 * @param numOfBest The number of the best individuals in the population which will be selected and returned.
@@ -196,7 +129,7 @@ public class Selection {
 	 * @return The best <code>numOfBest</code> and worst <code>numOfWorst</code> individuals in the population.
 	 * @throws IndexOutOfBoundsException Whether the sum <code>numOfBest + numOfWorst</code> is greater than the size of the population;
 	 */
-	public static <T>ArrayList<Individual<String, T>> selectBestAndWorst(Population<String, T> population, int numOfBest, int numOfWorst) {
+	public static <G, T>ArrayList<Individual<G, T>> selectBestAndWorst(Population<G, T> population, int numOfBest, int numOfWorst) {
 		
 		int size = population.size();
 		
@@ -205,23 +138,69 @@ public class Selection {
 		if (numOfBest + numOfWorst > size) 
 			throw new IndexOutOfBoundsException("The population is smaller than ther total of the requested individuals");
 		
-		ArrayList<Individual<String, T>> chosen = new ArrayList<Individual<String, T>>(numOfBest + numOfWorst);
-		
-		// Sort the population into descending order
-		population.sort(false);
+		ArrayList<Individual<G, T>> chosen = new ArrayList<Individual<G, T>>(numOfBest + numOfWorst);
+		Comparator<Integer> ranking = new Ranking<G, T>(population);
 		
 		// Get the best individuals
-		for (int i = 0; i < numOfBest; i++)
-			chosen.add(population.getIndividual(i));
+		for (int index : select(size, numOfBest, ranking, Collections.reverseOrder(ranking)))
+			chosen.add(population.getIndividual(index));
 		
 		// Get the worst individuals
-		for (int i = 0; i < numOfWorst; i++)
-			chosen.add(population.getIndividual(size - numOfWorst + i));
+		for (int index : select(size, numOfWorst, ranking, ranking))
+			chosen.add(population.getIndividual(index));
 		
 		return chosen;
 		
 	}
 	
+	/**
+	 * Returns the indices of the <code>k</code> individuals of a population of the given size
+	 * which are first according to the <code>heapOrder</code> in the order of the <code>ranking</code>.<br>
+	 * The head of the heap is the retained individual which is the first one to be replaced.
+	 */
+	private static Integer[] select(int size, int k, Comparator<Integer> ranking, Comparator<Integer> heapOrder) {
+		
+		if (k <= 0)
+			return new Integer[0];
+		
+		// Keep the k first individuals in a bounded heap
+		PriorityQueue<Integer> heap = new PriorityQueue<Integer>(k, heapOrder);
+		for (int i = 0; i < size; i++) {
+			if (heap.size() < k)
+				heap.add(i);
+			else if (heapOrder.compare(i, heap.peek()) > 0) {
+				heap.poll();
+				heap.add(i);
+			}
+		}
+		
+		// Rank the selected individuals
+		Integer[] selected = heap.toArray(new Integer[heap.size()]);
+		Arrays.sort(selected, ranking);
+		return selected;
+		
+	}
+	
+	
+	/**
+	 * The class <code>Ranking</code> compares the indices of the individuals of a population
+	 * in descending order of fitness. Individuals with equal fitness are compared by their index.
+	 */
+	private static final class Ranking<G, T> implements Comparator<Integer> {
+		
+		private final Population<G, T> population;
+		
+		Ranking(Population<G, T> population) {
+			this.population = population;
+		}
+		
+		public int compare(Integer a, Integer b) {
+			int order = population.getIndividual(b).compareTo(population.getIndividual(a));
+			return order != 0 ? order : a.compareTo(b);
+		}
+		
+	}
+	
 	
 	
 }
\ No newline at end of file
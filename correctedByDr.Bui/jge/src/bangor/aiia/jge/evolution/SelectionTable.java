@@ -0,0 +1,247 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bangor.aiia.jge.evolution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Population;
+import bangor.aiia.jge.util.MathUtil;
+
+/**
+ * The class <code>SelectionTable</code> is a precomputed selection mechanism
+ * for a population which does not change during a generation.<br>
+ * The table keeps the cumulative sums of the selection weights of the individuals
+ * (their raw fitness for the Roulette Wheel Selection or their rank for the Rank Selection),
+ * so it is built once per generation in O(n) (O(n log n) for the Rank Selection) and
+ * each individual is drawn with a binary search in O(log n), instead of summing
+ * the weights of the population for every draw.
+ * <br><br>
+ * An individual is drawn exactly as with the methods of the class <code>Selection</code>:
+ * a random number r is generated in the range of the total weight and the selected individual
+ * is the first one whose cumulative weight is &gt;= r.<br>
+ * The table does not change the order of the individuals of the population.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	Selection
+ * @since	JavaGE 0.1
+ * @param 	<G> The type of the value of the genotype of the individuals of the population.
+ * @param 	<T> The type of the value of the phenotype of the individuals of the population.
+ */
+public class SelectionTable<G, T> {
+
+	/**
+	 * The population from which the individuals are drawn.
+	 */
+	private final Population<G, T> population;
+
+	/**
+	 * The index in the population of the individual of each entry of the table
+	 * or null if the entries are in the order of the population.
+	 */
+	private final int[] order;
+
+	/**
+	 * The cumulative weight of each entry of the table.
+	 */
+	private final double[] cumulative;
+
+	/**
+	 * The total rank of the table or -1 for a Roulette Wheel table.
+	 */
+	private final int totalRank;
+
+
+	/**
+	 * SelectionTable constructor.
+	 */
+	private SelectionTable(Population<G, T> population, int[] order, double[] cumulative, int totalRank) {
+		this.population = population;
+		this.order = order;
+		this.cumulative = cumulative;
+		this.totalRank = totalRank;
+	}
+
+	/**
+	 * Creates the Roulette Wheel Selection table of the given population.<br>
+	 * The weight of each individual is its raw fitness.
+	 *
+	 * @see Selection#rouletteWheel(Population)
+	 * @param <G> The type of the value of the genotype of the individuals of the population.
+	 * @param <T> The type of the value of the phenotype of the individuals of the population.
+	 * @param population The population from which the individuals will be drawn.
+	 * @return The Roulette Wheel Selection table.
+	 */
+	public static <G, T>SelectionTable<G, T> rouletteWheel(Population<G, T> population) {
+
+		int size = population.size();
+		double[] cumulative = new double[size];
+		double temp = 0.0;
+
+		// Calculate the cumulative sums of the fitness of the individuals
+		for (int i = 0; i < size; i++) {
+			temp += population.getIndividual(i).rawFitness();
+			cumulative[i] = temp;
+		}
+
+		return new SelectionTable<G, T>(population, null, cumulative, -1);
+
+	}
+
+	/**
+	 * Creates the Rank Selection table of the given population.<br>
+	 * The individuals are ranked according to their fitness value: the worst individual
+	 * has rank 1 and the best individual has rank N (the size of the population).
+	 * The population itself is not sorted.
+	 *
+	 * @see Selection#rankSelection(Population)
+	 * @param <G> The type of the value of the genotype of the individuals of the population.
+	 * @param <T> The type of the value of the phenotype of the individuals of the population.
+	 * @param population The population from which the individuals will be drawn.
+	 * @return The Rank Selection table.
+	 */
+	public static <G, T>SelectionTable<G, T> rank(final Population<G, T> population) {
+
+		int size = population.size();
+		int[] order = new int[size];
+		double[] cumulative = new double[size];
+		int totalRank = 0;
+
+		// Sort the indices of the individuals into ascending order of fitness
+		// (the sort is stable as the sort of the population)
+		Integer[] sorted = new Integer[size];
+		for (int i = 0; i < size; i++)
+			sorted[i] = i;
+		Arrays.sort(sorted, new Comparator<Integer>() {
+			public int compare(Integer a, Integer b) {
+				return population.getIndividual(a).compareTo(population.getIndividual(b));
+			}
+		});
+
+		// Calculate the cumulative sums of the ranks
+		for (int i = 0; i < size; i++) {
+			order[i] = sorted[i];
+			totalRank += i + 1;
+			cumulative[i] = totalRank;
+		}
+
+		return new SelectionTable<G, T>(population, order, cumulative, totalRank);
+
+	}
+
+	/**
+	 * Draws an individual from the population.
+	 *
+	 * @return A randomly selected individual.
+	 */
+	public Individual<G, T> select() {
+		return select(MathUtil.random());
+	}
+
+	/**
+	 * Draws an individual from the population with the given random number generator.
+	 *
+	 * @param random The random number generator.
+	 * @return A randomly selected individual.
+	 */
+	public Individual<G, T> select(Random random) {
+
+		double point;
+		if (totalRank < 0)
+			point = MathUtil.randomDouble(0, total(), random);
+		else
+			point = MathUtil.randomInteger(1, totalRank, random);
+
+		int entry = find(point);
+		if (entry < 0) return null;
+		return population.getIndividual(order == null ? entry : order[entry]);
+
+	}
+
+	/**
+	 * Draws a pair of individuals from the population.
+	 *
+	 * @return A randomly selected pair of individuals.
+	 */
+	public ArrayList<Individual<G, T>> selectPair() {
+		return selectPair(MathUtil.random());
+	}
+
+	/**
+	 * Draws a pair of individuals from the population with the given random number generator.
+	 *
+	 * @param random The random number generator.
+	 * @return A randomly selected pair of individuals.
+	 */
+	public ArrayList<Individual<G, T>> selectPair(Random random) {
+
+		ArrayList<Individual<G, T>> chosen = new ArrayList<Individual<G, T>>(2);
+
+		// Get the first individual
+		Individual<G, T> individual = select(random);
+		if (individual != null)
+			chosen.add(individual);
+
+		// Get the second individual
+		individual = select(random);
+		if (individual != null)
+			chosen.add(individual);
+
+		return chosen;
+
+	}
+
+	/**
+	 * Returns the total weight of the table.
+	 *
+	 * @return The total weight.
+	 */
+	public double total() {
+		return cumulative.length == 0 ? 0.0 : cumulative[cumulative.length - 1];
+	}
+
+	/**
+	 * Returns the first entry whose cumulative weight is &gt;= <code>random</code>
+	 * or -1 if there is no such entry.
+	 */
+	private int find(double random) {
+		int low = 0;
+		int high = cumulative.length - 1;
+		int found = -1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (cumulative[middle] >= random) {
+				found = middle;
+				high = middle - 1;
+			}
+			else
+				low = middle + 1;
+		}
+		return found;
+	}
+
+}
@@ -24,13 +24,11 @@ package bangor.aiia.jge.evolution;
 
 import java.util.ArrayList;
 
-import bangor.aiia.jge.core.DefaultMapper;
+import bangor.aiia.jge.core.BinaryStringMapper;
 import bangor.aiia.jge.core.Evaluator;
-import bangor.aiia.jge.core.GEMapper;
 import bangor.aiia.jge.core.Mapper;
+import bangor.aiia.jge.population.BinaryGenome;
 import bangor.aiia.jge.population.Individual;
-import bangor.aiia.jge.population.InvalidPhenotypeException;
-import bangor.aiia.jge.population.Phenotype;
 import bangor.aiia.jge.population.Population;
 
 /**
@@ -63,13 +61,13 @@ import bangor.aiia.jge.population.Population;
  * @see 	EvolutionaryAlgorithm
  * @since	JavaGE 0.1
  */
-public class StandardGA extends EvolutionaryAlgorithm<String, String> {
+public class StandardGA extends EvolutionaryAlgorithm<BinaryGenome, String> {
 
 	/**
 	 * Default Constructor.
 	 */
 	private StandardGA() {	
-		Mapper<String, String> mapper = new DefaultMapper<String>();
+		Mapper<BinaryGenome, String> mapper = new BinaryStringMapper();
 		setMapper(mapper);
 		generationsCreated = 0;
 	}
@@ -80,7 +78,7 @@ public class StandardGA extends EvolutionaryAlgorithm<String, String> {
 	 * @param population	The population to be evolved.
 	 * @param evaluator		The problem specification.
 	 */
-	public StandardGA(Population<String, String> population, Evaluator<String, String> evaluator) {
+	public StandardGA(Population<BinaryGenome, String> population, Evaluator<BinaryGenome, String> evaluator) {
 		this();
 		setPopulation(population);
 		setEvaluator(evaluator);
@@ -95,7 +93,7 @@ public class StandardGA extends EvolutionaryAlgorithm<String, String> {
 	 * @param maxCodons			The upper limit of codons of an individual.
 	 * @param evaluator			The problem specification.
 	 */
-	public StandardGA(int populationSize, int codonSize, int minCodons, int maxCodons, Evaluator<String, String> evaluator) {
+	public StandardGA(int populationSize, int codonSize, int minCodons, int maxCodons, Evaluator<BinaryGenome, String> evaluator) {
 		this(Genesis.<String>randomPopulation(populationSize, codonSize, minCodons, maxCodons), evaluator);
 		setCodonSize(codonSize);
 	}
@@ -109,15 +107,18 @@ public class StandardGA extends EvolutionaryAlgorithm<String, String> {
 	 * @return The Solution. The best individual in the current population 
 	 * 		   after the finishing of the Standard Genetic Algorithm.
 	 */
-	public Individual<String, String> run() {
-		
-		Individual<String, String> solution = null;				// The problem solution		
-		ArrayList<Individual<String, String>> parents = null; 	// The selected parents		
-		Individual<String, String> parentA = null;				// The first parent
-		Individual<String, String> parentB = null;				// The second parent
-		Individual<String, String> childA = null;				// The first child
-		Individual<String, String> childB = null;				// The second child
-		Population<String, String> offspring;					// The new generation's population
+	public Individual<BinaryGenome, String> run() {
+		
+		Individual<BinaryGenome, String> solution = null;				// The problem solution		
+		ArrayList<Individual<BinaryGenome, String>> parents = null; 	// The selected parents		
+		SelectionTable<BinaryGenome, String> table = null;		// The selection table of the current population
+		Individual<BinaryGenome, String> parentA = null;				// The first parent
+		Individual<BinaryGenome, String> parentB = null;				// The second parent
+		Individual<BinaryGenome, String> childA = null;				// The first child
+		Individual<BinaryGenome, String> childB = null;				// The second child
+		ArrayList<Individual<BinaryGenome, String>> children = null; 	// The offspring of the parents
+		BreedingPipeline pipeline = breedingPipeline();			// The variation operators
+		Population<BinaryGenome, String> offspring;					// The new generation's population
 		int size = population.size();							// The population size
 		int newborns = 0;										// The offspring indviduals created so far
 		int currentGeneration = 0;								// The current generation's number
@@ -130,88 +131,82 @@ public class StandardGA extends EvolutionaryAlgorithm<String, String> {
 			logger.write(this.toString() + "\n", false);
 		}
 		
-		// Initial Population Evaluation
-		evaluatePopulation();
+		try {
+			// Initial Population Evaluation
+			evaluatePopulation();
 
 		
-		// Log the current population
-		if (logger != null) {
-			logger.write("GENERATION: " + currentGeneration, true);
-			logger.write(population.toString() + "\n", false);				
-		}		
+			// Log the current population
+			if (logger != null) {
+				logger.write("GENERATION: " + currentGeneration, true);
+				logger.write(population.toString() + "\n", false);				
+			}		
 		
-		// Start Evolutionary Process (Generations)
-		while (!terminate) {
+			// Start Evolutionary Process (Generations)
+			while (!terminate) {
 			
-			// Creation of an empty population, P' 
-			offspring = new Population<String, String>(size);
-			newborns = 0;
-			currentGeneration++;	
+				// Creation of an empty population, P' 
+				offspring = new Population<BinaryGenome, String>(size);
+				offspring.setEnvironment(population.getEnvironment());
+				newborns = 0;
+				currentGeneration++;	
 			
-			// Create the new population
-			while (newborns < size) {
+				// Sum the fitness of the current population once for all the selections
+				table = SelectionTable.rouletteWheel(population);
+			
+				// Create the new population
+				while (newborns < size) {
 							
-				// Selection of 2 individuals from P to mate with Roulette Wheel Selection 
-				parents = Selection.rouletteWheel(population);
-				parentA = parents.get(0);
-				parentB = parents.get(1);
-				
-				// Producing of 2 offspring using standard one-point crossover with probability Pc 
-				childA = parentA.cloneGenomeOnly();
-				childB = parentB.cloneGenomeOnly();
-				if (fixedSizeGenome)
-					Crossover.standardOnePoint(childA, childB, crossoverRate);
-				else
-					Crossover.standardOnePointVariableLength(childA, childB, crossoverRate);
-								
-				// Point Mutation with probability Pm on the 2 offspring 
-				Mutation.pointMutation(childA, mutationRate);
-				Mutation.pointMutation(childB, mutationRate);
+					// Selection of 2 individuals from P to mate with Roulette Wheel Selection 
+					parents = table.selectPair(random);
+					parentA = parents.get(0);
+					parentB = parents.get(1);
 				
-				// Duplication with probability Pd on the 2 offspring 
-				Duplication.duplication(childA, codonSize, duplicationRate);
-				Duplication.duplication(childB, codonSize, duplicationRate);
+					// Producing of 2 offspring using standard one-point crossover with probability Pc,
+					// point mutation with probability Pm, duplication with probability Pd and pruning with probability Pp
+					children = pipeline.breed(parentA, parentB, random);
+					childA = children.get(0);
+					childB = children.get(1);
 				
-				// Pruning with probability Pp on the 2 offspring 
-				if (mapper instanceof GEMapper) {
-					Pruning.pruning(childA, (GEMapper)mapper, pruningRate);
-					Pruning.pruning(childB, (GEMapper)mapper, pruningRate);					
-				}
-				
-				// Addition of the 2 offspring to P'				
-				offspring.setIndividual(newborns, childA);
-				newborns++;
-				if (newborns < size) { // In case the population size is an odd number
-					offspring.setIndividual(newborns, childB);								
+					// Addition of the 2 offspring to P'				
+					offspring.setIndividual(newborns, childA);
 					newborns++;
-				}
+					if (newborns < size) { // In case the population size is an odd number
+						offspring.setIndividual(newborns, childB);								
+						newborns++;
+					}
 				
-			}
+				}
 			
-			// Replacement of P with P' 
-			population = offspring;
+				// Replacement of P with P' 
+				population = offspring;
 			
-			// Population Evaluation
-			evaluatePopulation();
+				// Population Evaluation
+				evaluatePopulation();
 			
-			// Log the current population
-			if (logger != null) {
-				logger.write("GENERATION: " + currentGeneration, true);
-				logger.write(population.toString() + "\n", false);				
-			}			
+				// Log the current population
+				if (logger != null) {
+					logger.write("GENERATION: " + currentGeneration, true);
+					logger.write(population.toString() + "\n", false);				
+				}			
 			
-			// Evolutionary Process Termination criteria
-			if (currentGeneration == maxGenerations){
-				if (logger != null) 
-					logger.write("SGA TERMINATION: Max Generations Reached (" + currentGeneration + ")", true);
-				terminate = true;		
-			}	
-		/*	if (evaluator.solutionFound()) {
-				if (logger != null) 
-					logger.write("SGA TERMINATION: Solution Found in Generation " + currentGeneration, true);
-				terminate = true;		
-			}	*/
+				// Evolutionary Process Termination criteria
+				if (currentGeneration == maxGenerations){
+					if (logger != null) 
+						logger.write("SGA TERMINATION: Max Generations Reached (" + currentGeneration + ")", true);
+					terminate = true;		
+				}	
+			/*	if (evaluator.solutionFound()) {
+					if (logger != null) 
+						logger.write("SGA TERMINATION: Solution Found in Generation " + currentGeneration, true);
+					terminate = true;		
+				}	*/
 		
+			}
+		}
+		finally {
+			// Stop the threads of the parallel evaluation, even if the run fails
+			shutdownPool();
 		}
 		
 		solution = Selection.selectBestAndWorst(population, 1, 0).get(0);
@@ -239,40 +234,4 @@ public class StandardGA extends EvolutionaryAlgorithm<String, String> {
 		return state.toString();
 	}
 	
-	/**
-	 * This method creates the phenotypes of the individuals
-	 * according the given mapper and evaluates their validity
-	 * and raw fitness according the given evaluator (problem specification).
-	 */
-	private void evaluatePopulation() {
-		
-		Individual<String, String> individual = null;	// The current individual
-		Phenotype<String> phenotype = null;				// The current individual's phenotype
-		int size = population.size();					// The population size
-		
-		// Create the Phenotypes of the Individuals
-		for (int i = 0; i < size; i++) {
-			individual = population.getIndividual(i);
-			try {				
-				phenotype = mapper.getPhenotype(individual.getGenotype());					
-				individual.setPhenotype(phenotype);
-				individual.setValid(true);
-			}
-			catch(InvalidPhenotypeException ipe) {
-				if (mapper instanceof GEMapper) {
-					individual.setValid(false);
-					phenotype = new Phenotype<String>(((GEMapper) mapper).lastRunPhenotypeValue());	
-					individual.setPhenotype(phenotype);
-				}
-				if (logger != null) {
-					logger.write("INVALID PHENOTYPE EXCEPTION: " + ipe.getMessage(), false);
-				}
-			}				
-		}		
-		
-		// Fitness Evalution of the individuals in P 
-		evaluator.evaluate(population);
-		
-	}	
-
 }
\ No newline at end of file
@@ -24,13 +24,11 @@ package bangor.aiia.jge.evolution;
 
 import java.util.ArrayList;
 
-import bangor.aiia.jge.core.DefaultMapper;
+import bangor.aiia.jge.core.BinaryStringMapper;
 import bangor.aiia.jge.core.Evaluator;
-import bangor.aiia.jge.core.GEMapper;
 import bangor.aiia.jge.core.Mapper;
+import bangor.aiia.jge.population.BinaryGenome;
 import bangor.aiia.jge.population.Individual;
-import bangor.aiia.jge.population.InvalidPhenotypeException;
-import bangor.aiia.jge.population.Phenotype;
 import bangor.aiia.jge.population.Population;
 
 /**
@@ -79,7 +77,7 @@ import bangor.aiia.jge.population.Population;
  * @see 	EvolutionaryAlgorithm
  * @since	JavaGE 0.1
  */
-public class SteadyStateGA extends EvolutionaryAlgorithm<String, String> {
+public class SteadyStateGA extends EvolutionaryAlgorithm<BinaryGenome, String> {
 
 	// The fraction in the interval [0.0, 1.0] of the subset of the population
 	// to be replaced in every generation
@@ -89,7 +87,7 @@ public class SteadyStateGA extends EvolutionaryAlgorithm<String, String> {
 	 * Default Constructor.
 	 */
 	private SteadyStateGA() {
-		Mapper<String, String> mapper = new DefaultMapper<String>();
+		Mapper<BinaryGenome, String> mapper = new BinaryStringMapper();
 		setMapper(mapper);
 		generationsCreated = 0;
 	}	
@@ -100,7 +98,7 @@ public class SteadyStateGA extends EvolutionaryAlgorithm<String, String> {
 	 * @param population	The population to be evolved.
 	 * @param evaluator		The problem specification.
 	 */
-	public SteadyStateGA(Population<String, String> population, Evaluator<String, String> evaluator) {
+	public SteadyStateGA(Population<BinaryGenome, String> population, Evaluator<BinaryGenome, String> evaluator) {
 		this();
 		setPopulation(population);
 		setEvaluator(evaluator);
@@ -117,7 +115,7 @@ public class SteadyStateGA extends EvolutionaryAlgorithm<String, String> {
 	 * @param maxCodons			The upper limit of codons of an individual.
 	 * @param evaluator			The problem specification.
 	 */
-	public SteadyStateGA(int populationSize, int codonSize, int minCodons, int maxCodons, Evaluator<String, String> evaluator) {
+	public SteadyStateGA(int populationSize, int codonSize, int minCodons, int maxCodons, Evaluator<BinaryGenome, String> evaluator) {
 		this(Genesis.<String>randomPopulation(populationSize, codonSize, minCodons, maxCodons), evaluator);
 		setCodonSize(codonSize);		
 	}
@@ -130,16 +128,19 @@ public class SteadyStateGA extends EvolutionaryAlgorithm<String, String> {
 	 * @return The Solution. The best individual in the current population 
 	 * 		   after the finishing of the Steady-State Genetic Algorithm.
 	 */
-	public Individual<String, String> run() {
+	public Individual<BinaryGenome, String> run() {
 			
-		Individual<String, String> solution = null;		// The problem solution		
-		ArrayList<Individual<String, String>> survivors = null; // The individuals who survive to the next generation
-		ArrayList<Individual<String, String>> parents = null; // The selected parents
-		Individual<String, String> parentA = null;		// The first parent
-		Individual<String, String> parentB = null;		// The second parent
-		Individual<String, String> childA = null;		// The first child
-		Individual<String, String> childB = null;		// The second child
-		Population<String, String> offspring;			// The new generation's population
+		Individual<BinaryGenome, String> solution = null;		// The problem solution		
+		ArrayList<Individual<BinaryGenome, String>> survivors = null; // The individuals who survive to the next generation
+		ArrayList<Individual<BinaryGenome, String>> parents = null; // The selected parents
+		SelectionTable<BinaryGenome, String> table = null; // The selection table of the current population
+		Individual<BinaryGenome, String> parentA = null;		// The first parent
+		Individual<BinaryGenome, String> parentB = null;		// The second parent
+		Individual<BinaryGenome, String> childA = null;		// The first child
+		Individual<BinaryGenome, String> childB = null;		// The second child
+		ArrayList<Individual<BinaryGenome, String>> children = null; 	// The offspring of the parents
+		BreedingPipeline pipeline = breedingPipeline();			// The variation operators
+		Population<BinaryGenome, String> offspring;			// The new generation's population
 		int size = population.size();					// The population size
 		int newborns = 0;								// The offspring indviduals created so far
 		int currentGeneration = 0;						// The current generation's number
@@ -163,105 +164,99 @@ public class SteadyStateGA extends EvolutionaryAlgorithm<String, String> {
 			logger.write(this.toString() + "\n", false);
 		}
 		
-		// Initial Population Evaluation
-		evaluatePopulation();
+		try {
+			// Initial Population Evaluation
+			evaluatePopulation();
 
 		
-		// Log the current population
-		if (logger != null) {
-			logger.write("GENERATION: " + currentGeneration, true);
-			logger.write(population.toString() + "\n", false);				
-		}	
+			// Log the current population
+			if (logger != null) {
+				logger.write("GENERATION: " + currentGeneration, true);
+				logger.write(population.toString() + "\n", false);				
+			}	
 		
 		
-		// Start Evolutionary Process (Generations)
-		while (!terminate) {
-		//while (terminate<50) {
-			// Creation of an empty population, P' 
-			offspring = new Population<String, String>(size);
-			newborns = 0;
-			currentGeneration++;
-			System.out.println("Generation Gap =" +generationGap +"Replacements =" +replacements);
-			//System.out.print(" " + currentGeneration + " ");
+			// Start Evolutionary Process (Generations)
+			while (!terminate) {
+			//while (terminate<50) {
+				// Creation of an empty population, P' 
+				offspring = new Population<BinaryGenome, String>(size);
+				offspring.setEnvironment(population.getEnvironment());
+				newborns = 0;
+				currentGeneration++;
+				System.out.println("Generation Gap =" +generationGap +"Replacements =" +replacements);
+				//System.out.print(" " + currentGeneration + " ");
 					
-			// Create the new population
-			while (newborns < replacements) {
+				// Sum the fitness of the current population once for all the selections
+				table = SelectionTable.rouletteWheel(population);
+			
+				// Create the new population
+				while (newborns < replacements) {
 							
-				// Selection of 2 individuals from P to mate with Roulette Wheel Selection 
-				parents = Selection.rouletteWheel(population);
-				parentA = parents.get(0);
-				parentB = parents.get(1);
+					// Selection of 2 individuals from P to mate with Roulette Wheel Selection 
+					parents = table.selectPair(random);
+					parentA = parents.get(0);
+					parentB = parents.get(1);
 				
-				// Producing of 2 offspring using standard one-point crossover with probability Pc 
-				childA = parentA.cloneGenomeOnly();
-				childB = parentB.cloneGenomeOnly();
-				if (fixedSizeGenome)
-					Crossover.standardOnePoint(childA, childB, crossoverRate);
-				else
-					Crossover.standardOnePointVariableLength(childA, childB, crossoverRate);
-								
-				// Point Mutation with probability Pm on the 2 offspring 
-				Mutation.pointMutation(childA, mutationRate);
-				Mutation.pointMutation(childB, mutationRate);
+					// Producing of 2 offspring using standard one-point crossover with probability Pc,
+					// point mutation with probability Pm, duplication with probability Pd and pruning with probability Pp
+					children = pipeline.breed(parentA, parentB, random);
+					childA = children.get(0);
+					childB = children.get(1);
 				
-				// Duplication with probability Pd on the 2 offspring 
-				Duplication.duplication(childA, codonSize, duplicationRate);
-				Duplication.duplication(childB, codonSize, duplicationRate);
+					// Addition of the 2 offspring to P'				
+					offspring.setIndividual(newborns, childA);
+					newborns++;
+					offspring.setIndividual(newborns, childB);								
+					newborns++;
 				
-				// Pruning with probability Pp on the 2 offspring 
-				if (mapper instanceof GEMapper) {
-					Pruning.pruning(childA, (GEMapper)mapper, pruningRate);
-					Pruning.pruning(childB, (GEMapper)mapper, pruningRate);					
 				}
-				
-				// Addition of the 2 offspring to P'				
-				offspring.setIndividual(newborns, childA);
-				newborns++;
-				offspring.setIndividual(newborns, childB);								
-				newborns++;
-				
-			}
 			
-			// Addition of the best n - (G * n) individuals to P' 
-			survivors = Selection.selectBestAndWorst(population, size - replacements, 0);
-			for (int i = 0; i < survivors.size(); i++)
-				offspring.setIndividual(newborns++, survivors.get(i));
+				// Addition of the best n - (G * n) individuals to P' 
+				survivors = Selection.selectBestAndWorst(population, size - replacements, 0);
+				for (int i = 0; i < survivors.size(); i++)
+					offspring.setIndividual(newborns++, survivors.get(i));
 						
-			// Replacement of P with P' 
-			population = offspring;		
+				// Replacement of P with P' 
+				population = offspring;		
 			
-			// Population Evaluation
-			evaluatePopulation();
+				// Population Evaluation
+				evaluatePopulation();
 			
-			/*
-			//TEMPORARY LOGGING PART STARTS HERE
-			Individual<String,String> bestSoFar = null;
-			bestSoFar = Selection.selectBestAndWorst(population, 1, 0).get(0);
-			System.out.println("Generation " + currentGeneration);
-			System.out.println("Best individual: " + bestSoFar.getPhenotype().toString());
-			System.out.println("Raw Fitness: " + bestSoFar.getRawFitnessValue());
-			System.out.println();
-			//TEMPORARY LOGGING PART ENDS HERE
-			*/
+				/*
+				//TEMPORARY LOGGING PART STARTS HERE
+				Individual<BinaryGenome, String> bestSoFar = null;
+				bestSoFar = Selection.selectBestAndWorst(population, 1, 0).get(0);
+				System.out.println("Generation " + currentGeneration);
+				System.out.println("Best individual: " + bestSoFar.getPhenotype().toString());
+				System.out.println("Raw Fitness: " + bestSoFar.getRawFitnessValue());
+				System.out.println();
+				//TEMPORARY LOGGING PART ENDS HERE
+				*/
 			
-			// Log the current population
-			if (logger != null) {
-				logger.write("GENERATION: " + currentGeneration, true);
-				logger.write(population.toString() + "\n", false);				
-			}
-			//terminate++;
-			// Evolutionary Process Termination criteria
-			if (currentGeneration == maxGenerations){
-				if (logger != null) 
-					logger.write("SSGA TERMINATION: Max Generations Reached (" + currentGeneration + ")", true);
-				terminate = true;		
-			}	
-			/*if (evaluator.solutionFound()) {
-				if (logger != null) 
-					logger.write("SSGA TERMINATION: Solution Found in Generation " + currentGeneration, true);
-				terminate = true;		
-			}	*/
+				// Log the current population
+				if (logger != null) {
+					logger.write("GENERATION: " + currentGeneration, true);
+					logger.write(population.toString() + "\n", false);				
+				}
+				//terminate++;
+				// Evolutionary Process Termination criteria
+				if (currentGeneration == maxGenerations){
+					if (logger != null) 
+						logger.write("SSGA TERMINATION: Max Generations Reached (" + currentGeneration + ")", true);
+					terminate = true;		
+				}	
+				/*if (evaluator.solutionFound()) {
+					if (logger != null) 
+						logger.write("SSGA TERMINATION: Solution Found in Generation " + currentGeneration, true);
+					terminate = true;		
+				}	*/
 			
+			}
+		}
+		finally {
+			// Stop the threads of the parallel evaluation, even if the run fails
+			shutdownPool();
 		}
 		
 		solution = Selection.selectBestAndWorst(population, 1, 0).get(0);
@@ -315,41 +310,4 @@ public class SteadyStateGA extends EvolutionaryAlgorithm<String, String> {
 		
 	}
 	
-	/**
-	 * This method creates the phenotypes of the individuals
-	 * according the given mapper and evaluates their validity
-	 * and raw fitness according the given evaluator (problem specification).
-	 */
-	private void evaluatePopulation() {
-		
-		Individual<String, String> individual = null;	// The current individual
-		Phenotype<String> phenotype = null;				// The current individual's phenotype
-		int size = population.size();					// The population size
-		
-		// Create the Phenotypes of the Individuals
-		for (int i = 0; i < size; i++) {
-			//System.out.println("Init Population #" +i);
-			individual = population.getIndividual(i);
-			try {				
-				phenotype = mapper.getPhenotype(individual.getGenotype());
-				individual.setPhenotype(phenotype);
-				individual.setValid(true);
-			}
-			catch(InvalidPhenotypeException ipe) {
-				if (mapper instanceof GEMapper) {
-					individual.setValid(false);
-					phenotype = new Phenotype<String>(((GEMapper) mapper).lastRunPhenotypeValue());
-					individual.setPhenotype(phenotype);
-				}
-				if (logger != null) {
-					logger.write("INVALID PHENOTYPE EXCEPTION: " + ipe.getMessage(), false);
-				}
-			}				
-		}
-		
-		// Fitness Evalution of the individuals in P 
-		evaluator.evaluate(population);
-		
-	}
-	
 }
@@ -0,0 +1,277 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bangor.aiia.jge.population;
+
+import java.util.Arrays;
+
+/**
+ * The class <code>BinaryGenome</code> is an immutable, packed representation of
+ * a binary genome (a string of bits) and it is the value of the <code>Genotype</code>
+ * of the individuals evolved by Grammatical Evolution.<br>
+ * The bits are stored 64 per <code>long</code> word, the first bit of the genome
+ * being the most significant bit of the first word, so a genome needs 16 times less
+ * memory than its <code>'0'</code>/<code>'1'</code> <code>String</code> representation
+ * and the codons can be read directly from the words without any parsing.
+ * <br><br>
+ * The method <code>toString()</code> returns the <code>'0'</code>/<code>'1'</code>
+ * <code>String</code> representation of the genome (e.g. for logging and the XML Fragments)
+ * and the method <code>valueOf(CharSequence)</code> creates a genome from it.<br>
+ * A <code>BinaryGenome</code> is modified through a <code>BinaryGenomeBuilder</code>,
+ * in the same way as a <code>String</code> is modified through a <code>StringBuilder</code>.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	Genotype
+ * @see 	BinaryGenomeBuilder
+ * @since	JavaGE 0.1
+ */
+public final class BinaryGenome {
+
+	/**
+	 * The bits of the genome (64 bits per word, most significant bit first).
+	 */
+	private final long[] words;
+
+	/**
+	 * The length of the genome in bits.
+	 */
+	private final int length;
+
+
+	/**
+	 * Creates a new genome from the given words.
+	 * The array is not copied and it must not be modified afterwards.
+	 *
+	 * @param words The bits of the genome.
+	 * @param length The length of the genome in bits.
+	 */
+	BinaryGenome(long[] words, int length) {
+		this.words = words;
+		this.length = length;
+	}
+
+	/**
+	 * Creates a genome from its binary string representation.
+	 *
+	 * @param bits The binary string (e.g. "0100110").
+	 * @return The corresponding genome.
+	 * @throws IllegalArgumentException if the string contains other characters than '0' and '1'.
+	 */
+	public static BinaryGenome valueOf(CharSequence bits) {
+		int length = bits.length();
+		long[] words = new long[wordsFor(length)];
+		for (int i = 0; i < length; i++) {
+			char c = bits.charAt(i);
+			if (c == '1')
+				words[i >>> 6] |= 1L << (63 - (i & 63));
+			else if (c != '0')
+				throw new IllegalArgumentException("Input was not binary ('0' or '1'): " + bits);
+		}
+		return new BinaryGenome(words, length);
+	}
+
+	/**
+	 * Returns the length of the genome in bits.
+	 *
+	 * @return The length of the genome in bits.
+	 */
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Returns the bit in the given position.
+	 *
+	 * @param index The position of the bit (from 0 to length - 1).
+	 * @return True if the bit is 1, false if it is 0.
+	 */
+	public boolean get(int index) {
+		if (index < 0 || index >= length)
+			throw new IndexOutOfBoundsException("Bit index: " + index + ", Length: " + length);
+		return (words[index >>> 6] & (1L << (63 - (index & 63)))) != 0;
+	}
+
+	/**
+	 * Returns the number of codons of size <code>codonSize</code> bits in the genome.<br>
+	 * Note: It is possible the last codon to have less than <code>codonSize</code> bits.
+	 *
+	 * @param codonSize The size of the codon in bits.
+	 * @return The number of codons.
+	 */
+	public int codonCount(int codonSize) {
+		return (length + codonSize - 1) / codonSize;
+	}
+
+	/**
+	 * Returns the integer value of the codon in the given position.<br>
+	 * If the last codon has less than <code>codonSize</code> bits then its value
+	 * is the value of the remaining bits.
+	 *
+	 * @param index The position of the codon (from 0 to codonCount - 1).
+	 * @param codonSize The size of the codon in bits (from 1 to 31).
+	 * @return The integer value of the codon.
+	 */
+	public int codon(int index, int codonSize) {
+		int start = index * codonSize;
+		return (int) readBits(words, start, Math.min(codonSize, length - start));
+	}
+
+	/**
+	 * Converts the genome (DNA) into the integer values of its codons (RNA).
+	 *
+	 * @param codonSize The size of the codon in bits (from 1 to 31).
+	 * @param rna The array to be filled with the values of the codons.
+	 * 			  Its length must be at least <code>codonCount(codonSize)</code>.
+	 * @return The number of codons.
+	 */
+	public int codons(int codonSize, int[] rna) {
+		return codons(words, length, codonSize, rna);
+	}
+
+	/**
+	 * Returns a <code>BinaryGenomeBuilder</code> initialised with the bits of this genome.
+	 *
+	 * @return A new builder with the bits of this genome.
+	 */
+	public BinaryGenomeBuilder toBuilder() {
+		BinaryGenomeBuilder builder = new BinaryGenomeBuilder(length);
+		builder.append(this, 0, length);
+		return builder;
+	}
+
+	/**
+	 * Returns the binary string representation of the genome (e.g. "0100110").
+	 *
+	 * @return The binary string representation of the genome.
+	 */
+	public String toString() {
+		return toString(words, length);
+	}
+
+	/**
+	 * Returns true if the given object is a <code>BinaryGenome</code> with the same bits.
+	 *
+	 * @param obj The object to be compared.
+	 * @return True if the genomes are equal.
+	 */
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof BinaryGenome)) return false;
+		BinaryGenome other = (BinaryGenome) obj;
+		if (length != other.length) return false;
+		for (int i = 0; i < wordsFor(length); i++)
+			if (words[i] != other.words[i]) return false;
+		return true;
+	}
+
+	/**
+	 * Returns the hash code of the genome.
+	 *
+	 * @return The hash code of the genome.
+	 */
+	public int hashCode() {
+		return 31 * Arrays.hashCode(Arrays.copyOf(words, wordsFor(length))) + length;
+	}
+
+	/**
+	 * Returns the words of the genome. The array must not be modified.
+	 */
+	long[] words() {
+		return words;
+	}
+
+
+	/**
+	 * Returns the number of words needed for <code>bits</code> bits.
+	 */
+	static int wordsFor(int bits) {
+		return (bits + 63) >>> 6;
+	}
+
+	/**
+	 * Reads <code>count</code> bits (from 0 to 64) starting from the position <code>start</code>
+	 * and returns them as the lower bits of a <code>long</code> value.
+	 */
+	static long readBits(long[] words, int start, int count) {
+		if (count == 0) return 0L;
+		int index = start >>> 6;
+		int offset = start & 63;
+		long value = words[index] << offset;
+		if (offset + count > 64)
+			value |= words[index + 1] >>> (64 - offset);
+		return value >>> (64 - count);
+	}
+
+	/**
+	 * Writes the lower <code>count</code> bits (from 0 to 64) of <code>value</code>
+	 * starting from the position <code>start</code>.
+	 */
+	static void writeBits(long[] words, int start, int count, long value) {
+		if (count == 0) return;
+		int index = start >>> 6;
+		int offset = start & 63;
+		long bits = value << (64 - count);						// Left aligned bits
+		long mask = -1L << (64 - count);						// Left aligned mask
+		words[index] = (words[index] & ~(mask >>> offset)) | (bits >>> offset);
+		if (offset + count > 64) {
+			int shift = 64 - offset;
+			words[index + 1] = (words[index + 1] & ~(mask << shift)) | (bits << shift);
+		}
+	}
+
+	/**
+	 * Copies <code>count</code> bits from the position <code>srcStart</code> of <code>src</code>
+	 * to the position <code>dstStart</code> of <code>dst</code>.
+	 * The arrays must not be the same array.
+	 */
+	static void copyBits(long[] src, int srcStart, long[] dst, int dstStart, int count) {
+		while (count > 0) {
+			int chunk = Math.min(64, count);
+			writeBits(dst, dstStart, chunk, readBits(src, srcStart, chunk));
+			srcStart += chunk;
+			dstStart += chunk;
+			count -= chunk;
+		}
+	}
+
+	/**
+	 * Converts the first <code>length</code> bits of the words into codons.
+	 */
+	static int codons(long[] words, int length, int codonSize, int[] rna) {
+		int count = (length + codonSize - 1) / codonSize;
+		for (int i = 0, start = 0; i < count; i++, start += codonSize)
+			rna[i] = (int) readBits(words, start, Math.min(codonSize, length - start));
+		return count;
+	}
+
+	/**
+	 * Returns the binary string representation of the first <code>length</code> bits of the words.
+	 */
+	static String toString(long[] words, int length) {
+		char[] bits = new char[length];
+		for (int i = 0; i < length; i++)
+			bits[i] = ((words[i >>> 6] & (1L << (63 - (i & 63)))) != 0) ? '1' : '0';
+		return new String(bits);
+	}
+
+}
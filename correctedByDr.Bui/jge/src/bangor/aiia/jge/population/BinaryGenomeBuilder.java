@@ -0,0 +1,332 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bangor.aiia.jge.population;
+
+import java.util.Arrays;
+
+/**
+ * The class <code>BinaryGenomeBuilder</code> is a mutable sequence of bits which is used
+ * by the genetic operators (Crossover, Mutation, Duplication, Pruning) for the modification
+ * of the binary genomes.<br>
+ * It uses the same packed representation as the <code>BinaryGenome</code>
+ * (64 bits per <code>long</code> word, most significant bit first) so the segments
+ * of the genomes are copied word by word and not bit by bit.
+ * <br><br>
+ * A <code>BinaryGenomeBuilder</code> object can be reused for many genomes
+ * but it is not thread safe.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	BinaryGenome
+ * @since	JavaGE 0.1
+ */
+public final class BinaryGenomeBuilder {
+
+	/**
+	 * The bits of the builder (64 bits per word, most significant bit first).
+	 * The bits after the <code>length</code> are always 0.
+	 */
+	private long[] words;
+
+	/**
+	 * The number of bits of the builder.
+	 */
+	private int length;
+
+
+	/**
+	 * Default Constructor. Creates an empty builder.
+	 */
+	public BinaryGenomeBuilder() {
+		this(64);
+	}
+
+	/**
+	 * Creates an empty builder with the given initial capacity.
+	 *
+	 * @param capacity The initial capacity in bits.
+	 */
+	public BinaryGenomeBuilder(int capacity) {
+		words = new long[Math.max(1, BinaryGenome.wordsFor(capacity))];
+		length = 0;
+	}
+
+	/**
+	 * Returns the number of bits of the builder.
+	 *
+	 * @return The number of bits.
+	 */
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Sets the number of bits of the builder.
+	 * If the new length is greater than the current length then the new bits are 0.
+	 *
+	 * @param newLength The new number of bits.
+	 */
+	public void setLength(int newLength) {
+		if (newLength < 0)
+			throw new IndexOutOfBoundsException("Length: " + newLength);
+		if (newLength < length)
+			clearFrom(newLength);
+		else
+			ensureCapacity(newLength);
+		length = newLength;
+	}
+
+	/**
+	 * Returns the bit in the given position.
+	 *
+	 * @param index The position of the bit (from 0 to length - 1).
+	 * @return True if the bit is 1, false if it is 0.
+	 */
+	public boolean get(int index) {
+		checkIndex(index);
+		return (words[index >>> 6] & (1L << (63 - (index & 63)))) != 0;
+	}
+
+	/**
+	 * Sets the bit in the given position.
+	 *
+	 * @param index The position of the bit (from 0 to length - 1).
+	 * @param value True for 1, false for 0.
+	 */
+	public void set(int index, boolean value) {
+		checkIndex(index);
+		if (value)
+			words[index >>> 6] |= 1L << (63 - (index & 63));
+		else
+			words[index >>> 6] &= ~(1L << (63 - (index & 63)));
+	}
+
+	/**
+	 * Inverts the bit in the given position (from 0 to 1 or from 1 to 0).
+	 *
+	 * @param index The position of the bit (from 0 to length - 1).
+	 */
+	public void flip(int index) {
+		checkIndex(index);
+		words[index >>> 6] ^= 1L << (63 - (index & 63));
+	}
+
+	/**
+	 * Appends the bits <code>[from, to)</code> of the given genome.
+	 *
+	 * @param genome The source genome.
+	 * @param from The first bit to be appended (inclusive).
+	 * @param to The last bit to be appended (exclusive).
+	 * @return This builder.
+	 */
+	public BinaryGenomeBuilder append(BinaryGenome genome, int from, int to) {
+		checkRange(from, to, genome.length());
+		return append(genome.words(), from, to);
+	}
+
+	/**
+	 * Appends the bits <code>[from, to)</code> of the given builder.
+	 *
+	 * @param builder The source builder (it must not be this builder).
+	 * @param from The first bit to be appended (inclusive).
+	 * @param to The last bit to be appended (exclusive).
+	 * @return This builder.
+	 */
+	public BinaryGenomeBuilder append(BinaryGenomeBuilder builder, int from, int to) {
+		if (builder == this)
+			throw new IllegalArgumentException("A builder cannot be appended to itself");
+		checkRange(from, to, builder.length);
+		return append(builder.words, from, to);
+	}
+
+	/**
+	 * Appends all the bits of the given builder.
+	 *
+	 * @param builder The source builder (it must not be this builder).
+	 * @return This builder.
+	 */
+	public BinaryGenomeBuilder append(BinaryGenomeBuilder builder) {
+		return append(builder, 0, builder.length);
+	}
+
+	/**
+	 * Inserts a copy of the bits <code>[from, to)</code> of this builder
+	 * in the position <code>offset</code>. The bits after the <code>offset</code>
+	 * are moved to the right.
+	 *
+	 * @param offset The position of the inserted bits (from 0 to length).
+	 * @param from The first bit to be copied (inclusive).
+	 * @param to The last bit to be copied (exclusive).
+	 * @return This builder.
+	 */
+	public BinaryGenomeBuilder insert(int offset, int from, int to) {
+		checkRange(from, to, length);
+		if (offset < 0 || offset > length)
+			throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length);
+		int count = to - from;
+		int tail = length - offset;
+
+		// Keep a copy of the inserted segment and of the tail
+		long[] segment = new long[BinaryGenome.wordsFor(count)];
+		long[] rest = new long[BinaryGenome.wordsFor(tail)];
+		BinaryGenome.copyBits(words, from, segment, 0, count);
+		BinaryGenome.copyBits(words, offset, rest, 0, tail);
+
+		ensureCapacity(length + count);
+		BinaryGenome.copyBits(segment, 0, words, offset, count);
+		BinaryGenome.copyBits(rest, 0, words, offset + count, tail);
+		length += count;
+		return this;
+	}
+
+	/**
+	 * Replaces the bits of this builder with the bits of the given genome.
+	 *
+	 * @param genome The source genome.
+	 * @return This builder.
+	 */
+	public BinaryGenomeBuilder copyFrom(BinaryGenome genome) {
+		clear();
+		return append(genome, 0, genome.length());
+	}
+
+	/**
+	 * Replaces the bits of this builder with the bits of the given builder.
+	 *
+	 * @param builder The source builder.
+	 * @return This builder.
+	 */
+	public BinaryGenomeBuilder copyFrom(BinaryGenomeBuilder builder) {
+		if (builder == this) return this;
+		clear();
+		return append(builder, 0, builder.length);
+	}
+
+	/**
+	 * Removes all the bits of the builder.
+	 */
+	public void clear() {
+		clearFrom(0);
+		length = 0;
+	}
+
+	/**
+	 * Returns the index of the first bit in which the builder differs from the given genome.
+	 * If the bits of the shorter of the two are a prefix of the other, the index is the length
+	 * of the shorter. The bits are compared 64 at a time.
+	 *
+	 * @param genome The genome to be compared with the builder.
+	 * @return The index of the first different bit or -1 if the builder has the same bits as the genome.
+	 */
+	public int mismatch(BinaryGenome genome) {
+		long[] other = genome.words();
+		int common = Math.min(length, genome.length());
+		int fullWords = common >>> 6;
+		for (int i = 0; i < fullWords; i++) {
+			long difference = words[i] ^ other[i];
+			if (difference != 0)
+				return (i << 6) + Long.numberOfLeadingZeros(difference);
+		}
+		int rest = common & 63;
+		if (rest != 0) {
+			long difference = (words[fullWords] ^ other[fullWords]) & (-1L << (64 - rest));
+			if (difference != 0)
+				return (fullWords << 6) + Long.numberOfLeadingZeros(difference);
+		}
+		return (length == genome.length()) ? -1 : common;
+	}
+
+	/**
+	 * Converts the bits of the builder into codons.
+	 *
+	 * @see BinaryGenome#codons(int, int[])
+	 * @param codonSize The size of the codon in bits (from 1 to 31).
+	 * @param rna The array to be filled with the values of the codons.
+	 * @return The number of codons.
+	 */
+	public int codons(int codonSize, int[] rna) {
+		return BinaryGenome.codons(words, length, codonSize, rna);
+	}
+
+	/**
+	 * Returns an immutable <code>BinaryGenome</code> with the current bits of the builder.
+	 *
+	 * @return A new genome.
+	 */
+	public BinaryGenome toGenome() {
+		return new BinaryGenome(Arrays.copyOf(words, BinaryGenome.wordsFor(length)), length);
+	}
+
+	/**
+	 * Returns the binary string representation of the bits of the builder.
+	 *
+	 * @return The binary string representation.
+	 */
+	public String toString() {
+		return BinaryGenome.toString(words, length);
+	}
+
+
+	/**
+	 * Appends the bits <code>[from, to)</code> of the given words.
+	 */
+	private BinaryGenomeBuilder append(long[] source, int from, int to) {
+		int count = to - from;
+		ensureCapacity(length + count);
+		BinaryGenome.copyBits(source, from, words, length, count);
+		length += count;
+		return this;
+	}
+
+	/**
+	 * Makes sure that the builder can hold <code>bits</code> bits.
+	 */
+	private void ensureCapacity(int bits) {
+		int needed = BinaryGenome.wordsFor(bits);
+		if (needed > words.length)
+			words = Arrays.copyOf(words, Math.max(needed, 2 * words.length));
+	}
+
+	/**
+	 * Sets to 0 all the bits from the given position up to the current length.
+	 */
+	private void clearFrom(int index) {
+		int word = index >>> 6;
+		if ((index & 63) != 0) {
+			words[word] &= -1L << (64 - (index & 63));
+			word++;
+		}
+		Arrays.fill(words, word, BinaryGenome.wordsFor(length), 0L);
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= length)
+			throw new IndexOutOfBoundsException("Bit index: " + index + ", Length: " + length);
+	}
+
+	private static void checkRange(int from, int to, int length) {
+		if (from < 0 || to > length || from > to)
+			throw new IndexOutOfBoundsException("Range: [" + from + ", " + to + "), Length: " + length);
+	}
+
+}
@@ -112,6 +112,30 @@ public class Individual<T, S> implements Comparable<Individual<T, S>>, Cloneable
 	private boolean valid;
 	private int numberOfBins;
 	
+	/**
+	 * Shows whether the phenotype, the validity and the fitness of the individual
+	 * are up to date with its genotype. The default value is false.
+	 */
+	private boolean evaluated;
+	
+	/**
+	 * The number of the leading codons of the genotype which were used by the last mapping
+	 * (the index of the last used codon + 1). The codons after them do not affect the phenotype.
+	 * The default value is -1 (not mapped).
+	 */
+	private int effectiveCodons;
+	
+	/**
+	 * The number of the wraps of the genotype in the last mapping. The default value is 0.
+	 */
+	private int wraps;
+	
+	/**
+	 * Shows whether the unused codons of the genotype must be removed after the next mapping
+	 * (see <code>Pruning</code>). The default value is false.
+	 */
+	private boolean pendingPruning;
+	
 	
 	/**
 	 * Default constructor.
@@ -122,6 +146,10 @@ public class Individual<T, S> implements Comparable<Individual<T, S>>, Cloneable
 		this.rawFitnessValue = 0.0;
 		this.valid = false;
 		this.numberOfBins = 0;
+		this.evaluated = false;
+		this.effectiveCodons = -1;
+		this.wraps = 0;
+		this.pendingPruning = false;
 	}
 
 	/**
@@ -209,11 +237,13 @@ public class Individual<T, S> implements Comparable<Individual<T, S>>, Cloneable
 
 	/**
 	 * Sets the genotype of the individual.
+	 * The individual must be evaluated again.
 	 * 
 	 * @param genotype The genotype to set.
 	 */
 	public void setGenotype(Genotype<T> genotype) {
 		this.genotype = genotype;
+		this.evaluated = false;
 	}	
 
 	/**
@@ -337,6 +367,91 @@ public class Individual<T, S> implements Comparable<Individual<T, S>>, Cloneable
 	public int numBins(){
 		return numberOfBins;
 	}
+	
+	/**
+	 * Returns true if the phenotype, the validity and the fitness of the individual
+	 * are up to date with its genotype, namely the individual has been mapped and evaluated
+	 * after the last change of its genome.
+	 * 
+	 * @return True if the individual has been evaluated.
+	 */
+	public boolean isEvaluated() {
+		return evaluated;
+	}
+	
+	/**
+	 * Sets whether the individual has been evaluated.<br>
+	 * The evolutionary algorithms set it to true when they evaluate the individual
+	 * and the genetic operators set it to false when they change the genome of the individual.
+	 * An evaluator sets it to false if the evaluation of the individual did not finish.
+	 * 
+	 * @param evaluated True if the individual has been evaluated.
+	 */
+	public void setEvaluated(boolean evaluated) {
+		this.evaluated = evaluated;
+	}
+	
+	/**
+	 * Returns the number of the leading codons of the genotype which were used by the last mapping
+	 * (the index of the last used codon + 1) or -1 if it is not known.<br>
+	 * The mutations of the codons after them do not change the phenotype, unless the genotype was wrapped
+	 * (see <code>getWraps()</code>).
+	 * 
+	 * @return The number of the effective codons or -1.
+	 */
+	public int getEffectiveCodons() {
+		return effectiveCodons;
+	}
+	
+	/**
+	 * Sets the number of the leading codons of the genotype which were used by the last mapping.
+	 * It is set by the evolutionary algorithms when the individual is mapped.
+	 * 
+	 * @param effectiveCodons The number of the effective codons or -1 if it is not known.
+	 */
+	public void setEffectiveCodons(int effectiveCodons) {
+		this.effectiveCodons = effectiveCodons;
+	}
+	
+	/**
+	 * Returns the number of the wraps of the genotype in the last mapping.
+	 * 
+	 * @return The number of the wraps.
+	 */
+	public int getWraps() {
+		return wraps;
+	}
+	
+	/**
+	 * Sets the number of the wraps of the genotype in the last mapping.
+	 * It is set by the evolutionary algorithms when the individual is mapped.
+	 * 
+	 * @param wraps The number of the wraps.
+	 */
+	public void setWraps(int wraps) {
+		this.wraps = wraps;
+	}
+	
+	/**
+	 * Returns true if the unused codons of the genotype must be removed after the next mapping.
+	 * 
+	 * @return True if the individual is pruned after its next mapping.
+	 */
+	public boolean isPendingPruning() {
+		return pendingPruning;
+	}
+	
+	/**
+	 * Sets whether the unused codons of the genotype must be removed after the next mapping
+	 * (see <code>Pruning.pruneUnusedCodons()</code>). The breeding sets it when the pruning operator
+	 * is applied to an offspring, so the offspring is pruned by the mapping of its evaluation
+	 * instead of an extra mapping.
+	 * 
+	 * @param pendingPruning True if the individual must be pruned after its next mapping.
+	 */
+	public void setPendingPruning(boolean pendingPruning) {
+		this.pendingPruning = pendingPruning;
+	}
 
 	/**
 	 * Creates an XML representation of the <code>Individual</code> object
@@ -437,12 +552,18 @@ public class Individual<T, S> implements Comparable<Individual<T, S>>, Cloneable
 		individual.setPhenotype(pheno);
 		individual.setRawFitnessValue(this.rawFitnessValue);
 		individual.setValid(this.valid);
+		individual.setNumberBins(this.numberOfBins);
+		individual.setEvaluated(this.evaluated);
+		individual.setEffectiveCodons(this.effectiveCodons);
+		individual.setWraps(this.wraps);
+		individual.setPendingPruning(this.pendingPruning);
 	
 		return individual;
 	}
 	
 	/**
 	 * Returns an Individual with the same Genotype.
+	 * The new individual has not been evaluated.
 	 * 
 	 * @return An Individual with the same Genotype.
 	 */
@@ -484,7 +484,7 @@ public class Population <T, S> {
 		}
 				
 		// Add Environment
-		builder.append("Environment: [Not yet supported in the current jGE version]\n");
+		builder.append("Environment: " + (environment == null ? "[None]" : environment.getName()) + "\n");
 		
 		return builder.toString(); 		
 		
@@ -31,6 +31,31 @@ public abstract class AbstractBinPacking {
      * @return needed bins after repacking.
      */
     public abstract List<Bin> addBin(List<Bin> bin);
+
+    /**
+     * runs algorithm on the bins of the given packing state (the items are added
+     * to the state).
+     *
+     * @param state the bins to which the items are added.
+     */
+    public void addBin(PackingState state) {
+        int[] items = new int[in.size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = in.get(i);
+        }
+        pack(state, items, 0, items.length);
+    }
+
+    /**
+     * puts the items <code>[from, to)</code> of the given array into the bins
+     * of the given packing state.
+     *
+     * @param state the bins to which the items are added.
+     * @param items the items.
+     * @param from the first item (inclusive).
+     * @param to the last item (exclusive).
+     */
+    protected abstract void pack(PackingState state, int[] items, int from, int to);
     
     public List<Bin> deepCopy(List<Bin> bins) {
         ArrayList<Bin> copy = new ArrayList<Bin>();
@@ -2,6 +2,7 @@ package bangor.aiia.jge.ps;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.TreeSet;
 
 import bangor.aiia.jge.ps.Bin;
 
@@ -15,64 +16,102 @@ public class BestFit extends AbstractBinPacking {
 
     @Override
     public List<Bin> getResult() {        
-        for (Integer currentItem : in) {
-            // iterate over bins and try to put the item into the best one it fits into 
-        	//least space available in the bin
-           int BinNumber = bins.size();
-            int bestBin = -1;
-            int bestBinAmount = 0;
-            for (int i = 0; i < BinNumber; i++){
-            		if(bestBinAmount < bins.get(i).currentSize && (bins.get(i).currentSize + currentItem) <= binSize){
-            			bestBinAmount = bins.get(i).currentSize;
-            			bestBin = i;
-            		}
-            }
-            if(bestBin == -1){
-            	Bin newBin = new Bin(binSize);
-                newBin.put(currentItem);
-                bins.add(newBin);
-            }
-            else{
-            	if(!bins.get(bestBin).put(currentItem))
-            	{
-            		//to change : log exception
-            		System.out.println("something went wrong : bin not added");
-            	}
-            }
-           
-        }
-        //System.out.println("BF Bin Size: " +bins.size());
-        return bins;
+        return addBin(bins);
     }
+
+    /**
+     * puts the items into the fullest non-empty bin they fit into, the first one in case of a tie.
+     * The residual capacities of the bins are kept in an ordered set, so the best bin
+     * is found with a ceiling lookup in O(log m) instead of scanning the bins.
+     */
     @Override
     public List<Bin> addBin(List<Bin> targetBin) {        
+        TreeSet<Long> residuals = new TreeSet<Long>();
+        for (int i = 0; i < targetBin.size(); i++) {
+            add(residuals, binSize, targetBin.get(i).currentSize, i);
+        }
         for (Integer currentItem : in) {
-            // iterate over bins and try to put the item into the best one it fits into 
-        	//least space available in the bin
-           int BinNumber = targetBin.size();
-            int bestBin = -1;
-            int bestBinAmount = 0;
-            for (int i = 0; i < BinNumber; i++){
-            		if(bestBinAmount < targetBin.get(i).currentSize && (targetBin.get(i).currentSize + currentItem) <= binSize){
-            			bestBinAmount = targetBin.get(i).currentSize;
-            			bestBin = i;
-            		}
-            }
-            if(bestBin == -1){
+            Long best = residuals.ceiling((long) currentItem << 32);
+            if(best == null){
             	Bin newBin = new Bin(binSize);
                 newBin.put(currentItem);
                 targetBin.add(newBin);
+                add(residuals, binSize, newBin.currentSize, targetBin.size() - 1);
             }
             else{
+                int bestBin = (int) best.longValue();
             	if(!targetBin.get(bestBin).put(currentItem))
             	{
             		//to change : log exception
             		System.out.println("something went wrong : bin not added");
             	}
+                residuals.remove(best);
+                add(residuals, binSize, targetBin.get(bestBin).currentSize, bestBin);
             }
            
         }
        // System.out.println("BF TargetBin Size: " +targetBin.size());
         return targetBin;
     }
+
+    @Override
+    protected void pack(PackingState state, int[] items, int from, int to) {
+        bestFit(state, items, from, to);
+    }
+
+    /**
+     * puts the items <code>[from, to)</code> into the fullest non-empty bin of the state
+     * they fit into, the first one in case of a tie (same packing as <code>addBin(List)</code>).
+     *
+     * @param state the bins to which the items are added.
+     * @param items the items.
+     * @param from the first item (inclusive).
+     * @param to the last item (exclusive).
+     */
+    public static void bestFit(PackingState state, int[] items, int from, int to) {
+        bestFit(state, items, from, to, new TreeSet<Long>());
+    }
+
+    /**
+     * puts the items <code>[from, to)</code> into the fullest non-empty bin of the state
+     * they fit into, using the given set (which is cleared and reloaded from the state)
+     * to find the best bin in O(log m).
+     *
+     * @param state the bins to which the items are added.
+     * @param items the items.
+     * @param from the first item (inclusive).
+     * @param to the last item (exclusive).
+     * @param residuals the ordered set of the residual capacities to be used.
+     */
+    public static void bestFit(PackingState state, int[] items, int from, int to, TreeSet<Long> residuals) {
+        int binSize = state.capacity();
+        residuals.clear();
+        for (int i = 0; i < state.size(); i++) {
+            add(residuals, binSize, state.load(i), i);
+        }
+        for (int t = from; t < to; t++) {
+            int currentItem = items[t];
+            Long best = residuals.ceiling((long) currentItem << 32);
+            int bestBin;
+            if (best == null) {
+                bestBin = state.openBin(currentItem);
+            } else {
+                bestBin = (int) best.longValue();
+                state.put(bestBin, currentItem);
+                residuals.remove(best);
+            }
+            add(residuals, binSize, state.load(bestBin), bestBin);
+        }
+    }
+
+    /**
+     * adds the residual capacity of a bin to the set, unless the bin is empty
+     * (the empty bins are never chosen). The key of a bin is <code>residual &lt;&lt; 32 | position</code>,
+     * so the ceiling of <code>item &lt;&lt; 32</code> is the fullest bin the item fits into.
+     */
+    private static void add(TreeSet<Long> residuals, int binSize, int load, int position) {
+        if (load > 0) {
+            residuals.add(((long) (binSize - load) << 32) | position);
+        }
+    }
 }
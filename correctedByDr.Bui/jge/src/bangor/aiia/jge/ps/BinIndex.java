@@ -0,0 +1,340 @@
+package bangor.aiia.jge.ps;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * The class <code>BinIndex</code> is an index of the bins of a packing state (see
+ * <code>PackingState</code>) by their load and by their number of items, which is used
+ * by the bin selection operations of the heuristics (see <code>DemoD</code>).<br>
+ * The bins are identified by their ids. The index keeps a bucket (a bit set of ids) for each
+ * load value from 0 to the capacity and for each number of items, and a Fenwick tree of the
+ * number of bins of each load value, so the highest or the lowest filled bins below a load limit,
+ * a uniform random sample of the bins in a range of loads and the bins with a given number of items
+ * are selected in O(k log C) for k selected bins (plus the scan of the partially selected bucket),
+ * without sorting or scanning all the bins.
+ * <br><br>
+ * In a bucket the bins are in order of their ids (the order of creation of the bins).
+ * A <code>BinIndex</code> object is not thread safe.
+ */
+public final class BinIndex {
+
+	/**
+	 * the capacity of the bins (the maximum load).
+	 */
+	private final int capacity;
+
+	/**
+	 * the Fenwick tree of the number of bins of each load (the load <code>l</code> is the node <code>l + 1</code>).
+	 */
+	private final int[] tree;
+
+	/**
+	 * the largest power of 2 which is not greater than the number of the nodes of the tree.
+	 */
+	private final int top;
+
+	/**
+	 * the bins of each load.
+	 */
+	private final BitSet[] byLoad;
+
+	/**
+	 * the bins of each number of items.
+	 */
+	private BitSet[] byCount = new BitSet[8];
+
+	/**
+	 * the bins of the index.
+	 */
+	private final BitSet members = new BitSet();
+
+	/**
+	 * the loads of the bins of the index (by bin id).
+	 */
+	private int[] loads = new int[16];
+
+	/**
+	 * the number of items of the bins of the index (by bin id).
+	 */
+	private int[] counts = new int[16];
+
+	/**
+	 * the number of the bins of the index.
+	 */
+	private int size;
+
+
+	/**
+	 * creates an empty index for bins of the given capacity.
+	 *
+	 * @param capacity The capacity of the bins.
+	 */
+	public BinIndex(int capacity) {
+		this.capacity = capacity;
+		tree = new int[capacity + 2];
+		top = Integer.highestOneBit(capacity + 1);
+		byLoad = new BitSet[capacity + 1];
+	}
+
+	/**
+	 * removes all the bins from the index in O(m log C).
+	 */
+	public void clear() {
+		for (int id = members.nextSetBit(0); id >= 0; id = members.nextSetBit(id + 1))
+			remove(id);
+	}
+
+	/**
+	 * returns the number of the bins of the index.
+	 *
+	 * @return The number of the bins.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * returns true if the bin with the given id is in the index.
+	 *
+	 * @param id The id of the bin.
+	 * @return True if the bin is in the index.
+	 */
+	public boolean contains(int id) {
+		return members.get(id);
+	}
+
+	/**
+	 * adds a bin to the index.
+	 *
+	 * @param id The id of the bin.
+	 * @param load The load of the bin (from 0 to the capacity).
+	 * @param count The number of items of the bin.
+	 * @throws IllegalArgumentException If the load is not between 0 and the capacity.
+	 * @throws IllegalStateException If the bin is already in the index.
+	 */
+	public void add(int id, int load, int count) {
+		if (load < 0 || load > capacity)
+			throw new IllegalArgumentException("Bin load: " + load + ", Capacity: " + capacity);
+		if (members.get(id))
+			throw new IllegalStateException("The bin " + id + " is already indexed");
+		if (id >= loads.length) {
+			loads = Arrays.copyOf(loads, Math.max(id + 1, 2 * loads.length));
+			counts = Arrays.copyOf(counts, loads.length);
+		}
+		loads[id] = load;
+		counts[id] = count;
+		members.set(id);
+		bucket(byLoad, load).set(id);
+		if (count >= byCount.length)
+			byCount = Arrays.copyOf(byCount, Math.max(count + 1, 2 * byCount.length));
+		bucket(byCount, count).set(id);
+		update(load, 1);
+		size++;
+	}
+
+	/**
+	 * removes a bin from the index.
+	 *
+	 * @param id The id of the bin.
+	 * @throws IllegalStateException If the bin is not in the index.
+	 */
+	public void remove(int id) {
+		if (!members.get(id))
+			throw new IllegalStateException("The bin " + id + " is not indexed");
+		int load = loads[id];
+		members.clear(id);
+		byLoad[load].clear(id);
+		byCount[counts[id]].clear(id);
+		update(load, -1);
+		size--;
+	}
+
+	/**
+	 * returns the number of the bins whose load is between the given loads (inclusive).
+	 *
+	 * @param minLoad The minimum load.
+	 * @param maxLoad The maximum load.
+	 * @return The number of the bins.
+	 */
+	public int count(int minLoad, int maxLoad) {
+		minLoad = Math.max(minLoad, 0);
+		maxLoad = Math.min(maxLoad, capacity);
+		if (minLoad > maxLoad)
+			return 0;
+		return prefix(maxLoad) - prefix(minLoad - 1);
+	}
+
+	/**
+	 * selects the highest filled bins whose load is not greater than the given load
+	 * (in non-increasing order of load and, for equal loads, in order of id).
+	 *
+	 * @param num The maximum number of the selected bins.
+	 * @param maxLoad The maximum load of the selected bins.
+	 * @param selected The ids of the selected bins (its length must be at least <code>num</code>).
+	 * @return The number of the selected bins.
+	 */
+	public int highest(int num, int maxLoad, int[] selected) {
+		int n = 0;
+		int rank = prefix(Math.min(maxLoad, capacity));
+		while (n < num && rank > 0) {
+			// the highest load with a bin
+			int load = find(rank);
+			n = take(byLoad[load], num, selected, n);
+			rank = prefix(load - 1);
+		}
+		return n;
+	}
+
+	/**
+	 * selects the lowest filled bins whose load is not greater than the given load
+	 * (in non-decreasing order of load and, for equal loads, in order of id).
+	 *
+	 * @param num The maximum number of the selected bins.
+	 * @param maxLoad The maximum load of the selected bins.
+	 * @param selected The ids of the selected bins (its length must be at least <code>num</code>).
+	 * @return The number of the selected bins.
+	 */
+	public int lowest(int num, int maxLoad, int[] selected) {
+		int n = 0;
+		int rank = 0;
+		int last = prefix(Math.min(maxLoad, capacity));
+		while (n < num && rank < last) {
+			// the lowest load with a bin after the previous one
+			int load = find(rank + 1);
+			n = take(byLoad[load], num, selected, n);
+			rank = prefix(load);
+		}
+		return n;
+	}
+
+	/**
+	 * selects the bins with the given number of items whose load is not greater than
+	 * the given load (in order of id).
+	 *
+	 * @param num The maximum number of the selected bins.
+	 * @param count The number of items of the selected bins.
+	 * @param maxLoad The maximum load of the selected bins.
+	 * @param selected The ids of the selected bins (its length must be at least <code>num</code>).
+	 * @return The number of the selected bins.
+	 */
+	public int withCount(int num, int count, int maxLoad, int[] selected) {
+		if (count < 0 || count >= byCount.length || byCount[count] == null)
+			return 0;
+		BitSet bucket = byCount[count];
+		int n = 0;
+		for (int id = bucket.nextSetBit(0); id >= 0 && n < num; id = bucket.nextSetBit(id + 1))
+			if (loads[id] <= maxLoad)
+				selected[n++] = id;
+		return n;
+	}
+
+	/**
+	 * selects a uniform random sample (without replacement) of the bins whose load is
+	 * between the given loads (inclusive). If there are less bins than <code>num</code>,
+	 * all of them are selected.
+	 *
+	 * @param num The maximum number of the selected bins.
+	 * @param minLoad The minimum load of the selected bins.
+	 * @param maxLoad The maximum load of the selected bins.
+	 * @param random The random number generator.
+	 * @param selected The ids of the selected bins (its length must be at least <code>num</code>).
+	 * @return The number of the selected bins.
+	 */
+	public int sample(int num, int minLoad, int maxLoad, Random random, int[] selected) {
+		int total = count(minLoad, maxLoad);
+		int n = Math.min(num, total);
+		if (n <= 0)
+			return 0;
+		// Floyd's algorithm: n distinct ranks from 0 to total - 1
+		for (int j = total - n; j < total; j++) {
+			int rank = random.nextInt(j + 1);
+			for (int i = 0; i < j - (total - n); i++) {
+				if (selected[i] == rank) {
+					rank = j;
+					break;
+				}
+			}
+			selected[j - (total - n)] = rank;
+		}
+		// the ids of the selected ranks
+		int base = prefix(Math.max(minLoad, 0) - 1);
+		for (int i = 0; i < n; i++) {
+			int rank = base + selected[i] + 1;
+			int load = find(rank);
+			BitSet bucket = byLoad[load];
+			int id = bucket.nextSetBit(0);
+			for (int skip = rank - prefix(load - 1) - 1; skip > 0; skip--)
+				id = bucket.nextSetBit(id + 1);
+			selected[i] = id;
+		}
+		return n;
+	}
+
+	/**
+	 * this methods returns a string description of the current
+	 * state of the object.
+	 *
+	 * @return The state of the object.
+	 */
+	public String toString() {
+		StringBuffer state = new StringBuffer();
+		state.append("Capacity        : " + capacity + "\n");
+		state.append("Bins            : " + size + "\n");
+		return state.toString();
+	}
+
+
+	/**
+	 * returns the bucket of the given key, creating it if necessary.
+	 */
+	private static BitSet bucket(BitSet[] buckets, int key) {
+		if (buckets[key] == null)
+			buckets[key] = new BitSet();
+		return buckets[key];
+	}
+
+	/**
+	 * appends the bins of the bucket in order of id to the selected bins, up to <code>num</code> bins.
+	 */
+	private static int take(BitSet bucket, int num, int[] selected, int n) {
+		for (int id = bucket.nextSetBit(0); id >= 0 && n < num; id = bucket.nextSetBit(id + 1))
+			selected[n++] = id;
+		return n;
+	}
+
+	/**
+	 * adds the given value to the number of bins of the given load.
+	 */
+	private void update(int load, int value) {
+		for (int node = load + 1; node < tree.length; node += node & -node)
+			tree[node] += value;
+	}
+
+	/**
+	 * returns the number of the bins whose load is not greater than the given load.
+	 */
+	private int prefix(int load) {
+		int sum = 0;
+		for (int node = Math.min(load, capacity) + 1; node > 0; node -= node & -node)
+			sum += tree[node];
+		return sum;
+	}
+
+	/**
+	 * returns the lowest load such that the number of the bins whose load
+	 * is not greater than it is at least the given rank (from 1 to size).
+	 */
+	private int find(int rank) {
+		int node = 0;
+		for (int step = top; step > 0; step >>= 1) {
+			if (node + step < tree.length && tree[node + step] < rank) {
+				node += step;
+				rank -= tree[node];
+			}
+		}
+		return node; // the load of the node node + 1
+	}
+
+}
@@ -23,33 +23,43 @@
 package bangor.aiia.jge.ps;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Random;
+import java.util.TreeSet;
 
 import bangor.aiia.jge.core.Core;
+import bangor.aiia.jge.core.AbstractIndividualEvaluator;
+import bangor.aiia.jge.core.ConcurrentEvaluator;
 import bangor.aiia.jge.core.Evaluator;
+import bangor.aiia.jge.population.BinaryGenome;
 import bangor.aiia.jge.population.Individual;
 import bangor.aiia.jge.population.Population;
 import bangor.aiia.jge.ps.BestFit;
 import bangor.aiia.jge.ps.Bin;
 import bangor.aiia.jge.ps.FirstFit;
 import bangor.aiia.jge.ps.WorstFit;
+import bangor.aiia.jge.util.RandomSource;
+import bangor.aiia.jge.util.SplitMixRandom;
 
 /**
- * The class <code>HammnigDistance</code> implements a problem specification of
- * finding a target string. Namely, it compares the Hamming Distance between the
- * phenotypes of the individuals of the population and the target string.<br>
- * The phenotypes must be fixed-length strings. <br>
- * <br>
- * In information theory, the Hamming distance between two strings of equal
- * length is the number of positions for which the corresponding symbols are
- * different.<br>
- * Put another way, it measures the number of substitutions required to change
- * one into the other, or the number of errors that transformed one string into
- * the other.
+ * The class <code>DemoD</code> implements the problem specification of the evolution
+ * of bin packing heuristics. The phenotype of an individual is a heuristic of the grammar
+ * <code>HDGrammar11.bnf</code> (see <code>HeuristicProgram</code>): a sequence of bin selections
+ * (e.g. <code>highest_filled=5,0.995,ALL</code>), which mark the bins whose items (all or one)
+ * are removed, followed by a repacking algorithm (First, Best or Worst Fit Decreasing)
+ * for the removed items.<br>
+ * The heuristic is applied repeatedly (up to <code>getMaxIterations()</code> times) to the initial
+ * packing of the problem instance (see <code>PackingInstance</code>), each improving solution
+ * being kept as the new starting point, and the evaluation stops early when the solution
+ * reaches the lower bound. The fitness of the individual is computed from the final solution:
+ * the fewer the bins which are not full, the higher the fitness.
+ * <br><br>
+ * The individuals of a population are evaluated one by one (see <code>AbstractIndividualEvaluator</code>).
+ * The problem instance is shared and read-only and each thread has its own working memory,
+ * so the individuals can be evaluated concurrently (see <code>ConcurrentEvaluator</code>).
+ * The random bin selections use a random number generator seeded with the seed of the evaluator
+ * and the phenotype (see <code>setSeed()</code>), so the fitness of a phenotype is reproducible.
  * 
  * @author Loukas Georgiou
  * @version 1.0, 15/04/06
@@ -59,18 +69,30 @@ import bangor.aiia.jge.ps.WorstFit;
  * @see Core
  * @since JavaGE 0.1
  */
-public class DemoD implements Evaluator<String, String> {
+public class DemoD extends AbstractIndividualEvaluator<BinaryGenome, String> implements ConcurrentEvaluator<BinaryGenome, String>, RandomSource {
 
-	private List<Bin> target = new ArrayList<Bin>();
+	private PackingInstance instance = null; // the problem instance (shared, read-only)
 	private int min, max, binSize = 0;
 	private double avg = 0;
-	private List<Integer> bins = null;
-	private List<Bin> targetBins = null;
-	private double bestBinSize = 0; // to replace with best bin size for fitness
+	private volatile long seed = new SplitMixRandom().nextLong(); // the seed of the random numbers of the evaluations
+	private int maxIterations = 100; // the maximum number of improvement iterations
+	private int lowerBound = 0; // the lower bound of the number of bins (see LowerBounds)
+	private int maxFullBins = 0; // the maximum number of full bins (sum of items / bin size)
 
 	// Flag whether a solution has be found or not
 	//private boolean solutionFound = false;
 
+	/**
+	 * The per thread working memory (solution, items to be repacked, random number
+	 * generator) of the evaluation. Each thread which uses this evaluator gets its own
+	 * <code>Scratch</code> object so the method <code>evaluate()</code> can be called concurrently.
+	 */
+	private final ThreadLocal<Scratch> scratches = new ThreadLocal<Scratch>() {
+		protected Scratch initialValue() {
+			return new Scratch();
+		}
+	};
+
 	/**
 	 * Default Constructor. Should not be used.
 	 */
@@ -85,12 +107,74 @@ public class DemoD implements Evaluator<String, String> {
 	 *            The target string that must be found.
 	 */
 	public DemoD(List<Bin> target, int min, int max, double avg, int size) {
-		this();
-		this.target = target;
+		this(PackingInstance.fromPacking(null, target, size));
 		this.min = min;
 		this.max = max;
 		this.avg = avg;
-		this.binSize = size;
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param instance
+	 *            The problem instance whose initial packing is improved
+	 *            by the heuristics. It can be shared by many evaluators.
+	 */
+	public DemoD(PackingInstance instance) {
+		this();
+		this.instance = instance;
+		this.min = instance.getMin();
+		this.max = instance.getMax();
+		this.avg = instance.getAverage();
+		this.binSize = instance.getCapacity();
+		this.lowerBound = instance.getLowerBound();
+		this.maxFullBins = (int) (instance.getTotal() / binSize);
+	}
+
+	/**
+	 * Returns the problem instance of the evaluator.
+	 * 
+	 * @return The problem instance.
+	 */
+	public PackingInstance getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Returns the maximum number of improvement iterations of an evaluation.
+	 * 
+	 * @return The maximum number of iterations (default 100).
+	 */
+	public int getMaxIterations() {
+		return maxIterations;
+	}
+
+	/**
+	 * Sets the maximum number of improvement iterations of an evaluation.
+	 * 
+	 * @param maxIterations The maximum number of iterations.
+	 */
+	public void setMaxIterations(int maxIterations) {
+		this.maxIterations = maxIterations;
+	}
+
+	/**
+	 * Returns the lower bound of the number of bins of the problem instance
+	 * (the maximum of the bounds L1 and L2, see <code>PackingInstance</code>).
+	 * 
+	 * @return The lower bound of the number of bins.
+	 */
+	public int getLowerBound() {
+		return lowerBound;
+	}
+
+	/**
+	 * Returns true if the fitness of the given solution cannot be improved: it has
+	 * as many bins as the lower bound and as many full bins as the items can fill.
+	 * No solution has less bins or more full bins, so the evaluation can stop.
+	 */
+	private boolean isOptimal(PackingState solution) {
+		return solution.size() <= lowerBound && solution.fullBins() >= maxFullBins;
 	}
 
 	public List<Bin> deepCopy(List<Bin> bins) {
@@ -104,10 +188,31 @@ public class DemoD implements Evaluator<String, String> {
 	}
 	
 	public void reset(){
-		for(Bin b:targetBins){
-			b.all=false;
-			b.visited=false;
-		}
+		Scratch scratch = scratches.get();
+		if (scratch.targetBins != null)
+			scratch.targetBins.clearFlags();
+	}
+
+	/**
+	 * Returns the seed of the random numbers of the evaluations.
+	 * 
+	 * @return The seed of the evaluations.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Sets the seed of the random numbers of the evaluations (by default a random seed).<br>
+	 * Each evaluation uses its own random number generator, seeded with this seed and the
+	 * phenotype of the individual, so the fitness of a phenotype is the same in every thread and
+	 * in every run with the same seed (see <code>GrammaticalEvolution.setSeed()</code>).
+	 * If the evaluator is cached (see <code>CachingEvaluator</code>), the seed of the cache must be set too.
+	 * 
+	 * @param seed The seed of the evaluations.
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
 	}
 	
 	public double calcFitness(List<Bin> toCalcBins){
@@ -121,246 +226,221 @@ public class DemoD implements Evaluator<String, String> {
 		}
 		return fitness;
 	}
+	
+	/**
+	 * Calculates the fitness of the given solution in O(1). As in <code>calcFitness(List)</code>,
+	 * the fill ratio of a bin is an integer division, so the squared ratio is 1 for a full bin
+	 * and 0 otherwise and the sum is the number of the full bins maintained by the state.
+	 */
+	public double calcFitness(PackingState toCalcBins){
+		double fitness = 0;
+		if(toCalcBins != null && toCalcBins.size() > 0){		
+			fitness = 1 - ((double) toCalcBins.fullBins() / toCalcBins.size());
+		}
+		return fitness;
+	}
 
 	/**
-	 * Evaluates the phenotype (which must be a fixed-length string) of each
-	 * individual of the population and assigns the Raw Fitness Value according
-	 * to the Hamming Distance between the phenotype and the target string.<br>
-	 * If an individual's phenotype has not the same length with the target
-	 * string then the individual is invalid (sets valid to false).<br>
+	 * Evaluates the heuristic of the phenotype of the given individual on the
+	 * problem instance and assigns its Raw Fitness Value and its number of bins.<br>
+	 * If the phenotype is not complete (it contains non-terminal symbols) then the
+	 * individual is invalid (sets valid to false).<br>
 	 * <br>
 	 * The Raw Fitness is calculated with the following formula:<br>
-	 * <code>Raw Fitness = Phenotype Length - Hamming Distance.</code>
+	 * <code>Raw Fitness = 1 / (1 + (1 - Full Bins / Bins))</code><br>
+	 * so it is 1.0 when all the bins of the final solution are full.
+	 * <br><br>
+	 * This method can be called concurrently by many threads (see <code>ConcurrentEvaluator</code>).
+	 * If the evaluating thread is interrupted (e.g. the evaluation is cancelled), the evaluation
+	 * stops before the next iteration and the individual is invalid.
 	 * 
-	 * @param population
-	 *            The population to be evaluated.
+	 * @param individual
+	 *            The individual to be evaluated.
 	 */
-	public void evaluate(Population<String, String> population) {
-
-		//solutionFound = false;
-		int size = population.size();
-		Individual<String, String> individual;
-		String current = null;
-		System.out.println(size);
-
-		// Iterate the population
-		for (int i = 0; i < size; i++) {
-			individual = population.getIndividual(i);
-			current = individual.getPhenotype().value();
-			if (current.contains("<")) {
-				individual.setValid(false);
-				System.out.println("false");
-			} else {
-
-				List<Bin> objBin = new ArrayList<Bin>();
-				String[] currently = current.split("\\s");
-				int k = 0;
-				int j = 0;
-				targetBins = new ArrayList<Bin>();
-				targetBins = this.deepCopy(target);
-				bestBinSize = calcFitness(targetBins);
-				List<List<Bin>> temp = new ArrayList<List<Bin>>();
-				//int best=-1;
-				while (k < 100) {
-					bins = new ArrayList<Integer>();
-					while (j < currently.length) {
-						if (targetBins.size() > 0) {
-							objBin = ExecPhenotype(currently[j++]);
-						} else {
-							objBin = ExecPhenotype(currently[currently.length - 1]);
-						}
-					}
-					temp.add(objBin);
-					double objFitness = calcFitness(objBin);
-					if (objFitness < bestBinSize) {
-						targetBins = this.deepCopy(objBin);
-						bestBinSize = objFitness;
-						//best=k;
-					}
-					j = 0;
-					k++;
+	public void evaluate(Individual<BinaryGenome, String> individual) {
+
+		String current = individual.getPhenotype().value();
+		if (current.contains("<")) {
+			individual.setValid(false);
+		} else {
+
+			HeuristicProgram program = HeuristicProgram.compile(current);
+			Scratch scratch = scratches.get();
+			scratch.random.setSeed(seed ^ (0x9E3779B97F4A7C15L * current.hashCode()));
+			int k = 0;
+			int j = 0;
+			if (scratch.targetBins == null) {
+				scratch.targetBins = new PackingState(binSize);
+			}
+			instance.loadInitialPacking(scratch.targetBins);
+			scratch.targetBins.mark();
+			scratch.bestBinSize = calcFitness(scratch.targetBins);
+			boolean improved = false;
+			// stop early when the solution reaches the lower bound
+			boolean optimal = isOptimal(scratch.targetBins);
+			while (k < maxIterations && !optimal) {
+				// a cancelled evaluation (see EvaluationService) stops and its individual is invalid
+				if (Thread.currentThread().isInterrupted()) {
+					individual.setValid(false);
+					return;
 				}
-				double var=1.1;
-				int index = -1;
-				for (int a = 0; a < temp.size(); a++) {
-					double checkF = calcFitness(temp.get(a));
-					if (var > checkF) {
-						var = checkF;
-						index = a;
+				scratch.binsCount = 0;
+				while (j < program.size()) {
+					if (scratch.targetBins.size() > 0) {
+						execute(scratch, program.operation(j++));
+					} else {
+						execute(scratch, program.operation(program.size() - 1));
 					}
 				}
-				if (index != -1)
-					objBin = this.deepCopy(temp.get(index));
-				else
-					objBin = this.deepCopy(target);
-				// Assign Raw Fitness and set Individual as Valid
-				double fitness, sum = 0;
-				if (objBin != null) {
-					for (Bin bins : objBin) {
-						sum += Math.pow((bins.currentSize / binSize), 2);
-					}
-					fitness = 1 - (sum / objBin.size());
-					System.out.println("Fitness = " + 1 / (1 + fitness));
-					double set = 1 / (1 + fitness);
-					individual.setRawFitnessValue(set);
-					individual.setValid(true);
-					individual.setNumberBins(objBin.size());
+				double objFitness = calcFitness(scratch.targetBins);
+				if (objFitness < scratch.bestBinSize) {
+					// keep the improving solution as the checkpoint and continue without flags
+					scratch.targetBins.commit();
+					scratch.targetBins.clearFlags();
+					scratch.bestBinSize = objFitness;
+					improved = true;
+					optimal = isOptimal(scratch.targetBins);
 				}
-				// Check if a solution is found
-
+				j = 0;
+				k++;
 			}
+			// the result is the last improving solution or, if no iteration
+			// improved the initial solution, the solution of the last iteration
+			if (improved)
+				scratch.targetBins.rollback();
+			PackingState objBin = scratch.targetBins;
+			// Assign Raw Fitness and set Individual as Valid
+			double fitness = calcFitness(objBin);
+			double set = 1 / (1 + fitness);
+			individual.setRawFitnessValue(set);
+			individual.setValid(true);
+			individual.setNumberBins(objBin.size());
+			// Check if a solution is found
 
 		}
 
 	}
 
-	private List<Bin> ExecPhenotype(String Pheno) {
-		List<Bin> output = new ArrayList<Bin>();
-		if (Pheno.contains("=")) {
-			String[] vals = Pheno.split("=");
-			String[] values = vals[1].split(",");
-			int number = 0;
-			String removeVal = "";
-			if (Pheno.contains("filled") || Pheno.contains("random")) {
-				number = Integer.parseInt(values[0]);
-				double ignoreVal = Double.parseDouble(values[1]);
-				removeVal = values[2];
-				if (Pheno.contains("highest")) {
-					highest_filled(number, ignoreVal, removeVal);
-				} else if (Pheno.contains("lowest")) {
-					lowest_filled(number, ignoreVal, removeVal);
-				} else {
-					random_bin(number, ignoreVal, removeVal);
-				}
-			} else if (Pheno.contains("gap")) {
-				number = Integer.parseInt(values[0]);
-				String threshold = values[1];
-				double ignoreVal = Double.parseDouble(values[2]);
-				removeVal = values[3];
-				double thres = 0;
-				switch (threshold) {
-				case "average": {
-					thres = avg;
-					break;
-				}
-				case "maximum": {
-					thres = max;
-					break;
-				}
-				case "minimum": {
-					thres = min;
-					break;
-				}
-				default: {
-					break;
-				}
-				}
-				gap_less_than(number, thres, ignoreVal, removeVal);
-			} else if (Pheno.contains("num_of_pieces")) {
-				number = Integer.parseInt(values[0]);
-				int numpieces = Integer.parseInt(values[1]);
-				double ignoreVal = Double.parseDouble(values[2]);
-				removeVal = values[3];
-				num_of_pieces(number, numpieces, ignoreVal, removeVal);
+	private void execute(Scratch scratch, HeuristicProgram.Operation operation) {
+		switch (operation.getType()) {
+		case HIGHEST_FILLED:
+			highest_filled(scratch, operation.getNumber(), operation.getIgnore(), operation.isRemoveAll());
+			break;
+		case LOWEST_FILLED:
+			lowest_filled(scratch, operation.getNumber(), operation.getIgnore(), operation.isRemoveAll());
+			break;
+		case RANDOM_BINS:
+			random_bin(scratch, operation.getNumber(), operation.getIgnore(), operation.isRemoveAll());
+			break;
+		case GAP_LESS_THAN: {
+			double thres = 0;
+			switch (operation.getThreshold()) {
+			case AVERAGE:
+				thres = avg;
+				break;
+			case MAXIMUM:
+				thres = max;
+				break;
+			case MINIMUM:
+				thres = min;
+				break;
+			default:
+				break;
 			}
-		} else {
-			Random randomizer = new Random();
-			Iterator<Bin> iter = targetBins.iterator();
-			while (iter.hasNext()) {
-				Bin obj = iter.next();
-				if (obj.visited) {
-					if (obj.all == true) {
-						for (Integer item_obj : obj.items) {
-							bins.add(item_obj);
-						}
-						iter.remove();
-					} else {
-						if (obj.numberOfItems() > 0) {
-							int i = randomizer.nextInt(obj.numberOfItems());
-							int item = obj.items.get(i);
-							bins.add(item);
-							obj.remove(item);
-							if (obj.numberOfItems() == 0) {
-								iter.remove();
-							}
-						}
+			gap_less_than(scratch, operation.getNumber(), thres, operation.getIgnore(), operation.isRemoveAll());
+			break;
+		}
+		case NUM_OF_PIECES:
+			num_of_pieces(scratch, operation.getNumber(), operation.getPieces(), operation.getIgnore(), operation.isRemoveAll());
+			break;
+		case NONE:
+			break;
+		default: {
+			remove_visited(scratch);
+			if (operation.getType() == HeuristicProgram.Type.BEST_FIT_DECREASING) {
+				sortBins(scratch);
+				BestFit.bestFit(scratch.targetBins, scratch.bins, 0, scratch.binsCount, scratch.bestResiduals);
+			} else if (operation.getType() == HeuristicProgram.Type.WORST_FIT_DECREASING) {
+				sortBins(scratch);
+				WorstFit.worstFit(scratch.targetBins, scratch.bins, 0, scratch.binsCount, scratch.worstLoads);
+			} else if (operation.getType() == HeuristicProgram.Type.FIRST_FIT_DECREASING) {
+				sortBins(scratch);
+				FirstFit.firstFit(scratch.targetBins, scratch.bins, 0, scratch.binsCount, scratch.residuals);
+			}
+			break;
+		}
+		}
+	}
 
+	private void remove_visited(Scratch scratch) {
+		scratch.emptied.clear();
+		for (int b = 0; b < scratch.targetBins.size(); b++) {
+			if (scratch.targetBins.isVisited(b)) {
+				if (scratch.targetBins.isAll(b)) {
+					for (int i = 0; i < scratch.targetBins.count(b); i++) {
+						addItem(scratch, scratch.targetBins.item(b, i));
+					}
+					scratch.emptied.set(b);
+				} else {
+					if (scratch.targetBins.count(b) > 0) {
+						int i = scratch.random.nextInt(scratch.targetBins.count(b));
+						int item = scratch.targetBins.item(b, i);
+						addItem(scratch, item);
+						scratch.targetBins.removeItem(b, item);
+						if (scratch.targetBins.count(b) == 0) {
+							scratch.emptied.set(b);
+						}
 					}
+
 				}
 			}
-			if (Pheno.contains("best")) {
-				output = best_fit_decreasing(bins);
-			} else if (Pheno.contains("worst")) {
-				output = worst_fit_decreasing(bins);
-			} else if (Pheno.contains("first")) {
-				output = first_fit_decreasing(bins);
-			}
 		}
-		return output;
+		scratch.targetBins.removeBins(scratch.emptied);
 	}
 
-	private List<Bin> first_fit_decreasing(List<Integer> bins) {
-		Collections.sort(bins, Collections.reverseOrder()); // sort
-		FirstFit ffd = new FirstFit(bins, binSize);
-		List<Bin> obj = new ArrayList<Bin>();
-		obj = ffd.addBin(targetBins);
-		return obj;
+	private void addItem(Scratch scratch, int item) {
+		if (scratch.binsCount == scratch.bins.length)
+			scratch.bins = Arrays.copyOf(scratch.bins, 2 * scratch.bins.length);
+		scratch.bins[scratch.binsCount++] = item;
 	}
 
-	private List<Bin> worst_fit_decreasing(List<Integer> bins) {
-		Collections.sort(bins, Collections.reverseOrder()); // sort
-		WorstFit wfd = new WorstFit(bins, binSize);
-		List<Bin> obj = new ArrayList<Bin>();
-		obj = wfd.addBin(targetBins);
-		return obj;
-	}
-
-	private List<Bin> best_fit_decreasing(List<Integer> bins) {
-		Collections.sort(bins, Collections.reverseOrder()); // sort
-		BestFit bfd = new BestFit(bins, binSize);
-		List<Bin> obj = new ArrayList<Bin>();
-		obj = bfd.addBin(targetBins);
-		return obj;
+	private void sortBins(Scratch scratch) {
+		// sort in non-increasing order
+		Arrays.sort(scratch.bins, 0, scratch.binsCount);
+		for (int i = 0, j = scratch.binsCount - 1; i < j; i++, j--) {
+			int item = scratch.bins[i];
+			scratch.bins[i] = scratch.bins[j];
+			scratch.bins[j] = item;
+		}
 	}
 
-	private void gap_less_than(int num, double threshold, double ignore,
-			String remove) {
-		Random randomizer = new Random();
+	private void gap_less_than(Scratch scratch, int num, double threshold, double ignore,
+			boolean removeAll) {
+		// the bins are drawn at random without replacement (the drawn bins are moved to the end)
 		int k = 0;
 		int counter = 0;
-		int size_bin = targetBins.size();
-		while (k < targetBins.size() && counter < num) {
-			int i = randomizer.nextInt(size_bin);
-			if ((binSize - targetBins.get(i).currentSize) < threshold
-					&& targetBins.get(i).currentSize < ignore * binSize) {
-				if (targetBins.get(i).visited == false) {
-					targetBins.get(i).visited = true;
-					if (remove.equals("ALL")) {
-						targetBins.get(i).all = true;
-					}
-				}
+		int size_bin = scratch.targetBins.size();
+		while (k < scratch.targetBins.size() && counter < num) {
+			int i = scratch.random.nextInt(size_bin);
+			if (scratch.targetBins.residual(i) < threshold
+					&& scratch.targetBins.load(i) < ignore * binSize) {
+				mark(scratch, i, removeAll);
 				counter++;
 			}
 			k++;
-			Collections.swap(targetBins, size_bin-1, i);
+			scratch.targetBins.swap(size_bin-1, i);
 			size_bin--;
 		}
 	}
 
-	private void num_of_pieces(int num, int numpieces, double ignore,
-			String remove) {
+	private void num_of_pieces(Scratch scratch, int num, int numpieces, double ignore,
+			boolean removeAll) {
 		int counter = 0;
 		int i = 0;
-		while (i < targetBins.size() && counter < num) {
-			if (targetBins.get(i).numberOfItems() == numpieces
-					&& targetBins.get(i).currentSize < ignore * binSize) {
-
-				if (targetBins.get(i).visited == false) {
-					targetBins.get(i).visited = true;
-					if (remove.equals("ALL")) {
-						targetBins.get(i).all = true;
-					}
-				}
+		while (i < scratch.targetBins.size() && counter < num) {
+			if (scratch.targetBins.count(i) == numpieces
+					&& scratch.targetBins.load(i) < ignore * binSize) {
+				mark(scratch, i, removeAll);
 				counter++;
 			}
 			i++;
@@ -368,79 +448,79 @@ public class DemoD implements Evaluator<String, String> {
 
 	}
 
-	private void highest_filled(int num, double ignore, String remove) {
-		Collections.sort(targetBins, new Comparator<Bin>() {
-			public int compare(Bin bin1, Bin bin2) {
-				return bin1.currentSize < bin2.currentSize ? 1
-						: bin1.currentSize > bin2.currentSize ? -1 : 0;
-			}
-		}); // sort input by current bin size in non-increasing order.
-
-		int i = 0;
-		int counter = 0;
-		while (i < targetBins.size() && counter < num) {
-
-			if (targetBins.get(i).currentSize < ignore * binSize) {
-				if (targetBins.get(i).visited == false) {
-					targetBins.get(i).visited = true;
-					if (remove.equals("ALL")) {
-						targetBins.get(i).all = true;
-
-					}
-				}
-				counter++;
-			}
-			i++;
+	private void highest_filled(Scratch scratch, int num, double ignore, boolean removeAll) {
+		scratch.targetBins.sortByLoad(true); // sort input by current bin size in non-increasing order.
+		// the bins which are filled above the limit are the first ones
+		int first = scratch.targetBins.countByLoad(loadLimit(ignore) + 1, binSize);
+		int last = Math.min(scratch.targetBins.size(), first + num);
+		for (int i = first; i < last; i++) {
+			mark(scratch, i, removeAll);
 		}
 	}
 
-	private void lowest_filled(int num, double ignore, String remove) {
-		Collections.sort(targetBins, new Comparator<Bin>() {
-			public int compare(Bin bin1, Bin bin2) {
-				return bin1.currentSize < bin2.currentSize ? -1
-						: bin1.currentSize > bin2.currentSize ? 1 : 0;
-			}
-		}); // sort input by bin size in non-decreasing order
-		int i = 0;
-		int counter = 0;
-		while (i < targetBins.size() && counter < num) {
-
-			if (targetBins.get(i).currentSize < ignore * binSize) {
-				if (targetBins.get(i).visited == false) {
-					targetBins.get(i).visited = true;
-					if (remove.equals("ALL")) {
-						targetBins.get(i).all = true;
-
-					}
-				}
-				counter++;
-			}
-			i++;
+	private void lowest_filled(Scratch scratch, int num, double ignore, boolean removeAll) {
+		scratch.targetBins.sortByLoad(false); // sort input by bin size in non-decreasing order
+		// the bins which are filled above the limit are the last ones
+		int n = Math.min(num, scratch.targetBins.countByLoad(0, loadLimit(ignore)));
+		for (int i = 0; i < n; i++) {
+			mark(scratch, i, removeAll);
 		}
 	}
 
-	private void random_bin(int num, double ignore, String remove) {
-		Random randomizer = new Random();
+	private void random_bin(Scratch scratch, int num, double ignore, boolean removeAll) {
+		// the bins are drawn at random without replacement (the drawn bins are moved to the end)
 		int k = 0;
 		int counter = 0;
-		int size_bin = targetBins.size();
-		while (k < targetBins.size() && counter < num) {
-			int i = randomizer.nextInt(size_bin);
-			if (targetBins.get(i).currentSize < ignore * binSize) {
-				if (targetBins.get(i).visited == false) {
-					targetBins.get(i).visited = true;
-					if (remove.equals("ALL")) {
-						targetBins.get(i).all = true;
-
-					}
-				}
+		int size_bin = scratch.targetBins.size();
+		while (k < scratch.targetBins.size() && counter < num) {
+			int i = scratch.random.nextInt(size_bin);
+			if (scratch.targetBins.load(i) < ignore * binSize) {
+				mark(scratch, i, removeAll);
 				counter++;
 			}
 			k++;
-			Collections.swap(targetBins, size_bin-1, i);
+			scratch.targetBins.swap(size_bin-1, i);
 			size_bin--;
 		}
 	}
-	
+
+	/**
+	 * Marks the bin in the given position for repacking.
+	 */
+	private void mark(Scratch scratch, int position, boolean removeAll) {
+		if (!scratch.targetBins.isVisited(position)) {
+			scratch.targetBins.setVisited(position);
+			if (removeAll) {
+				scratch.targetBins.setAll(position);
+			}
+		}
+	}
+
+	/**
+	 * Returns the largest load which is less than <code>ignore * binSize</code>
+	 * (the bins which are filled above it are ignored by the selection operations).
+	 */
+	private int loadLimit(double ignore) {
+		double limit = Math.ceil(ignore * binSize) - 1;
+		return limit >= binSize ? binSize : (int) limit;
+	}
+
+
+	/**
+	 * The working memory of the evaluation of an individual.
+	 */
+	private static final class Scratch {
+
+		PackingState targetBins = null; // the current solution (journaled since the last improving solution)
+		int[] bins = new int[16]; // the items to be repacked
+		int binsCount = 0;
+		BitSet emptied = new BitSet(); // the bins which are removed by the repacking
+		ResidualTree residuals = new ResidualTree(); // the residual capacities for the first fit repacking
+		TreeSet<Long> bestResiduals = new TreeSet<Long>(); // the residual capacities for the best fit repacking
+		LoadHeap worstLoads = new LoadHeap(); // the loads for the worst fit repacking
+		double bestBinSize = 0; // to replace with best bin size for fitness
+		SplitMixRandom random = new SplitMixRandom(); // the random numbers of the evaluation (seeded per evaluation)
+
+	}
 
 }
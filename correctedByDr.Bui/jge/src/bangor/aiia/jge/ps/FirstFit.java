@@ -16,53 +16,79 @@ public class FirstFit extends AbstractBinPacking {
     @Override
     public List<Bin> getResult() {        
         bins.add(new Bin(binSize)); // add first bin
-        for (Integer currentItem : in) {
-            // iterate over bins and try to put the item into the first one it fits into
-            boolean putItem = false; // did we put the item in a bin?
-            int currentBin = 0;
-            while (!putItem) {
-                if (currentBin == bins.size()) {
-                    // item did not fit in last bin. put it in a new bin
-                    Bin newBin = new Bin(binSize);
-                    newBin.put(currentItem);
-                    bins.add(newBin);
-                    putItem = true;
-                } else if (bins.get(currentBin).put(currentItem)) {
-                    // item fit in bin
-                    putItem = true;
-                } else {
-                    // try next bin
-                    currentBin++;
-                }
-            }
-        }
-      //  System.out.println("fF Bin Size: " +bins.size());
-        return bins;
+        return addBin(bins);
     }
 
+    /**
+     * puts the items into the first bin they fit into. The first bin is found
+     * with a <code>ResidualTree</code> in O(log m) instead of scanning the bins.
+     */
     @Override
     public List<Bin> addBin(List<Bin> targetbins){
+        ResidualTree tree = new ResidualTree(targetbins.size() + in.size());
+        for (int i = 0; i < targetbins.size(); i++) {
+            tree.set(i, targetbins.get(i).maxSize - targetbins.get(i).currentSize);
+        }
     	for(Integer currentItem : in){
-    		boolean putItem = false; // did we put the item in a bin?
-            int currentBin = 0;
-            while (!putItem) {
-            	if (currentBin == targetbins.size()) {
-                    // item did not fit in last bin. put it in a new bin
-                    Bin newBin = new Bin(binSize);
-                    newBin.put(currentItem);
-                    targetbins.add(newBin);
-                    putItem = true;
-                } else if (targetbins.get(currentBin).put(currentItem)) {
-                    // item fit in bin
-                    putItem = true;
-                } else {
-                    // try next bin
-                    currentBin++;                    
-                }
+            int currentBin = tree.first(currentItem);
+            if (currentBin == -1) {
+                // item did not fit in any bin. put it in a new bin
+                Bin newBin = new Bin(binSize);
+                newBin.put(currentItem);
+                targetbins.add(newBin);
+                currentBin = targetbins.size() - 1;
+            } else {
+                // item fit in bin
+                targetbins.get(currentBin).put(currentItem);
             }
+            tree.set(currentBin, targetbins.get(currentBin).maxSize - targetbins.get(currentBin).currentSize);
     	}
     //	System.out.println("FF Target Bins size = " +targetbins.size());
     	return targetbins;
     	
     }
+
+    @Override
+    protected void pack(PackingState state, int[] items, int from, int to) {
+        firstFit(state, items, from, to);
+    }
+
+    /**
+     * puts the items <code>[from, to)</code> into the first bin of the state they fit into
+     * (same packing as <code>addBin(List)</code>).
+     *
+     * @param state the bins to which the items are added.
+     * @param items the items.
+     * @param from the first item (inclusive).
+     * @param to the last item (exclusive).
+     */
+    public static void firstFit(PackingState state, int[] items, int from, int to) {
+        firstFit(state, items, from, to, new ResidualTree(state.size() + to - from));
+    }
+
+    /**
+     * puts the items <code>[from, to)</code> into the first bin of the state they fit into,
+     * using the given tree (which is reloaded from the state) to find the first bin in O(log m).
+     *
+     * @param state the bins to which the items are added.
+     * @param items the items.
+     * @param from the first item (inclusive).
+     * @param to the last item (exclusive).
+     * @param tree the residual tree to be used.
+     */
+    public static void firstFit(PackingState state, int[] items, int from, int to, ResidualTree tree) {
+        tree.load(state);
+        for (int i = from; i < to; i++) {
+            int currentItem = items[i];
+            int currentBin = tree.first(currentItem);
+            if (currentBin == -1) {
+                // item did not fit in any bin. put it in a new bin
+                currentBin = state.openBin(currentItem);
+            } else {
+                // item fit in bin
+                state.put(currentBin, currentItem);
+            }
+            tree.set(currentBin, state.residual(currentBin));
+        }
+    }
 }
@@ -0,0 +1,275 @@
+package bangor.aiia.jge.ps;
+
+/**
+ * The class <code>HeuristicProgram</code> is the compiled form of the phenotype
+ * of a bin packing heuristic (see the grammar <code>HDGrammar11.bnf</code>).<br>
+ * The phenotype is a list of tokens separated by white space: the bin selection tokens
+ * (e.g. <code>highest_filled=5,0.997,ALL</code>) which mark the bins to be emptied and
+ * the repack token (e.g. <code>best-fit-decreasing</code>) which removes the items
+ * of the marked bins and packs them again.
+ * <br><br>
+ * The method <code>compile()</code> parses each token once into a typed
+ * <code>Operation</code>, so the improvement iterations of the evaluation
+ * (see <code>DemoD</code>) do not split and parse the phenotype string again.
+ * The tokens are recognised exactly as by the original string interpreter of <code>DemoD</code>
+ * (by the substrings <code>filled</code>, <code>random</code>, <code>gap</code>, etc.),
+ * so every phenotype has the same meaning as before.
+ */
+public final class HeuristicProgram {
+
+	/**
+	 * the type of an operation of a heuristic.
+	 */
+	public enum Type {
+		/** Marks the highest filled bins. */
+		HIGHEST_FILLED,
+		/** Marks the lowest filled bins. */
+		LOWEST_FILLED,
+		/** Marks random bins. */
+		RANDOM_BINS,
+		/** Marks random bins whose gap is less than a threshold. */
+		GAP_LESS_THAN,
+		/** Marks the bins with a given number of pieces. */
+		NUM_OF_PIECES,
+		/** A selection token which is not recognised (no operation). */
+		NONE,
+		/** Removes the items of the marked bins without repacking them. */
+		REMOVE,
+		/** Removes the items of the marked bins and repacks them with Best Fit Decreasing. */
+		BEST_FIT_DECREASING,
+		/** Removes the items of the marked bins and repacks them with Worst Fit Decreasing. */
+		WORST_FIT_DECREASING,
+		/** Removes the items of the marked bins and repacks them with First Fit Decreasing. */
+		FIRST_FIT_DECREASING
+	}
+
+	/**
+	 * the threshold of the gap of the operation <code>GAP_LESS_THAN</code>.
+	 */
+	public enum Threshold {
+		/** The average item size of the problem instance. */
+		AVERAGE,
+		/** The maximum item size of the problem instance. */
+		MAXIMUM,
+		/** The minimum item size of the problem instance. */
+		MINIMUM,
+		/** An unknown threshold (0). */
+		NONE
+	}
+
+	/**
+	 * the operations of the heuristic in order of execution.
+	 */
+	private final Operation[] operations;
+
+
+	/**
+	 * HeuristicProgram constructor.
+	 */
+	private HeuristicProgram(Operation[] operations) {
+		this.operations = operations;
+	}
+
+	/**
+	 * compiles the given phenotype into a heuristic program.
+	 *
+	 * @param phenotype The phenotype of the heuristic.
+	 * @return The compiled heuristic.
+	 * @throws NumberFormatException If a numeric argument of a token is not valid.
+	 * @throws ArrayIndexOutOfBoundsException If a token has less arguments than its type requires.
+	 */
+	public static HeuristicProgram compile(String phenotype) {
+		String[] tokens = phenotype.split("\\s");
+		Operation[] operations = new Operation[tokens.length];
+		for (int i = 0; i < tokens.length; i++)
+			operations[i] = compileToken(tokens[i]);
+		return new HeuristicProgram(operations);
+	}
+
+	/**
+	 * returns the number of the operations of the heuristic.
+	 *
+	 * @return The number of the operations.
+	 */
+	public int size() {
+		return operations.length;
+	}
+
+	/**
+	 * returns the operation in the given position.
+	 *
+	 * @param index The position of the operation (from 0 to size - 1).
+	 * @return The operation.
+	 */
+	public Operation operation(int index) {
+		return operations[index];
+	}
+
+	/**
+	 * this methods returns a string description of the current
+	 * state of the object.
+	 *
+	 * @return The state of the object.
+	 */
+	public String toString() {
+		StringBuffer state = new StringBuffer();
+		for (int i = 0; i < operations.length; i++) {
+			if (i > 0) state.append(" ");
+			state.append(operations[i]);
+		}
+		return state.toString();
+	}
+
+	/**
+	 * compiles one token of a phenotype.
+	 */
+	private static Operation compileToken(String token) {
+
+		// Repack Operations
+		if (!token.contains("=")) {
+			if (token.contains("best"))
+				return new Operation(Type.BEST_FIT_DECREASING, 0, 0, Threshold.NONE, 0.0, false);
+			else if (token.contains("worst"))
+				return new Operation(Type.WORST_FIT_DECREASING, 0, 0, Threshold.NONE, 0.0, false);
+			else if (token.contains("first"))
+				return new Operation(Type.FIRST_FIT_DECREASING, 0, 0, Threshold.NONE, 0.0, false);
+			return new Operation(Type.REMOVE, 0, 0, Threshold.NONE, 0.0, false);
+		}
+
+		// Bin Selection Operations
+		String[] values = token.split("=")[1].split(",");
+		if (token.contains("filled") || token.contains("random")) {
+			Type type = token.contains("highest") ? Type.HIGHEST_FILLED
+					: token.contains("lowest") ? Type.LOWEST_FILLED : Type.RANDOM_BINS;
+			return new Operation(type, Integer.parseInt(values[0]), 0, Threshold.NONE,
+					Double.parseDouble(values[1]), values[2].equals("ALL"));
+		}
+		else if (token.contains("gap")) {
+			Threshold threshold;
+			switch (values[1]) {
+			case "average":
+				threshold = Threshold.AVERAGE;
+				break;
+			case "maximum":
+				threshold = Threshold.MAXIMUM;
+				break;
+			case "minimum":
+				threshold = Threshold.MINIMUM;
+				break;
+			default:
+				threshold = Threshold.NONE;
+				break;
+			}
+			return new Operation(Type.GAP_LESS_THAN, Integer.parseInt(values[0]), 0, threshold,
+					Double.parseDouble(values[2]), values[3].equals("ALL"));
+		}
+		else if (token.contains("num_of_pieces")) {
+			return new Operation(Type.NUM_OF_PIECES, Integer.parseInt(values[0]), Integer.parseInt(values[1]),
+					Threshold.NONE, Double.parseDouble(values[2]), values[3].equals("ALL"));
+		}
+		return new Operation(Type.NONE, 0, 0, Threshold.NONE, 0.0, false);
+
+	}
+
+
+	/**
+	 * the class <code>Operation</code> is one compiled token of a heuristic.
+	 */
+	public static final class Operation {
+
+		private final Type type;
+		private final int number;
+		private final int pieces;
+		private final Threshold threshold;
+		private final double ignore;
+		private final boolean removeAll;
+
+		Operation(Type type, int number, int pieces, Threshold threshold, double ignore, boolean removeAll) {
+			this.type = type;
+			this.number = number;
+			this.pieces = pieces;
+			this.threshold = threshold;
+			this.ignore = ignore;
+			this.removeAll = removeAll;
+		}
+
+		/**
+		 * returns the type of the operation.
+		 *
+		 * @return The type of the operation.
+		 */
+		public Type getType() {
+			return type;
+		}
+
+		/**
+		 * returns the maximum number of the bins which are marked by a selection operation.
+		 *
+		 * @return The number of the bins.
+		 */
+		public int getNumber() {
+			return number;
+		}
+
+		/**
+		 * returns the number of pieces of the operation <code>NUM_OF_PIECES</code>.
+		 *
+		 * @return The number of pieces.
+		 */
+		public int getPieces() {
+			return pieces;
+		}
+
+		/**
+		 * returns the threshold of the operation <code>GAP_LESS_THAN</code>.
+		 *
+		 * @return The threshold of the gap.
+		 */
+		public Threshold getThreshold() {
+			return threshold;
+		}
+
+		/**
+		 * returns the fill ratio (of the bin capacity) from which the bins are ignored
+		 * by a selection operation.
+		 *
+		 * @return The ignore ratio.
+		 */
+		public double getIgnore() {
+			return ignore;
+		}
+
+		/**
+		 * returns true if all the items of the marked bins are removed (<code>ALL</code>)
+		 * or false if only one random item is removed (<code>ONE</code>).
+		 *
+		 * @return True if all the items are removed.
+		 */
+		public boolean isRemoveAll() {
+			return removeAll;
+		}
+
+		/**
+		 * this methods returns a string description of the current
+		 * state of the object.
+		 *
+		 * @return The state of the object.
+		 */
+		public String toString() {
+			switch (type) {
+			case HIGHEST_FILLED:
+			case LOWEST_FILLED:
+			case RANDOM_BINS:
+				return type + "(" + number + "," + ignore + "," + (removeAll ? "ALL" : "ONE") + ")";
+			case GAP_LESS_THAN:
+				return type + "(" + number + "," + threshold + "," + ignore + "," + (removeAll ? "ALL" : "ONE") + ")";
+			case NUM_OF_PIECES:
+				return type + "(" + number + "," + pieces + "," + ignore + "," + (removeAll ? "ALL" : "ONE") + ")";
+			default:
+				return type.toString();
+			}
+		}
+
+	}
+
+}
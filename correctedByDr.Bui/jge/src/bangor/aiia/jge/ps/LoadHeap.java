@@ -0,0 +1,172 @@
+package bangor.aiia.jge.ps;
+
+import java.util.Arrays;
+
+/**
+ * The class <code>LoadHeap</code> is a binary min-heap of the loads of a sequence of bins,
+ * which is used by the Worst Fit algorithm.<br>
+ * The key of a bin is its load and its position (<code>load &lt;&lt; 32 | position</code>),
+ * so the top of the heap is the emptiest bin and, in case of a tie, the first one.
+ * The emptiest bin is found in O(1) and the load of the top bin is updated in O(log m).
+ * <br><br>
+ * A <code>LoadHeap</code> object can be reused for many packings but it is not thread safe.
+ */
+public final class LoadHeap {
+
+	/**
+	 * the keys of the heap (the key of the top bin is the first one).
+	 */
+	private long[] keys;
+
+	/**
+	 * the number of the bins in the heap.
+	 */
+	private int size;
+
+
+	/**
+	 * creates an empty heap.
+	 */
+	public LoadHeap() {
+		this(16);
+	}
+
+	/**
+	 * creates an empty heap for the given number of bins.
+	 *
+	 * @param capacity The initial number of bins.
+	 */
+	public LoadHeap(int capacity) {
+		keys = new long[Math.max(1, capacity)];
+		size = 0;
+	}
+
+	/**
+	 * replaces the bins of the heap with the bins of the given packing state in O(m).
+	 *
+	 * @param state The packing state.
+	 */
+	public void load(PackingState state) {
+		clear();
+		int bins = state.size();
+		ensureCapacity(bins);
+		for (int position = 0; position < bins; position++)
+			keys[position] = key(state.load(position), position);
+		size = bins;
+		for (int node = size / 2 - 1; node >= 0; node--)
+			siftDown(node);
+	}
+
+	/**
+	 * removes all the bins of the heap.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * returns the number of the bins in the heap.
+	 *
+	 * @return The number of the bins.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * adds a bin to the heap.
+	 *
+	 * @param position The position of the bin.
+	 * @param load The load of the bin.
+	 */
+	public void add(int position, int load) {
+		ensureCapacity(size + 1);
+		keys[size] = key(load, position);
+		siftUp(size++);
+	}
+
+	/**
+	 * returns the position of the emptiest bin (the top of the heap).
+	 *
+	 * @return The position of the emptiest bin.
+	 * @throws IllegalStateException If the heap is empty.
+	 */
+	public int topPosition() {
+		if (size == 0)
+			throw new IllegalStateException("The heap is empty");
+		return (int) keys[0];
+	}
+
+	/**
+	 * returns the load of the emptiest bin (the top of the heap).
+	 *
+	 * @return The load of the emptiest bin.
+	 * @throws IllegalStateException If the heap is empty.
+	 */
+	public int topLoad() {
+		if (size == 0)
+			throw new IllegalStateException("The heap is empty");
+		return (int) (keys[0] >> 32);
+	}
+
+	/**
+	 * sets the load of the emptiest bin (the top of the heap).
+	 *
+	 * @param load The new load of the bin.
+	 * @throws IllegalStateException If the heap is empty.
+	 */
+	public void updateTop(int load) {
+		keys[0] = key(load, topPosition());
+		siftDown(0);
+	}
+
+
+	/**
+	 * returns the key of a bin.
+	 */
+	private static long key(int load, int position) {
+		return ((long) load << 32) | position;
+	}
+
+	/**
+	 * moves the key of the given node up to its place.
+	 */
+	private void siftUp(int node) {
+		long key = keys[node];
+		while (node > 0) {
+			int parent = (node - 1) >>> 1;
+			if (keys[parent] <= key)
+				break;
+			keys[node] = keys[parent];
+			node = parent;
+		}
+		keys[node] = key;
+	}
+
+	/**
+	 * moves the key of the given node down to its place.
+	 */
+	private void siftDown(int node) {
+		long key = keys[node];
+		int half = size >>> 1;
+		while (node < half) {
+			int child = 2 * node + 1;
+			if (child + 1 < size && keys[child + 1] < keys[child])
+				child++;
+			if (key <= keys[child])
+				break;
+			keys[node] = keys[child];
+			node = child;
+		}
+		keys[node] = key;
+	}
+
+	/**
+	 * makes sure that the heap can hold the given number of bins.
+	 */
+	private void ensureCapacity(int capacity) {
+		if (capacity > keys.length)
+			keys = Arrays.copyOf(keys, Math.max(capacity, 2 * keys.length));
+	}
+
+}
@@ -0,0 +1,105 @@
+package bangor.aiia.jge.ps;
+
+import java.util.Arrays;
+
+/**
+ * The class <code>LowerBounds</code> is a utility class which provides lower bounds
+ * on the number of bins of a solution of a one-dimensional bin packing problem instance.<br>
+ * The continuous lower bound L1 is <code>ceil(sum of items / capacity)</code>.
+ * The lower bound L2 of Martello and Toth (1990) dominates L1: for each <code>a</code>
+ * from 0 to <code>capacity / 2</code>, the items larger than <code>capacity - a</code> (J1)
+ * and the items larger than half of the capacity (J2) need a bin each, and the items
+ * from <code>a</code> to half of the capacity (J3) need additional bins for the part of their
+ * sum which does not fit in the free space of the bins of J2.
+ * <br><br>
+ * The bounds are calculated in O(n log n) for n items, so they are calculated once
+ * per problem instance.
+ */
+public final class LowerBounds {
+
+	/**
+	 * LowerBounds constructor. Should not be used.
+	 */
+	private LowerBounds() {
+	}
+
+	/**
+	 * returns the continuous lower bound L1 (the sum of the items divided by the capacity,
+	 * rounded up).
+	 *
+	 * @param items The items of the problem instance.
+	 * @param capacity The capacity of the bins.
+	 * @return The lower bound L1.
+	 */
+	public static int l1(int[] items, int capacity) {
+		long sum = 0L;
+		for (int item : items)
+			sum += item;
+		return (int) ((sum + capacity - 1) / capacity);
+	}
+
+	/**
+	 * returns the lower bound L2 of Martello and Toth.
+	 *
+	 * @param items The items of the problem instance.
+	 * @param capacity The capacity of the bins.
+	 * @return The lower bound L2.
+	 */
+	public static int l2(int[] items, int capacity) {
+		int n = items.length;
+		int[] sorted = items.clone();
+		Arrays.sort(sorted);
+		long[] sums = new long[n + 1]; // sums[i] is the sum of the i smallest items
+		for (int i = 0; i < n; i++)
+			sums[i + 1] = sums[i] + sorted[i];
+		// the items larger than half of the capacity are sorted[half..n-1]
+		int half = above(sorted, capacity / 2);
+		int bound = 0;
+		// the candidate values of a are 0 and the sizes of the items up to half of the capacity
+		for (int i = -1; i < half; i++) {
+			if (i > 0 && sorted[i] == sorted[i - 1])
+				continue;
+			int a = (i < 0) ? 0 : sorted[i];
+			int first = (i < 0) ? 0 : i; // J3 is sorted[first..half-1]
+			int large = above(sorted, capacity - a); // J1 is sorted[large..n-1]
+			int j1 = n - large;
+			int j2 = large - half;
+			long j2Free = (long) j2 * capacity - (sums[large] - sums[half]);
+			long j3Sum = sums[half] - sums[first];
+			long extra = Math.max(0L, j3Sum - j2Free);
+			int value = j1 + j2 + (int) ((extra + capacity - 1) / capacity);
+			if (value > bound)
+				bound = value;
+		}
+		return bound;
+	}
+
+	/**
+	 * returns the best lower bound (the maximum of L1 and L2).
+	 *
+	 * @param items The items of the problem instance.
+	 * @param capacity The capacity of the bins.
+	 * @return The lower bound.
+	 */
+	public static int lowerBound(int[] items, int capacity) {
+		return Math.max(l1(items, capacity), l2(items, capacity));
+	}
+
+
+	/**
+	 * returns the index of the first item of the sorted items which is larger than the given value.
+	 */
+	private static int above(int[] sorted, int value) {
+		int low = 0;
+		int high = sorted.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sorted[middle] <= value)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+}
@@ -0,0 +1,324 @@
+package bangor.aiia.jge.ps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import bangor.aiia.jge.environment.Environment;
+
+/**
+ * The class <code>PackingInstance</code> is the environment of a one-dimensional bin packing
+ * problem instance: the capacity of the bins, the items as a sorted <code>int</code> array,
+ * the histogram of the item sizes, the minimum, maximum and average item size, the lower
+ * bounds of the number of bins (see <code>LowerBounds</code>) and the initial First Fit
+ * packing of the items, which are all calculated once by the constructor.
+ * <br><br>
+ * A <code>PackingInstance</code> object is immutable (the methods return copies of its
+ * arrays and bins), so it can be shared by many evaluators, threads and runs
+ * (see <code>DemoD</code>). The method <code>withItemOrder()</code> returns an instance
+ * with a different initial packing which shares the rest of the precomputed data.
+ */
+public final class PackingInstance extends Environment {
+
+	/**
+	 * the capacity of the bins.
+	 */
+	private final int capacity;
+
+	/**
+	 * the items in non-decreasing order.
+	 */
+	private final int[] items;
+
+	/**
+	 * the number of items of each size (from 0 to the maximum item size).
+	 */
+	private final int[] histogram;
+
+	/**
+	 * the sum of the items.
+	 */
+	private final long total;
+
+	/**
+	 * the lower bounds L1 and L2 of the number of bins.
+	 */
+	private final int l1, l2;
+
+	/**
+	 * the initial packing of the items.
+	 */
+	private final List<Bin> initialPacking;
+
+
+	/**
+	 * creates the instance of the given items. The initial packing is the
+	 * First Fit packing of the items in the given order.
+	 *
+	 * @param name The name of the instance.
+	 * @param items The items (at least one, none of them negative).
+	 * @param capacity The capacity of the bins (greater than 0).
+	 * @throws IllegalArgumentException If there are no items, an item is negative or the capacity is not positive.
+	 */
+	public PackingInstance(String name, List<Integer> items, int capacity) {
+		this(name, toArray(items), capacity, new FirstFit(items, capacity).getResult());
+	}
+
+	/**
+	 * PackingInstance constructor.
+	 */
+	private PackingInstance(String name, int[] items, int capacity, List<Bin> initialPacking) {
+		super(name);
+		if (capacity <= 0)
+			throw new IllegalArgumentException("The capacity of the bins must be greater than 0: " + capacity);
+		if (items.length == 0)
+			throw new IllegalArgumentException("The instance " + name + " has no items");
+		Arrays.sort(items);
+		if (items[0] < 0)
+			throw new IllegalArgumentException("Negative item: " + items[0]);
+		this.capacity = capacity;
+		this.items = items;
+		this.histogram = new int[items[items.length - 1] + 1];
+		long sum = 0L;
+		for (int item : items) {
+			histogram[item]++;
+			sum += item;
+		}
+		this.total = sum;
+		this.l1 = LowerBounds.l1(items, capacity);
+		this.l2 = LowerBounds.l2(items, capacity);
+		this.initialPacking = initialPacking;
+	}
+
+	/**
+	 * PackingInstance constructor with a new initial packing (shares the precomputed data).
+	 */
+	private PackingInstance(PackingInstance instance, List<Bin> initialPacking) {
+		super(instance.getName());
+		this.capacity = instance.capacity;
+		this.items = instance.items;
+		this.histogram = instance.histogram;
+		this.total = instance.total;
+		this.l1 = instance.l1;
+		this.l2 = instance.l2;
+		this.initialPacking = initialPacking;
+	}
+
+	/**
+	 * creates the instance of the items of the given packing. The initial packing
+	 * is a copy of the given packing.
+	 *
+	 * @param name The name of the instance.
+	 * @param packing The packing of the items.
+	 * @param capacity The capacity of the bins (greater than 0).
+	 * @return The instance.
+	 * @throws IllegalArgumentException If there are no items, an item is negative or the capacity is not positive.
+	 */
+	public static PackingInstance fromPacking(String name, List<Bin> packing, int capacity) {
+		List<Integer> items = new ArrayList<Integer>();
+		for (Bin bin : packing)
+			items.addAll(bin.items);
+		return new PackingInstance(name, toArray(items), capacity, copy(packing));
+	}
+
+	/**
+	 * returns an instance with the same items whose initial packing is the First Fit packing
+	 * of the items in the given order (e.g. to start each run from a different packing).
+	 *
+	 * @param order The items of the instance in any order.
+	 * @return The instance with the new initial packing.
+	 * @throws IllegalArgumentException If the given items are not the items of the instance.
+	 */
+	public PackingInstance withItemOrder(List<Integer> order) {
+		int[] frequencies = new int[histogram.length];
+		for (Integer item : order) {
+			if (item < 0 || item >= histogram.length || ++frequencies[item] > histogram[item])
+				throw new IllegalArgumentException("The item " + item + " is not an item of the instance " + getName());
+		}
+		if (order.size() != items.length)
+			throw new IllegalArgumentException("The instance " + getName() + " has " + items.length + " items: " + order.size());
+		return new PackingInstance(this, new FirstFit(order, capacity).getResult());
+	}
+
+	/**
+	 * returns the capacity of the bins.
+	 *
+	 * @return The capacity of the bins.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * returns the number of the items.
+	 *
+	 * @return The number of the items.
+	 */
+	public int getItemCount() {
+		return items.length;
+	}
+
+	/**
+	 * returns the items in non-decreasing order.
+	 *
+	 * @return A copy of the sorted items.
+	 */
+	public int[] getItems() {
+		return items.clone();
+	}
+
+	/**
+	 * returns the number of items of the given size.
+	 *
+	 * @param size The size of the items.
+	 * @return The number of items of the size.
+	 */
+	public int getFrequency(int size) {
+		return (size < 0 || size >= histogram.length) ? 0 : histogram[size];
+	}
+
+	/**
+	 * returns the histogram of the item sizes (the number of items of each size
+	 * from 0 to the maximum item size).
+	 *
+	 * @return A copy of the histogram.
+	 */
+	public int[] getHistogram() {
+		return histogram.clone();
+	}
+
+	/**
+	 * returns the minimum item size.
+	 *
+	 * @return The minimum item size.
+	 */
+	public int getMin() {
+		return items[0];
+	}
+
+	/**
+	 * returns the maximum item size.
+	 *
+	 * @return The maximum item size.
+	 */
+	public int getMax() {
+		return items[items.length - 1];
+	}
+
+	/**
+	 * returns the average item size.
+	 *
+	 * @return The average item size.
+	 */
+	public double getAverage() {
+		return (double) total / items.length;
+	}
+
+	/**
+	 * returns the sum of the items.
+	 *
+	 * @return The sum of the items.
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * returns the continuous lower bound L1 of the number of bins.
+	 *
+	 * @return The lower bound L1.
+	 */
+	public int getL1() {
+		return l1;
+	}
+
+	/**
+	 * returns the lower bound L2 of Martello and Toth of the number of bins.
+	 *
+	 * @return The lower bound L2.
+	 */
+	public int getL2() {
+		return l2;
+	}
+
+	/**
+	 * returns the best lower bound of the number of bins (the maximum of L1 and L2).
+	 *
+	 * @return The lower bound.
+	 */
+	public int getLowerBound() {
+		return Math.max(l1, l2);
+	}
+
+	/**
+	 * returns the number of bins of the initial packing.
+	 *
+	 * @return The number of bins of the initial packing.
+	 */
+	public int getInitialBins() {
+		return initialPacking.size();
+	}
+
+	/**
+	 * returns a copy of the initial packing.
+	 *
+	 * @return The bins of the initial packing.
+	 */
+	public List<Bin> getInitialPacking() {
+		return copy(initialPacking);
+	}
+
+	/**
+	 * loads the initial packing into the given packing state without copying the bins.
+	 *
+	 * @param state The packing state (its capacity must be the capacity of the instance).
+	 * @throws IllegalArgumentException If the capacity of the state is different.
+	 */
+	public void loadInitialPacking(PackingState state) {
+		if (state.capacity() != capacity)
+			throw new IllegalArgumentException("Different bin capacity: " + state.capacity() + " (expected " + capacity + ")");
+		state.load(initialPacking);
+	}
+
+	/**
+	 * this methods returns a string description of the current
+	 * state of the object.
+	 *
+	 * @return The state of the object.
+	 */
+	public String toString() {
+		StringBuffer state = new StringBuffer(super.toString());
+		state.append("Capacity        : " + capacity + "\n");
+		state.append("Items           : " + items.length + "\n");
+		state.append("Min/Max/Average : " + getMin() + " / " + getMax() + " / " + getAverage() + "\n");
+		state.append("Lower Bound     : " + getLowerBound() + " (L1 = " + l1 + ", L2 = " + l2 + ")\n");
+		state.append("Initial Bins    : " + initialPacking.size() + "\n");
+		return state.toString();
+	}
+
+
+	/**
+	 * returns the given items as an array.
+	 */
+	private static int[] toArray(List<Integer> items) {
+		int[] array = new int[items.size()];
+		for (int i = 0; i < array.length; i++)
+			array[i] = items.get(i);
+		return array;
+	}
+
+	/**
+	 * returns a copy of the given bins (without their flags).
+	 */
+	private static List<Bin> copy(List<Bin> bins) {
+		List<Bin> copy = new ArrayList<Bin>(bins.size());
+		for (Bin bin : bins) {
+			Bin clone = bin.deepCopy();
+			clone.visited = false;
+			clone.all = false;
+			copy.add(clone);
+		}
+		return copy;
+	}
+
+}
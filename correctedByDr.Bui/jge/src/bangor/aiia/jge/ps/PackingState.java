@@ -0,0 +1,978 @@
+package bangor.aiia.jge.ps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The class <code>PackingState</code> is a bin packing solution stored in primitive arrays
+ * (struct of arrays) instead of a list of <code>Bin</code> objects.<br>
+ * Each bin has a load, a number of items and a segment of a flat pool of items
+ * (an offset and a capacity in the pool). The segment of a bin is moved to the end of the pool
+ * when it is full, so putting and removing items does not allocate objects.
+ * The <code>visited</code> and <code>all</code> flags of the bins (see <code>Bin</code>)
+ * are kept in two bit sets.
+ * The aggregates of the bins (the number of full bins, the total load, the sum of the squared
+ * loads and the total slack) are maintained incrementally as the bins change, so they are
+ * read in O(1) instead of iterating over the bins. The bins are also indexed by their load
+ * and their number of items (see <code>BinIndex</code>), so the bin selection and counting methods
+ * (e.g. <code>selectHighest()</code> and <code>countByLoad()</code>) do not sort or scan the bins.
+ * <br><br>
+ * The bins are accessed by their position (from 0 to size - 1), which is the order of the bins
+ * in the solution. The positions of the bins change only with the methods <code>swap()</code>,
+ * <code>sortByLoad()</code> and <code>removeBins()</code>. New bins are added at the end.
+ * <br><br>
+ * The changes of the state can be journaled (see the method <code>mark()</code>): every change
+ * records its undo information in an undo log, so the state can be restored to the last
+ * checkpoint with the method <code>rollback()</code> or the changes can be accepted as the new
+ * checkpoint with the method <code>commit()</code>, instead of copying the state. The commit
+ * takes O(1) and the rollback takes O(size of the undo log), except that undoing a removal of
+ * bins also shifts back the bins after the first removed position.
+ * <br><br>
+ * A <code>PackingState</code> object can be reused for many solutions (see the methods
+ * <code>load()</code> and <code>copyFrom()</code>) but it is not thread safe.
+ */
+public final class PackingState {
+
+	/**
+	 * the capacity of the bins.
+	 */
+	private final int capacity;
+
+	/**
+	 * the loads of the bins (by bin id).
+	 */
+	private int[] loads;
+
+	/**
+	 * the number of items of the bins (by bin id).
+	 */
+	private int[] counts;
+
+	/**
+	 * the offsets of the segments of the bins in the pool of items (by bin id).
+	 */
+	private int[] offsets;
+
+	/**
+	 * the capacities of the segments of the bins in the pool of items (by bin id).
+	 */
+	private int[] limits;
+
+	/**
+	 * the positions of the bins (by bin id).
+	 */
+	private int[] positionOf;
+
+	/**
+	 * the index of the bins by load and number of items.
+	 */
+	private final BinIndex binIndex;
+
+	/**
+	 * the number of the allocated bin ids.
+	 */
+	private int ids;
+
+	/**
+	 * the ids of the bins by position.
+	 */
+	private int[] order;
+
+	/**
+	 * the number of the bins.
+	 */
+	private int size;
+
+	/**
+	 * the pool of the items of the bins.
+	 */
+	private int[] pool;
+
+	/**
+	 * the used part of the pool of the items.
+	 */
+	private int poolSize;
+
+	/**
+	 * the number of the full bins (the bins whose load reaches the capacity).
+	 */
+	private int fullBins;
+
+	/**
+	 * the sum of the loads of the bins.
+	 */
+	private long totalLoad;
+
+	/**
+	 * the sum of the squared loads of the bins.
+	 */
+	private long loadSquares;
+
+	/**
+	 * the visited flags of the bins (by bin id).
+	 */
+	private final BitSet visited = new BitSet();
+
+	/**
+	 * the all flags of the bins (by bin id).
+	 */
+	private final BitSet all = new BitSet();
+
+	/**
+	 * the sort keys of the bins (used by the method <code>sortByLoad()</code>).
+	 */
+	private long[] keys = new long[0];
+
+	/**
+	 * the undo log of the changes since the last checkpoint (the undo records of the changes
+	 * in order of execution, each record ends with its operation code).
+	 */
+	private int[] journal = new int[64];
+
+	/**
+	 * the used part of the undo log.
+	 */
+	private int journalSize;
+
+	/**
+	 * whether the changes are journaled.
+	 */
+	private boolean journaling = false;
+
+	// The operation codes of the undo records
+	private static final int PUT = 0;
+	private static final int REMOVE = 1;
+	private static final int OPEN = 2;
+	private static final int GROW = 3;
+	private static final int ORDER = 4;
+	private static final int SWAP = 5;
+	private static final int SET_VISITED = 6;
+	private static final int SET_ALL = 7;
+	private static final int CLEAR_VISITED = 8;
+	private static final int CLEAR_ALL = 9;
+	private static final int REMOVE_BINS = 10;
+
+
+	/**
+	 * creates an empty packing state.
+	 *
+	 * @param capacity The capacity of the bins.
+	 */
+	public PackingState(int capacity) {
+		this.capacity = capacity;
+		loads = new int[16];
+		counts = new int[16];
+		offsets = new int[16];
+		limits = new int[16];
+		positionOf = new int[16];
+		order = new int[16];
+		binIndex = new BinIndex(capacity);
+		pool = new int[64];
+	}
+
+	/**
+	 * replaces the bins of this state with the bins of the given list.
+	 * The flags of the new bins are cleared and the journaling is stopped.
+	 *
+	 * @param source The bins to be loaded.
+	 */
+	public void load(List<Bin> source) {
+		clear();
+		for (Bin bin : source) {
+			int id = newBin(bin.numberOfItems());
+			for (Integer item : bin.items)
+				pool[offsets[id] + counts[id]++] = item;
+			loads[id] = bin.currentSize;
+			append(id);
+			index(id);
+		}
+	}
+
+	/**
+	 * replaces the bins of this state with a copy of the bins of the given state
+	 * (including their flags). The journaling is stopped.
+	 *
+	 * @param source The source state (it must have the same capacity).
+	 * @throws IllegalArgumentException If the capacity of the source state is different.
+	 */
+	public void copyFrom(PackingState source) {
+		if (source == this) return;
+		if (source.capacity != capacity)
+			throw new IllegalArgumentException("Different bin capacity: " + source.capacity + " (expected " + capacity + ")");
+		clear();
+		for (int position = 0; position < source.size; position++) {
+			int from = source.order[position];
+			int id = newBin(source.counts[from]);
+			System.arraycopy(source.pool, source.offsets[from], pool, offsets[id], source.counts[from]);
+			counts[id] = source.counts[from];
+			loads[id] = source.loads[from];
+			if (source.visited.get(from)) visited.set(id);
+			if (source.all.get(from)) all.set(id);
+			append(id);
+			index(id);
+		}
+	}
+
+	/**
+	 * removes all the bins and stops the journaling.
+	 */
+	public void clear() {
+		ids = 0;
+		size = 0;
+		poolSize = 0;
+		fullBins = 0;
+		totalLoad = 0L;
+		loadSquares = 0L;
+		binIndex.clear();
+		visited.clear();
+		all.clear();
+		journaling = false;
+		journalSize = 0;
+	}
+
+	/**
+	 * starts the journaling of the changes: the current state becomes the checkpoint
+	 * to which the method <code>rollback()</code> returns.
+	 */
+	public void mark() {
+		journaling = true;
+		journalSize = 0;
+	}
+
+	/**
+	 * accepts the changes since the last checkpoint: the current state becomes
+	 * the new checkpoint (the undo log is discarded).
+	 *
+	 * @throws IllegalStateException If the changes are not journaled.
+	 */
+	public void commit() {
+		if (!journaling)
+			throw new IllegalStateException("The changes are not journaled");
+		journalSize = 0;
+	}
+
+	/**
+	 * undoes the changes since the last checkpoint in reverse order, so the bins,
+	 * their order and their flags are restored exactly as they were at the checkpoint.
+	 *
+	 * @throws IllegalStateException If the changes are not journaled.
+	 */
+	public void rollback() {
+		if (!journaling)
+			throw new IllegalStateException("The changes are not journaled");
+		while (journalSize > 0) {
+			int id;
+			switch (journal[--journalSize]) {
+			case PUT: {
+				int item = journal[--journalSize];
+				id = journal[--journalSize];
+				unindex(id);
+				counts[id]--;
+				loads[id] -= item;
+				index(id);
+				break;
+			}
+			case REMOVE: {
+				int item = journal[--journalSize];
+				int index = journal[--journalSize];
+				id = journal[--journalSize];
+				int offset = offsets[id] + index;
+				System.arraycopy(pool, offset, pool, offset + 1, counts[id] - index);
+				pool[offset] = item;
+				unindex(id);
+				counts[id]++;
+				loads[id] += item;
+				index(id);
+				break;
+			}
+			case OPEN:
+				id = order[--size];
+				unindex(id);
+				ids--;
+				poolSize = offsets[id];
+				break;
+			case GROW: {
+				int poolEnd = journal[--journalSize];
+				int limit = journal[--journalSize];
+				int offset = journal[--journalSize];
+				id = journal[--journalSize];
+				System.arraycopy(pool, offsets[id], pool, offset, counts[id]);
+				offsets[id] = offset;
+				limits[id] = limit;
+				poolSize = poolEnd;
+				break;
+			}
+			case ORDER: {
+				int length = journal[--journalSize];
+				int from = journal[--journalSize];
+				journalSize -= length;
+				System.arraycopy(journal, journalSize, order, from, length);
+				for (int position = from; position < from + length; position++)
+					positionOf[order[position]] = position;
+				break;
+			}
+			case REMOVE_BINS: {
+				// the removed bins are put back in their positions (the last one first)
+				int removed = journal[--journalSize];
+				int source = size - 1;
+				size += removed;
+				for (int position = size - 1; removed > 0; position--) {
+					if (journal[journalSize - 2] == position) {
+						id = journal[--journalSize];
+						journalSize--;
+						removed--;
+						index(id);
+					}
+					else
+						id = order[source--];
+					order[position] = id;
+					positionOf[id] = position;
+				}
+				break;
+			}
+			case SWAP: {
+				int j = journal[--journalSize];
+				int i = journal[--journalSize];
+				id = order[i];
+				order[i] = order[j];
+				order[j] = id;
+				positionOf[order[i]] = i;
+				positionOf[order[j]] = j;
+				break;
+			}
+			case SET_VISITED:
+				visited.clear(journal[--journalSize]);
+				break;
+			case SET_ALL:
+				all.clear(journal[--journalSize]);
+				break;
+			case CLEAR_VISITED:
+				visited.set(journal[--journalSize]);
+				break;
+			case CLEAR_ALL:
+				all.set(journal[--journalSize]);
+				break;
+			default:
+				throw new IllegalStateException("Corrupted undo log");
+			}
+		}
+	}
+
+	/**
+	 * returns the capacity of the bins.
+	 *
+	 * @return The capacity of the bins.
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * returns the number of the bins.
+	 *
+	 * @return The number of the bins.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * returns the number of the full bins (the bins whose load reaches the capacity) in O(1).
+	 *
+	 * @return The number of the full bins.
+	 */
+	public int fullBins() {
+		return fullBins;
+	}
+
+	/**
+	 * returns the sum of the loads of the bins in O(1).
+	 *
+	 * @return The total load.
+	 */
+	public long totalLoad() {
+		return totalLoad;
+	}
+
+	/**
+	 * returns the sum of the squared loads of the bins in O(1).
+	 *
+	 * @return The sum of the squared loads.
+	 */
+	public long loadSquares() {
+		return loadSquares;
+	}
+
+	/**
+	 * returns the sum of the squared fill ratios (load / capacity) of the bins in O(1).
+	 *
+	 * @return The sum of the squared fill ratios.
+	 */
+	public double fillRatioSquares() {
+		return (double) loadSquares / ((double) capacity * capacity);
+	}
+
+	/**
+	 * returns the total free space of the bins (the number of bins times
+	 * the capacity minus the total load) in O(1).
+	 *
+	 * @return The total slack.
+	 */
+	public long slack() {
+		return (long) size * capacity - totalLoad;
+	}
+
+	/**
+	 * returns the load (the sum of the items) of the bin in the given position.
+	 *
+	 * @param position The position of the bin.
+	 * @return The load of the bin.
+	 */
+	public int load(int position) {
+		return loads[id(position)];
+	}
+
+	/**
+	 * returns the free space of the bin in the given position.
+	 *
+	 * @param position The position of the bin.
+	 * @return The capacity minus the load of the bin.
+	 */
+	public int residual(int position) {
+		return capacity - loads[id(position)];
+	}
+
+	/**
+	 * returns the number of the items of the bin in the given position.
+	 *
+	 * @param position The position of the bin.
+	 * @return The number of the items of the bin.
+	 */
+	public int count(int position) {
+		return counts[id(position)];
+	}
+
+	/**
+	 * returns an item of the bin in the given position.
+	 *
+	 * @param position The position of the bin.
+	 * @param index The index of the item in the bin (from 0 to count - 1).
+	 * @return The item.
+	 */
+	public int item(int position, int index) {
+		int id = id(position);
+		if (index < 0 || index >= counts[id])
+			throw new IndexOutOfBoundsException("Item index: " + index + ", Count: " + counts[id]);
+		return pool[offsets[id] + index];
+	}
+
+	/**
+	 * puts the given item in the bin in the given position, if it fits.
+	 *
+	 * @see Bin#put(Integer)
+	 * @param position The position of the bin.
+	 * @param item The item.
+	 * @return True if the item fit in the bin, false otherwise.
+	 */
+	public boolean put(int position, int item) {
+		int id = id(position);
+		if (loads[id] + item > capacity)
+			return false;
+		addItem(id, item);
+		return true;
+	}
+
+	/**
+	 * adds a new bin at the end of the bins and puts the given item in it.
+	 * As with a new <code>Bin</code>, an item which is larger than the capacity is not put in the bin.
+	 *
+	 * @param item The item.
+	 * @return The position of the new bin.
+	 */
+	public int openBin(int item) {
+		int id = newBin(4);
+		append(id);
+		index(id);
+		if (journaling)
+			log(OPEN);
+		if (item <= capacity)
+			addItem(id, item);
+		return size - 1;
+	}
+
+	/**
+	 * removes the first occurrence of the given item from the bin in the given position.
+	 *
+	 * @see Bin#remove(Integer)
+	 * @param position The position of the bin.
+	 * @param item The item.
+	 * @return True if the bin contained the item.
+	 */
+	public boolean removeItem(int position, int item) {
+		int id = id(position);
+		int offset = offsets[id];
+		int count = counts[id];
+		for (int i = 0; i < count; i++) {
+			if (pool[offset + i] == item) {
+				System.arraycopy(pool, offset + i + 1, pool, offset + i, count - i - 1);
+				unindex(id);
+				counts[id]--;
+				loads[id] -= item;
+				index(id);
+				if (journaling)
+					log(id, i, item, REMOVE);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * removes the bins in the given positions. The rest of the bins keep their order.
+	 * It takes O(m) for m bins, since the bins after the first removed position are shifted,
+	 * and it journals only the positions and the ids of the removed bins.
+	 *
+	 * @param positions The positions of the bins to be removed.
+	 */
+	public void removeBins(BitSet positions) {
+		int first = positions.nextSetBit(0);
+		if (first < 0 || first >= size)
+			return;
+		if (journaling)
+			logRemoval(positions);
+		int kept = first;
+		for (int position = first; position < size; position++) {
+			int id = order[position];
+			if (positions.get(position)) {
+				clearFlag(visited, id, CLEAR_VISITED);
+				clearFlag(all, id, CLEAR_ALL);
+				unindex(id);
+			}
+			else {
+				positionOf[id] = kept;
+				order[kept++] = id;
+			}
+		}
+		size = kept;
+	}
+
+	/**
+	 * swaps the bins in the given positions.
+	 *
+	 * @param i The position of the first bin.
+	 * @param j The position of the second bin.
+	 */
+	public void swap(int i, int j) {
+		int id = id(i);
+		order[i] = id(j);
+		order[j] = id;
+		positionOf[order[i]] = i;
+		positionOf[id] = j;
+		if (journaling)
+			log(i, j, SWAP);
+	}
+
+	/**
+	 * sorts the bins by their load. The sort is stable: bins with equal load keep their order.
+	 * It takes O(m log m) for m bins and it journals the previous order of the positions from
+	 * the first to the last position which is changed by the sort (O(m) in the worst case,
+	 * nothing if the bins are sorted already).
+	 *
+	 * @param descending True for non-increasing load, false for non-decreasing load.
+	 */
+	public void sortByLoad(boolean descending) {
+		if (keys.length < size)
+			keys = new long[Math.max(size, 2 * keys.length)];
+		for (int position = 0; position < size; position++) {
+			long load = loads[order[position]];
+			keys[position] = ((descending ? Integer.MAX_VALUE - load : load) << 32) | position;
+		}
+		Arrays.sort(keys, 0, size);
+		for (int position = 0; position < size; position++)
+			keys[position] = order[(int) keys[position]];
+
+		// only the positions from the first to the last moved bin are changed
+		int from = 0;
+		while (from < size && order[from] == (int) keys[from])
+			from++;
+		if (from == size)
+			return;
+		int to = size - 1;
+		while (order[to] == (int) keys[to])
+			to--;
+		if (journaling)
+			logOrder(from, to + 1);
+		for (int position = from; position <= to; position++) {
+			order[position] = (int) keys[position];
+			positionOf[order[position]] = position;
+		}
+	}
+
+	/**
+	 * returns the number of the bins whose load is between the given loads (inclusive) in O(log C)
+	 * for the capacity C.
+	 *
+	 * @param minLoad The minimum load.
+	 * @param maxLoad The maximum load.
+	 * @return The number of the bins.
+	 */
+	public int countByLoad(int minLoad, int maxLoad) {
+		return binIndex.count(minLoad, maxLoad);
+	}
+
+	/**
+	 * selects the highest filled bins whose load is not greater than the given load
+	 * (in non-increasing order of load and, for equal loads, in order of creation).
+	 *
+	 * @param num The maximum number of the selected bins.
+	 * @param maxLoad The maximum load of the selected bins.
+	 * @param selected The positions of the selected bins (its length must be at least <code>num</code>).
+	 * @return The number of the selected bins.
+	 */
+	public int selectHighest(int num, int maxLoad, int[] selected) {
+		return toPositions(binIndex.highest(num, maxLoad, selected), selected);
+	}
+
+	/**
+	 * selects the lowest filled bins whose load is not greater than the given load
+	 * (in non-decreasing order of load and, for equal loads, in order of creation).
+	 *
+	 * @param num The maximum number of the selected bins.
+	 * @param maxLoad The maximum load of the selected bins.
+	 * @param selected The positions of the selected bins (its length must be at least <code>num</code>).
+	 * @return The number of the selected bins.
+	 */
+	public int selectLowest(int num, int maxLoad, int[] selected) {
+		return toPositions(binIndex.lowest(num, maxLoad, selected), selected);
+	}
+
+	/**
+	 * selects the bins with the given number of items whose load is not greater than
+	 * the given load (in order of creation).
+	 *
+	 * @param num The maximum number of the selected bins.
+	 * @param count The number of items of the selected bins.
+	 * @param maxLoad The maximum load of the selected bins.
+	 * @param selected The positions of the selected bins (its length must be at least <code>num</code>).
+	 * @return The number of the selected bins.
+	 */
+	public int selectByCount(int num, int count, int maxLoad, int[] selected) {
+		return toPositions(binIndex.withCount(num, count, maxLoad, selected), selected);
+	}
+
+	/**
+	 * selects a uniform random sample (without replacement) of the bins whose load is
+	 * between the given loads (inclusive). If there are less bins than <code>num</code>,
+	 * all of them are selected.
+	 *
+	 * @param num The maximum number of the selected bins.
+	 * @param minLoad The minimum load of the selected bins.
+	 * @param maxLoad The maximum load of the selected bins.
+	 * @param random The random number generator.
+	 * @param selected The positions of the selected bins (its length must be at least <code>num</code>).
+	 * @return The number of the selected bins.
+	 */
+	public int selectRandom(int num, int minLoad, int maxLoad, Random random, int[] selected) {
+		return toPositions(binIndex.sample(num, minLoad, maxLoad, random, selected), selected);
+	}
+
+	/**
+	 * returns the visited flag of the bin in the given position.
+	 *
+	 * @param position The position of the bin.
+	 * @return True if the bin has been selected for repacking.
+	 */
+	public boolean isVisited(int position) {
+		return visited.get(id(position));
+	}
+
+	/**
+	 * sets the visited flag of the bin in the given position.
+	 *
+	 * @param position The position of the bin.
+	 */
+	public void setVisited(int position) {
+		setFlag(visited, id(position), SET_VISITED);
+	}
+
+	/**
+	 * returns the all flag of the bin in the given position.
+	 *
+	 * @param position The position of the bin.
+	 * @return True if all the items of the bin must be repacked.
+	 */
+	public boolean isAll(int position) {
+		return all.get(id(position));
+	}
+
+	/**
+	 * sets the all flag of the bin in the given position.
+	 *
+	 * @param position The position of the bin.
+	 */
+	public void setAll(int position) {
+		setFlag(all, id(position), SET_ALL);
+	}
+
+	/**
+	 * clears the visited and all flags of all the bins.
+	 */
+	public void clearFlags() {
+		if (journaling) {
+			for (int id = visited.nextSetBit(0); id >= 0; id = visited.nextSetBit(id + 1))
+				log(id, CLEAR_VISITED);
+			for (int id = all.nextSetBit(0); id >= 0; id = all.nextSetBit(id + 1))
+				log(id, CLEAR_ALL);
+		}
+		visited.clear();
+		all.clear();
+	}
+
+	/**
+	 * returns the bins of this state as a list of new <code>Bin</code> objects.
+	 *
+	 * @return The bins of the state.
+	 */
+	public List<Bin> toBins() {
+		List<Bin> bins = new ArrayList<Bin>(size);
+		for (int position = 0; position < size; position++) {
+			int id = order[position];
+			Bin bin = new Bin(capacity);
+			for (int i = 0; i < counts[id]; i++)
+				bin.items.add(pool[offsets[id] + i]);
+			bin.currentSize = loads[id];
+			bins.add(bin);
+		}
+		return bins;
+	}
+
+	/**
+	 * this methods returns a string description of the current
+	 * state of the object.
+	 *
+	 * @return The state of the object.
+	 */
+	public String toString() {
+		StringBuffer state = new StringBuffer();
+		for (Bin bin : toBins())
+			state.append(bin + "\n");
+		return state.toString();
+	}
+
+
+	/**
+	 * returns the id of the bin in the given position.
+	 */
+	private int id(int position) {
+		if (position < 0 || position >= size)
+			throw new IndexOutOfBoundsException("Bin position: " + position + ", Size: " + size);
+		return order[position];
+	}
+
+	/**
+	 * allocates a new empty bin with a segment of the given capacity and returns its id.
+	 */
+	private int newBin(int limit) {
+		if (ids == loads.length) {
+			int length = 2 * loads.length;
+			loads = Arrays.copyOf(loads, length);
+			counts = Arrays.copyOf(counts, length);
+			offsets = Arrays.copyOf(offsets, length);
+			limits = Arrays.copyOf(limits, length);
+			positionOf = Arrays.copyOf(positionOf, length);
+		}
+		int id = ids++;
+		ensurePool(poolSize + limit);
+		loads[id] = 0;
+		counts[id] = 0;
+		offsets[id] = poolSize;
+		limits[id] = limit;
+		poolSize += limit;
+		return id;
+	}
+
+	/**
+	 * replaces the first <code>n</code> bin ids of the given array with the positions of the bins.
+	 */
+	private int toPositions(int n, int[] selected) {
+		for (int i = 0; i < n; i++)
+			selected[i] = positionOf[selected[i]];
+		return n;
+	}
+
+	/**
+	 * adds the bin with the given id at the end of the bins.
+	 */
+	private void append(int id) {
+		if (size == order.length)
+			order = Arrays.copyOf(order, 2 * order.length);
+		positionOf[id] = size;
+		order[size++] = id;
+	}
+
+	/**
+	 * adds the given item at the end of the items of the given bin.
+	 */
+	private void addItem(int id, int item) {
+		if (counts[id] == limits[id])
+			grow(id);
+		unindex(id);
+		pool[offsets[id] + counts[id]++] = item;
+		loads[id] += item;
+		index(id);
+		if (journaling)
+			log(id, item, PUT);
+	}
+
+	/**
+	 * doubles the segment of the given bin (the segment is moved to the end of the pool
+	 * unless it is already there).
+	 */
+	private void grow(int id) {
+		if (journaling)
+			log(id, offsets[id], limits[id], poolSize, GROW);
+		int limit = Math.max(4, 2 * limits[id]);
+		if (offsets[id] + limits[id] == poolSize) {
+			ensurePool(offsets[id] + limit);
+			poolSize = offsets[id] + limit;
+		}
+		else {
+			ensurePool(poolSize + limit);
+			System.arraycopy(pool, offsets[id], pool, poolSize, counts[id]);
+			offsets[id] = poolSize;
+			poolSize += limit;
+		}
+		limits[id] = limit;
+	}
+
+	/**
+	 * adds the given bin to the aggregates and the index.
+	 */
+	private void index(int id) {
+		account(loads[id], 1);
+		binIndex.add(id, loads[id], counts[id]);
+	}
+
+	/**
+	 * removes the given bin from the aggregates and the index.
+	 */
+	private void unindex(int id) {
+		account(loads[id], -1);
+		binIndex.remove(id);
+	}
+
+	/**
+	 * adds (sign 1) or subtracts (sign -1) a bin with the given load to the aggregates.
+	 */
+	private void account(int load, int sign) {
+		totalLoad += sign * load;
+		loadSquares += sign * (long) load * load;
+		if (load >= capacity)
+			fullBins += sign;
+	}
+
+	/**
+	 * sets a flag of the given bin (journaled if it was not set).
+	 */
+	private void setFlag(BitSet flags, int id, int operation) {
+		if (journaling && !flags.get(id))
+			log(id, operation);
+		flags.set(id);
+	}
+
+	/**
+	 * clears a flag of the given bin (journaled if it was set).
+	 */
+	private void clearFlag(BitSet flags, int id, int operation) {
+		if (journaling && flags.get(id))
+			log(id, operation);
+		flags.clear(id);
+	}
+
+	/**
+	 * appends the current order of the bins in the given positions (from inclusive, to exclusive)
+	 * to the undo log.
+	 */
+	private void logOrder(int from, int to) {
+		int length = to - from;
+		ensureJournal(length + 3);
+		System.arraycopy(order, from, journal, journalSize, length);
+		journalSize += length;
+		journal[journalSize++] = from;
+		journal[journalSize++] = length;
+		journal[journalSize++] = ORDER;
+	}
+
+	/**
+	 * appends the positions and the ids of the bins to be removed (in increasing position)
+	 * to the undo log.
+	 */
+	private void logRemoval(BitSet positions) {
+		int removed = 0;
+		for (int position = positions.nextSetBit(0); position >= 0 && position < size; position = positions.nextSetBit(position + 1)) {
+			ensureJournal(2);
+			journal[journalSize++] = position;
+			journal[journalSize++] = order[position];
+			removed++;
+		}
+		log(removed, REMOVE_BINS);
+	}
+
+	/**
+	 * appends an undo record to the undo log (the operation code is the last value).
+	 */
+	private void log(int operation) {
+		ensureJournal(1);
+		journal[journalSize++] = operation;
+	}
+
+	private void log(int a, int operation) {
+		ensureJournal(2);
+		journal[journalSize++] = a;
+		journal[journalSize++] = operation;
+	}
+
+	private void log(int a, int b, int operation) {
+		ensureJournal(3);
+		journal[journalSize++] = a;
+		journal[journalSize++] = b;
+		journal[journalSize++] = operation;
+	}
+
+	private void log(int a, int b, int c, int operation) {
+		ensureJournal(4);
+		journal[journalSize++] = a;
+		journal[journalSize++] = b;
+		journal[journalSize++] = c;
+		journal[journalSize++] = operation;
+	}
+
+	private void log(int a, int b, int c, int d, int operation) {
+		ensureJournal(5);
+		journal[journalSize++] = a;
+		journal[journalSize++] = b;
+		journal[journalSize++] = c;
+		journal[journalSize++] = d;
+		journal[journalSize++] = operation;
+	}
+
+	/**
+	 * makes sure that the undo log can hold <code>length</code> more values.
+	 */
+	private void ensureJournal(int length) {
+		if (journalSize + length > journal.length)
+			journal = Arrays.copyOf(journal, Math.max(journalSize + length, 2 * journal.length));
+	}
+
+	/**
+	 * makes sure that the pool can hold <code>length</code> items.
+	 */
+	private void ensurePool(int length) {
+		if (length > pool.length)
+			pool = Arrays.copyOf(pool, Math.max(length, 2 * pool.length));
+	}
+
+}
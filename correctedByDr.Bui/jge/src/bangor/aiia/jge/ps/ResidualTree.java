@@ -0,0 +1,138 @@
+package bangor.aiia.jge.ps;
+
+import java.util.Arrays;
+
+/**
+ * The class <code>ResidualTree</code> is a segment (tournament) tree over the
+ * residual capacities of a sequence of bins, which is used by the First Fit algorithm.<br>
+ * Each internal node holds the maximum residual capacity of its subtree, so the leftmost
+ * bin into which an item fits is found in O(log m) (see the method <code>first()</code>)
+ * and the residual capacity of a bin is updated in O(log m).
+ * <br><br>
+ * The positions without a bin have no residual capacity (nothing fits into them).
+ * The tree grows automatically when a residual capacity is set beyond its current size.
+ * A <code>ResidualTree</code> object can be reused for many packings but it is not thread safe.
+ */
+public final class ResidualTree {
+
+	/**
+	 * the residual capacity of a position without a bin.
+	 */
+	private static final int NONE = Integer.MIN_VALUE;
+
+	/**
+	 * the nodes of the tree (node 1 is the root and the leaves start from <code>leaves</code>).
+	 */
+	private int[] tree;
+
+	/**
+	 * the number of the leaves of the tree (a power of 2).
+	 */
+	private int leaves;
+
+
+	/**
+	 * creates an empty tree.
+	 */
+	public ResidualTree() {
+		this(16);
+	}
+
+	/**
+	 * creates an empty tree for the given number of bins.
+	 *
+	 * @param capacity The initial number of bins.
+	 */
+	public ResidualTree(int capacity) {
+		leaves = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+		tree = new int[2 * leaves];
+		Arrays.fill(tree, NONE);
+	}
+
+	/**
+	 * replaces the residual capacities of the tree with the residual capacities
+	 * of the bins of the given packing state in O(m).
+	 *
+	 * @param state The packing state.
+	 */
+	public void load(PackingState state) {
+		int size = state.size();
+		clear(size);
+		for (int position = 0; position < size; position++)
+			tree[leaves + position] = state.residual(position);
+		build();
+	}
+
+	/**
+	 * removes all the residual capacities and makes sure that the tree can hold
+	 * the given number of bins without growing.
+	 *
+	 * @param capacity The number of bins.
+	 */
+	public void clear(int capacity) {
+		if (capacity > leaves) {
+			leaves = Integer.highestOneBit(capacity - 1) << 1;
+			tree = new int[2 * leaves];
+		}
+		Arrays.fill(tree, NONE);
+	}
+
+	/**
+	 * sets the residual capacity of the bin in the given position.
+	 *
+	 * @param position The position of the bin.
+	 * @param residual The residual capacity of the bin.
+	 */
+	public void set(int position, int residual) {
+		if (position < 0)
+			throw new IndexOutOfBoundsException("Bin position: " + position);
+		if (position >= leaves)
+			grow(position + 1);
+		int node = leaves + position;
+		tree[node] = residual;
+		for (node >>>= 1; node > 0; node >>>= 1)
+			tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+	}
+
+	/**
+	 * returns the position of the first (leftmost) bin whose residual capacity
+	 * is at least the given item or -1 if the item does not fit into any bin.
+	 *
+	 * @param item The item.
+	 * @return The position of the first bin into which the item fits or -1.
+	 */
+	public int first(int item) {
+		if (tree[1] < item)
+			return -1;
+		int node = 1;
+		while (node < leaves) {
+			node <<= 1;
+			if (tree[node] < item)
+				node++;
+		}
+		return node - leaves;
+	}
+
+
+	/**
+	 * recalculates the internal nodes from the leaves.
+	 */
+	private void build() {
+		for (int node = leaves - 1; node > 0; node--)
+			tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+	}
+
+	/**
+	 * increases the number of the leaves so that the tree can hold the given number of bins.
+	 */
+	private void grow(int capacity) {
+		int old = leaves;
+		int[] residuals = Arrays.copyOfRange(tree, old, 2 * old);
+		leaves = Integer.highestOneBit(capacity - 1) << 1;
+		tree = new int[2 * leaves];
+		Arrays.fill(tree, NONE);
+		System.arraycopy(residuals, 0, tree, leaves, old);
+		build();
+	}
+
+}
@@ -15,53 +15,26 @@ public class WorstFit extends AbstractBinPacking {
 
     @Override
     public List<Bin> getResult() {        
-        for (Integer currentItem : in) {
-            // iterate over bins and try to put the item into the best one it fits into 
-        	//least space available in the bin
-           int BinNumber = bins.size();
-            int worstBin = -1;
-            int worstBinAmount = binSize;
-            for (int i = 0; i < BinNumber; i++){
-            		if(worstBinAmount > bins.get(i).currentSize && (bins.get(i).currentSize + currentItem) <= bins.get(i).maxSize){
-            			worstBinAmount = bins.get(i).currentSize;
-            			worstBin = i;
-            		}
-            }
-            if(worstBin == -1){
-            	Bin newBin = new Bin(binSize);
-                newBin.put(currentItem);
-                bins.add(newBin);
-            }
-            else{
-            	if(!bins.get(worstBin).put(currentItem))
-             	{
-             		//to change : log exception
-             		System.out.println("something went wrong : bin not added");
-             	}
-            }
-           
-        }
-      //  System.out.println("WF Bin Size: " +bins.size());
-        return bins;
+        return addBin(bins);
     }
     
+    /**
+     * puts the items into the emptiest bin they fit into, the first one in case of a tie.
+     * The loads of the bins are kept in a <code>LoadHeap</code>, so the emptiest bin
+     * is found in O(1) and updated in O(log m) instead of scanning the bins.
+     */
     public List<Bin> addBin(List<Bin> targetBin) {      
+         LoadHeap loads = new LoadHeap(targetBin.size() + in.size());
+         for (int i = 0; i < targetBin.size(); i++) {
+             loads.add(i, targetBin.get(i).currentSize);
+         }
          for (Integer currentItem : in) {
-             // iterate over bins and try to put the item into the best one it fits into 
-         	//least space available in the bin
-            int BinNumber = targetBin.size();
-             int worstBin = -1;
-             int worstBinAmount = binSize;
-             for (int i = 0; i < BinNumber; i++){
-             		if(worstBinAmount > targetBin.get(i).currentSize && (targetBin.get(i).currentSize + currentItem) <= binSize){
-             			worstBinAmount = targetBin.get(i).currentSize;
-             			worstBin = i;
-             		}
-             }
+             int worstBin = fits(loads, binSize, currentItem) ? loads.topPosition() : -1;
              if(worstBin == -1){
              	Bin newBin = new Bin(binSize);
                  newBin.put(currentItem);
                  targetBin.add(newBin);
+                 loads.add(targetBin.size() - 1, newBin.currentSize);
              }
              else{
             	 if(!targetBin.get(worstBin).put(currentItem))
@@ -69,11 +42,69 @@ public class WorstFit extends AbstractBinPacking {
              		//to change : log exception
              		System.out.println("something went wrong : bin not added");
              	}
+                 loads.updateTop(targetBin.get(worstBin).currentSize);
              }
             
          }
       //   System.out.println("WF TargetBin Size: " +targetBin.size());
          return targetBin;
      }
+
+    @Override
+    protected void pack(PackingState state, int[] items, int from, int to) {
+        worstFit(state, items, from, to);
+    }
+
+    /**
+     * puts the items <code>[from, to)</code> into the emptiest bin of the state
+     * they fit into, the first one in case of a tie (same packing as <code>addBin(List)</code>).
+     *
+     * @param state the bins to which the items are added.
+     * @param items the items.
+     * @param from the first item (inclusive).
+     * @param to the last item (exclusive).
+     */
+    public static void worstFit(PackingState state, int[] items, int from, int to) {
+        worstFit(state, items, from, to, new LoadHeap(state.size() + to - from));
+    }
+
+    /**
+     * puts the items <code>[from, to)</code> into the emptiest bin of the state
+     * they fit into, using the given heap (which is reloaded from the state)
+     * to find the emptiest bin.
+     *
+     * @param state the bins to which the items are added.
+     * @param items the items.
+     * @param from the first item (inclusive).
+     * @param to the last item (exclusive).
+     * @param loads the heap of the loads to be used.
+     */
+    public static void worstFit(PackingState state, int[] items, int from, int to, LoadHeap loads) {
+        int binSize = state.capacity();
+        loads.load(state);
+        for (int t = from; t < to; t++) {
+            int currentItem = items[t];
+            if (fits(loads, binSize, currentItem)) {
+                int worstBin = loads.topPosition();
+                state.put(worstBin, currentItem);
+                loads.updateTop(state.load(worstBin));
+            } else {
+                int newBin = state.openBin(currentItem);
+                loads.add(newBin, state.load(newBin));
+            }
+        }
+    }
+
+    /**
+     * returns true if the item fits into the emptiest bin. If it does not fit, it does not fit
+     * into any other bin either. A full bin is never chosen.
+     */
+    private static boolean fits(LoadHeap loads, int binSize, int item) {
+        if (loads.size() == 0) {
+            return false;
+        }
+        int load = loads.topLoad();
+        return load < binSize && load + item <= binSize;
+    }
     
 }
@@ -22,9 +22,13 @@
 
 package bangor.aiia.jge.util;
 
+import java.util.Random;
+
 /**
  * The class <code>MathUtil</code> is a utility class which provides
- * a collection of useful Mathematical functions.
+ * a collection of useful Mathematical functions.<br>
+ * The random functions without a <code>Random</code> argument use the random number
+ * generator of the calling thread (see the method <code>random()</code>).
  * 
  * @author 	Loukas Georgiou 
  * @version	1.0, 08/04/06
@@ -32,6 +36,34 @@ package bangor.aiia.jge.util;
  */
 public class MathUtil {
 	
+	/**
+	 * The generator which is split into the generators of the threads.
+	 */
+	private static final SplitMixRandom root = new SplitMixRandom();
+	
+	/**
+	 * The random number generator of each thread.
+	 */
+	private static final ThreadLocal<SplitMixRandom> generators = new ThreadLocal<SplitMixRandom>() {
+		protected SplitMixRandom initialValue() {
+			synchronized (root) {
+				return root.split();
+			}
+		}
+	};
+	
+	/**
+	 * Returns the random number generator of the calling thread.<br>
+	 * Each thread has its own generator (split from a common generator), so the
+	 * threads do not contend for one generator as with <code>Math.random()</code>.
+	 * The generator must not be passed to other threads.
+	 * 
+	 * @return The random number generator of the calling thread.
+	 */
+	public static Random random() {
+		return generators.get();
+	}
+	
 	/**
 	 * Inverts the boolean input (true, false).<br>
 	 * Namely, if the input is <code>true</code> returns <code>false</code>
@@ -83,7 +115,20 @@ public class MathUtil {
 	 * 		   otherwise <code>false</code>.
 	 */
 	public static boolean flip(double prob) {
-		if (prob >= 1.0 || Math.random() < prob)
+		return flip(prob, generators.get());
+	}
+	
+	/**
+	 * Returns <code>true</code> with probability <code>prob</code>,
+	 * otherwise returns <code>false</code>.
+	 * 
+	 * @param prob The probability to return <code>true</code>.
+	 * @param random The random number generator.
+	 * @return <code>true</code> with probability <code>prob</code>, 
+	 * 		   otherwise <code>false</code>.
+	 */
+	public static boolean flip(double prob, Random random) {
+		if (prob >= 1.0 || random.nextDouble() < prob)
 			return true;
 		else 
 			return false;	
@@ -98,7 +143,20 @@ public class MathUtil {
 	 * 		   otherwise <code>'0'</code>.
 	 */
 	public static char flipBinaryChar(double prob) {
-		if (flip(prob)) return '1';
+		return flipBinaryChar(prob, generators.get());
+	}
+	
+	/**
+	 * Returns <code>'1'</code> with probability <code>prob</code>,
+	 * otherwise returns <code>'0'</code>.
+	 * 
+	 * @param prob The probability to return <code>'1'</code>.
+	 * @param random The random number generator.
+	 * @return <code>'1'</code> with probability <code>prob</code>, 
+	 * 		   otherwise <code>'0'</code>.
+	 */
+	public static char flipBinaryChar(double prob, Random random) {
+		if (flip(prob, random)) return '1';
 		else return '0';
 	}
 	
@@ -111,7 +169,20 @@ public class MathUtil {
 	 * 		   otherwise <code>0</code>.
 	 */
 	public static int flipBinaryInt(double prob) {
-		if (flip(prob)) return 1;
+		return flipBinaryInt(prob, generators.get());
+	}
+	
+	/**
+	 * Returns <code>1</code> with probability <code>prob</code>,
+	 * otherwise returns <code>0</code>.
+	 * 
+	 * @param prob The probability to return <code>1</code>.
+	 * @param random The random number generator.
+	 * @return <code>1</code> with probability <code>prob</code>, 
+	 * 		   otherwise <code>0</code>.
+	 */
+	public static int flipBinaryInt(double prob, Random random) {
+		if (flip(prob, random)) return 1;
 		else return 0;		
 	}
 	
@@ -120,14 +191,28 @@ public class MathUtil {
 	 * and less than <code>high</code>.<br>
 	 * Note: <code>low</code> limit is inclusive and <code>high</code> limit is exclusive.<br>
 	 * The formula used in this method is:<br>
-	 * <code>randomDouble = Math.random() * (high - low) + low; (low: Inclusive, high: Exclusive)</code>
+	 * <code>randomDouble = random.nextDouble() * (high - low) + low; (low: Inclusive, high: Exclusive)</code>
 	 * 	
 	 * @param low The low limit of the result (inclusive).
 	 * @param high The high limit of the result (exclusive).
 	 * @return The random number in the given range.
 	 */
 	public static double randomDouble(double low, double high) {
-		return Math.random() * (high - low) + low;
+		return randomDouble(low, high, generators.get());
+	}
+	
+	/**
+	 * Returns a double value with a positive sign, greater than or equal to <code>low</code> 
+	 * and less than <code>high</code>.
+	 * 
+	 * @see MathUtil#randomDouble(double, double)
+	 * @param low The low limit of the result (inclusive).
+	 * @param high The high limit of the result (exclusive).
+	 * @param random The random number generator.
+	 * @return The random number in the given range.
+	 */
+	public static double randomDouble(double low, double high, Random random) {
+		return random.nextDouble() * (high - low) + low;
 	}
 		
 	/**
@@ -135,14 +220,28 @@ public class MathUtil {
 	 * and less than or equal to <code>high</code>.<br>
 	 * Note: <code>low</code> limit is inclusive and <code>high</code> limit is also inclusive.<br>
 	 * The formula used in this method is:<br>
-	 * <code>randomInteger = (int) (Math.random() * (high + 1 - low)) + low; (low: Inclusive, high: Inclusive)</code>
+	 * <code>randomInteger = (int) (random.nextDouble() * (high + 1 - low)) + low; (low: Inclusive, high: Inclusive)</code>
 	 * 
 	 * @param low The low limit of the result (inclusive).
 	 * @param high The high limit of the result (inclusive).
 	 * @return The random number in the given range.
 	 */
 	public static int randomInteger(int low, int high) {
-		return (int) (Math.random() * (high + 1 - low)) + low;
+		return randomInteger(low, high, generators.get());
+	}
+	
+	/**
+	 * Returns an integer value with a positive sign, greater than or equal to <code>low</code> 
+	 * and less than or equal to <code>high</code>.
+	 * 
+	 * @see MathUtil#randomInteger(int, int)
+	 * @param low The low limit of the result (inclusive).
+	 * @param high The high limit of the result (inclusive).
+	 * @param random The random number generator.
+	 * @return The random number in the given range.
+	 */
+	public static int randomInteger(int low, int high, Random random) {
+		return (int) (random.nextDouble() * (high + 1 - low)) + low;
 	}
 	
 
@@ -0,0 +1,53 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bangor.aiia.jge.util;
+
+/**
+ * The <code>RandomSource</code> interface is implemented by the components
+ * (e.g. the evaluators) whose random numbers are generated from a seed.<br>
+ * A component with the same seed generates the same random numbers, so the
+ * Grammatical Evolution sets the seed of its evaluator (see the method
+ * <code>GrammaticalEvolution.setSeed()</code>) and a run can be reproduced from one seed.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	SplitMixRandom
+ * @since	JavaGE 0.1
+ */
+public interface RandomSource {
+
+	/**
+	 * Returns the seed of the random numbers of the component.
+	 *
+	 * @return The seed.
+	 */
+	public long getSeed();
+
+	/**
+	 * Sets the seed of the random numbers of the component.
+	 *
+	 * @param seed The seed.
+	 */
+	public void setSeed(long seed);
+
+}
@@ -0,0 +1,232 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bangor.aiia.jge.util;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The class <code>SplitMixRandom</code> is a splittable pseudo random number generator
+ * (the SplitMix64 algorithm of <code>java.util.SplittableRandom</code> of Java 8)
+ * which can be used wherever a <code>java.util.Random</code> is expected.<br>
+ * The method <code>split()</code> returns a new generator whose stream of numbers is
+ * statistically independent of the stream of this generator, so one seed can be split into
+ * separate streams, for example, one stream per thread or one stream per run.
+ * <br><br>
+ * Unlike <code>java.util.Random</code>, a <code>SplitMixRandom</code> object is not thread safe:
+ * it must be used by one thread at a time (use <code>split()</code> to create a generator
+ * for each thread). In return, a number is generated without any synchronisation.
+ * The numbers generated for a given seed are always the same.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	MathUtil
+ * @since	JavaGE 0.1
+ */
+public class SplitMixRandom extends Random {
+
+	private static final long serialVersionUID = 2471409235046284731L;
+
+	/**
+	 * The odd increment of the seed of the default generator (the golden ratio).
+	 */
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	/**
+	 * The seed of the next generator which is created without a seed.
+	 */
+	private static final AtomicLong defaultSeed = new AtomicLong(mix64(System.currentTimeMillis()) ^ mix64(System.nanoTime()));
+
+	/**
+	 * The current seed (it is increased by <code>gamma</code> for each number).
+	 */
+	private long seed;
+
+	/**
+	 * The increment of the seed (an odd number).
+	 */
+	private long gamma;
+
+
+	/**
+	 * Creates a generator with a seed which is different from the seed
+	 * of every other generator created with this constructor.
+	 */
+	public SplitMixRandom() {
+		this(0L, GOLDEN_GAMMA);
+		long s = defaultSeed.getAndAdd(2 * GOLDEN_GAMMA);
+		seed = mix64(s);
+		gamma = mixGamma(s + GOLDEN_GAMMA);
+	}
+
+	/**
+	 * Creates a generator with the given seed.
+	 *
+	 * @param seed The seed of the generator.
+	 */
+	public SplitMixRandom(long seed) {
+		this(seed, GOLDEN_GAMMA);
+	}
+
+	/**
+	 * SplitMixRandom constructor.
+	 */
+	private SplitMixRandom(long seed, long gamma) {
+		super(0L);
+		this.seed = seed;
+		this.gamma = gamma;
+	}
+
+	/**
+	 * Returns a new generator which shares no state with this generator.
+	 * The stream of the new generator depends only on the current state of this generator,
+	 * so a generator with a given seed is always split into the same generators.
+	 *
+	 * @return The new generator.
+	 */
+	public SplitMixRandom split() {
+		return new SplitMixRandom(nextLong(), mixGamma(nextSeed()));
+	}
+
+	/**
+	 * Sets the seed of this generator. The generator produces the same numbers
+	 * as a new generator created with the given seed.
+	 *
+	 * @param seed The seed of the generator.
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+		this.gamma = GOLDEN_GAMMA;
+	}
+
+	/**
+	 * Returns a pseudo random <code>long</code> value.
+	 *
+	 * @return The random number.
+	 */
+	public long nextLong() {
+		return mix64(nextSeed());
+	}
+
+	/**
+	 * Returns a pseudo random <code>int</code> value.
+	 *
+	 * @return The random number.
+	 */
+	public int nextInt() {
+		return mix32(nextSeed());
+	}
+
+	/**
+	 * Returns a pseudo random <code>int</code> value between 0 (inclusive)
+	 * and <code>bound</code> (exclusive).
+	 *
+	 * @param bound The upper limit of the result (exclusive and greater than 0).
+	 * @return The random number.
+	 * @throws IllegalArgumentException If the bound is not greater than 0.
+	 */
+	public int nextInt(int bound) {
+		if (bound <= 0)
+			throw new IllegalArgumentException("bound must be positive: " + bound);
+		int r = mix32(nextSeed());
+		int m = bound - 1;
+		if ((bound & m) == 0)
+			return r & m;
+		for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(nextSeed()) >>> 1)
+			;
+		return r;
+	}
+
+	/**
+	 * Returns a pseudo random <code>double</code> value between 0.0 (inclusive) and 1.0 (exclusive).
+	 *
+	 * @return The random number.
+	 */
+	public double nextDouble() {
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * Returns a pseudo random <code>boolean</code> value.
+	 *
+	 * @return The random value.
+	 */
+	public boolean nextBoolean() {
+		return mix32(nextSeed()) < 0;
+	}
+
+	/**
+	 * This methods returns a string description of the current
+	 * state of the object.
+	 *
+	 * @return The state of the object.
+	 */
+	public String toString() {
+		return "SplitMixRandom[seed=" + seed + ", gamma=" + gamma + "]";
+	}
+
+
+	/**
+	 * Generates the given number of random bits (all the methods of
+	 * <code>java.util.Random</code> which are not overridden use this method).
+	 */
+	protected int next(int bits) {
+		return mix32(nextSeed()) >>> (32 - bits);
+	}
+
+	/**
+	 * Advances the seed.
+	 */
+	private long nextSeed() {
+		return seed += gamma;
+	}
+
+	/**
+	 * The 64 bit finaliser of the MurmurHash3 variant 13.
+	 */
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * The 32 high bits of the MurmurHash3 variant 4.
+	 */
+	private static int mix32(long z) {
+		z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+		return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+	}
+
+	/**
+	 * Returns an odd gamma with enough bit transitions.
+	 */
+	private static long mixGamma(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		int n = Long.bitCount(z ^ (z >>> 1));
+		return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+	}
+
+}
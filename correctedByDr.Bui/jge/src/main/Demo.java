@@ -17,10 +17,10 @@ import bangor.aiia.jge.bnf.BNFGrammar;
 import bangor.aiia.jge.bnf.BNFParser;
 import bangor.aiia.jge.bnf.InvalidBNFException;
 import bangor.aiia.jge.core.GrammaticalEvolution;
+import bangor.aiia.jge.population.BinaryGenome;
 import bangor.aiia.jge.population.Individual;
-import bangor.aiia.jge.ps.Bin;
 import bangor.aiia.jge.ps.DemoD;
-import bangor.aiia.jge.ps.FirstFit;
+import bangor.aiia.jge.ps.PackingInstance;
 import bangor.aiia.jge.util.ConfigurationSettings;
 import bangor.aiia.jge.util.LogFile;
 
@@ -29,13 +29,12 @@ public class Demo {
 	static String bnf1 = null;
 	static String rootPath = ConfigurationSettings.getInstance().getRootPath();
 
-	public static Individual<String, String> hdExperiment(List<Bin> newobj,
-			int min_elem, int max_elem, double average_elem, int size)
+	public static Individual<BinaryGenome, String> hdExperiment(PackingInstance instance)
 			throws InvalidBNFException, IOException {
 		bnf1 = BNFParser.loadBNFGrammar(rootPath + "/bnf/HDGrammar11.bnf");
-		Individual<String, String> solution = null;
+		Individual<BinaryGenome, String> solution = null;
 		LogFile log = null;
-		DemoD hd = new DemoD(newobj, min_elem, max_elem, average_elem, size);
+		DemoD hd = new DemoD(instance);
 		BNFGrammar bnf = new BNFGrammar(bnf1);
 		System.out.println(bnf);
 		GrammaticalEvolution ea = new GrammaticalEvolution(bnf, hd, 50, 8, 10,
@@ -45,6 +44,7 @@ public class Demo {
 		ea.setDuplicationRate(0.01);
 		ea.setPruningRate(0.01);
 		ea.setMaxGenerations(50);
+		ea.setEnvironment(instance);
 		ea.setLogger(log);
 		/*File file = new File("30RunFile.txt");
 		if (!file.exists()) {
@@ -70,17 +70,6 @@ public class Demo {
 		return solution;
 	}
 
-	private static double calculateAverage(List<Integer> in) {
-		Integer sum = 0;
-		if (!in.isEmpty()) {
-			for (Integer el : in) {
-				sum += el;
-			}
-			return sum.doubleValue() / in.size();
-		}
-		return sum;
-	}
-
 	public static void main(String[] args) throws Exception {
 		String[] content = null;
 		Scanner kb = new Scanner(System.in);
@@ -90,7 +79,7 @@ public class Demo {
 				+ "/jge/src/bangor/aiia/jge/ps/" + filename);
 		BufferedReader reader = new BufferedReader(new InputStreamReader(input));
 		
-		//Individual<String, String> obj = new Individual<String, String>();
+		//Individual<BinaryGenome, String> obj = new Individual<BinaryGenome, String>();
 		List<List<Integer>> group = null;
 		int[] size = null;
 		String line, t;
@@ -157,12 +146,11 @@ public class Demo {
 		FileWriter fw = new FileWriter(file.getAbsoluteFile(), true);
 		for (int b = 0; b < group.size(); b++) {
 			//for (int a = 0; a < 30; a++) {
-			Individual<String, String> obj = new Individual<String, String>();
+			Individual<BinaryGenome, String> obj = new Individual<BinaryGenome, String>();
 			int temp = 0;
 			//int best_sol = Integer.MAX_VALUE;
-			int min_elem = Collections.min(group.get(b));
-			int max_elem = Collections.max(group.get(b));
-			double average_elem = calculateAverage(group.get(b));
+			// the instance (statistics, lower bounds) is built once and shared by the runs
+			PackingInstance instance = new PackingInstance(content[b], group.get(b), size[b]);
 			//Collections.sort(group.get(b), Collections.reverseOrder());
 			//FirstFit ff = new FirstFit(group.get(b), size[b]);
 			//List<Bin> newobj = new ArrayList<Bin>();
@@ -170,12 +158,11 @@ public class Demo {
 			fw.write("\r \n Solution for " + content[b] + ": ");
 			for (int a = 0; a < 30; a++) {
 				
-				FirstFit ff = new FirstFit(group.get(b), size[b]);
-				List<Bin> newobj = new ArrayList<Bin>();
-				newobj = ff.getResult();
+				// the initial First Fit packing of the current order of the items
+				PackingInstance run = instance.withItemOrder(group.get(b));
 				
-				// bw1.write("\n First Fit " + ":" + newobj.size());
-				obj = hdExperiment(newobj, min_elem, max_elem, average_elem,size[b]);
+				// bw1.write("\n First Fit " + ":" + run.getInitialBins());
+				obj = hdExperiment(run);
 				
 				temp = obj.getNumberBins();
 				Collections.shuffle(group.get(b));
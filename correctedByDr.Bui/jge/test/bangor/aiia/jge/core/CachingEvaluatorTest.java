@@ -0,0 +1,275 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bangor.aiia.jge.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import bangor.aiia.jge.population.Genotype;
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Phenotype;
+import bangor.aiia.jge.population.Population;
+
+/**
+ * Tests the hits, the misses and the evictions of the <code>CachingEvaluator</code>, the
+ * evaluation of the repeated phenotypes of a population, the invalid evaluations which are
+ * not cached and the fitness values which are copied from the cache to the individuals.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	CachingEvaluator
+ * @since	JavaGE 0.1
+ */
+public class CachingEvaluatorTest {
+
+	@Test
+	public void hitsAndMisses() {
+		CountingEvaluator counting = new CountingEvaluator();
+		CachingEvaluator<String, String> cache = new CachingEvaluator<String, String>(counting, 10);
+
+		Population<String, String> population = population("a", "b", "c");
+		cache.evaluate(population);
+		assertEquals(0, cache.getHits());
+		assertEquals(3, cache.getMisses());
+		assertEquals(3, cache.size());
+		assertFitness(population);
+
+		population = population("c", "a", "d");
+		cache.evaluate(population);
+		assertEquals(2, cache.getHits());
+		assertEquals(4, cache.getMisses());
+		assertEquals(2.0 / 6.0, cache.getHitRate(), 1e-12);
+		assertFitness(population);
+		// Only the new phenotype was evaluated again
+		assertEquals(1, counting.count("a"));
+		assertEquals(1, counting.count("d"));
+		assertEquals(4, counting.total());
+	}
+
+	@Test
+	public void leastRecentlyUsedEviction() {
+		CountingEvaluator counting = new CountingEvaluator();
+		CachingEvaluator<String, String> cache = new CachingEvaluator<String, String>(counting, 2);
+
+		cache.evaluate(population("a"));
+		cache.evaluate(population("b"));
+		// The access makes "b" the least recently used phenotype
+		cache.evaluate(population("a"));
+		cache.evaluate(population("c"));
+		assertEquals(1, cache.getEvictions());
+		assertEquals(2, cache.size());
+
+		cache.evaluate(population("a"));
+		assertEquals(1, counting.count("a"));
+		cache.evaluate(population("b"));
+		assertEquals(2, counting.count("b"));
+		assertEquals(2, cache.getEvictions());
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void repeatedPhenotypesOfABatch() {
+		CountingEvaluator counting = new CountingEvaluator();
+		CachingEvaluator<String, String> cache = new CachingEvaluator<String, String>(counting, 10);
+
+		Population<String, String> population = population("x", "x", "y", "x");
+		cache.evaluate(population);
+		assertFitness(population);
+		// Each phenotype is evaluated once and its repetitions are hits
+		assertEquals(1, counting.count("x"));
+		assertEquals(1, counting.count("y"));
+		assertEquals(2, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void invalidIndividualsAreNotCached() {
+		CountingEvaluator counting = new CountingEvaluator();
+		CachingEvaluator<String, String> cache = new CachingEvaluator<String, String>(counting, 10);
+
+		Population<String, String> population = population("a", "b");
+		// The phenotype of the second individual could not be mapped
+		population.getIndividual(1).setValid(false);
+		cache.evaluate(population);
+		cache.evaluate(population);
+		assertEquals(2, counting.count("b"));
+		assertEquals(1, counting.count("a"));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void invalidEvaluationsAreNotCached() {
+		CountingEvaluator counting = new CountingEvaluator();
+		CachingEvaluator<String, String> cache = new CachingEvaluator<String, String>(counting, 10);
+
+		// The first evaluation of "x" is invalid (e.g. it was not finished in time)
+		counting.fail("x", 1);
+		Population<String, String> population = population("x", "y", "x", "x");
+		cache.evaluate(population);
+		assertFalse(population.getIndividual(0).isValid());
+		// The repetitions of "x" are evaluated in a second sub-population and cached
+		assertEquals(3, counting.count("x"));
+		for (int i = 1; i < population.size(); i++)
+			assertFitness(population.getIndividual(i));
+		assertEquals(0, cache.getHits());
+		assertEquals(4, cache.getMisses());
+		assertEquals(2, cache.size());
+
+		population = population("x", "x");
+		cache.evaluate(population);
+		assertFitness(population);
+		assertEquals(3, counting.count("x"));
+		assertEquals(2, cache.getHits());
+
+		// An invalid evaluation of the only individual of a phenotype is not cached
+		counting.fail("z", 1);
+		cache.evaluate(population("z"));
+		assertEquals(2, cache.size());
+		population = population("z");
+		cache.evaluate(population);
+		assertFitness(population);
+		assertEquals(2, counting.count("z"));
+		assertEquals(3, cache.size());
+	}
+
+	@Test
+	public void seedIsPartOfTheKey() {
+		CountingEvaluator counting = new CountingEvaluator();
+		CachingEvaluator<String, String> cache = new CachingEvaluator<String, String>(counting, 10);
+
+		cache.evaluate(population("a"));
+		cache.setSeed(7L);
+		cache.evaluate(population("a"));
+		assertEquals(2, counting.count("a"));
+		cache.setSeed(0L);
+		cache.evaluate(population("a"));
+		assertEquals(2, counting.count("a"));
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHits());
+		assertEquals(0, cache.getMisses());
+	}
+
+	@Test
+	public void concurrentEvaluatorIsKept() {
+		assertFalse(CachingEvaluator.cache(new CountingEvaluator(), 4) instanceof ConcurrentEvaluator);
+		ConcurrentEvaluator<String, String> concurrent = new ConcurrentEvaluator<String, String>() {
+			public void evaluate(Population<String, String> population) {
+			}
+		};
+		assertTrue(CachingEvaluator.cache(concurrent, 4) instanceof ConcurrentEvaluator);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void emptyCache() {
+		new CachingEvaluator<String, String>(new CountingEvaluator(), 0);
+	}
+
+
+	/**
+	 * Checks the fitness values (the length of the phenotype) of the individuals.
+	 */
+	private static void assertFitness(Population<String, String> population) {
+		for (int i = 0; i < population.size(); i++)
+			assertFitness(population.getIndividual(i));
+	}
+
+	private static void assertFitness(Individual<String, String> individual) {
+		assertTrue(individual.isValid());
+		assertEquals(fitness(individual.getPhenotype().value()), individual.rawFitness(), 0.0);
+		assertEquals(individual.getPhenotype().value().length(), individual.numBins());
+	}
+
+	private static double fitness(String phenotype) {
+		return 1.0 / (1 + phenotype.hashCode() % 100);
+	}
+
+	/**
+	 * A population of mapped (valid) individuals with the given phenotypes.
+	 */
+	private static Population<String, String> population(String... phenotypes) {
+		ArrayList<Individual<String, String>> individuals = new ArrayList<Individual<String, String>>();
+		for (String phenotype : phenotypes) {
+			Individual<String, String> individual = new Individual<String, String>(new Genotype<String>("0"), new Phenotype<String>(phenotype));
+			individual.setValid(true);
+			individuals.add(individual);
+		}
+		return new Population<String, String>(individuals);
+	}
+
+	/**
+	 * Counts the evaluations of each phenotype and invalidates the given number of
+	 * evaluations of a phenotype.
+	 */
+	private static class CountingEvaluator implements Evaluator<String, String> {
+
+		private final Map<String, Integer> counts = new HashMap<String, Integer>();
+
+		private final Map<String, Integer> failures = new HashMap<String, Integer>();
+
+		public void evaluate(Population<String, String> population) {
+			for (int i = 0; i < population.size(); i++) {
+				Individual<String, String> individual = population.getIndividual(i);
+				String phenotype = individual.getPhenotype().value();
+				counts.put(phenotype, count(phenotype) + 1);
+				Integer failure = failures.get(phenotype);
+				if (failure != null && failure > 0) {
+					failures.put(phenotype, failure - 1);
+					individual.setValid(false);
+				}
+				if (individual.isValid()) {
+					individual.setRawFitnessValue(fitness(phenotype));
+					individual.setNumberBins(phenotype.length());
+				}
+			}
+		}
+
+		void fail(String phenotype, int evaluations) {
+			failures.put(phenotype, evaluations);
+		}
+
+		int count(String phenotype) {
+			Integer count = counts.get(phenotype);
+			return (count == null) ? 0 : count;
+		}
+
+		int total() {
+			int total = 0;
+			for (int count : counts.values())
+				total += count;
+			return total;
+		}
+
+	}
+
+}
@@ -0,0 +1,254 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bangor.aiia.jge.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import bangor.aiia.jge.bnf.BNFGrammar;
+import bangor.aiia.jge.bnf.BNFProduction;
+import bangor.aiia.jge.bnf.BNFRule;
+import bangor.aiia.jge.bnf.BNFSymbol;
+import bangor.aiia.jge.population.BinaryGenome;
+
+/**
+ * Tests the <code>GEMapper</code> against the original string based mapping algorithm
+ * of Grammatical Evolution (the working list of symbols which is expanded from left to right),
+ * with the bin packing heuristics grammar (<code>HDGrammar11.bnf</code>), for genomes which
+ * are mapped with and without wrapping, and by many threads which share one mapper.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	GEMapper
+ * @since	JavaGE 0.1
+ */
+public class GEMapperTest {
+
+	// The grammar of the bin packing heuristics (HDGrammar11.bnf)
+	private static final String GRAMMAR =
+		"<phenotype> ::= <choosebins> <repack>\n" +
+		"<choosebins> ::= <type>|<type> <choosebins>\n" +
+		"<type> ::= highest_filled=<num>,<ignore>,<remove>|lowest_filled=<num>,<ignore>,<remove>|random_bins=<num>,<ignore>,<remove>|gap_less_than=<num>,<threshold>,<ignore>,<remove>|num_of_pieces=<num>,<numpieces>,<ignore>,<remove>\n" +
+		"<num> ::= 2|5|10|20|50\n" +
+		"<threshold> ::= average|minimum|maximum\n" +
+		"<numpieces> ::= 1|2|3|4|5|6\n" +
+		"<ignore> ::= 0.995|0.997|0.999|1.0|1.1\n" +
+		"<remove> ::= ALL|ONE\n" +
+		"<repack> ::= best-fit-decreasing|worst-fit-decreasing|first-fit-decreasing\n";
+
+	private static final int CODON_SIZE = 8;
+
+	private final BNFGrammar grammar = new BNFGrammar(GRAMMAR);
+
+	private final Random random = new Random(20261018L);
+
+
+	@Test
+	public void mappingWithoutWraps() {
+		GEMapper mapper = new GEMapper(grammar, CODON_SIZE, 0);
+		int valid = 0;
+		for (int i = 0; i < 5000; i++) {
+			BinaryGenome genome = randomGenome(1 + random.nextInt(60));
+			Expected expected = expected(genome, 0);
+			assertMapping(expected, mapper.map(genome));
+			if (expected.phenotype != null) {
+				assertEquals(0, expected.wraps);
+				valid++;
+			}
+		}
+		assertTrue(valid > 0);
+	}
+
+	@Test
+	public void mappingWithWraps() {
+		GEMapper mapper = new GEMapper(grammar, CODON_SIZE, 10);
+		int wrapped = 0;
+		int invalid = 0;
+		for (int i = 0; i < 5000; i++) {
+			// Short genomes, so most of them are wrapped
+			BinaryGenome genome = randomGenome(1 + random.nextInt(8));
+			Expected expected = expected(genome, 10);
+			assertMapping(expected, mapper.map(genome));
+			if (expected.phenotype == null)
+				invalid++;
+			else if (expected.wraps > 0)
+				wrapped++;
+		}
+		assertTrue(wrapped > 0);
+		assertTrue(invalid > 0);
+	}
+
+	@Test
+	public void mappingOfPartialCodons() {
+		GEMapper mapper = new GEMapper(grammar, CODON_SIZE, 3);
+		for (int i = 0; i < 2000; i++) {
+			// The last codon has less than CODON_SIZE bits
+			BinaryGenome genome = randomGenome(1 + random.nextInt(200));
+			assertMapping(expected(genome, 3), mapper.map(genome));
+		}
+	}
+
+	@Test
+	public void concurrentMapping() throws Exception {
+		// One mapper is shared by all the threads
+		final GEMapper mapper = new GEMapper(grammar, CODON_SIZE, 2);
+		final BinaryGenome[] genomes = new BinaryGenome[2000];
+		final Expected[] expected = new Expected[genomes.length];
+		for (int i = 0; i < genomes.length; i++) {
+			genomes[i] = randomGenome(1 + random.nextInt(40));
+			expected[i] = expected(genomes[i], 2);
+		}
+
+		int threads = 4;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<MappingResult[]>> futures = new ArrayList<Future<MappingResult[]>>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(pool.submit(new Callable<MappingResult[]>() {
+					public MappingResult[] call() {
+						MappingResult[] results = new MappingResult[genomes.length];
+						for (int i = 0; i < genomes.length; i++)
+							results[i] = mapper.map(genomes[i]);
+						return results;
+					}
+				}));
+			}
+			for (Future<MappingResult[]> future : futures) {
+				MappingResult[] results = future.get();
+				for (int i = 0; i < genomes.length; i++)
+					assertMapping(expected[i], results[i]);
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+
+	/**
+	 * Checks the mapping result against the expected mapping.
+	 */
+	private static void assertMapping(Expected expected, MappingResult result) {
+		if (expected.phenotype == null) {
+			assertFalse(result.isValid());
+			return;
+		}
+		assertTrue(result.isValid());
+		assertEquals(expected.phenotype, result.getPhenotype());
+		assertEquals(expected.codonIndex, result.getLastCodonIndex());
+		assertEquals(expected.wraps, result.getWraps());
+	}
+
+	/**
+	 * The mapping of the genome by the original algorithm of the string genomes.
+	 */
+	private Expected expected(BinaryGenome genome, int maxWraps) {
+
+		String dna = genome.toString();
+		int codonsNum = (int) Math.ceil((double) dna.length() / (double) CODON_SIZE);
+		int[] rna = new int[codonsNum];
+		for (int i = 0; i < codonsNum; i++) {
+			int start = i * CODON_SIZE;
+			int end = Math.min(start + CODON_SIZE, dna.length());
+			rna[i] = Integer.parseInt(dna.substring(start, end), 2);
+		}
+
+		Expected expected = new Expected();
+		expected.codonIndex = -1;
+		LinkedList<BNFSymbol> working = new LinkedList<BNFSymbol>();
+		working.add(grammar.getStartSymbol());
+		int currentIndex = 0;
+		while (currentIndex < working.size()) {
+			BNFSymbol symbol = working.get(currentIndex);
+			if (symbol.isTerminal()) {
+				currentIndex++;
+				continue;
+			}
+			BNFRule rule = grammar.getRule(symbol);
+			if (rule == null || rule.count() == 0)
+				return invalid();
+			BNFProduction[] production = rule.getProductions();
+			BNFSymbol[] symbols;
+			if (rule.count() == 1) {
+				symbols = production[0].getSymbols();
+				for (BNFSymbol s : symbols)
+					if (s.getValue().equals(symbol.getValue()))
+						return invalid();
+			}
+			else {
+				expected.codonIndex++;
+				if (expected.codonIndex == rna.length) {
+					expected.codonIndex = 0;
+					expected.wraps++;
+				}
+				if (expected.wraps > maxWraps)
+					return invalid();
+				symbols = production[rna[expected.codonIndex] % rule.count()].getSymbols();
+			}
+			working.remove(currentIndex);
+			for (int i = symbols.length - 1; i >= 0; i--)
+				working.add(currentIndex, symbols[i]);
+		}
+
+		StringBuilder phenotype = new StringBuilder();
+		for (BNFSymbol symbol : working)
+			phenotype.append(symbol.getValue());
+		expected.phenotype = phenotype.toString();
+		return expected;
+
+	}
+
+	private static Expected invalid() {
+		return new Expected();
+	}
+
+	private BinaryGenome randomGenome(int length) {
+		StringBuilder bits = new StringBuilder(length);
+		for (int i = 0; i < length; i++)
+			bits.append(random.nextBoolean() ? '1' : '0');
+		return BinaryGenome.valueOf(bits);
+	}
+
+	/**
+	 * The expected result of a mapping (the phenotype is null if it is invalid).
+	 */
+	private static class Expected {
+		String phenotype;
+		int codonIndex;
+		int wraps;
+	}
+
+}
@@ -0,0 +1,150 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bangor.aiia.jge.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import bangor.aiia.jge.bnf.BNFGrammar;
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Population;
+import bangor.aiia.jge.ps.DemoD;
+import bangor.aiia.jge.ps.PackingInstance;
+
+/**
+ * Tests that the runs of the Grammatical Evolution with the same seed give the same
+ * population and solution, for any parallelism and fitness cache setting, with the
+ * bin packing heuristics grammar (<code>HDGrammar11.bnf</code>) and evaluator, and that the
+ * populations of the runs are in the environment of the problem instance.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	GrammaticalEvolution
+ * @since	JavaGE 0.1
+ */
+public class GrammaticalEvolutionTest {
+
+	// The grammar of the bin packing heuristics (HDGrammar11.bnf)
+	private static final String GRAMMAR =
+		"<phenotype> ::= <choosebins> <repack>\n" +
+		"<choosebins> ::= <type>|<type> <choosebins>\n" +
+		"<type> ::= highest_filled=<num>,<ignore>,<remove>|lowest_filled=<num>,<ignore>,<remove>|random_bins=<num>,<ignore>,<remove>|gap_less_than=<num>,<threshold>,<ignore>,<remove>|num_of_pieces=<num>,<numpieces>,<ignore>,<remove>\n" +
+		"<num> ::= 2|5|10|20|50\n" +
+		"<threshold> ::= average|minimum|maximum\n" +
+		"<numpieces> ::= 1|2|3|4|5|6\n" +
+		"<ignore> ::= 0.995|0.997|0.999|1.0|1.1\n" +
+		"<remove> ::= ALL|ONE\n" +
+		"<repack> ::= best-fit-decreasing|worst-fit-decreasing|first-fit-decreasing\n";
+
+	private static final int CAPACITY = 150;
+
+
+	@Test
+	public void steadyStateRuns() {
+		assertRuns(GrammaticalEvolution.EAType.SteadyStateGA);
+	}
+
+	@Test
+	public void standardRuns() {
+		assertRuns(GrammaticalEvolution.EAType.StandardGA);
+	}
+
+	@Test
+	public void populationEnvironment() {
+		for (GrammaticalEvolution.EAType eaType : GrammaticalEvolution.EAType.values()) {
+			DemoD demo = demo();
+			GrammaticalEvolution ge = new GrammaticalEvolution(new BNFGrammar(GRAMMAR), demo, 10, 8, 5, 20);
+			ge.setEAType(eaType);
+			ge.setSeed(11L);
+			ge.setMaxGenerations(2);
+			ge.setEnvironment(demo.getInstance());
+			ge.run();
+			// The population of the last generation is in the environment of the instance
+			assertSame(demo.getInstance(), ge.getPopulation().getEnvironment());
+			assertTrue(ge.getPopulation().toString().contains("Environment: test\n"));
+		}
+	}
+
+
+	/**
+	 * Compares the runs with the same seed and different settings and a run with another seed.
+	 */
+	private static void assertRuns(GrammaticalEvolution.EAType eaType) {
+		List<String> expected = run(eaType, 11L, 1, 0);
+		assertEquals(expected, run(eaType, 11L, 1, 0));
+		assertEquals(expected, run(eaType, 11L, 4, 0));
+		assertEquals(expected, run(eaType, 11L, 3, 50));
+		assertFalse(expected.equals(run(eaType, 12L, 1, 0)));
+	}
+
+	/**
+	 * Runs the Grammatical Evolution and returns its solution and its final population.
+	 */
+	private static List<String> run(GrammaticalEvolution.EAType eaType, long seed, int parallelism, int cacheSize) {
+		GrammaticalEvolution ge = new GrammaticalEvolution(new BNFGrammar(GRAMMAR), demo(), 20, 8, 5, 20);
+		ge.setEAType(eaType);
+		// The random initial population is created again from the seed
+		ge.setSeed(seed);
+		ge.setMaxGenerations(4);
+		ge.setMutationRate(0.05);
+		ge.setParallelism(parallelism);
+		ge.setChunkSize(3);
+		ge.setFitnessCacheSize(cacheSize);
+
+		List<String> result = new ArrayList<String>();
+		result.add(describe(ge.run()));
+		Population<BinaryGenome, String> population = ge.getPopulation();
+		for (int i = 0; i < population.size(); i++)
+			result.add(describe(population.getIndividual(i)));
+		return result;
+	}
+
+	private static String describe(Individual<BinaryGenome, String> individual) {
+		return individual.getGenotype() + " " + individual.getPhenotype() + " " + individual.isValid()
+				+ " " + individual.rawFitness() + " " + individual.numBins();
+	}
+
+	/**
+	 * The evaluator of a random instance (the same for every call).
+	 */
+	private static DemoD demo() {
+		Random random = new Random(1L);
+		List<Integer> items = new ArrayList<Integer>();
+		for (int i = 0; i < 80; i++)
+			items.add(1 + random.nextInt(random.nextBoolean() ? CAPACITY / 2 : CAPACITY / 5));
+		DemoD demo = new DemoD(new PackingInstance("test", items, CAPACITY));
+		demo.setMaxIterations(10);
+		return demo;
+	}
+
+}
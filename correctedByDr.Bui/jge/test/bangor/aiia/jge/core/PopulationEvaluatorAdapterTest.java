@@ -0,0 +1,120 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bangor.aiia.jge.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import bangor.aiia.jge.environment.Environment;
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.Genotype;
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Phenotype;
+import bangor.aiia.jge.population.Population;
+
+/**
+ * Tests that a population level evaluator which is adapted to an <code>IndividualEvaluator</code>
+ * evaluates each individual in the environment of the population of the caller, directly and
+ * through an <code>EvaluationService</code>.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	PopulationEvaluatorAdapter
+ * @since	JavaGE 0.1
+ */
+public class PopulationEvaluatorAdapterTest {
+
+	private static final Environment ENVIRONMENT = new Environment("test") { };
+
+
+	@Test
+	public void individualEnvironment() {
+		EnvironmentEvaluator evaluator = new EnvironmentEvaluator();
+		PopulationEvaluatorAdapter<BinaryGenome, String> adapter = new PopulationEvaluatorAdapter<BinaryGenome, String>(evaluator);
+		adapter.evaluate(individual(), ENVIRONMENT);
+		assertSame(ENVIRONMENT, evaluator.environments.get(0));
+		adapter.evaluate(individual());
+		assertNull(evaluator.environments.get(1));
+	}
+
+	@Test
+	public void serviceEnvironment() {
+		assertServiceEnvironment(0);
+		assertServiceEnvironment(1000);
+	}
+
+
+	/**
+	 * Evaluates a population through the service (with the given time limit).
+	 */
+	private static void assertServiceEnvironment(long timeLimit) {
+		EnvironmentEvaluator evaluator = new EnvironmentEvaluator();
+		EvaluationService<BinaryGenome, String> service = new EvaluationService<BinaryGenome, String>(evaluator, 1);
+		service.setTimeLimit(timeLimit);
+		try {
+			ArrayList<Individual<BinaryGenome, String>> individuals = new ArrayList<Individual<BinaryGenome, String>>();
+			for (int i = 0; i < 5; i++)
+				individuals.add(individual());
+			service.evaluate(new Population<BinaryGenome, String>(individuals, ENVIRONMENT));
+			assertEquals(5, evaluator.environments.size());
+			for (Environment environment : evaluator.environments)
+				assertSame(ENVIRONMENT, environment);
+			for (Individual<BinaryGenome, String> individual : individuals)
+				assertEquals(0.5, individual.rawFitness(), 0.0);
+		}
+		finally {
+			service.shutdown();
+		}
+	}
+
+	private static Individual<BinaryGenome, String> individual() {
+		Individual<BinaryGenome, String> individual = new Individual<BinaryGenome, String>(
+				new Genotype<BinaryGenome>(BinaryGenome.valueOf("0")), new Phenotype<String>("a"));
+		individual.setValid(true);
+		return individual;
+	}
+
+	/**
+	 * Records the environment of each evaluated population.
+	 */
+	private static class EnvironmentEvaluator implements Evaluator<BinaryGenome, String> {
+
+		final List<Environment> environments = new ArrayList<Environment>();
+
+		public synchronized void evaluate(Population<BinaryGenome, String> population) {
+			for (int i = 0; i < population.size(); i++) {
+				population.getIndividual(i).setRawFitnessValue(0.5);
+				environments.add(population.getEnvironment());
+			}
+		}
+
+	}
+
+}
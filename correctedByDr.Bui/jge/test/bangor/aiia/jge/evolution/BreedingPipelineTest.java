@@ -0,0 +1,222 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bangor.aiia.jge.evolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.BinaryGenomeBuilder;
+import bangor.aiia.jge.population.Genotype;
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Phenotype;
+import bangor.aiia.jge.util.MathUtil;
+import bangor.aiia.jge.util.SplitMixRandom;
+
+/**
+ * Tests that the offspring of the <code>BreedingPipeline</code> are the same as the offspring
+ * of the separate operators (Crossover, Mutation and Duplication) which are applied with the
+ * same random number generator, that the parents are not changed, and that an offspring
+ * inherits the evaluation of its parent only if the effective codons of the parent were
+ * not changed and the parent was not wrapped.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	BreedingPipeline
+ * @since	JavaGE 0.1
+ */
+public class BreedingPipelineTest {
+
+	private static final int CODON_SIZE = 8;
+
+	private final Random random = new SplitMixRandom(20261018L);
+
+
+	@Test
+	public void fixedLength() {
+		assertOperators(true, false);
+	}
+
+	@Test
+	public void variableLength() {
+		assertOperators(false, false);
+	}
+
+	@Test
+	public void variableLengthWithPruning() {
+		assertOperators(false, true);
+	}
+
+	@Test
+	public void inheritedEvaluation() {
+		// The parent used 3 of its 6 codons
+		Individual<BinaryGenome, String> parent = individual(6);
+		evaluate(parent);
+		parent.setEffectiveCodons(3);
+		parent.setWraps(0);
+		BreedingPipeline pipeline = new BreedingPipeline(CODON_SIZE, true, 0.0, 0.0, 0.0, 1.0, true);
+
+		// The same genome inherits the evaluation and the unused codons are pruned at once
+		Individual<BinaryGenome, String> child = pipeline.breed(parent, parent, random).get(0);
+		assertTrue(child.isEvaluated());
+		assertTrue(child.isValid());
+		assertEquals(parent.getPhenotype().getValue(), child.getPhenotype().getValue());
+		assertEquals(parent.rawFitness(), child.rawFitness(), 0.0);
+		assertEquals(parent.numBins(), child.numBins());
+		assertEquals(parent.getGenotype().value().toString().substring(0, 3 * CODON_SIZE), child.getGenotype().value().toString());
+		assertFalse(child.isPendingPruning());
+
+		// A wrapped, an invalid or a not evaluated parent is not inherited
+		parent.setWraps(1);
+		assertFalse(pipeline.breed(parent, parent, random).get(0).isEvaluated());
+		parent.setWraps(0);
+		parent.setValid(false);
+		assertFalse(pipeline.breed(parent, parent, random).get(0).isEvaluated());
+		parent.setValid(true);
+		parent.setEvaluated(false);
+		Individual<BinaryGenome, String> notInherited = pipeline.breed(parent, parent, random).get(0);
+		assertFalse(notInherited.isEvaluated());
+		assertTrue(notInherited.isPendingPruning());
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void fixedLengthOfOtherLengths() {
+		new BreedingPipeline(CODON_SIZE, true, 1.0, 0.0, 0.0, 0.0, false).breed(individual(5), individual(6), random);
+	}
+
+
+	/**
+	 * Compares the offspring of the pipeline with the offspring of the separate operators.
+	 */
+	private void assertOperators(boolean fixedSizeGenome, boolean pruning) {
+		double[] rates = {0.0, 0.01, 0.5, 0.9, 1.0};
+		for (int run = 0; run < 2000; run++) {
+			double crossoverRate = rates[random.nextInt(rates.length)];
+			double mutationRate = rates[random.nextInt(rates.length - 1)] / 10.0;
+			double duplicationRate = rates[random.nextInt(rates.length)];
+			double pruningRate = rates[random.nextInt(rates.length)];
+			BreedingPipeline pipeline = new BreedingPipeline(CODON_SIZE, fixedSizeGenome, crossoverRate, mutationRate,
+					duplicationRate, pruningRate, pruning);
+
+			int codons = 1 + random.nextInt(20);
+			Individual<BinaryGenome, String> parentA = individual(codons);
+			Individual<BinaryGenome, String> parentB = individual(fixedSizeGenome ? codons : 1 + random.nextInt(20));
+			BinaryGenome genomeA = parentA.getGenotype().value();
+			BinaryGenome genomeB = parentB.getGenotype().value();
+			evaluate(parentA);
+			evaluate(parentB);
+
+			long seed = random.nextLong();
+			String bitsA = genomeA.toString();
+			String bitsB = genomeB.toString();
+			Random breeding = new SplitMixRandom(seed);
+			List<Individual<BinaryGenome, String>> offspring = pipeline.breed(parentA, parentB, breeding);
+
+			// The separate operators with the same random numbers
+			Random operators = new SplitMixRandom(seed);
+			BinaryGenomeBuilder childA = genomeA.toBuilder();
+			BinaryGenomeBuilder childB = genomeB.toBuilder();
+			if (fixedSizeGenome)
+				Crossover.standardOnePoint(childA, childB, crossoverRate, operators);
+			else
+				Crossover.standardOnePointVariableLength(childA, childB, crossoverRate, operators);
+			Mutation.geometricPointMutation(childA, mutationRate, operators);
+			Mutation.geometricPointMutation(childB, mutationRate, operators);
+			Duplication.duplication(childA, CODON_SIZE, duplicationRate, operators);
+			Duplication.duplication(childB, CODON_SIZE, duplicationRate, operators);
+			boolean pruneA = pruning && MathUtil.flip(pruningRate, operators);
+			boolean pruneB = pruning && MathUtil.flip(pruningRate, operators);
+
+			assertEquals(2, offspring.size());
+			assertOffspring(childA, pruneA, parentA, offspring.get(0));
+			assertOffspring(childB, pruneB, parentB, offspring.get(1));
+			// The same random numbers were drawn
+			assertEquals(operators.nextLong(), breeding.nextLong());
+
+			// The parents are not changed
+			assertSame(genomeA, parentA.getGenotype().value());
+			assertSame(genomeB, parentB.getGenotype().value());
+			assertEquals(bitsA, genomeA.toString());
+			assertEquals(bitsB, genomeB.toString());
+		}
+	}
+
+	/**
+	 * Checks the genome of the offspring and whether it inherits the evaluation of its parent.
+	 */
+	private static void assertOffspring(BinaryGenomeBuilder genome, boolean prune, Individual<BinaryGenome, String> parent,
+			Individual<BinaryGenome, String> child) {
+		int mismatch = genome.mismatch(parent.getGenotype().value());
+		int effectiveBits = parent.getEffectiveCodons() * CODON_SIZE;
+		boolean inherited = parent.getWraps() == 0 && (mismatch < 0 || mismatch >= effectiveBits);
+		assertEquals(inherited, child.isEvaluated());
+		if (!inherited) {
+			assertEquals(genome.toGenome().toString(), child.getGenotype().value().toString());
+			assertEquals(prune, child.isPendingPruning());
+			return;
+		}
+		String bits = genome.toGenome().toString();
+		if (prune && bits.length() > effectiveBits)
+			bits = bits.substring(0, effectiveBits);
+		assertEquals(bits, child.getGenotype().value().toString());
+		assertFalse(child.isPendingPruning());
+		assertEquals(parent.getPhenotype().getValue(), child.getPhenotype().getValue());
+		assertEquals(parent.rawFitness(), child.rawFitness(), 0.0);
+		assertEquals(parent.numBins(), child.numBins());
+		assertEquals(parent.getEffectiveCodons(), child.getEffectiveCodons());
+	}
+
+	/**
+	 * Gives the individual a valid evaluation with a random codon usage, which was wrapped
+	 * in some of the individuals.
+	 */
+	private void evaluate(Individual<BinaryGenome, String> individual) {
+		int codons = individual.getGenotype().value().codonCount(CODON_SIZE);
+		individual.setPhenotype(new Phenotype<String>("x" + random.nextInt(100)));
+		individual.setValid(true);
+		individual.setRawFitnessValue(random.nextDouble());
+		individual.setNumberBins(1 + random.nextInt(50));
+		individual.setEffectiveCodons(1 + random.nextInt(codons));
+		individual.setWraps(random.nextInt(4) == 0 ? 1 : 0);
+		individual.setEvaluated(true);
+	}
+
+	/**
+	 * Creates an individual with a random genome of the given number of codons.
+	 */
+	private Individual<BinaryGenome, String> individual(int codons) {
+		StringBuilder bits = new StringBuilder(codons * CODON_SIZE);
+		for (int i = 0; i < codons * CODON_SIZE; i++)
+			bits.append(random.nextBoolean() ? '1' : '0');
+		return new Individual<BinaryGenome, String>(new Genotype<BinaryGenome>(BinaryGenome.valueOf(bits.toString())));
+	}
+
+}
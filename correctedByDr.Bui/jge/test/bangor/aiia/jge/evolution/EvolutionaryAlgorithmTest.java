@@ -0,0 +1,214 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bangor.aiia.jge.evolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import bangor.aiia.jge.bnf.BNFGrammar;
+import bangor.aiia.jge.core.AbstractIndividualEvaluator;
+import bangor.aiia.jge.core.ConcurrentEvaluator;
+import bangor.aiia.jge.core.EvaluationService;
+import bangor.aiia.jge.core.Evaluator;
+import bangor.aiia.jge.core.GEMapper;
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Population;
+
+/**
+ * Tests that the evolutionary algorithm maps and evaluates only the individuals
+ * which have not been evaluated since the last change of their genome, unless the
+ * re-evaluation is forced, with sequential and parallel evaluation, and that the
+ * individuals whose evaluation did not finish in time are evaluated again.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	EvolutionaryAlgorithm
+ * @since	JavaGE 0.1
+ */
+public class EvolutionaryAlgorithmTest {
+
+	private static final int SIZE = 40;
+
+
+	@Test
+	public void sequentialEvaluation() {
+		assertEvaluations(1);
+	}
+
+	@Test
+	public void parallelEvaluation() {
+		assertEvaluations(4);
+	}
+
+	@Test
+	public void forcedReevaluation() {
+		CountingEvaluator evaluator = new CountingEvaluator();
+		StandardGA ga = algorithm(evaluator, 1);
+		ga.setForceReevaluation(true);
+		ga.evaluatePopulation();
+		ga.evaluatePopulation();
+		for (int i = 0; i < SIZE; i++)
+			assertEquals(2, evaluator.count(ga.getPopulation().getIndividual(i)));
+	}
+
+	@Test
+	public void timedOutEvaluations() {
+		SlowEvaluator slow = new SlowEvaluator();
+		EvaluationService<BinaryGenome, String> service = new EvaluationService<BinaryGenome, String>(slow, SIZE);
+		service.setTimeLimit(200);
+		try {
+			StandardGA ga = new StandardGA(SIZE, 8, 2, 10, service);
+			ga.setMapper(new GEMapper(new BNFGrammar("<e> ::= a|b|c\n"), 8, 0));
+			Population<BinaryGenome, String> population = ga.getPopulation();
+
+			ga.evaluatePopulation();
+			int timedOut = 0;
+			for (int i = 0; i < SIZE; i++) {
+				Individual<BinaryGenome, String> individual = population.getIndividual(i);
+				boolean inTime = !individual.getPhenotype().value().equals("a");
+				assertEquals(inTime, individual.isValid());
+				assertEquals(inTime, individual.isEvaluated());
+				assertEquals(inTime ? 0.5 : 0.0, individual.rawFitness(), 0.0);
+				if (!inTime)
+					timedOut++;
+			}
+			assertTrue(timedOut > 0);
+			assertEquals(timedOut, slow.started.get());
+			assertEquals(SIZE - timedOut, slow.finished.get());
+
+			// Only the timed out individuals are evaluated again
+			ga.evaluatePopulation();
+			assertEquals(2 * timedOut, slow.started.get());
+			assertEquals(SIZE - timedOut, slow.finished.get());
+		}
+		finally {
+			service.shutdown();
+		}
+	}
+
+
+	/**
+	 * Evaluates the population, changes the genomes of some individuals and evaluates it again.
+	 */
+	private static void assertEvaluations(int parallelism) {
+		CountingEvaluator evaluator = new CountingEvaluator();
+		StandardGA ga = algorithm(evaluator, parallelism);
+		Population<BinaryGenome, String> population = ga.getPopulation();
+
+		ga.evaluatePopulation();
+		for (int i = 0; i < SIZE; i++) {
+			assertEquals(1, evaluator.count(population.getIndividual(i)));
+			assertTrue(population.getIndividual(i).isEvaluated());
+		}
+
+		// Nothing has changed
+		ga.evaluatePopulation();
+		assertEquals(SIZE, evaluator.total());
+
+		// Every third individual is mutated
+		for (int i = 0; i < SIZE; i += 3) {
+			Mutation.pointMutation(population.getIndividual(i), 1.0);
+			assertFalse(population.getIndividual(i).isEvaluated());
+		}
+		ga.evaluatePopulation();
+		for (int i = 0; i < SIZE; i++) {
+			assertEquals((i % 3 == 0) ? 2 : 1, evaluator.count(population.getIndividual(i)));
+			assertTrue(population.getIndividual(i).isEvaluated());
+		}
+	}
+
+	private static StandardGA algorithm(CountingEvaluator evaluator, int parallelism) {
+		StandardGA ga = new StandardGA(SIZE, 8, 2, 10, evaluator);
+		ga.setMapper(new GEMapper(new BNFGrammar("<e> ::= a|b|c\n"), 8, 0));
+		ga.setParallelism(parallelism);
+		ga.setChunkSize(4);
+		return ga;
+	}
+
+	/**
+	 * Counts the evaluations of each individual.
+	 */
+	private static class CountingEvaluator implements Evaluator<BinaryGenome, String> {
+
+		private final Map<Individual<BinaryGenome, String>, Integer> counts =
+			new IdentityHashMap<Individual<BinaryGenome, String>, Integer>();
+
+		public synchronized void evaluate(Population<BinaryGenome, String> population) {
+			for (int i = 0; i < population.size(); i++) {
+				Individual<BinaryGenome, String> individual = population.getIndividual(i);
+				individual.setRawFitnessValue(0.5);
+				counts.put(individual, count(individual) + 1);
+			}
+		}
+
+		synchronized int count(Individual<BinaryGenome, String> individual) {
+			Integer count = counts.get(individual);
+			return (count == null) ? 0 : count;
+		}
+
+		synchronized int total() {
+			int total = 0;
+			for (int count : counts.values())
+				total += count;
+			return total;
+		}
+
+	}
+
+	/**
+	 * Evaluates the phenotype "a" until it is interrupted and the other phenotypes at once.
+	 */
+	private static class SlowEvaluator extends AbstractIndividualEvaluator<BinaryGenome, String>
+			implements ConcurrentEvaluator<BinaryGenome, String> {
+
+		final AtomicInteger started = new AtomicInteger();
+
+		final AtomicInteger finished = new AtomicInteger();
+
+		public void evaluate(Individual<BinaryGenome, String> individual) {
+			if (individual.getPhenotype().value().equals("a")) {
+				started.incrementAndGet();
+				try {
+					Thread.sleep(10000);
+				}
+				catch (InterruptedException e) {
+					return;
+				}
+			}
+			individual.setRawFitnessValue(0.5);
+			individual.setNumberBins(1);
+			finished.incrementAndGet();
+		}
+
+	}
+
+}
@@ -0,0 +1,151 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bangor.aiia.jge.evolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.BinaryGenomeBuilder;
+import bangor.aiia.jge.population.Genotype;
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.util.SplitMixRandom;
+
+/**
+ * Tests that the geometric-skip point mutation inverts each bit with the mutation probability
+ * (the overall rate and the rate of the first and the last bit of the genome), as the bitwise
+ * point mutation does, and that it returns the number of the inverted bits.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	Mutation
+ * @since	JavaGE 0.1
+ */
+public class MutationTest {
+
+	private static final int LENGTH = 200;
+
+	private static final int TRIALS = 20000;
+
+	private final Random random = new SplitMixRandom(20261018L);
+
+
+	@Test
+	public void mutationRate() {
+		double[] probabilities = {0.001, 0.01, 0.1, 0.5, 0.9};
+		for (double probability : probabilities) {
+			long mutated = 0L;
+			long bitwise = 0L;
+			int first = 0;
+			int last = 0;
+			for (int trial = 0; trial < TRIALS; trial++) {
+				String original = bits(LENGTH);
+				BinaryGenomeBuilder genome = BinaryGenome.valueOf(original).toBuilder();
+				int mutations = Mutation.geometricPointMutation(genome, probability, random);
+				String result = genome.toGenome().toString();
+				assertEquals(mutations, differences(original, result));
+				mutated += mutations;
+				if (original.charAt(0) != result.charAt(0))
+					first++;
+				if (original.charAt(LENGTH - 1) != result.charAt(LENGTH - 1))
+					last++;
+
+				genome = BinaryGenome.valueOf(original).toBuilder();
+				Mutation.pointMutation(genome, probability, random);
+				bitwise += differences(original, genome.toGenome().toString());
+			}
+			assertRate(probability, mutated, (long) TRIALS * LENGTH);
+			assertRate(probability, bitwise, (long) TRIALS * LENGTH);
+			assertRate(probability, first, TRIALS);
+			assertRate(probability, last, TRIALS);
+		}
+	}
+
+	@Test
+	public void noMutation() {
+		String original = bits(LENGTH);
+		BinaryGenomeBuilder genome = BinaryGenome.valueOf(original).toBuilder();
+		assertEquals(0, Mutation.geometricPointMutation(genome, 0.0, random));
+		assertEquals(original, genome.toGenome().toString());
+		assertEquals(0, Mutation.geometricPointMutation(new BinaryGenomeBuilder(), 0.5, random));
+	}
+
+	@Test
+	public void everyBitMutated() {
+		String original = bits(LENGTH);
+		BinaryGenomeBuilder genome = BinaryGenome.valueOf(original).toBuilder();
+		assertEquals(LENGTH, Mutation.geometricPointMutation(genome, 1.0, random));
+		assertEquals(LENGTH, differences(original, genome.toGenome().toString()));
+	}
+
+	@Test
+	public void individualGenome() {
+		BinaryGenome original = BinaryGenome.valueOf(bits(LENGTH));
+		Individual<BinaryGenome, String> individual = new Individual<BinaryGenome, String>(new Genotype<BinaryGenome>(original));
+		individual.setEvaluated(true);
+
+		// The genome is not replaced if no bit is mutated
+		assertEquals(0, Mutation.geometricPointMutation(individual, 0.0, random));
+		assertSame(original, individual.getGenotype().value());
+		assertTrue(individual.isEvaluated());
+
+		int mutations = Mutation.geometricPointMutation(individual, 0.05, random);
+		assertTrue(mutations > 0);
+		assertEquals(mutations, differences(original.toString(), individual.getGenotype().value().toString()));
+		assertFalse(individual.isEvaluated());
+	}
+
+
+	/**
+	 * Checks that the number of mutated bits is within 5 standard deviations of the expected one.
+	 */
+	private static void assertRate(double probability, long mutated, long bits) {
+		double expected = probability * bits;
+		double deviation = Math.sqrt(bits * probability * (1.0 - probability));
+		assertEquals("p = " + probability, expected, mutated, 5.0 * deviation);
+	}
+
+	private static int differences(String a, String b) {
+		assertEquals(a.length(), b.length());
+		int differences = 0;
+		for (int i = 0; i < a.length(); i++)
+			if (a.charAt(i) != b.charAt(i))
+				differences++;
+		return differences;
+	}
+
+	private String bits(int length) {
+		StringBuilder bits = new StringBuilder(length);
+		for (int i = 0; i < length; i++)
+			bits.append(random.nextBoolean() ? '1' : '0');
+		return bits.toString();
+	}
+
+}
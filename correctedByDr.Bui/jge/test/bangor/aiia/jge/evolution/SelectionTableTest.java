@@ -0,0 +1,146 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bangor.aiia.jge.evolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import bangor.aiia.jge.population.Genotype;
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Population;
+
+/**
+ * Tests the distributions of the draws of the Roulette Wheel and the Rank Selection tables:
+ * each individual must be drawn with the probability of the original selection algorithms
+ * (its fitness or its rank over the total), and the population must not be reordered.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	SelectionTable
+ * @since	JavaGE 0.1
+ */
+public class SelectionTableTest {
+
+	private static final int DRAWS = 200000;
+
+
+	@Test
+	public void rouletteWheelDistribution() {
+		double[] fitness = {0.1, 0.5, 0.0, 0.9, 0.3, 0.2};
+		Population<String, String> population = population(fitness);
+		SelectionTable<String, String> table = SelectionTable.rouletteWheel(population);
+		assertEquals(2.0, table.total(), 1e-9);
+
+		int[] counts = draw(table, population);
+		for (int i = 0; i < fitness.length; i++)
+			assertFrequency(fitness[i] / 2.0, counts[i]);
+		// An individual with zero fitness is never drawn
+		assertEquals(0, counts[2]);
+		assertOrder(fitness, population);
+	}
+
+	@Test
+	public void rankDistribution() {
+		// Ties are ranked in the order of the population (as by a stable sort)
+		double[] fitness = {0.4, 0.1, 0.4, 0.8, 0.2};
+		int[] rank = {3, 1, 4, 5, 2};
+		Population<String, String> population = population(fitness);
+		SelectionTable<String, String> table = SelectionTable.rank(population);
+		assertEquals(15.0, table.total(), 0.0);
+
+		int[] counts = draw(table, population);
+		for (int i = 0; i < fitness.length; i++)
+			assertFrequency(rank[i] / 15.0, counts[i]);
+		assertOrder(fitness, population);
+	}
+
+	@Test
+	public void selectPair() {
+		Population<String, String> population = population(new double[] {0.3, 0.6});
+		for (int i = 0; i < 100; i++) {
+			assertEquals(2, SelectionTable.rouletteWheel(population).selectPair().size());
+			assertEquals(2, SelectionTable.rank(population).selectPair().size());
+			assertEquals(2, Selection.rouletteWheel(population).size());
+			assertEquals(2, Selection.rankSelection(population).size());
+		}
+	}
+
+	@Test
+	public void emptyPopulation() {
+		Population<String, String> population = population(new double[0]);
+		assertEquals(0.0, SelectionTable.rouletteWheel(population).total(), 0.0);
+		assertNull(SelectionTable.rouletteWheel(population).select());
+		assertNull(SelectionTable.rank(population).select());
+		assertTrue(SelectionTable.rank(population).selectPair().isEmpty());
+	}
+
+
+	/**
+	 * Counts the draws of each individual of the population.
+	 */
+	private static int[] draw(SelectionTable<String, String> table, Population<String, String> population) {
+		int[] counts = new int[population.size()];
+		for (int draw = 0; draw < DRAWS; draw++) {
+			Individual<String, String> selected = table.select();
+			counts[Integer.parseInt(selected.getGenotype().getValue())]++;
+		}
+		return counts;
+	}
+
+	/**
+	 * Checks that the number of draws is within 5 standard deviations of the expected one.
+	 */
+	private static void assertFrequency(double probability, int count) {
+		double expected = probability * DRAWS;
+		double deviation = Math.sqrt(DRAWS * probability * (1.0 - probability));
+		assertEquals(expected, count, 5.0 * deviation + 1e-9);
+	}
+
+	private static void assertOrder(double[] fitness, Population<String, String> population) {
+		for (int i = 0; i < fitness.length; i++) {
+			assertEquals(String.valueOf(i), population.getIndividual(i).getGenotype().getValue());
+			assertEquals(fitness[i], population.getIndividual(i).rawFitness(), 0.0);
+		}
+	}
+
+	/**
+	 * A population whose i-th individual has the genotype "i" and the given fitness.
+	 */
+	private static Population<String, String> population(double[] fitness) {
+		ArrayList<Individual<String, String>> individuals = new ArrayList<Individual<String, String>>();
+		for (int i = 0; i < fitness.length; i++) {
+			Individual<String, String> individual = new Individual<String, String>(new Genotype<String>(String.valueOf(i)));
+			individual.setRawFitnessValue(fitness[i]);
+			individual.setValid(true);
+			individuals.add(individual);
+		}
+		return new Population<String, String>(individuals);
+	}
+
+}
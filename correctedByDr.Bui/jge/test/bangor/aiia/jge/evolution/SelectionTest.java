@@ -0,0 +1,107 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bangor.aiia.jge.evolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import bangor.aiia.jge.population.Genotype;
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Population;
+
+/**
+ * Tests the selection of the best and the worst individuals of a population against the
+ * original algorithm, which sorts the population into descending order with a stable sort
+ * and takes the first and the last individuals, for populations with many equal fitness values.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	Selection
+ * @since	JavaGE 0.1
+ */
+public class SelectionTest {
+
+	private final Random random = new Random(20261018L);
+
+
+	@Test
+	public void selectBestAndWorst() {
+		for (int run = 0; run < 2000; run++) {
+			int size = 1 + random.nextInt(40);
+			// Few distinct values, so there are many ties
+			int values = 1 + random.nextInt(6);
+			Population<String, String> population = population(size, values);
+			List<Individual<String, String>> order = new ArrayList<Individual<String, String>>(population.getIndividuals());
+
+			int numOfBest = random.nextInt(size + 1);
+			int numOfWorst = random.nextInt(size - numOfBest + 1);
+			List<Individual<String, String>> expected = expected(population, numOfBest, numOfWorst);
+			List<Individual<String, String>> chosen = Selection.selectBestAndWorst(population, numOfBest, numOfWorst);
+
+			assertEquals(expected.size(), chosen.size());
+			for (int i = 0; i < expected.size(); i++)
+				assertSame(expected.get(i), chosen.get(i));
+			// The population is not reordered
+			for (int i = 0; i < size; i++)
+				assertSame(order.get(i), population.getIndividual(i));
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void tooManyIndividuals() {
+		Selection.selectBestAndWorst(population(5, 3), 3, 3);
+	}
+
+
+	/**
+	 * The selection of the original algorithm (on a sorted copy of the population).
+	 */
+	private static List<Individual<String, String>> expected(Population<String, String> population, int numOfBest, int numOfWorst) {
+		List<Individual<String, String>> sorted = new ArrayList<Individual<String, String>>(population.getIndividuals());
+		Collections.sort(sorted, Collections.reverseOrder());
+		List<Individual<String, String>> chosen = new ArrayList<Individual<String, String>>();
+		chosen.addAll(sorted.subList(0, numOfBest));
+		chosen.addAll(sorted.subList(sorted.size() - numOfWorst, sorted.size()));
+		return chosen;
+	}
+
+	private Population<String, String> population(int size, int values) {
+		ArrayList<Individual<String, String>> individuals = new ArrayList<Individual<String, String>>(size);
+		for (int i = 0; i < size; i++) {
+			Individual<String, String> individual = new Individual<String, String>(new Genotype<String>(String.valueOf(i)));
+			individual.setRawFitnessValue(random.nextInt(values) / (double) values);
+			individual.setValid(true);
+			individuals.add(individual);
+		}
+		return new Population<String, String>(individuals);
+	}
+
+}
@@ -0,0 +1,253 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bangor.aiia.jge.population;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the <code>BinaryGenomeBuilder</code> against the <code>'0'</code>/<code>'1'</code>
+ * <code>String</code> representation of the genomes, with lengths and positions
+ * around the boundaries of the 64 bit words.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	BinaryGenomeBuilder
+ * @since	JavaGE 0.1
+ */
+public class BinaryGenomeBuilderTest {
+
+	// The lengths and positions around the word boundaries
+	private static final int[] BOUNDARIES = {0, 1, 2, 62, 63, 64, 65, 66, 127, 128, 129, 191, 192, 193};
+
+	private final Random random = new Random(20261018L);
+
+
+	@Test
+	public void appendGenome() {
+		for (int length : BOUNDARIES) {
+			for (int from : BOUNDARIES) {
+				for (int to : BOUNDARIES) {
+					if (from > to || to > length)
+						continue;
+					String prefix = bits(random.nextInt(130));
+					String source = bits(length);
+					BinaryGenomeBuilder builder = BinaryGenome.valueOf(prefix).toBuilder();
+					builder.append(BinaryGenome.valueOf(source), from, to);
+					assertBits(prefix + source.substring(from, to), builder);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void appendBuilder() {
+		for (int length : BOUNDARIES) {
+			for (int from : BOUNDARIES) {
+				for (int to : BOUNDARIES) {
+					if (from > to || to > length)
+						continue;
+					String prefix = bits(random.nextInt(130));
+					String source = bits(length);
+					BinaryGenomeBuilder builder = BinaryGenome.valueOf(prefix).toBuilder();
+					builder.append(BinaryGenome.valueOf(source).toBuilder(), from, to);
+					assertBits(prefix + source.substring(from, to), builder);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void insert() {
+		for (int length : BOUNDARIES) {
+			for (int offset : BOUNDARIES) {
+				for (int from : BOUNDARIES) {
+					if (offset > length || from > length)
+						continue;
+					int to = from + random.nextInt(length - from + 1);
+					String value = bits(length);
+					BinaryGenomeBuilder builder = BinaryGenome.valueOf(value).toBuilder();
+					builder.insert(offset, from, to);
+					assertBits(value.substring(0, offset) + value.substring(from, to) + value.substring(offset), builder);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void setLengthClearsTheRemovedBits() {
+		for (int length : BOUNDARIES) {
+			for (int newLength : BOUNDARIES) {
+				if (newLength > length)
+					continue;
+				String value = ones(length);
+				BinaryGenomeBuilder builder = BinaryGenome.valueOf(value).toBuilder();
+				builder.setLength(newLength);
+				assertBits(value.substring(0, newLength), builder);
+				// The bits after the length must be 0 when the builder grows again
+				builder.setLength(length);
+				assertBits(value.substring(0, newLength) + zeros(length - newLength), builder);
+				builder.clear();
+				builder.setLength(length);
+				assertBits(zeros(length), builder);
+			}
+		}
+	}
+
+	@Test
+	public void mismatch() {
+		for (int lengthA : BOUNDARIES) {
+			for (int lengthB : BOUNDARIES) {
+				String a = bits(lengthA);
+				String b = (lengthB <= lengthA) ? a.substring(0, lengthB) : a + bits(lengthB - lengthA);
+				assertEquals(mismatch(a, b), BinaryGenome.valueOf(a).toBuilder().mismatch(BinaryGenome.valueOf(b)));
+				for (int index : BOUNDARIES) {
+					if (index >= Math.min(lengthA, lengthB))
+						continue;
+					String c = b.substring(0, index) + (b.charAt(index) == '0' ? '1' : '0') + b.substring(index + 1);
+					assertEquals(index, BinaryGenome.valueOf(a).toBuilder().mismatch(BinaryGenome.valueOf(c)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void randomOperations() {
+		BinaryGenomeBuilder builder = new BinaryGenomeBuilder();
+		BinaryGenomeBuilder other = new BinaryGenomeBuilder();
+		String value = "";
+		for (int step = 0; step < 20000; step++) {
+			int length = value.length();
+			switch (random.nextInt(6)) {
+			case 0: {
+				String source = bits(random.nextInt(150));
+				int from = random.nextInt(source.length() + 1);
+				int to = from + random.nextInt(source.length() - from + 1);
+				builder.append(BinaryGenome.valueOf(source), from, to);
+				value += source.substring(from, to);
+				break;
+			}
+			case 1: {
+				int from = random.nextInt(length + 1);
+				int to = from + random.nextInt(length - from + 1);
+				other.copyFrom(builder);
+				builder.append(other, from, to);
+				value += value.substring(from, to);
+				break;
+			}
+			case 2: {
+				int offset = random.nextInt(length + 1);
+				int from = random.nextInt(length + 1);
+				int to = from + random.nextInt(Math.min(length - from, 100) + 1);
+				builder.insert(offset, from, to);
+				value = value.substring(0, offset) + value.substring(from, to) + value.substring(offset);
+				break;
+			}
+			case 3: {
+				int newLength = random.nextInt(length + 10);
+				builder.setLength(newLength);
+				value = (newLength <= length) ? value.substring(0, newLength) : value + zeros(newLength - length);
+				break;
+			}
+			case 4:
+				if (length > 0) {
+					int index = random.nextInt(length);
+					builder.flip(index);
+					value = value.substring(0, index) + (value.charAt(index) == '0' ? '1' : '0') + value.substring(index + 1);
+				}
+				break;
+			default:
+				if (length > 400) {
+					builder.clear();
+					value = "";
+				}
+				break;
+			}
+			assertBits(value, builder);
+		}
+	}
+
+	@Test
+	public void codons() {
+		for (int length : BOUNDARIES) {
+			for (int codonSize = 1; codonSize <= 31; codonSize += 3) {
+				String value = bits(length);
+				BinaryGenome genome = BinaryGenome.valueOf(value);
+				int[] rna = new int[length + 1];
+				int count = genome.toBuilder().codons(codonSize, rna);
+				assertEquals((length + codonSize - 1) / codonSize, count);
+				assertEquals(count, genome.codonCount(codonSize));
+				for (int i = 0; i < count; i++) {
+					int end = Math.min((i + 1) * codonSize, length);
+					int expected = Integer.parseInt(value.substring(i * codonSize, end), 2);
+					assertEquals(expected, rna[i]);
+					assertEquals(expected, genome.codon(i, codonSize));
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Checks the bits of the builder and of its genome.
+	 */
+	private static void assertBits(String expected, BinaryGenomeBuilder builder) {
+		assertEquals(expected.length(), builder.length());
+		assertEquals(expected, builder.toString());
+		BinaryGenome genome = builder.toGenome();
+		assertEquals(BinaryGenome.valueOf(expected), genome);
+		assertEquals(BinaryGenome.valueOf(expected).hashCode(), genome.hashCode());
+		assertEquals(-1, builder.mismatch(BinaryGenome.valueOf(expected)));
+	}
+
+	/**
+	 * The index of the first different character of the strings (see <code>BinaryGenomeBuilder.mismatch()</code>).
+	 */
+	private static int mismatch(String a, String b) {
+		int common = Math.min(a.length(), b.length());
+		for (int i = 0; i < common; i++)
+			if (a.charAt(i) != b.charAt(i))
+				return i;
+		return (a.length() == b.length()) ? -1 : common;
+	}
+
+	private String bits(int length) {
+		StringBuilder value = new StringBuilder(length);
+		for (int i = 0; i < length; i++)
+			value.append(random.nextBoolean() ? '1' : '0');
+		return value.toString();
+	}
+
+	private static String ones(int length) {
+		return zeros(length).replace('0', '1');
+	}
+
+	private static String zeros(int length) {
+		return new String(new char[length]).replace('\0', '0');
+	}
+
+}
@@ -0,0 +1,148 @@
+package bangor.aiia.jge.ps;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the selections of the <code>BinIndex</code> against a linear scan of the bins.
+ */
+public class BinIndexTest {
+
+	private static final int CAPACITY = 100;
+
+	private final Random random = new Random(20261018L);
+
+
+	@Test
+	public void selectionsMatchALinearScan() {
+		for (int run = 0; run < 300; run++) {
+			BinIndex index = new BinIndex(CAPACITY);
+			int[] loads = new int[60];
+			int[] counts = new int[60];
+			BitSet members = new BitSet();
+			for (int step = 0; step < 200; step++) {
+				int id = random.nextInt(loads.length);
+				if (members.get(id)) {
+					index.remove(id);
+					members.clear(id);
+				}
+				else {
+					// few distinct loads, so there are many ties
+					loads[id] = random.nextBoolean() ? random.nextInt(CAPACITY + 1) : 10 * random.nextInt(11);
+					counts[id] = random.nextInt(5);
+					index.add(id, loads[id], counts[id]);
+					members.set(id);
+				}
+				assertEquals(members.cardinality(), index.size());
+				assertSelections(index, loads, counts, members);
+			}
+			index.clear();
+			assertEquals(0, index.size());
+		}
+	}
+
+	@Test
+	public void sampleIsUniform() {
+		BinIndex index = new BinIndex(CAPACITY);
+		for (int id = 0; id < 20; id++)
+			index.add(id, 5 * id, 1);
+		// the bins with loads from 20 to 60 (ids 4 to 12)
+		int[] frequencies = new int[20];
+		int[] selected = new int[3];
+		int samples = 90000;
+		for (int i = 0; i < samples; i++) {
+			assertEquals(3, index.sample(3, 20, 60, random, selected));
+			for (int id : selected)
+				frequencies[id]++;
+		}
+		for (int id = 0; id < 20; id++) {
+			if (id < 4 || id > 12)
+				assertEquals(0, frequencies[id]);
+			else
+				assertEquals(3.0 * samples / 9, frequencies[id], 0.05 * samples / 3);
+		}
+	}
+
+
+	/**
+	 * checks the selections of the index for several limits.
+	 */
+	private void assertSelections(BinIndex index, final int[] loads, int[] counts, BitSet members) {
+		List<Integer> ids = new ArrayList<Integer>();
+		for (int id = members.nextSetBit(0); id >= 0; id = members.nextSetBit(id + 1))
+			ids.add(id);
+
+		int num = 1 + random.nextInt(8);
+		int maxLoad = random.nextInt(CAPACITY + 20) - 10;
+		int minLoad = random.nextInt(CAPACITY + 20) - 10;
+		int count = random.nextInt(6);
+		int[] selected = new int[num];
+
+		// in non-increasing order of load and in order of id
+		List<Integer> expected = below(ids, loads, maxLoad);
+		Collections.sort(expected, new Comparator<Integer>() {
+			public int compare(Integer a, Integer b) {
+				return (loads[a] != loads[b]) ? loads[b] - loads[a] : a - b;
+			}
+		});
+		assertArrayEquals(head(expected, num), Arrays.copyOf(selected, index.highest(num, maxLoad, selected)));
+
+		// in non-decreasing order of load and in order of id
+		Collections.sort(expected, new Comparator<Integer>() {
+			public int compare(Integer a, Integer b) {
+				return (loads[a] != loads[b]) ? loads[a] - loads[b] : a - b;
+			}
+		});
+		assertArrayEquals(head(expected, num), Arrays.copyOf(selected, index.lowest(num, maxLoad, selected)));
+
+		// in order of id
+		expected = below(ids, loads, maxLoad);
+		for (int i = expected.size() - 1; i >= 0; i--)
+			if (counts[expected.get(i)] != count)
+				expected.remove(i);
+		assertArrayEquals(head(expected, num), Arrays.copyOf(selected, index.withCount(num, count, maxLoad, selected)));
+
+		// a sample of distinct bins in the range
+		int inRange = 0;
+		for (int id : ids)
+			if (loads[id] >= minLoad && loads[id] <= maxLoad)
+				inRange++;
+		assertEquals(inRange, index.count(minLoad, maxLoad));
+		int n = index.sample(num, minLoad, maxLoad, random, selected);
+		assertEquals(Math.min(num, inRange), n);
+		BitSet sample = new BitSet();
+		for (int i = 0; i < n; i++) {
+			assertTrue(members.get(selected[i]));
+			assertTrue(loads[selected[i]] >= minLoad && loads[selected[i]] <= maxLoad);
+			assertTrue(!sample.get(selected[i]));
+			sample.set(selected[i]);
+		}
+	}
+
+	private static List<Integer> below(List<Integer> ids, int[] loads, int maxLoad) {
+		List<Integer> below = new ArrayList<Integer>();
+		for (int id : ids)
+			if (loads[id] <= maxLoad)
+				below.add(id);
+		return below;
+	}
+
+	private static int[] head(List<Integer> ids, int num) {
+		int[] head = new int[Math.min(num, ids.size())];
+		for (int i = 0; i < head.length; i++)
+			head[i] = ids.get(i);
+		return head;
+	}
+
+}
@@ -0,0 +1,169 @@
+package bangor.aiia.jge.ps;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the First Fit, Best Fit and Worst Fit algorithms (on lists of bins and on packing states)
+ * against the original list based algorithms, which scan all the bins for each item.
+ */
+public class BinPackingTest {
+
+	private static final int CAPACITY = 120;
+
+	private final Random random = new Random(20261018L);
+
+
+	@Test
+	public void firstFit() {
+		for (int run = 0; run < 400; run++) {
+			List<Integer> items = randomItems(random.nextInt(80));
+			List<Bin> start = randomPacking();
+			assertEquals(firstFit(items, bins(1)), new FirstFit(items, CAPACITY).getResult().toString());
+			assertEquals(firstFit(items, copy(start)), new FirstFit(items, CAPACITY).addBin(copy(start)).toString());
+			PackingState state = state(start);
+			FirstFit.firstFit(state, toArray(items), 0, items.size());
+			assertEquals(firstFit(items, copy(start)), state.toBins().toString());
+		}
+	}
+
+	@Test
+	public void bestFit() {
+		for (int run = 0; run < 400; run++) {
+			List<Integer> items = randomItems(random.nextInt(80));
+			List<Bin> start = randomPacking();
+			assertEquals(bestFit(items, bins(0)), new BestFit(items, CAPACITY).getResult().toString());
+			assertEquals(bestFit(items, copy(start)), new BestFit(items, CAPACITY).addBin(copy(start)).toString());
+			PackingState state = state(start);
+			BestFit.bestFit(state, toArray(items), 0, items.size());
+			assertEquals(bestFit(items, copy(start)), state.toBins().toString());
+		}
+	}
+
+	@Test
+	public void worstFit() {
+		for (int run = 0; run < 400; run++) {
+			List<Integer> items = randomItems(random.nextInt(80));
+			List<Bin> start = randomPacking();
+			assertEquals(worstFit(items, bins(0)), new WorstFit(items, CAPACITY).getResult().toString());
+			assertEquals(worstFit(items, copy(start)), new WorstFit(items, CAPACITY).addBin(copy(start)).toString());
+			PackingState state = state(start);
+			WorstFit.worstFit(state, toArray(items), 0, items.size());
+			assertEquals(worstFit(items, copy(start)), state.toBins().toString());
+		}
+	}
+
+
+	/**
+	 * puts each item into the first bin it fits into.
+	 */
+	private static String firstFit(List<Integer> items, List<Bin> bins) {
+		for (Integer item : items) {
+			int current = 0;
+			while (current < bins.size() && !bins.get(current).put(item))
+				current++;
+			if (current == bins.size())
+				open(bins, item);
+		}
+		return bins.toString();
+	}
+
+	/**
+	 * puts each item into the fullest non-empty bin it fits into.
+	 */
+	private static String bestFit(List<Integer> items, List<Bin> bins) {
+		for (Integer item : items) {
+			int best = -1;
+			int bestLoad = 0;
+			for (int i = 0; i < bins.size(); i++) {
+				if (bestLoad < bins.get(i).currentSize && bins.get(i).currentSize + item <= CAPACITY) {
+					bestLoad = bins.get(i).currentSize;
+					best = i;
+				}
+			}
+			if (best == -1)
+				open(bins, item);
+			else
+				bins.get(best).put(item);
+		}
+		return bins.toString();
+	}
+
+	/**
+	 * puts each item into the emptiest bin it fits into.
+	 */
+	private static String worstFit(List<Integer> items, List<Bin> bins) {
+		for (Integer item : items) {
+			int worst = -1;
+			int worstLoad = CAPACITY;
+			for (int i = 0; i < bins.size(); i++) {
+				if (worstLoad > bins.get(i).currentSize && bins.get(i).currentSize + item <= CAPACITY) {
+					worstLoad = bins.get(i).currentSize;
+					worst = i;
+				}
+			}
+			if (worst == -1)
+				open(bins, item);
+			else
+				bins.get(worst).put(item);
+		}
+		return bins.toString();
+	}
+
+	private static void open(List<Bin> bins, Integer item) {
+		Bin bin = new Bin(CAPACITY);
+		bin.put(item);
+		bins.add(bin);
+	}
+
+	private List<Integer> randomItems(int n) {
+		List<Integer> items = new ArrayList<Integer>(n);
+		for (int i = 0; i < n; i++)
+			items.add(1 + random.nextInt(random.nextBoolean() ? CAPACITY : CAPACITY / 4));
+		return items;
+	}
+
+	/**
+	 * a partial packing (some bins are empty).
+	 */
+	private List<Bin> randomPacking() {
+		List<Bin> bins = bins(random.nextInt(10));
+		for (Bin bin : bins)
+			for (Integer item : randomItems(random.nextInt(4)))
+				bin.put(item);
+		return bins;
+	}
+
+	private static List<Bin> bins(int n) {
+		List<Bin> bins = new ArrayList<Bin>(n);
+		for (int i = 0; i < n; i++)
+			bins.add(new Bin(CAPACITY));
+		return bins;
+	}
+
+	private static List<Bin> copy(List<Bin> bins) {
+		List<Bin> copy = new ArrayList<Bin>(bins.size());
+		for (Bin bin : bins)
+			copy.add(bin.deepCopy());
+		return copy;
+	}
+
+	private static PackingState state(List<Bin> bins) {
+		PackingState state = new PackingState(CAPACITY);
+		state.load(bins);
+		return state;
+	}
+
+	private static int[] toArray(List<Integer> items) {
+		int[] array = new int[items.size()];
+		for (int i = 0; i < array.length; i++)
+			array[i] = items.get(i);
+		return array;
+	}
+
+}
@@ -0,0 +1,146 @@
+package bangor.aiia.jge.ps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import bangor.aiia.jge.population.BinaryGenome;
+import bangor.aiia.jge.population.Genotype;
+import bangor.aiia.jge.population.Individual;
+import bangor.aiia.jge.population.Phenotype;
+
+/**
+ * Tests that <code>DemoD</code> gives the same fitness to a phenotype for the same seed,
+ * whether the individuals are evaluated by one thread or concurrently by many threads
+ * which share the evaluator (in a different order).
+ */
+public class DemoDTest {
+
+	private static final int CAPACITY = 150;
+
+	private static final String[] PHENOTYPES = {
+		"random_bins=10,0.995,ALL best-fit-decreasing",
+		"random_bins=5,1.1,ONE lowest_filled=2,0.997,ALL first-fit-decreasing",
+		"highest_filled=5,0.999,ONE random_bins=20,1.0,ONE worst-fit-decreasing",
+		"gap_less_than=10,average,1.1,ALL random_bins=2,0.995,ONE best-fit-decreasing",
+		"num_of_pieces=20,2,1.1,ALL random_bins=50,1.1,ALL first-fit-decreasing",
+		"lowest_filled=10,1.1,ALL gap_less_than=5,maximum,0.999,ONE worst-fit-decreasing",
+		"random_bins=<num>,0.995,ALL best-fit-decreasing"
+	};
+
+	private final Random random = new Random(20261018L);
+
+
+	@Test
+	public void concurrentEvaluation() throws Exception {
+		final DemoD demo = demo();
+		demo.setSeed(42L);
+		List<Individual<BinaryGenome, String>> expected = individuals(3);
+		for (Individual<BinaryGenome, String> individual : expected)
+			demo.evaluate(individual);
+
+		int threads = 4;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<List<Individual<BinaryGenome, String>>>> futures = new ArrayList<Future<List<Individual<BinaryGenome, String>>>>();
+			for (int t = 0; t < threads; t++) {
+				final List<Individual<BinaryGenome, String>> individuals = individuals(3);
+				final List<Integer> order = order(individuals.size());
+				futures.add(pool.submit(new Callable<List<Individual<BinaryGenome, String>>>() {
+					public List<Individual<BinaryGenome, String>> call() {
+						for (int i : order)
+							demo.evaluate(individuals.get(i));
+						return individuals;
+					}
+				}));
+			}
+			for (Future<List<Individual<BinaryGenome, String>>> future : futures)
+				assertEvaluations(expected, future.get());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void sameSeedSameFitness() {
+		DemoD first = demo();
+		DemoD second = demo();
+		first.setSeed(7L);
+		second.setSeed(7L);
+		List<Individual<BinaryGenome, String>> expected = individuals(1);
+		List<Individual<BinaryGenome, String>> actual = individuals(1);
+		for (Individual<BinaryGenome, String> individual : expected)
+			first.evaluate(individual);
+		// the second evaluator has evaluated other phenotypes before
+		for (Individual<BinaryGenome, String> individual : individuals(1))
+			second.evaluate(individual);
+		for (int i : order(actual.size()))
+			second.evaluate(actual.get(i));
+		assertEvaluations(expected, actual);
+	}
+
+
+	/**
+	 * checks that the individuals have the same validity, fitness and number of bins.
+	 */
+	private static void assertEvaluations(List<Individual<BinaryGenome, String>> expected, List<Individual<BinaryGenome, String>> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			String phenotype = expected.get(i).getPhenotype().value();
+			assertEquals(phenotype, expected.get(i).isValid(), actual.get(i).isValid());
+			assertEquals(phenotype, expected.get(i).rawFitness(), actual.get(i).rawFitness(), 0.0);
+			assertEquals(phenotype, expected.get(i).numBins(), actual.get(i).numBins());
+		}
+		// the incomplete phenotype is invalid
+		assertFalse(expected.get(PHENOTYPES.length - 1).isValid());
+	}
+
+	/**
+	 * an evaluator of a random instance (the same for every call).
+	 */
+	private static DemoD demo() {
+		Random random = new Random(1L);
+		List<Integer> items = new ArrayList<Integer>();
+		for (int i = 0; i < 120; i++)
+			items.add(1 + random.nextInt(random.nextBoolean() ? CAPACITY / 2 : CAPACITY / 5));
+		DemoD demo = new DemoD(new PackingInstance("test", items, CAPACITY));
+		demo.setMaxIterations(30);
+		return demo;
+	}
+
+	/**
+	 * the individuals of the phenotypes, repeated the given number of times.
+	 */
+	private static List<Individual<BinaryGenome, String>> individuals(int copies) {
+		List<Individual<BinaryGenome, String>> individuals = new ArrayList<Individual<BinaryGenome, String>>();
+		for (int copy = 0; copy < copies; copy++) {
+			for (String phenotype : PHENOTYPES) {
+				Individual<BinaryGenome, String> individual = new Individual<BinaryGenome, String>(
+						new Genotype<BinaryGenome>(BinaryGenome.valueOf("0")), new Phenotype<String>(phenotype));
+				individual.setValid(true);
+				individuals.add(individual);
+			}
+		}
+		return individuals;
+	}
+
+	private List<Integer> order(int n) {
+		List<Integer> order = new ArrayList<Integer>(n);
+		for (int i = 0; i < n; i++)
+			order.add(i);
+		Collections.shuffle(order, random);
+		return order;
+	}
+
+}
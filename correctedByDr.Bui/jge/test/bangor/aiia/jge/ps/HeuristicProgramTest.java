@@ -0,0 +1,127 @@
+package bangor.aiia.jge.ps;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the compiled operations of the <code>HeuristicProgram</code> against the original
+ * string interpreter of <code>DemoD</code>, which parsed each token of the phenotype in
+ * every iteration, for the phenotypes of <code>HDGrammar11.bnf</code> and for unusual tokens.
+ */
+public class HeuristicProgramTest {
+
+	private static final String[] NUM = {"2", "5", "10", "20", "50"};
+	private static final String[] THRESHOLD = {"average", "minimum", "maximum"};
+	private static final String[] PIECES = {"1", "2", "3", "4", "5", "6"};
+	private static final String[] IGNORE = {"0.995", "0.997", "0.999", "1.0", "1.1"};
+	private static final String[] REMOVE = {"ALL", "ONE"};
+	private static final String[] REPACK = {"best-fit-decreasing", "worst-fit-decreasing", "first-fit-decreasing"};
+
+	private final Random random = new Random(20261018L);
+
+
+	@Test
+	public void grammarPhenotypes() {
+		for (int run = 0; run < 2000; run++) {
+			StringBuilder phenotype = new StringBuilder();
+			int selections = 1 + random.nextInt(6);
+			for (int i = 0; i < selections; i++)
+				phenotype.append(selection()).append(' ');
+			phenotype.append(pick(REPACK));
+			assertProgram(phenotype.toString());
+		}
+	}
+
+	@Test
+	public void unusualTokens() {
+		// an unknown threshold, an unknown selection, a token which only removes the items
+		// and the names which are recognised by their substrings
+		assertProgram("gap_less_than=5,median,1.0,ONE remove");
+		assertProgram("lowest_filled=2,0.995,ALL fullest=3,1.0,ALL first-fit-decreasing");
+		assertProgram("random_bins=10,1.1,one highest_filled=20,0.999,ALL best");
+		assertProgram("num_of_pieces=50,6,0.997,ONE worst-fit");
+		assertProgram("best-fit-decreasing");
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void invalidNumber() {
+		HeuristicProgram.compile("highest_filled=many,0.995,ALL best-fit-decreasing");
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void missingArgument() {
+		HeuristicProgram.compile("num_of_pieces=5,2,0.995 best-fit-decreasing");
+	}
+
+
+	/**
+	 * checks each compiled operation against the interpretation of its token.
+	 */
+	private static void assertProgram(String phenotype) {
+		String[] tokens = phenotype.split("\\s");
+		HeuristicProgram program = HeuristicProgram.compile(phenotype);
+		assertEquals(tokens.length, program.size());
+		for (int i = 0; i < tokens.length; i++) {
+			HeuristicProgram.Operation operation = program.operation(i);
+			String compiled = operation.getType() + " " + operation.getNumber() + " " + operation.getPieces() + " "
+					+ operation.getThreshold() + " " + operation.getIgnore() + " " + operation.isRemoveAll();
+			assertEquals(tokens[i], interpret(tokens[i]), compiled);
+		}
+	}
+
+	/**
+	 * the operation of the token as it was recognised by the original interpreter.
+	 */
+	private static String interpret(String token) {
+		if (!token.contains("=")) {
+			if (token.contains("best"))
+				return "BEST_FIT_DECREASING 0 0 NONE 0.0 false";
+			else if (token.contains("worst"))
+				return "WORST_FIT_DECREASING 0 0 NONE 0.0 false";
+			else if (token.contains("first"))
+				return "FIRST_FIT_DECREASING 0 0 NONE 0.0 false";
+			return "REMOVE 0 0 NONE 0.0 false";
+		}
+		String[] values = token.split("=")[1].split(",");
+		if (token.contains("filled") || token.contains("random")) {
+			String type = token.contains("highest") ? "HIGHEST_FILLED" : token.contains("lowest") ? "LOWEST_FILLED" : "RANDOM_BINS";
+			return type + " " + Integer.parseInt(values[0]) + " 0 NONE " + Double.parseDouble(values[1]) + " " + values[2].equals("ALL");
+		}
+		else if (token.contains("gap")) {
+			String threshold = values[1].equals("average") ? "AVERAGE" : values[1].equals("maximum") ? "MAXIMUM"
+					: values[1].equals("minimum") ? "MINIMUM" : "NONE";
+			return "GAP_LESS_THAN " + Integer.parseInt(values[0]) + " 0 " + threshold + " " + Double.parseDouble(values[2]) + " " + values[3].equals("ALL");
+		}
+		else if (token.contains("num_of_pieces")) {
+			return "NUM_OF_PIECES " + Integer.parseInt(values[0]) + " " + Integer.parseInt(values[1]) + " NONE "
+					+ Double.parseDouble(values[2]) + " " + values[3].equals("ALL");
+		}
+		return "NONE 0 0 NONE 0.0 false";
+	}
+
+	/**
+	 * a random bin selection token of the grammar.
+	 */
+	private String selection() {
+		switch (random.nextInt(5)) {
+		case 0:
+			return "highest_filled=" + pick(NUM) + "," + pick(IGNORE) + "," + pick(REMOVE);
+		case 1:
+			return "lowest_filled=" + pick(NUM) + "," + pick(IGNORE) + "," + pick(REMOVE);
+		case 2:
+			return "random_bins=" + pick(NUM) + "," + pick(IGNORE) + "," + pick(REMOVE);
+		case 3:
+			return "gap_less_than=" + pick(NUM) + "," + pick(THRESHOLD) + "," + pick(IGNORE) + "," + pick(REMOVE);
+		default:
+			return "num_of_pieces=" + pick(NUM) + "," + pick(PIECES) + "," + pick(IGNORE) + "," + pick(REMOVE);
+		}
+	}
+
+	private String pick(String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+}
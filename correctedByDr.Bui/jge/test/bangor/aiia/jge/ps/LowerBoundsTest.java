@@ -0,0 +1,79 @@
+package bangor.aiia.jge.ps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the lower bounds L1 and L2 against their definitions, computed by brute force
+ * (all the values of the parameter of L2 from 0 to half of the capacity).
+ */
+public class LowerBoundsTest {
+
+	private final Random random = new Random(20261018L);
+
+
+	@Test
+	public void l1() {
+		for (int run = 0; run < 2000; run++) {
+			int capacity = 1 + random.nextInt(200);
+			int[] items = randomItems(random.nextInt(40), capacity);
+			long sum = 0L;
+			for (int item : items)
+				sum += item;
+			assertEquals((int) Math.ceil((double) sum / capacity), LowerBounds.l1(items, capacity));
+		}
+	}
+
+	@Test
+	public void l2() {
+		for (int run = 0; run < 5000; run++) {
+			int capacity = 1 + random.nextInt(200);
+			int[] items = randomItems(random.nextInt(40), capacity);
+			int l2 = LowerBounds.l2(items, capacity);
+			assertEquals(bruteForceL2(items, capacity), l2);
+			assertTrue(l2 >= LowerBounds.l1(items, capacity));
+			assertEquals(l2, LowerBounds.lowerBound(items, capacity));
+		}
+	}
+
+
+	/**
+	 * the bound L2 of Martello and Toth: the maximum over 0 &lt;= a &lt;= C/2 of
+	 * |J1| + |J2| + max(0, ceil((sum(J3) - (|J2| C - sum(J2))) / C)), where J1 are the items
+	 * larger than C - a, J2 the items from C/2 (exclusive) to C - a and J3 the items from a to C/2.
+	 */
+	private static int bruteForceL2(int[] items, int capacity) {
+		int bound = 0;
+		for (int a = 0; a <= capacity / 2; a++) {
+			int j1 = 0;
+			int j2 = 0;
+			long j2Sum = 0L;
+			long j3Sum = 0L;
+			for (int item : items) {
+				if (item > capacity - a)
+					j1++;
+				else if (item > capacity / 2) {
+					j2++;
+					j2Sum += item;
+				}
+				else if (item >= a)
+					j3Sum += item;
+			}
+			long extra = Math.max(0L, j3Sum - ((long) j2 * capacity - j2Sum));
+			bound = Math.max(bound, j1 + j2 + (int) ((extra + capacity - 1) / capacity));
+		}
+		return bound;
+	}
+
+	private int[] randomItems(int n, int capacity) {
+		int[] items = new int[n];
+		for (int i = 0; i < n; i++)
+			items[i] = 1 + random.nextInt(capacity);
+		return items;
+	}
+
+}
@@ -0,0 +1,153 @@
+package bangor.aiia.jge.ps;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the statistics and the initial packing of the <code>PackingInstance</code> against
+ * the values computed from the items, the instances with a different item order and
+ * the copies which are returned by the instance.
+ */
+public class PackingInstanceTest {
+
+	private static final int CAPACITY = 150;
+
+	private final Random random = new Random(20261018L);
+
+
+	@Test
+	public void statistics() {
+		for (int run = 0; run < 300; run++) {
+			List<Integer> items = randomItems(1 + random.nextInt(200));
+			PackingInstance instance = new PackingInstance("test", items, CAPACITY);
+			assertStatistics(items, instance);
+			assertEquals(new FirstFit(items, CAPACITY).getResult().toString(), instance.getInitialPacking().toString());
+			assertEquals(instance.getInitialPacking().size(), instance.getInitialBins());
+
+			PackingState state = new PackingState(CAPACITY);
+			instance.loadInitialPacking(state);
+			assertEquals(instance.getInitialPacking().toString(), state.toBins().toString());
+		}
+	}
+
+	@Test
+	public void withItemOrder() {
+		for (int run = 0; run < 300; run++) {
+			List<Integer> items = randomItems(1 + random.nextInt(200));
+			PackingInstance instance = new PackingInstance("test", items, CAPACITY);
+			List<Integer> order = new ArrayList<Integer>(items);
+			Collections.shuffle(order, random);
+			PackingInstance reordered = instance.withItemOrder(order);
+			assertStatistics(items, reordered);
+			assertEquals(new FirstFit(order, CAPACITY).getResult().toString(), reordered.getInitialPacking().toString());
+			// the original instance is not changed
+			assertEquals(new FirstFit(items, CAPACITY).getResult().toString(), instance.getInitialPacking().toString());
+		}
+	}
+
+	@Test
+	public void withOtherItems() {
+		PackingInstance instance = new PackingInstance("test", Arrays.asList(10, 20, 20, 30), CAPACITY);
+		assertInvalidOrder(instance, Arrays.asList(10, 20, 30));
+		assertInvalidOrder(instance, Arrays.asList(10, 20, 20, 30, 30));
+		assertInvalidOrder(instance, Arrays.asList(10, 20, 30, 30));
+		assertInvalidOrder(instance, Arrays.asList(10, 20, 20, 40));
+		assertInvalidOrder(instance, Arrays.asList(10, 20, 20, -1));
+	}
+
+	@Test
+	public void fromPacking() {
+		List<Bin> packing = new FirstFit(randomItems(100), CAPACITY).getResult();
+		packing.get(0).visited = true;
+		packing.get(0).all = true;
+		PackingInstance instance = PackingInstance.fromPacking("test", packing, CAPACITY);
+		assertEquals(packing.toString(), instance.getInitialPacking().toString());
+		assertFalse(instance.getInitialPacking().get(0).visited);
+		assertFalse(instance.getInitialPacking().get(0).all);
+	}
+
+	@Test
+	public void copies() {
+		PackingInstance instance = new PackingInstance("test", Arrays.asList(40, 10, 40, 70), CAPACITY);
+		instance.getItems()[0] = 100;
+		instance.getHistogram()[40] = 0;
+		instance.getInitialPacking().get(0).put(10);
+		assertArrayEquals(new int[] {10, 40, 40, 70}, instance.getItems());
+		assertEquals(2, instance.getFrequency(40));
+		assertEquals(new FirstFit(Arrays.asList(40, 10, 40, 70), CAPACITY).getResult().toString(), instance.getInitialPacking().toString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void noItems() {
+		new PackingInstance("test", new ArrayList<Integer>(), CAPACITY);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void noCapacity() {
+		new PackingInstance("test", Arrays.asList(1, 2), 0);
+	}
+
+
+	/**
+	 * checks the statistics of the instance against the values computed from the items.
+	 */
+	private static void assertStatistics(List<Integer> items, PackingInstance instance) {
+		int[] sorted = new int[items.size()];
+		long total = 0L;
+		for (int i = 0; i < sorted.length; i++) {
+			sorted[i] = items.get(i);
+			total += sorted[i];
+		}
+		Arrays.sort(sorted);
+
+		assertEquals(CAPACITY, instance.getCapacity());
+		assertEquals(sorted.length, instance.getItemCount());
+		assertArrayEquals(sorted, instance.getItems());
+		assertEquals(sorted[0], instance.getMin());
+		assertEquals(sorted[sorted.length - 1], instance.getMax());
+		assertEquals(total, instance.getTotal());
+		assertEquals((double) total / sorted.length, instance.getAverage(), 0.0);
+		int[] histogram = instance.getHistogram();
+		assertEquals(instance.getMax() + 1, histogram.length);
+		for (int size = -1; size <= histogram.length; size++) {
+			int frequency = 0;
+			for (int item : sorted)
+				if (item == size)
+					frequency++;
+			assertEquals(frequency, instance.getFrequency(size));
+			if (size >= 0 && size < histogram.length)
+				assertEquals(frequency, histogram[size]);
+		}
+		assertEquals((int) ((total + CAPACITY - 1) / CAPACITY), instance.getL1());
+		assertEquals(LowerBounds.l2(sorted, CAPACITY), instance.getL2());
+		assertEquals(Math.max(instance.getL1(), instance.getL2()), instance.getLowerBound());
+	}
+
+	private static void assertInvalidOrder(PackingInstance instance, List<Integer> order) {
+		try {
+			instance.withItemOrder(order);
+			fail("The order " + order + " is not an order of the items");
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	private List<Integer> randomItems(int n) {
+		List<Integer> items = new ArrayList<Integer>(n);
+		for (int i = 0; i < n; i++)
+			items.add(1 + random.nextInt(random.nextBoolean() ? CAPACITY : CAPACITY / 3));
+		return items;
+	}
+
+}
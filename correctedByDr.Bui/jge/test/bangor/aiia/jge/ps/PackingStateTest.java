@@ -0,0 +1,206 @@
+package bangor.aiia.jge.ps;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the journal of the <code>PackingState</code> (the rollback restores the bins, their order,
+ * their flags, the aggregates and the index of the checkpoint) and the incremental aggregates
+ * against the aggregates computed from the bins.
+ */
+public class PackingStateTest {
+
+	private static final int CAPACITY = 150;
+
+	private final Random random = new Random(20261018L);
+
+
+	@Test
+	public void rollbackRestoresTheCheckpoint() {
+		PackingState state = new PackingState(CAPACITY);
+		for (int run = 0; run < 500; run++) {
+			state.load(randomBins(random.nextInt(30)));
+			randomChanges(state, random.nextInt(10));
+			String checkpoint = snapshot(state);
+			state.mark();
+			randomChanges(state, random.nextInt(40));
+			assertAggregates(state);
+			state.rollback();
+			assertEquals(checkpoint, snapshot(state));
+			assertAggregates(state);
+		}
+	}
+
+	@Test
+	public void commitMovesTheCheckpoint() {
+		PackingState state = new PackingState(CAPACITY);
+		for (int run = 0; run < 500; run++) {
+			state.load(randomBins(random.nextInt(30)));
+			state.mark();
+			for (int step = 0; step < 5; step++) {
+				randomChanges(state, random.nextInt(20));
+				state.commit();
+				String checkpoint = snapshot(state);
+				randomChanges(state, random.nextInt(20));
+				state.rollback();
+				assertEquals(checkpoint, snapshot(state));
+			}
+			assertAggregates(state);
+		}
+	}
+
+	@Test
+	public void copyFromKeepsTheBinsAndTheFlags() {
+		PackingState source = new PackingState(CAPACITY);
+		PackingState copy = new PackingState(CAPACITY);
+		for (int run = 0; run < 200; run++) {
+			source.load(randomBins(random.nextInt(30)));
+			randomChanges(source, random.nextInt(30));
+			copy.copyFrom(source);
+			// the copied bins are created in order of position, so only the bins are compared
+			assertEquals(bins(source), bins(copy));
+			assertAggregates(copy);
+		}
+	}
+
+
+	/**
+	 * applies random changes to the state.
+	 */
+	private void randomChanges(PackingState state, int changes) {
+		for (int change = 0; change < changes; change++) {
+			int size = state.size();
+			int operation = random.nextInt(9);
+			if (size == 0 && operation != 1)
+				operation = 1;
+			int position = (size == 0) ? 0 : random.nextInt(size);
+			switch (operation) {
+			case 0:
+				state.put(position, 1 + random.nextInt(60));
+				break;
+			case 1:
+				state.openBin(1 + random.nextInt(100));
+				break;
+			case 2:
+				if (state.count(position) > 0)
+					state.removeItem(position, state.item(position, random.nextInt(state.count(position))));
+				break;
+			case 3: {
+				BitSet positions = new BitSet();
+				for (int i = 0; i < size; i++)
+					if (random.nextInt(6) == 0)
+						positions.set(i);
+				state.removeBins(positions);
+				break;
+			}
+			case 4:
+				state.swap(position, random.nextInt(size));
+				break;
+			case 5:
+				state.sortByLoad(random.nextBoolean());
+				break;
+			case 6:
+				state.setVisited(position);
+				break;
+			case 7:
+				state.setAll(position);
+				break;
+			default:
+				if (random.nextInt(4) == 0)
+					state.clearFlags();
+				else
+					state.put(position, 1 + random.nextInt(10));
+				break;
+			}
+		}
+	}
+
+	/**
+	 * checks the aggregates and the counts by load of the state against the ones computed from its bins.
+	 */
+	private static void assertAggregates(PackingState state) {
+		int fullBins = 0;
+		long totalLoad = 0L;
+		long loadSquares = 0L;
+		for (int position = 0; position < state.size(); position++) {
+			int load = 0;
+			for (int i = 0; i < state.count(position); i++)
+				load += state.item(position, i);
+			assertEquals(load, state.load(position));
+			if (load >= CAPACITY)
+				fullBins++;
+			totalLoad += load;
+			loadSquares += (long) load * load;
+		}
+		assertEquals(fullBins, state.fullBins());
+		assertEquals(totalLoad, state.totalLoad());
+		assertEquals(loadSquares, state.loadSquares());
+		assertEquals((long) state.size() * CAPACITY - totalLoad, state.slack());
+		for (int minLoad = 0; minLoad <= CAPACITY; minLoad += 30) {
+			int maxLoad = minLoad + 45;
+			int count = 0;
+			for (int position = 0; position < state.size(); position++)
+				if (state.load(position) >= minLoad && state.load(position) <= maxLoad)
+					count++;
+			assertEquals(count, state.countByLoad(minLoad, maxLoad));
+		}
+	}
+
+	/**
+	 * the bins and the flags of the state.
+	 */
+	private static String bins(PackingState state) {
+		StringBuilder bins = new StringBuilder(state.toString());
+		for (int position = 0; position < state.size(); position++)
+			bins.append(state.isVisited(position) ? 'v' : '-').append(state.isAll(position) ? 'a' : '-');
+		return bins.toString();
+	}
+
+	/**
+	 * the bins, the flags, the aggregates and the selections of the state.
+	 */
+	private static String snapshot(PackingState state) {
+		StringBuilder snapshot = new StringBuilder(bins(state));
+		snapshot.append('\n').append(state.fullBins()).append(' ').append(state.totalLoad())
+				.append(' ').append(state.loadSquares()).append(' ').append(state.slack()).append('\n');
+		int[] selected = new int[state.size() + 1];
+		for (int maxLoad = 0; maxLoad <= CAPACITY; maxLoad += 25) {
+			int n = state.selectHighest(selected.length, maxLoad, selected);
+			snapshot.append(toString(selected, n));
+			n = state.selectLowest(selected.length, maxLoad, selected);
+			snapshot.append(toString(selected, n));
+			for (int count = 0; count < 4; count++) {
+				n = state.selectByCount(selected.length, count, maxLoad, selected);
+				snapshot.append(toString(selected, n));
+			}
+		}
+		return snapshot.toString();
+	}
+
+	private static String toString(int[] values, int n) {
+		return Arrays.toString(Arrays.copyOf(values, n)) + "\n";
+	}
+
+	/**
+	 * random bins, some of them full.
+	 */
+	private List<Bin> randomBins(int n) {
+		List<Bin> bins = new ArrayList<Bin>(n);
+		for (int i = 0; i < n; i++) {
+			Bin bin = new Bin(CAPACITY);
+			int items = random.nextInt(6);
+			for (int j = 0; j < items; j++)
+				bin.put(1 + random.nextInt(random.nextBoolean() ? 150 : 50));
+			bins.add(bin);
+		}
+		return bins;
+	}
+
+}
@@ -0,0 +1,129 @@
+/**
+ * Project: JavaGE Library
+ * Author:  agent
+ * Date:	18 Oct 2026
+ *
+ * Copyright 2026 agent.
+ * This file is part of JavaGE (jGE) Library.
+ *
+ * jGE Library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * jGE Library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with jGE Library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bangor.aiia.jge.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the <code>SplitMixRandom</code> against the numbers of the SplitMix64 generator of
+ * <code>java.util.SplittableRandom</code> (Java 8) for the same seed, and the reproducibility
+ * of the generators which are created with a seed, reseeded or split.
+ *
+ * @author 	agent
+ * @version	1.0, 18/10/26
+ * @see 	SplitMixRandom
+ * @since	JavaGE 0.1
+ */
+public class SplitMixRandomTest {
+
+	private static final long SEED = 20261018L;
+
+
+	@Test
+	public void splittableRandomNumbers() {
+		// The numbers of new SplittableRandom(20261018L)
+		SplitMixRandom random = new SplitMixRandom(SEED);
+		assertEquals(-5732542654270174845L, random.nextLong());
+		assertEquals(-1240393941591312369L, random.nextLong());
+		assertEquals(-3131089414879184047L, random.nextLong());
+		assertEquals(5449968906437284326L, random.nextLong());
+		int[] bounded = {11, 29, 13, 61, 22, 5};
+		for (int expected : bounded)
+			assertEquals(expected, random.nextInt(100));
+		int[] powerOfTwo = {714212, 317613, 478809};
+		for (int expected : powerOfTwo)
+			assertEquals(expected, random.nextInt(1 << 20));
+
+		SplitMixRandom split = random.split();
+		assertEquals(7419171320019939540L, split.nextLong());
+		assertEquals(6653590140145695356L, split.nextLong());
+		assertEquals(4668131602534589214L, split.nextLong());
+		assertEquals(5010362585181062273L, random.nextLong());
+		assertEquals(-5799223499159302202L, random.nextLong());
+		assertEquals(-4325910129848034419L, random.nextLong());
+		assertEquals(0.057729174504922875, split.nextDouble(), 0.0);
+		assertEquals(0.3578332045240489, split.nextDouble(), 0.0);
+		assertEquals(0.5443074159133019, split.nextDouble(), 0.0);
+		for (int i = 0; i < 4; i++)
+			assertTrue(split.nextBoolean());
+	}
+
+	@Test
+	public void sameSeedSameNumbers() {
+		SplitMixRandom first = new SplitMixRandom(SEED);
+		SplitMixRandom second = new SplitMixRandom(7L);
+		second.nextLong();
+		second.split();
+		// The generator is reseeded after it has been used and split
+		second.setSeed(SEED);
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(first.nextLong(), second.nextLong());
+			assertEquals(first.nextInt(1000), second.nextInt(1000));
+			assertEquals(first.nextDouble(), second.nextDouble(), 0.0);
+			assertEquals(first.nextGaussian(), second.nextGaussian(), 0.0);
+		}
+
+		SplitMixRandom firstSplit = first.split();
+		SplitMixRandom secondSplit = second.split();
+		for (int i = 0; i < 1000; i++)
+			assertEquals(firstSplit.nextLong(), secondSplit.nextLong());
+	}
+
+	@Test
+	public void splitStreamsAreDifferent() {
+		SplitMixRandom random = new SplitMixRandom(SEED);
+		SplitMixRandom a = random.split();
+		SplitMixRandom b = random.split();
+		int same = 0;
+		for (int i = 0; i < 1000; i++)
+			if (a.nextLong() == b.nextLong())
+				same++;
+		assertEquals(0, same);
+		// Generators created without a seed have different streams
+		assertFalse(new SplitMixRandom().nextLong() == new SplitMixRandom().nextLong());
+	}
+
+	@Test
+	public void ranges() {
+		SplitMixRandom random = new SplitMixRandom(SEED);
+		int[] counts = new int[10];
+		for (int i = 0; i < 100000; i++) {
+			double value = random.nextDouble();
+			assertTrue(value >= 0.0 && value < 1.0);
+			counts[random.nextInt(10)]++;
+		}
+		for (int count : counts)
+			assertEquals(10000, count, 500);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidBound() {
+		new SplitMixRandom(SEED).nextInt(0);
+	}
+
+}